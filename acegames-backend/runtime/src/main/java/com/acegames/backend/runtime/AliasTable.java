@@ -0,0 +1,154 @@
+package com.acegames.backend.runtime;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted sampler built with Vose's alias method: {@code n} outcomes become {@code n} equally likely
+ * columns, each holding its own outcome up to a threshold and one alias outcome above it. A draw picks
+ * a column and compares one number against its threshold, so it takes constant time whatever the
+ * number of outcomes and allocates nothing.
+ *
+ * <p>Integer weights are kept exact: every column has capacity {@code total} (the sum of weights) and
+ * the thresholds are integers, so the sampled distribution is exactly {@code weight / total} with no
+ * floating-point rounding. Instances are immutable and safe to share between threads; each caller
+ * passes its own {@link RandomGenerator}.
+ */
+public final class AliasTable {
+
+    private final int[] outcomes;
+    private final long[] thresholds;
+    private final int[] aliases;
+    private final long total;
+
+    private AliasTable(int[] outcomes, long[] thresholds, int[] aliases, long total) {
+        this.outcomes = outcomes;
+        this.thresholds = thresholds;
+        this.aliases = aliases;
+        this.total = total;
+    }
+
+    /**
+     * @param outcomes value returned for each weight, e.g. tile ids
+     * @param weights  non-negative weights, at least one positive; a zero weight is never drawn
+     */
+    public static AliasTable build(int[] outcomes, int[] weights) {
+        int n = outcomes.length;
+        if (n == 0 || weights.length != n) {
+            throw new IllegalArgumentException("Expected the same, non-zero number of outcomes and weights");
+        }
+        long total = 0;
+        for (int weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weights must not be negative: " + weight);
+            }
+            total += weight;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+
+        // Scaled so the average column holds exactly `total`: weight * n summed over n columns = total * n
+        long[] scaled = new long[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = (long) weights[i] * n;
+            if (scaled[i] < total) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        long[] thresholds = new long[n];
+        int[] aliases = new int[n];
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            thresholds[less] = scaled[less];
+            aliases[less] = more;
+            // The large outcome fills the rest of the small column
+            scaled[more] -= total - scaled[less];
+            if (scaled[more] < total) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Whatever is left is exactly full; integer arithmetic leaves no rounding residue
+        while (largeCount > 0) {
+            int full = large[--largeCount];
+            thresholds[full] = total;
+            aliases[full] = full;
+        }
+        while (smallCount > 0) {
+            int full = small[--smallCount];
+            thresholds[full] = total;
+            aliases[full] = full;
+        }
+        return new AliasTable(outcomes.clone(), thresholds, aliases, total);
+    }
+
+    /**
+     * Rebuilds a table from the columns of {@link #thresholds()}, {@link #aliases()} and
+     * {@link #outcomes()}, as served by the backend, without redoing the construction.
+     */
+    public static AliasTable fromColumns(int[] outcomes, long[] thresholds, int[] aliases, long total) {
+        int n = outcomes.length;
+        if (n == 0 || thresholds.length != n || aliases.length != n || total <= 0) {
+            throw new IllegalArgumentException("Columns must be non-empty, of equal length, with a positive total");
+        }
+        for (int i = 0; i < n; i++) {
+            if (thresholds[i] < 0 || thresholds[i] > total || aliases[i] < 0 || aliases[i] >= n) {
+                throw new IllegalArgumentException("Invalid column " + i);
+            }
+        }
+        return new AliasTable(outcomes.clone(), thresholds.clone(), aliases.clone(), total);
+    }
+
+    public int sample(RandomGenerator random) {
+        int column = random.nextInt(outcomes.length);
+        return random.nextLong(total) < thresholds[column] ? outcomes[column] : outcomes[aliases[column]];
+    }
+
+    public int size() {
+        return outcomes.length;
+    }
+
+    /**
+     * Exact probability of drawing the outcome at {@code index}, for tests and diagnostics.
+     */
+    public double probability(int index) {
+        long mass = thresholds[index];
+        for (int column = 0; column < outcomes.length; column++) {
+            if (aliases[column] == index && column != index) {
+                mass += total - thresholds[column];
+            }
+        }
+        return (double) mass / ((double) total * outcomes.length);
+    }
+
+    public int[] outcomes() {
+        return outcomes.clone();
+    }
+
+    public long[] thresholds() {
+        return thresholds.clone();
+    }
+
+    public int[] aliases() {
+        return aliases.clone();
+    }
+
+    public long total() {
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "AliasTable" + Arrays.toString(outcomes);
+    }
+}
@@ -0,0 +1,324 @@
+package com.acegames.backend.runtime;
+
+import com.acegames.backend.runtime.pack.ContentPack;
+import com.acegames.backend.runtime.pack.PackArray;
+import com.acegames.backend.runtime.pack.PackField;
+import com.acegames.backend.runtime.pack.PackKind;
+import com.acegames.backend.runtime.pack.PackRecord;
+import com.acegames.backend.runtime.pack.PackType;
+
+import java.util.Arrays;
+
+/**
+ * A Cascade's step groups, steps and rewards held column by column in primitive arrays, instead of
+ * one object per group, step and reward with boxed optional fields. Steps are stored group after
+ * group and rewards step after step. Offset arrays give each group's range of steps and each step's
+ * range of rewards, so finding the rewards of step N in group G takes a few array reads. Enums are
+ * stored as their ordinal in a byte.
+ *
+ * <p>Steps and rewards are addressed by their index in the table, see {@link #stepIndex} and
+ * {@link #rewardStart}. Absent values read as {@link #ABSENT} for ints and {@link #NONE} for
+ * ordinals. Instances are immutable and safe to share between threads.
+ */
+public final class CascadeStepTable {
+
+    /** An int field with no value, e.g. a first step's requiredStep. */
+    public static final int ABSENT = Integer.MIN_VALUE;
+    /** An enum field with no value. */
+    public static final int NONE = -1;
+
+    private final String[] groupNames;
+    // groupNames.length + 1 offsets into the step columns
+    private final int[] groupSteps;
+    private final int[] steps;
+    private final int[] requiredSteps;
+    // steps.length + 1 offsets into the reward columns
+    private final int[] stepRewards;
+    private final int[] values;
+    private final int[] remainingSeconds;
+    private final byte[] tradeTypes;
+    private final byte[] eventTypes;
+
+    private CascadeStepTable(Builder builder) {
+        this.groupNames = Arrays.copyOf(builder.groupNames, builder.groupCount);
+        this.groupSteps = Arrays.copyOf(builder.groupSteps, builder.groupCount + 1);
+        this.groupSteps[builder.groupCount] = builder.stepCount;
+        this.steps = Arrays.copyOf(builder.steps, builder.stepCount);
+        this.requiredSteps = Arrays.copyOf(builder.requiredSteps, builder.stepCount);
+        this.stepRewards = Arrays.copyOf(builder.stepRewards, builder.stepCount + 1);
+        this.stepRewards[builder.stepCount] = builder.rewardCount;
+        this.values = Arrays.copyOf(builder.values, builder.rewardCount);
+        this.remainingSeconds = Arrays.copyOf(builder.remainingSeconds, builder.rewardCount);
+        this.tradeTypes = Arrays.copyOf(builder.tradeTypes, builder.rewardCount);
+        this.eventTypes = Arrays.copyOf(builder.eventTypes, builder.rewardCount);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Copies the {@code stepInfo} tree of a Cascade record in {@code pack}. Ordinals are the pack's,
+     * i.e. the enums' declaration order. A field missing from the pack's Cascade type, or an enum
+     * the pack stores as a String, reads as absent.
+     */
+    public static CascadeStepTable fromPack(ContentPack pack, PackRecord cascade) {
+        Builder builder = new Builder();
+        PackArray groups = array(cascade, cascade.type().field("stepInfo"), pack.newArray());
+        if (groups == null) {
+            return builder.build();
+        }
+        PackField name = groups.elementType().field("group");
+        PackField steps = groups.elementType().field("steps");
+        PackType stepType = steps == null ? null : steps.type().element();
+        PackField step = field(stepType, "step");
+        PackField requiredStep = field(stepType, "requiredStep");
+        PackField rewards = field(stepType, "rewards");
+        PackType rewardType = rewards == null ? null : rewards.type().element();
+        PackField tradeType = field(rewardType, "tradeType");
+        PackField eventType = field(rewardType, "eventType");
+        PackField value = field(rewardType, "value");
+        PackField remainingSeconds = field(rewardType, "remainingSeconds");
+
+        PackRecord group = pack.newRecord();
+        PackArray stepArray = pack.newArray();
+        PackRecord stepRecord = pack.newRecord();
+        PackArray rewardArray = pack.newArray();
+        PackRecord reward = pack.newRecord();
+        for (int g = 0; g < groups.size(); g++) {
+            if (groups.getRecord(g, group) == null) {
+                continue;
+            }
+            builder.group(name == null ? null : group.getString(name));
+            if (array(group, steps, stepArray) == null) {
+                continue;
+            }
+            for (int s = 0; s < stepArray.size(); s++) {
+                if (stepArray.getRecord(s, stepRecord) == null) {
+                    continue;
+                }
+                builder.step(intOr(stepRecord, step, 0), intOr(stepRecord, requiredStep, ABSENT));
+                if (array(stepRecord, rewards, rewardArray) == null) {
+                    continue;
+                }
+                for (int r = 0; r < rewardArray.size(); r++) {
+                    if (rewardArray.getRecord(r, reward) != null) {
+                        builder.reward(ordinal(reward, tradeType), ordinal(reward, eventType),
+                                intOr(reward, value, 0), intOr(reward, remainingSeconds, ABSENT));
+                    }
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static PackField field(PackType type, String name) {
+        return type == null ? null : type.field(name);
+    }
+
+    private static PackArray array(PackRecord record, PackField field, PackArray into) {
+        return field == null || field.type().kind() != PackKind.ARRAY ? null : record.getArray(field, into);
+    }
+
+    private static int intOr(PackRecord record, PackField field, int absent) {
+        return field == null || record.isNull(field) ? absent : record.getInt(field);
+    }
+
+    private static int ordinal(PackRecord record, PackField field) {
+        return field == null || field.type().kind() != PackKind.ENUM ? NONE : record.getOrdinal(field);
+    }
+
+    public int groupCount() {
+        return groupNames.length;
+    }
+
+    public String groupName(int group) {
+        return groupNames[group];
+    }
+
+    /** The index of the first group with this name, or -1. */
+    public int groupIndex(String name) {
+        for (int g = 0; g < groupNames.length; g++) {
+            if (groupNames[g] != null && groupNames[g].equals(name)) {
+                return g;
+            }
+        }
+        return -1;
+    }
+
+    /** Index of the group's first step. */
+    public int groupStart(int group) {
+        return groupSteps[group];
+    }
+
+    /** Index one past the group's last step. */
+    public int groupEnd(int group) {
+        return groupSteps[group + 1];
+    }
+
+    /** Steps across all groups. */
+    public int stepCount() {
+        return steps.length;
+    }
+
+    /** The step number of the step at {@code index}. */
+    public int step(int index) {
+        return steps[index];
+    }
+
+    public int requiredStep(int index) {
+        return requiredSteps[index];
+    }
+
+    /**
+     * The index of step number {@code step} in {@code group}, or -1. Groups usually number their
+     * steps 1, 2, 3...; that case is one read, anything else a scan of the group.
+     */
+    public int stepIndex(int group, int step) {
+        int start = groupSteps[group];
+        int end = groupSteps[group + 1];
+        int guess = start + step - 1;
+        if (guess >= start && guess < end && steps[guess] == step) {
+            return guess;
+        }
+        for (int s = start; s < end; s++) {
+            if (steps[s] == step) {
+                return s;
+            }
+        }
+        return -1;
+    }
+
+    /** The index of step number {@code step} in the named group, or -1. */
+    public int stepIndex(String group, int step) {
+        int index = groupIndex(group);
+        return index < 0 ? -1 : stepIndex(index, step);
+    }
+
+    /** Index of the step's first reward. */
+    public int rewardStart(int stepIndex) {
+        return stepRewards[stepIndex];
+    }
+
+    /** Index one past the step's last reward. */
+    public int rewardEnd(int stepIndex) {
+        return stepRewards[stepIndex + 1];
+    }
+
+    /** Rewards across all steps. */
+    public int rewardCount() {
+        return values.length;
+    }
+
+    public int value(int reward) {
+        return values[reward];
+    }
+
+    public int remainingSeconds(int reward) {
+        return remainingSeconds[reward];
+    }
+
+    /** The TradeType ordinal, or {@link #NONE}. */
+    public int tradeType(int reward) {
+        return tradeTypes[reward];
+    }
+
+    /** The EventType ordinal, or {@link #NONE}. */
+    public int eventType(int reward) {
+        return eventTypes[reward];
+    }
+
+    /** Sum of the values of the step's rewards with this TradeType ordinal. */
+    public long totalValue(int stepIndex, int tradeType) {
+        long total = 0;
+        for (int r = stepRewards[stepIndex], end = stepRewards[stepIndex + 1]; r < end; r++) {
+            if (tradeTypes[r] == tradeType) {
+                total += values[r];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Appends groups, their steps and the steps' rewards in order. A step belongs to the last group
+     * added and a reward to the last step.
+     */
+    public static final class Builder {
+        private String[] groupNames = new String[4];
+        private int[] groupSteps = new int[5];
+        private int groupCount;
+        private int[] steps = new int[16];
+        private int[] requiredSteps = new int[16];
+        private int[] stepRewards = new int[17];
+        private int stepCount;
+        private int[] values = new int[32];
+        private int[] remainingSeconds = new int[32];
+        private byte[] tradeTypes = new byte[32];
+        private byte[] eventTypes = new byte[32];
+        private int rewardCount;
+
+        private Builder() {
+        }
+
+        public Builder group(String name) {
+            if (groupCount + 1 == groupSteps.length) {
+                groupNames = Arrays.copyOf(groupNames, groupCount * 2);
+                groupSteps = Arrays.copyOf(groupSteps, groupCount * 2 + 1);
+            }
+            groupNames[groupCount] = name;
+            groupSteps[groupCount++] = stepCount;
+            return this;
+        }
+
+        /**
+         * @param requiredStep {@link #ABSENT} when the step has none
+         */
+        public Builder step(int step, int requiredStep) {
+            if (groupCount == 0) {
+                throw new IllegalStateException("Add a group before its steps");
+            }
+            if (stepCount + 1 == stepRewards.length) {
+                steps = Arrays.copyOf(steps, stepCount * 2);
+                requiredSteps = Arrays.copyOf(requiredSteps, stepCount * 2);
+                stepRewards = Arrays.copyOf(stepRewards, stepCount * 2 + 1);
+            }
+            steps[stepCount] = step;
+            requiredSteps[stepCount] = requiredStep;
+            stepRewards[stepCount++] = rewardCount;
+            return this;
+        }
+
+        /**
+         * @param tradeType        ordinal, or {@link #NONE}
+         * @param eventType        ordinal, or {@link #NONE}
+         * @param remainingSeconds {@link #ABSENT} when the reward has none
+         */
+        public Builder reward(int tradeType, int eventType, int value, int remainingSeconds) {
+            if (stepCount == 0) {
+                throw new IllegalStateException("Add a step before its rewards");
+            }
+            if (rewardCount == values.length) {
+                values = Arrays.copyOf(values, rewardCount * 2);
+                this.remainingSeconds = Arrays.copyOf(this.remainingSeconds, rewardCount * 2);
+                tradeTypes = Arrays.copyOf(tradeTypes, rewardCount * 2);
+                eventTypes = Arrays.copyOf(eventTypes, rewardCount * 2);
+            }
+            values[rewardCount] = value;
+            this.remainingSeconds[rewardCount] = remainingSeconds;
+            tradeTypes[rewardCount] = ordinal(tradeType);
+            eventTypes[rewardCount++] = ordinal(eventType);
+            return this;
+        }
+
+        public CascadeStepTable build() {
+            return new CascadeStepTable(this);
+        }
+
+        private static byte ordinal(int ordinal) {
+            if (ordinal < NONE || ordinal > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Enum ordinal out of range: " + ordinal);
+            }
+            return (byte) ordinal;
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package com.acegames.backend.runtime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Finds the offers whose every condition a player meets without evaluating each offer. Conditions
+ * are grouped by dimension (a requirement such as {@code minLevel}) and their thresholds sorted. The
+ * distinct thresholds cut a dimension into regions: below the first, equal to it, between it and the
+ * next, and so on. Each region stores a bitset of the offers that fail there. A query binary-searches
+ * one region per dimension and clears those offers from the live set. That costs one search plus
+ * {@code offers / 64} word operations per dimension, however many conditions there are.
+ *
+ * <p>Instances are immutable and safe to share between threads. {@link #withOffer} and
+ * {@link #withoutOffer} return a new index. It recompiles only the dimensions the changed offer
+ * constrains, or used to constrain, and shares the rest. An offer keeps its bit position while it
+ * is indexed, and a removed offer's position is reused by the next one added.
+ */
+public final class EligibilityIndex {
+
+    /** Player value for a dimension the player has none for; it fails every condition on that dimension. */
+    public static final int ABSENT = Integer.MIN_VALUE;
+
+    public enum Operator {
+        EQ("=="), NE("!="), GT(">"), GTE(">="), LT("<"), LTE("<=");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public String symbol() {
+            return symbol;
+        }
+
+        /** Accepts the symbols above, plus {@code =} for {@link #EQ}. */
+        public static Operator parse(String symbol) {
+            String trimmed = symbol == null ? "" : symbol.trim();
+            if (trimmed.equals("=")) {
+                return EQ;
+            }
+            for (Operator operator : values()) {
+                if (operator.symbol.equals(trimmed)) {
+                    return operator;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operator: " + symbol);
+        }
+
+        public boolean test(int actual, int threshold) {
+            int comparison = Integer.compare(actual, threshold);
+            return switch (this) {
+                case EQ -> comparison == 0;
+                case NE -> comparison != 0;
+                case GT -> comparison > 0;
+                case GTE -> comparison >= 0;
+                case LT -> comparison < 0;
+                case LTE -> comparison <= 0;
+            };
+        }
+
+        boolean failsBelow() {
+            return this == EQ || this == GT || this == GTE;
+        }
+
+        boolean failsAt() {
+            return this == NE || this == GT || this == LT;
+        }
+
+        boolean failsAbove() {
+            return this == EQ || this == LT || this == LTE;
+        }
+    }
+
+    public record Condition(String dimension, Operator operator, int value) {
+        public Condition {
+            Objects.requireNonNull(dimension, "dimension");
+            Objects.requireNonNull(operator, "operator");
+        }
+    }
+
+    private final String[] dimensions;
+    private final Map<String, Integer> dimensionIndex;
+    // Per bit position: the offer id and its conditions, null where the position is free
+    private final String[] slotIds;
+    private final Condition[][] slotConditions;
+    private final Map<String, Integer> slots;
+    private final long[] live;
+    // Per dimension, null when no indexed offer has a condition on it
+    private final Dimension[] compiled;
+
+    private EligibilityIndex(String[] dimensions, Map<String, Integer> dimensionIndex, String[] slotIds,
+                             Condition[][] slotConditions, Map<String, Integer> slots, long[] live, Dimension[] compiled) {
+        this.dimensions = dimensions;
+        this.dimensionIndex = dimensionIndex;
+        this.slotIds = slotIds;
+        this.slotConditions = slotConditions;
+        this.slots = slots;
+        this.live = live;
+        this.compiled = compiled;
+    }
+
+    /**
+     * @param dimensions the dimension names; player values are passed in this order
+     * @param offers     conditions per offer id; an offer without conditions is always eligible
+     */
+    public static EligibilityIndex compile(List<String> dimensions, Map<String, List<Condition>> offers) {
+        String[] names = dimensions.toArray(String[]::new);
+        Map<String, Integer> dimensionIndex = new HashMap<>();
+        for (int d = 0; d < names.length; d++) {
+            if (dimensionIndex.put(names[d], d) != null) {
+                throw new IllegalArgumentException("Duplicate dimension: " + names[d]);
+            }
+        }
+
+        int size = offers.size();
+        String[] slotIds = new String[size];
+        Condition[][] slotConditions = new Condition[size][];
+        Map<String, Integer> slots = new HashMap<>();
+        long[] live = new long[words(size)];
+        int slot = 0;
+        for (Map.Entry<String, List<Condition>> offer : offers.entrySet()) {
+            slotIds[slot] = Objects.requireNonNull(offer.getKey(), "offer id");
+            slotConditions[slot] = checked(offer.getValue(), dimensionIndex);
+            slots.put(offer.getKey(), slot);
+            live[slot >>> 6] |= 1L << slot;
+            slot++;
+        }
+
+        Dimension[] compiled = new Dimension[names.length];
+        for (int d = 0; d < names.length; d++) {
+            compiled[d] = Dimension.compile(names[d], slotConditions);
+        }
+        return new EligibilityIndex(names, dimensionIndex, slotIds, slotConditions, slots, live, compiled);
+    }
+
+    /** Returns an index with the offer added, or its conditions replaced when it is already indexed. */
+    public EligibilityIndex withOffer(String offerId, List<Condition> conditions) {
+        Objects.requireNonNull(offerId, "offer id");
+        Condition[] checked = checked(conditions, dimensionIndex);
+        Integer existing = slots.get(offerId);
+        int slot = existing != null ? existing : freeSlot();
+        int capacity = Math.max(slotIds.length, slot + 1);
+
+        String[] nextIds = Arrays.copyOf(slotIds, capacity);
+        Condition[][] nextConditions = Arrays.copyOf(slotConditions, capacity);
+        Condition[] previous = existing != null ? slotConditions[slot] : new Condition[0];
+        nextIds[slot] = offerId;
+        nextConditions[slot] = checked;
+        Map<String, Integer> nextSlots = new HashMap<>(slots);
+        nextSlots.put(offerId, slot);
+        long[] nextLive = Arrays.copyOf(live, words(capacity));
+        nextLive[slot >>> 6] |= 1L << slot;
+
+        return new EligibilityIndex(dimensions, dimensionIndex, nextIds, nextConditions, nextSlots, nextLive,
+                recompile(nextConditions, previous, checked));
+    }
+
+    /** Returns an index without the offer, or this index when the offer is not indexed. */
+    public EligibilityIndex withoutOffer(String offerId) {
+        Integer slot = slots.get(offerId);
+        if (slot == null) {
+            return this;
+        }
+        String[] nextIds = slotIds.clone();
+        Condition[][] nextConditions = slotConditions.clone();
+        Condition[] previous = slotConditions[slot];
+        nextIds[slot] = null;
+        nextConditions[slot] = null;
+        Map<String, Integer> nextSlots = new HashMap<>(slots);
+        nextSlots.remove(offerId);
+        long[] nextLive = live.clone();
+        nextLive[slot >>> 6] &= ~(1L << slot);
+
+        return new EligibilityIndex(dimensions, dimensionIndex, nextIds, nextConditions, nextSlots, nextLive,
+                recompile(nextConditions, previous, new Condition[0]));
+    }
+
+    /**
+     * The eligible offers as a bitset over bit positions; see {@link #offerId(int)}.
+     *
+     * @param values one value per dimension, in {@link #dimensions()} order, {@link #ABSENT} where unknown
+     */
+    public long[] eligibleSet(int[] values) {
+        if (values.length != dimensions.length) {
+            throw new IllegalArgumentException("Expected " + dimensions.length + " values, got " + values.length);
+        }
+        long[] result = live.clone();
+        for (int d = 0; d < compiled.length; d++) {
+            Dimension dimension = compiled[d];
+            if (dimension == null) {
+                continue;
+            }
+            long[] failing = dimension.failing(values[d]);
+            int words = Math.min(result.length, failing.length);
+            for (int w = 0; w < words; w++) {
+                result[w] &= ~failing[w];
+            }
+        }
+        return result;
+    }
+
+    /** The ids of the eligible offers, in bit-position order. */
+    public List<String> eligible(int[] values) {
+        long[] set = eligibleSet(values);
+        List<String> ids = new ArrayList<>();
+        for (int w = 0; w < set.length; w++) {
+            long word = set[w];
+            while (word != 0) {
+                ids.add(slotIds[(w << 6) + Long.numberOfTrailingZeros(word)]);
+                word &= word - 1;
+            }
+        }
+        return ids;
+    }
+
+    public String offerId(int bit) {
+        return slotIds[bit];
+    }
+
+    public List<String> dimensions() {
+        return List.of(dimensions);
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    public int conditionCount() {
+        int count = 0;
+        for (Condition[] conditions : slotConditions) {
+            count += conditions == null ? 0 : conditions.length;
+        }
+        return count;
+    }
+
+    private int freeSlot() {
+        for (int w = 0; w < live.length; w++) {
+            if (live[w] != -1L) {
+                int slot = (w << 6) + Long.numberOfTrailingZeros(~live[w]);
+                if (slot < slotIds.length) {
+                    return slot;
+                }
+            }
+        }
+        return slotIds.length;
+    }
+
+    private Dimension[] recompile(Condition[][] nextConditions, Condition[] previous, Condition[] next) {
+        Dimension[] result = compiled.clone();
+        boolean[] affected = new boolean[dimensions.length];
+        for (Condition condition : previous) {
+            affected[dimensionIndex.get(condition.dimension())] = true;
+        }
+        for (Condition condition : next) {
+            affected[dimensionIndex.get(condition.dimension())] = true;
+        }
+        for (int d = 0; d < affected.length; d++) {
+            if (affected[d]) {
+                result[d] = Dimension.compile(dimensions[d], nextConditions);
+            }
+        }
+        return result;
+    }
+
+    private static Condition[] checked(List<Condition> conditions, Map<String, Integer> dimensionIndex) {
+        Condition[] checked = conditions == null ? new Condition[0] : conditions.toArray(Condition[]::new);
+        for (Condition condition : checked) {
+            Objects.requireNonNull(condition, "condition");
+            if (!dimensionIndex.containsKey(condition.dimension())) {
+                throw new IllegalArgumentException("Unknown dimension: " + condition.dimension());
+            }
+        }
+        return checked;
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    /**
+     * One dimension's thresholds and, per region, the offers failing there. Region {@code 2i + 1} is
+     * "equal to threshold i" and region {@code 2i} is "between threshold i - 1 and threshold i".
+     */
+    private record Dimension(int[] thresholds, long[][] failing, long[] constrained) {
+
+        static Dimension compile(String name, Condition[][] slotConditions) {
+            int words = words(slotConditions.length);
+            long[] constrained = new long[words];
+            int[] values = new int[8];
+            int count = 0;
+            for (int slot = 0; slot < slotConditions.length; slot++) {
+                if (slotConditions[slot] == null) {
+                    continue;
+                }
+                for (Condition condition : slotConditions[slot]) {
+                    if (condition.dimension().equals(name)) {
+                        if (count == values.length) {
+                            values = Arrays.copyOf(values, count * 2);
+                        }
+                        values[count++] = condition.value();
+                        constrained[slot >>> 6] |= 1L << slot;
+                    }
+                }
+            }
+            if (count == 0) {
+                return null;
+            }
+            int[] thresholds = Arrays.stream(values, 0, count).sorted().distinct().toArray();
+            int m = thresholds.length;
+
+            // Per threshold: offers failing everywhere below it, exactly at it, and everywhere above it
+            long[][] below = new long[m][words];
+            long[][] at = new long[m][words];
+            long[][] above = new long[m][words];
+            for (int slot = 0; slot < slotConditions.length; slot++) {
+                if (slotConditions[slot] == null) {
+                    continue;
+                }
+                long bit = 1L << slot;
+                for (Condition condition : slotConditions[slot]) {
+                    if (!condition.dimension().equals(name)) {
+                        continue;
+                    }
+                    int j = Arrays.binarySearch(thresholds, condition.value());
+                    Operator operator = condition.operator();
+                    if (operator.failsBelow()) {
+                        below[j][slot >>> 6] |= bit;
+                    }
+                    if (operator.failsAt()) {
+                        at[j][slot >>> 6] |= bit;
+                    }
+                    if (operator.failsAbove()) {
+                        above[j][slot >>> 6] |= bit;
+                    }
+                }
+            }
+
+            int regions = 2 * m + 1;
+            long[][] failing = new long[regions][];
+            // "Below threshold j" covers regions 0..2j, so sweep down adding each threshold at region 2j
+            long[] accumulated = new long[words];
+            for (int r = regions - 1; r >= 0; r--) {
+                if (r % 2 == 0 && r / 2 < m) {
+                    or(accumulated, below[r / 2]);
+                }
+                failing[r] = accumulated.clone();
+            }
+            // "Above threshold j" covers regions 2j+2..end
+            Arrays.fill(accumulated, 0L);
+            for (int r = 0; r < regions; r++) {
+                if (r % 2 == 0 && r > 0) {
+                    or(accumulated, above[r / 2 - 1]);
+                }
+                or(failing[r], accumulated);
+                if (r % 2 == 1) {
+                    or(failing[r], at[r / 2]);
+                }
+            }
+            // Neighbouring regions often fail the same offers; share one array between them
+            for (int r = 1; r < regions; r++) {
+                if (Arrays.equals(failing[r], failing[r - 1])) {
+                    failing[r] = failing[r - 1];
+                }
+            }
+            return new Dimension(thresholds, failing, constrained);
+        }
+
+        long[] failing(int value) {
+            if (value == ABSENT) {
+                return constrained;
+            }
+            int index = Arrays.binarySearch(thresholds, value);
+            return failing[index >= 0 ? 2 * index + 1 : 2 * (-index - 1)];
+        }
+
+        private static void or(long[] target, long[] source) {
+            for (int w = 0; w < target.length; w++) {
+                target[w] |= source[w];
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.acegames.backend.runtime;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Cumulative-weight sampler that walks the weights on every draw: O(n) per sample. Kept as the
+ * reference {@link AliasTable} is tested and benchmarked against.
+ */
+public final class LinearScanSampler {
+
+    private final int[] outcomes;
+    private final int[] weights;
+    private final long total;
+
+    public LinearScanSampler(int[] outcomes, int[] weights) {
+        if (outcomes.length == 0 || weights.length != outcomes.length) {
+            throw new IllegalArgumentException("Expected the same, non-zero number of outcomes and weights");
+        }
+        long sum = 0;
+        for (int weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weights must not be negative: " + weight);
+            }
+            sum += weight;
+        }
+        if (sum == 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+        this.outcomes = outcomes.clone();
+        this.weights = weights.clone();
+        this.total = sum;
+    }
+
+    public int sample(RandomGenerator random) {
+        long target = random.nextLong(total);
+        for (int i = 0; i < weights.length; i++) {
+            target -= weights[i];
+            if (target < 0) {
+                return outcomes[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable: target exceeded total weight");
+    }
+}
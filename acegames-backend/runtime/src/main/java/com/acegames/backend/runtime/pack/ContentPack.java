@@ -0,0 +1,299 @@
+package com.acegames.backend.runtime.pack;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read access to a content pack written by {@link ContentPackWriter}. Opening a pack reads its small
+ * enum, type and collection tables; records are never copied onto the heap. {@link PackRecord} and
+ * {@link PackArray} are flyweights that read fields straight from the (usually memory-mapped)
+ * buffer, and can be repositioned to walk a whole collection without allocating. Strings are decoded
+ * on first use and then shared, so each distinct string exists once.
+ *
+ * <p>Layout, all little-endian: a 64-byte header (magic {@code ACPK}, format version, snapshot
+ * version, build time, file length and the offsets of the tables below), then per collection its
+ * record ids, fixed-width records and the array blocks they point to, then the enum, type,
+ * collection and string tables. An object record starts with a null bitmap, one bit per field,
+ * followed by each field at the offset the type table gives.
+ *
+ * <p>A pack is safe to share between threads; flyweights are not, so each thread uses its own.
+ */
+public final class ContentPack {
+
+    static final int MAGIC = 0x4B504341;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int FORMAT_VERSION_OFFSET = 4;
+    static final int SNAPSHOT_VERSION_OFFSET = 8;
+    static final int BUILT_AT_OFFSET = 16;
+    static final int LENGTH_OFFSET = 24;
+    static final int STRINGS_OFFSET = 28;
+    static final int ENUMS_OFFSET = 32;
+    static final int TYPES_OFFSET = 36;
+    static final int COLLECTIONS_OFFSET = 40;
+
+    private final ByteBuffer buffer;
+    private final long snapshotVersion;
+    private final long builtAt;
+    private final int stringOffsets;
+    private final String[] strings;
+    private final Map<String, PackType> enums;
+    private final Map<String, PackCollection> collections;
+
+    private ContentPack(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a content pack");
+        }
+        int formatVersion = Short.toUnsignedInt(buffer.getShort(FORMAT_VERSION_OFFSET));
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported content pack format " + formatVersion + ", expected " + FORMAT_VERSION);
+        }
+        int length = buffer.getInt(LENGTH_OFFSET);
+        if (length > buffer.capacity()) {
+            throw new IllegalArgumentException("Truncated content pack: " + buffer.capacity() + " of " + length + " bytes");
+        }
+        this.snapshotVersion = buffer.getLong(SNAPSHOT_VERSION_OFFSET);
+        this.builtAt = buffer.getLong(BUILT_AT_OFFSET);
+
+        int stringTable = buffer.getInt(STRINGS_OFFSET);
+        this.strings = new String[buffer.getInt(stringTable)];
+        this.stringOffsets = stringTable + 4;
+
+        int position = buffer.getInt(ENUMS_OFFSET);
+        int enumCount = buffer.getInt(position);
+        position += 4;
+        List<PackType> enumTypes = new ArrayList<>(enumCount);
+        Map<String, PackType> enumsByName = new LinkedHashMap<>();
+        for (int i = 0; i < enumCount; i++) {
+            String name = string(buffer.getInt(position));
+            int constantCount = buffer.getInt(position + 4);
+            position += 8;
+            List<String> constants = new ArrayList<>(constantCount);
+            for (int c = 0; c < constantCount; c++) {
+                constants.add(string(buffer.getInt(position)));
+                position += 4;
+            }
+            PackType type = PackType.enumeration(name, constants);
+            enumTypes.add(type);
+            enumsByName.put(name, type);
+        }
+        this.enums = Collections.unmodifiableMap(enumsByName);
+
+        position = buffer.getInt(TYPES_OFFSET);
+        int typeCount = buffer.getInt(position);
+        position += 4;
+        List<PackType> types = new ArrayList<>(typeCount);
+        for (int i = 0; i < typeCount; i++) {
+            PackKind kind = PackKind.fromCode(buffer.get(position));
+            position += 1;
+            switch (kind) {
+                case ENUM -> {
+                    types.add(enumTypes.get(buffer.getInt(position)));
+                    position += 4;
+                }
+                case ARRAY -> {
+                    types.add(PackType.array(types.get(buffer.getInt(position))));
+                    position += 4;
+                }
+                case OBJECT -> {
+                    String name = string(buffer.getInt(position));
+                    int width = buffer.getInt(position + 4);
+                    int fieldCount = buffer.getInt(position + 8);
+                    position += 12;
+                    List<PackField> fields = new ArrayList<>(fieldCount);
+                    for (int f = 0; f < fieldCount; f++) {
+                        fields.add(new PackField(string(buffer.getInt(position)), f, buffer.getInt(position + 8),
+                                types.get(buffer.getInt(position + 4))));
+                        position += 12;
+                    }
+                    types.add(PackType.object(name, fields, width));
+                }
+                default -> types.add(PackType.scalar(kind));
+            }
+        }
+
+        position = buffer.getInt(COLLECTIONS_OFFSET);
+        int collectionCount = buffer.getInt(position);
+        position += 4;
+        Map<String, PackCollection> collectionsByName = new LinkedHashMap<>();
+        for (int i = 0; i < collectionCount; i++) {
+            String name = string(buffer.getInt(position));
+            PackCollection collection = new PackCollection(this, name, types.get(buffer.getInt(position + 4)),
+                    buffer.getLong(position + 8), buffer.getInt(position + 16), buffer.getInt(position + 20),
+                    buffer.getInt(position + 24), buffer.getInt(position + 28));
+            collectionsByName.put(name, collection);
+            position += 32;
+        }
+        this.collections = Collections.unmodifiableMap(collectionsByName);
+    }
+
+    /**
+     * Maps the file read-only. The mapping stays valid after this returns and is released when the
+     * pack is garbage collected; replace a pack by opening the new file and dropping the old pack.
+     */
+    public static ContentPack open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return wrap(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Reads a pack from {@code buffer} starting at its position, without copying it.
+     */
+    public static ContentPack wrap(ByteBuffer buffer) {
+        return new ContentPack(buffer.slice().order(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    public static ContentPack wrap(byte[] bytes) {
+        return wrap(ByteBuffer.wrap(bytes));
+    }
+
+    /** Version of the content the pack was built from. */
+    public long snapshotVersion() {
+        return snapshotVersion;
+    }
+
+    /** Epoch millis. */
+    public long builtAt() {
+        return builtAt;
+    }
+
+    public Map<String, PackCollection> collections() {
+        return collections;
+    }
+
+    /** The named collection, or null if the pack has none. */
+    public PackCollection collection(String name) {
+        return collections.get(name);
+    }
+
+    /** A flyweight to pass as {@code into}; it points nowhere until a getter moves it. */
+    public PackRecord newRecord() {
+        return new PackRecord(this);
+    }
+
+    /** A flyweight to pass as {@code into}; it points nowhere until a getter moves it. */
+    public PackArray newArray() {
+        return new PackArray(this);
+    }
+
+    /** Enum types by name; an enum value's ordinal indexes its type's {@link PackType#constants()}. */
+    public Map<String, PackType> enums() {
+        return enums;
+    }
+
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    String string(int index) {
+        if (index < 0) {
+            return null;
+        }
+        String value = strings[index];
+        if (value == null) {
+            // Racing threads decode the same bytes to equal strings; either may win
+            int start = buffer.getInt(stringOffsets + 4 * index);
+            byte[] bytes = new byte[buffer.getInt(stringOffsets + 4 * index + 4) - start];
+            buffer.get(start, bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            strings[index] = value;
+        }
+        return value;
+    }
+
+    /** Compares a table string's UTF-8 bytes with {@code utf8}, unsigned, without decoding it. */
+    int compareString(int index, byte[] utf8) {
+        int start = buffer.getInt(stringOffsets + 4 * index);
+        int length = buffer.getInt(stringOffsets + 4 * index + 4) - start;
+        int common = Math.min(length, utf8.length);
+        for (int i = 0; i < common; i++) {
+            int difference = Byte.toUnsignedInt(buffer.get(start + i)) - Byte.toUnsignedInt(utf8[i]);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return length - utf8.length;
+    }
+
+    boolean isNull(int bitmap, int index) {
+        return (buffer.get(bitmap + (index >>> 3)) & (1 << (index & 7))) != 0;
+    }
+
+    int intAt(PackType type, int position) {
+        return switch (type.kind()) {
+            case INT32 -> buffer.getInt(position);
+            case INT64 -> Math.toIntExact(buffer.getLong(position));
+            default -> throw mismatch(type, "int");
+        };
+    }
+
+    long longAt(PackType type, int position) {
+        return switch (type.kind()) {
+            case INT32 -> buffer.getInt(position);
+            case INT64, DATE -> buffer.getLong(position);
+            default -> throw mismatch(type, "long");
+        };
+    }
+
+    double doubleAt(PackType type, int position) {
+        return switch (type.kind()) {
+            case INT32 -> buffer.getInt(position);
+            case INT64 -> buffer.getLong(position);
+            case FLOAT64 -> buffer.getDouble(position);
+            default -> throw mismatch(type, "double");
+        };
+    }
+
+    boolean booleanAt(PackType type, int position) {
+        if (type.kind() != PackKind.BOOLEAN) {
+            throw mismatch(type, "boolean");
+        }
+        return buffer.get(position) != 0;
+    }
+
+    String stringAt(PackType type, int position) {
+        if (type.kind() != PackKind.STRING) {
+            throw mismatch(type, "String");
+        }
+        return string(buffer.getInt(position));
+    }
+
+    int ordinalAt(PackType type, int position) {
+        if (type.kind() != PackKind.ENUM) {
+            throw mismatch(type, "enum ordinal");
+        }
+        return type.width() == 1
+                ? Byte.toUnsignedInt(buffer.get(position))
+                : Short.toUnsignedInt(buffer.getShort(position));
+    }
+
+    /** The value as a plain Java object: numbers, strings, enum constant names, maps and lists. */
+    Object valueAt(PackType type, int position) {
+        return switch (type.kind()) {
+            case INT32 -> buffer.getInt(position);
+            case INT64, DATE -> buffer.getLong(position);
+            case FLOAT64 -> buffer.getDouble(position);
+            case BOOLEAN -> buffer.get(position) != 0;
+            case STRING -> string(buffer.getInt(position));
+            case ENUM -> type.constants().get(ordinalAt(type, position));
+            case OBJECT -> new PackRecord(this).moveTo(type, position).toMap();
+            case ARRAY -> new PackArray(this).moveTo(type, buffer.getInt(position)).toList();
+        };
+    }
+
+    private static IllegalStateException mismatch(PackType type, String expected) {
+        return new IllegalStateException("Cannot read a " + type + " value as " + expected);
+    }
+}
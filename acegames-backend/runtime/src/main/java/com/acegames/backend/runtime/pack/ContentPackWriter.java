@@ -0,0 +1,595 @@
+package com.acegames.backend.runtime.pack;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes documents into a content pack, the file {@link ContentPack} reads. Each collection is
+ * written against a declared {@link Shape}: numbers are stored as 32- or 64-bit integers when every
+ * value of the field is whole and fits, and as doubles otherwise; enums as their ordinal; strings as
+ * an index into one table that holds each distinct string once. Fields the shape does not declare
+ * are left out.
+ *
+ * <p>A document that does not match its shape is left out of the pack and reported by
+ * {@link #rejected()}; the rest of its collection is still written. A writer produces one pack and
+ * is not thread-safe.
+ */
+public final class ContentPackWriter {
+
+    private static final VarHandle SHORT = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * The declared type of a value. Shapes carry no state and may be shared between fields and
+     * collections.
+     */
+    public static final class Shape {
+
+        private enum Declared { NUMBER, BOOLEAN, DATE, STRING, ENUM, OBJECT, ARRAY }
+
+        private final Declared declared;
+        private final String enumName;
+        private final Map<String, Shape> fields;
+        private final Shape items;
+
+        private Shape(Declared declared, String enumName, Map<String, Shape> fields, Shape items) {
+            this.declared = declared;
+            this.enumName = enumName;
+            this.fields = fields;
+            this.items = items;
+        }
+
+        public static Shape number() {
+            return new Shape(Declared.NUMBER, null, null, null);
+        }
+
+        public static Shape bool() {
+            return new Shape(Declared.BOOLEAN, null, null, null);
+        }
+
+        /** Accepts epoch millis, {@link java.util.Date} and ISO-8601 strings; stored as epoch millis. */
+        public static Shape date() {
+            return new Shape(Declared.DATE, null, null, null);
+        }
+
+        public static Shape string() {
+            return new Shape(Declared.STRING, null, null, null);
+        }
+
+        /** Values are constant names of an enum declared with {@link ContentPackWriter#enumeration}. */
+        public static Shape enumeration(String enumName) {
+            return new Shape(Declared.ENUM, enumName, null, null);
+        }
+
+        /** Fields are laid out in the map's iteration order. */
+        public static Shape object(Map<String, Shape> fields) {
+            return new Shape(Declared.OBJECT, null, Collections.unmodifiableMap(new LinkedHashMap<>(fields)), null);
+        }
+
+        public static Shape array(Shape items) {
+            return new Shape(Declared.ARRAY, null, null, items);
+        }
+    }
+
+    private final long snapshotVersion;
+    private final long builtAt;
+    private final Output out = new Output();
+    private final Map<String, Integer> stringIndexes = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private final Map<String, PackType> enums = new LinkedHashMap<>();
+    private final Map<String, Map<String, Integer>> enumOrdinals = new HashMap<>();
+    private final Map<PackKind, PackType> scalars = new EnumMap<>(PackKind.class);
+    private final List<CollectionEntry> collections = new ArrayList<>();
+    private final Map<String, Map<String, String>> rejected = new LinkedHashMap<>();
+    private byte[] finished;
+
+    /**
+     * @param snapshotVersion version of the content the pack is built from, recorded in its header
+     * @param builtAt         epoch millis
+     */
+    public ContentPackWriter(long snapshotVersion, long builtAt) {
+        this.snapshotVersion = snapshotVersion;
+        this.builtAt = builtAt;
+        out.reserve(ContentPack.HEADER_SIZE);
+    }
+
+    /**
+     * Declares an enum; a value's ordinal is its index in {@code constants}.
+     */
+    public ContentPackWriter enumeration(String name, List<String> constants) {
+        checkOpen();
+        if (enums.containsKey(name)) {
+            throw new IllegalArgumentException("Enum already declared: " + name);
+        }
+        Map<String, Integer> ordinals = new HashMap<>();
+        for (String constant : constants) {
+            if (ordinals.putIfAbsent(constant, ordinals.size()) != null) {
+                throw new IllegalArgumentException("Duplicate constant " + constant + " in enum " + name);
+            }
+        }
+        enums.put(name, PackType.enumeration(name, constants));
+        enumOrdinals.put(name, ordinals);
+        return this;
+    }
+
+    /**
+     * Writes one collection. Its records keep the iteration order of {@code documents}.
+     *
+     * @param version   the collection's write counter, recorded for consumers
+     * @param shape     an object shape describing every document
+     * @param documents documents by id
+     */
+    public ContentPackWriter collection(String name, long version, Shape shape, Map<String, ? extends Map<String, ?>> documents) {
+        checkOpen();
+        if (shape.declared != Shape.Declared.OBJECT) {
+            throw new IllegalArgumentException("A collection's shape must be an object: " + name);
+        }
+        for (CollectionEntry collection : collections) {
+            if (collection.name.equals(name)) {
+                throw new IllegalArgumentException("Collection already written: " + name);
+            }
+        }
+        Node root = node(shape, name);
+
+        List<String> ids = new ArrayList<>(documents.size());
+        List<Map<String, ?>> accepted = new ArrayList<>(documents.size());
+        for (Map.Entry<String, ? extends Map<String, ?>> document : documents.entrySet()) {
+            String problem = check(root, document.getValue(), "");
+            if (problem != null) {
+                rejected.computeIfAbsent(name, key -> new LinkedHashMap<>()).put(document.getKey(), problem);
+                continue;
+            }
+            observe(root, document.getValue());
+            ids.add(document.getKey());
+            accepted.add(document.getValue());
+        }
+
+        PackType type = resolve(root);
+        int count = accepted.size();
+        int idsOffset = out.reserve(4 * count);
+        int recordsOffset = out.reserve(Math.multiplyExact(type.width(), count));
+        for (int i = 0; i < count; i++) {
+            out.putInt(idsOffset + 4 * i, intern(ids.get(i)));
+            writeObject(type, accepted.get(i), recordsOffset + i * type.width());
+        }
+
+        // Ordinals sorted by the ids' UTF-8 bytes, which is how ContentPack binary-searches them
+        byte[][] utf8 = new byte[count][];
+        Integer[] sorted = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            utf8[i] = ids.get(i).getBytes(StandardCharsets.UTF_8);
+            sorted[i] = i;
+        }
+        Arrays.sort(sorted, (a, b) -> Arrays.compareUnsigned(utf8[a], utf8[b]));
+        int sortedOffset = out.reserve(4 * count);
+        for (int i = 0; i < count; i++) {
+            out.putInt(sortedOffset + 4 * i, sorted[i]);
+        }
+
+        collections.add(new CollectionEntry(name, version, type, count, recordsOffset, idsOffset, sortedOffset));
+        return this;
+    }
+
+    /**
+     * Documents left out because they did not match their collection's shape: the reason by
+     * document id, per collection.
+     */
+    public Map<String, Map<String, String>> rejected() {
+        return Collections.unmodifiableMap(rejected);
+    }
+
+    /**
+     * Writes the enum, type, collection and string tables and returns the finished pack. No more
+     * collections can be written afterwards.
+     */
+    public byte[] toByteArray() {
+        if (finished != null) {
+            return finished.clone();
+        }
+        int enumTable = out.reserve(4);
+        out.putInt(enumTable, enums.size());
+        Map<String, Integer> enumIndexes = new HashMap<>();
+        for (PackType type : enums.values()) {
+            enumIndexes.put(type.name(), enumIndexes.size());
+            append(intern(type.name()));
+            append(type.constants().size());
+            for (String constant : type.constants()) {
+                append(intern(constant));
+            }
+        }
+
+        // Post-order, so a reader has resolved every type an entry refers to before reaching it
+        Map<PackType, Integer> typeIndexes = new IdentityHashMap<>();
+        List<PackType> types = new ArrayList<>();
+        for (CollectionEntry collection : collections) {
+            index(collection.type, typeIndexes, types);
+        }
+        int typeTable = out.reserve(4);
+        out.putInt(typeTable, types.size());
+        for (PackType type : types) {
+            out.put(out.reserve(1), (byte) type.kind().code());
+            switch (type.kind()) {
+                case ENUM -> append(enumIndexes.get(type.name()));
+                case ARRAY -> append(typeIndexes.get(type.element()));
+                case OBJECT -> {
+                    append(intern(type.name()));
+                    append(type.width());
+                    append(type.fields().size());
+                    for (PackField field : type.fields()) {
+                        append(intern(field.name()));
+                        append(typeIndexes.get(field.type()));
+                        append(field.offset());
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        int collectionTable = out.reserve(4);
+        out.putInt(collectionTable, collections.size());
+        for (CollectionEntry collection : collections) {
+            append(intern(collection.name));
+            append(typeIndexes.get(collection.type));
+            out.putLong(out.reserve(8), collection.version);
+            append(collection.count);
+            append(collection.records);
+            append(collection.ids);
+            append(collection.sorted);
+        }
+
+        // Last, so it also holds every name interned by the tables above
+        int stringTable = out.reserve(4 + 4 * (strings.size() + 1));
+        out.putInt(stringTable, strings.size());
+        for (int i = 0; i < strings.size(); i++) {
+            byte[] bytes = strings.get(i).getBytes(StandardCharsets.UTF_8);
+            int position = out.reserve(bytes.length);
+            out.putInt(stringTable + 4 + 4 * i, position);
+            out.put(position, bytes);
+        }
+        out.putInt(stringTable + 4 + 4 * strings.size(), out.size());
+
+        out.putInt(0, ContentPack.MAGIC);
+        out.putShort(ContentPack.FORMAT_VERSION_OFFSET, (short) ContentPack.FORMAT_VERSION);
+        out.putLong(ContentPack.SNAPSHOT_VERSION_OFFSET, snapshotVersion);
+        out.putLong(ContentPack.BUILT_AT_OFFSET, builtAt);
+        out.putInt(ContentPack.LENGTH_OFFSET, out.size());
+        out.putInt(ContentPack.STRINGS_OFFSET, stringTable);
+        out.putInt(ContentPack.ENUMS_OFFSET, enumTable);
+        out.putInt(ContentPack.TYPES_OFFSET, typeTable);
+        out.putInt(ContentPack.COLLECTIONS_OFFSET, collectionTable);
+        finished = out.toByteArray();
+        return finished.clone();
+    }
+
+    private void checkOpen() {
+        if (finished != null) {
+            throw new IllegalStateException("The content pack has already been written");
+        }
+    }
+
+    private void append(int value) {
+        out.putInt(out.reserve(4), value);
+    }
+
+    private int intern(String value) {
+        Integer index = stringIndexes.get(value);
+        if (index == null) {
+            index = strings.size();
+            strings.add(value);
+            stringIndexes.put(value, index);
+        }
+        return index;
+    }
+
+    private static void index(PackType type, Map<PackType, Integer> indexes, List<PackType> order) {
+        if (indexes.containsKey(type)) {
+            return;
+        }
+        if (type.kind() == PackKind.OBJECT) {
+            for (PackField field : type.fields()) {
+                index(field.type(), indexes, order);
+            }
+        } else if (type.kind() == PackKind.ARRAY) {
+            index(type.element(), indexes, order);
+        }
+        indexes.put(type, order.size());
+        order.add(type);
+    }
+
+    // Shape nodes for one collection, collecting which number widths its values need
+    private static final class Node {
+        final Shape shape;
+        final String path;
+        final Map<String, Node> fields = new LinkedHashMap<>();
+        Node items;
+        boolean integral = true;
+        boolean fitsInt = true;
+
+        Node(Shape shape, String path) {
+            this.shape = shape;
+            this.path = path;
+        }
+    }
+
+    private Node node(Shape shape, String path) {
+        Node node = new Node(shape, path);
+        switch (shape.declared) {
+            case ENUM -> {
+                if (!enums.containsKey(shape.enumName)) {
+                    throw new IllegalArgumentException("Enum " + shape.enumName + " used by " + path + " has not been declared");
+                }
+            }
+            case OBJECT -> shape.fields.forEach((name, field) -> node.fields.put(name, node(field, path + "." + name)));
+            case ARRAY -> node.items = node(shape.items, path);
+            default -> {
+            }
+        }
+        return node;
+    }
+
+    /** Returns why {@code value} does not match the node, or null when it does. */
+    private String check(Node node, Object value, String path) {
+        if (value == null) {
+            return null;
+        }
+        boolean valid = switch (node.shape.declared) {
+            case NUMBER -> value instanceof Number;
+            case BOOLEAN -> value instanceof Boolean;
+            case DATE -> epochMillis(value) != null;
+            case STRING -> value instanceof CharSequence;
+            case ENUM -> enumOrdinals.get(node.shape.enumName).containsKey(constantName(value));
+            case OBJECT -> value instanceof Map;
+            case ARRAY -> value instanceof List;
+        };
+        if (!valid) {
+            return (path.isEmpty() ? "document" : path) + ": expected " + describe(node.shape) + " but got "
+                    + value.getClass().getSimpleName() + " " + value;
+        }
+        if (value instanceof Map<?, ?> map && node.shape.declared == Shape.Declared.OBJECT) {
+            for (Map.Entry<String, Node> field : node.fields.entrySet()) {
+                String problem = check(field.getValue(), map.get(field.getKey()),
+                        path.isEmpty() ? field.getKey() : path + "." + field.getKey());
+                if (problem != null) {
+                    return problem;
+                }
+            }
+        } else if (value instanceof List<?> list && node.shape.declared == Shape.Declared.ARRAY) {
+            for (int i = 0; i < list.size(); i++) {
+                String problem = check(node.items, list.get(i), path + "[" + i + "]");
+                if (problem != null) {
+                    return problem;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String describe(Shape shape) {
+        return switch (shape.declared) {
+            case ENUM -> "a constant of " + shape.enumName;
+            default -> shape.declared.name().charAt(0) + shape.declared.name().substring(1).toLowerCase();
+        };
+    }
+
+    private void observe(Node node, Object value) {
+        if (value == null) {
+            return;
+        }
+        switch (node.shape.declared) {
+            case NUMBER -> {
+                Number number = (Number) value;
+                if (!isWhole(number)) {
+                    node.integral = false;
+                } else {
+                    long whole = number.longValue();
+                    node.fitsInt &= whole >= Integer.MIN_VALUE && whole <= Integer.MAX_VALUE;
+                }
+            }
+            case OBJECT -> {
+                Map<?, ?> map = (Map<?, ?>) value;
+                node.fields.forEach((name, field) -> observe(field, map.get(name)));
+            }
+            case ARRAY -> {
+                for (Object item : (List<?>) value) {
+                    observe(node.items, item);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private static boolean isWhole(Number number) {
+        if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+            return true;
+        }
+        if (number instanceof BigInteger big) {
+            return big.bitLength() < 64;
+        }
+        // Also catches whole values that arrived as doubles, e.g. 5.0 from a JSON client
+        double value = number.doubleValue();
+        return value == Math.rint(value) && value >= -0x1p63 && value < 0x1p63;
+    }
+
+    private PackType resolve(Node node) {
+        return switch (node.shape.declared) {
+            case NUMBER -> scalar(!node.integral ? PackKind.FLOAT64 : node.fitsInt ? PackKind.INT32 : PackKind.INT64);
+            case BOOLEAN -> scalar(PackKind.BOOLEAN);
+            case DATE -> scalar(PackKind.DATE);
+            case STRING -> scalar(PackKind.STRING);
+            case ENUM -> enums.get(node.shape.enumName);
+            case OBJECT -> {
+                Map<String, PackType> fields = new LinkedHashMap<>();
+                node.fields.forEach((name, field) -> fields.put(name, resolve(field)));
+                yield PackType.object(node.path, fields);
+            }
+            case ARRAY -> PackType.array(resolve(node.items));
+        };
+    }
+
+    private PackType scalar(PackKind kind) {
+        return scalars.computeIfAbsent(kind, PackType::scalar);
+    }
+
+    private void writeObject(PackType type, Map<?, ?> values, int position) {
+        for (PackField field : type.fields()) {
+            Object value = values.get(field.name());
+            if (value == null) {
+                setNull(position, field.index());
+            } else {
+                write(field.type(), value, position + field.offset());
+            }
+        }
+    }
+
+    private int writeArray(PackType type, List<?> values) {
+        PackType element = type.element();
+        int count = values.size();
+        int nullBytes = PackType.nullBitmapBytes(count);
+        int block = out.reserve(Math.addExact(4 + nullBytes, Math.multiplyExact(count, element.width())));
+        out.putInt(block, count);
+        int first = block + 4 + nullBytes;
+        for (int i = 0; i < count; i++) {
+            Object value = values.get(i);
+            if (value == null) {
+                setNull(block + 4, i);
+            } else {
+                write(element, value, first + i * element.width());
+            }
+        }
+        return block;
+    }
+
+    private void setNull(int bitmap, int index) {
+        int position = bitmap + (index >>> 3);
+        out.put(position, (byte) (out.get(position) | (1 << (index & 7))));
+    }
+
+    private void write(PackType type, Object value, int position) {
+        switch (type.kind()) {
+            case INT32 -> out.putInt(position, ((Number) value).intValue());
+            case INT64 -> out.putLong(position, ((Number) value).longValue());
+            case FLOAT64 -> out.putLong(position, Double.doubleToRawLongBits(((Number) value).doubleValue()));
+            case BOOLEAN -> out.put(position, (byte) ((Boolean) value ? 1 : 0));
+            case DATE -> out.putLong(position, epochMillis(value));
+            case STRING -> out.putInt(position, intern(value.toString()));
+            case ENUM -> {
+                int ordinal = enumOrdinals.get(type.name()).get(constantName(value));
+                if (type.width() == 1) {
+                    out.put(position, (byte) ordinal);
+                } else {
+                    out.putShort(position, (short) ordinal);
+                }
+            }
+            case OBJECT -> writeObject(type, (Map<?, ?>) value, position);
+            case ARRAY -> out.putInt(position, writeArray(type, (List<?>) value));
+        }
+    }
+
+    private static String constantName(Object value) {
+        return value instanceof Enum<?> constant ? constant.name() : String.valueOf(value);
+    }
+
+    private static Long epochMillis(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof java.util.Date date) {
+            return date.getTime();
+        }
+        if (!(value instanceof String text)) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(text).toInstant().toEpochMilli();
+        } catch (DateTimeParseException ignored) {
+            // Not an offset date-time; try the zone-less forms, read as UTC
+        }
+        try {
+            return LocalDateTime.parse(text).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeParseException ignored) {
+            // Not a local date-time either
+        }
+        try {
+            return LocalDate.parse(text).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private record CollectionEntry(String name, long version, PackType type, int count, int records, int ids, int sorted) {
+    }
+
+    // Growable little-endian buffer written at absolute positions; reserved space is zero-filled
+    private static final class Output {
+        // Offsets in the pack are ints, and ByteBuffers cannot map more than this anyway
+        private static final int MAX_SIZE = Integer.MAX_VALUE - 8;
+
+        private byte[] bytes = new byte[1 << 16];
+        private int size;
+
+        int reserve(int length) {
+            long end = (long) size + length;
+            if (end > MAX_SIZE) {
+                throw new IllegalStateException("Content pack would exceed " + MAX_SIZE + " bytes");
+            }
+            if (end > bytes.length) {
+                bytes = Arrays.copyOf(bytes, (int) Math.min(MAX_SIZE, Math.max(end, 2L * bytes.length)));
+            }
+            int position = size;
+            size = (int) end;
+            return position;
+        }
+
+        int size() {
+            return size;
+        }
+
+        byte get(int position) {
+            return bytes[position];
+        }
+
+        void put(int position, byte value) {
+            bytes[position] = value;
+        }
+
+        void put(int position, byte[] values) {
+            System.arraycopy(values, 0, bytes, position, values.length);
+        }
+
+        void putShort(int position, short value) {
+            SHORT.set(bytes, position, value);
+        }
+
+        void putInt(int position, int value) {
+            INT.set(bytes, position, value);
+        }
+
+        void putLong(int position, long value) {
+            LONG.set(bytes, position, value);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+}
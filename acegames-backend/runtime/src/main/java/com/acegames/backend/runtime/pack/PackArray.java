@@ -0,0 +1,109 @@
+package com.acegames.backend.runtime.pack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A reusable view of one array block. Elements are fixed-width, so element {@code i} is read at a
+ * computed offset. Like {@link PackRecord}, numeric getters return 0 for a null element.
+ */
+public final class PackArray {
+
+    private final ContentPack pack;
+    private PackType element;
+    private int size;
+    private int nulls;
+    private int first;
+
+    PackArray(ContentPack pack) {
+        this.pack = pack;
+    }
+
+    PackArray moveTo(PackType type, int block) {
+        this.element = type.element();
+        this.size = pack.buffer().getInt(block);
+        this.nulls = block + 4;
+        this.first = nulls + PackType.nullBitmapBytes(size);
+        return this;
+    }
+
+    public PackType elementType() {
+        return element;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isNull(int index) {
+        return pack.isNull(nulls, checkIndex(index));
+    }
+
+    public int getInt(int index) {
+        return isNull(index) ? 0 : pack.intAt(element, position(index));
+    }
+
+    public long getLong(int index) {
+        return isNull(index) ? 0 : pack.longAt(element, position(index));
+    }
+
+    public double getDouble(int index) {
+        return isNull(index) ? 0 : pack.doubleAt(element, position(index));
+    }
+
+    public boolean getBoolean(int index) {
+        return !isNull(index) && pack.booleanAt(element, position(index));
+    }
+
+    public String getString(int index) {
+        return isNull(index) ? null : pack.stringAt(element, position(index));
+    }
+
+    /** The enum value's ordinal, or -1 when null. */
+    public int getOrdinal(int index) {
+        return isNull(index) ? -1 : pack.ordinalAt(element, position(index));
+    }
+
+    public String getEnum(int index) {
+        int ordinal = getOrdinal(index);
+        return ordinal < 0 ? null : element.constants().get(ordinal);
+    }
+
+    /** Moves {@code into} to the element record and returns it, or returns null when the element is null. */
+    public PackRecord getRecord(int index, PackRecord into) {
+        checkKind(PackKind.OBJECT);
+        return isNull(index) ? null : into.moveTo(element, position(index));
+    }
+
+    /** Moves {@code into} to the nested array and returns it, or returns null when the element is null. */
+    public PackArray getArray(int index, PackArray into) {
+        checkKind(PackKind.ARRAY);
+        return isNull(index) ? null : into.moveTo(element, pack.buffer().getInt(position(index)));
+    }
+
+    /** Copies the elements into a list; see {@link PackRecord#toMap()}. */
+    public List<Object> toList() {
+        List<Object> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(isNull(i) ? null : pack.valueAt(element, position(i)));
+        }
+        return values;
+    }
+
+    private int position(int index) {
+        return first + index * element.width();
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Element " + index + " of " + size);
+        }
+        return index;
+    }
+
+    private void checkKind(PackKind kind) {
+        if (element.kind() != kind) {
+            throw new IllegalStateException("Elements are " + element + ", not " + kind);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.acegames.backend.runtime.pack;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One collection of a {@link ContentPack}: {@link #size()} records of one object type, addressed by
+ * ordinal or looked up by document id.
+ */
+public final class PackCollection {
+
+    private final ContentPack pack;
+    private final String name;
+    private final PackType type;
+    private final long version;
+    private final int size;
+    private final int records;
+    private final int ids;
+    private final int sorted;
+
+    PackCollection(ContentPack pack, String name, PackType type, long version, int size, int records, int ids, int sorted) {
+        this.pack = pack;
+        this.name = name;
+        this.type = type;
+        this.version = version;
+        this.size = size;
+        this.records = records;
+        this.ids = ids;
+        this.sorted = sorted;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /** The record type, describing every field. */
+    public PackType type() {
+        return type;
+    }
+
+    /** The collection's write counter when the pack was built. */
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** The document id of the record at {@code ordinal}. */
+    public String id(int ordinal) {
+        return pack.string(pack.buffer().getInt(ids + 4 * checkIndex(ordinal)));
+    }
+
+    /**
+     * The ordinal of the record with this document id, or -1. A binary search over the ids, compared
+     * as UTF-8 bytes in place.
+     */
+    public int indexOf(String id) {
+        byte[] utf8 = id.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int ordinal = pack.buffer().getInt(sorted + 4 * middle);
+            int comparison = pack.compareString(pack.buffer().getInt(ids + 4 * ordinal), utf8);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return ordinal;
+            }
+        }
+        return -1;
+    }
+
+    /** A new flyweight over the record at {@code ordinal}. */
+    public PackRecord record(int ordinal) {
+        return record(ordinal, new PackRecord(pack));
+    }
+
+    /** Moves {@code into} to the record at {@code ordinal} and returns it. */
+    public PackRecord record(int ordinal, PackRecord into) {
+        return into.moveTo(type, records + checkIndex(ordinal) * type.width());
+    }
+
+    /** A new flyweight over the record with this document id, or null. */
+    public PackRecord find(String id) {
+        int ordinal = indexOf(id);
+        return ordinal < 0 ? null : record(ordinal);
+    }
+
+    private int checkIndex(int ordinal) {
+        if (ordinal < 0 || ordinal >= size) {
+            throw new IndexOutOfBoundsException("Record " + ordinal + " of " + size + " in " + name);
+        }
+        return ordinal;
+    }
+}
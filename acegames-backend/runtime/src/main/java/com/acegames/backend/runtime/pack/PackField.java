@@ -0,0 +1,11 @@
+package com.acegames.backend.runtime.pack;
+
+/**
+ * One field of an {@link PackKind#OBJECT} type. Look a field up once and pass it to the
+ * {@link PackRecord} getters; that skips the name lookup on every read.
+ *
+ * @param index  bit in the record's null bitmap
+ * @param offset byte offset of the value from the start of the record
+ */
+public record PackField(String name, int index, int offset, PackType type) {
+}
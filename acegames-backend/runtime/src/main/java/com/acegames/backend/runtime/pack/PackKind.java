@@ -0,0 +1,41 @@
+package com.acegames.backend.runtime.pack;
+
+/**
+ * How one value is stored in a content pack. The code is what the type table records, so it must
+ * never change for an existing kind.
+ */
+public enum PackKind {
+    INT32(1),
+    INT64(2),
+    FLOAT64(3),
+    BOOLEAN(4),
+    /** Epoch millis, stored like {@link #INT64}. */
+    DATE(5),
+    /** Index into the pack's string table. */
+    STRING(6),
+    /** Ordinal into the enum's constants, one byte wide up to 256 constants and two above. */
+    ENUM(7),
+    /** A nested record, stored inline in its parent. */
+    OBJECT(8),
+    /** File offset of an array block: element count, null bitmap, then fixed-width elements. */
+    ARRAY(9);
+
+    private final int code;
+
+    PackKind(int code) {
+        this.code = code;
+    }
+
+    int code() {
+        return code;
+    }
+
+    static PackKind fromCode(int code) {
+        for (PackKind kind : values()) {
+            if (kind.code == code) {
+                return kind;
+            }
+        }
+        throw new IllegalArgumentException("Unknown value kind in content pack: " + code);
+    }
+}
@@ -0,0 +1,152 @@
+package com.acegames.backend.runtime.pack;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A reusable view of one object record. Getters read the field straight from the pack; nothing is
+ * copied except strings, which are decoded once per pack. Fields can be passed as a {@link PackField}
+ * looked up once from the {@link #type()}, or by name at the cost of a hash lookup per read.
+ *
+ * <p>Numeric getters return 0 for a null field; check {@link #isNull} first where that matters. The
+ * getters that take an {@code into} flyweight move it rather than allocating a new one, so a loop
+ * over a collection's nested arrays can run with a fixed set of flyweights.
+ */
+public final class PackRecord {
+
+    private final ContentPack pack;
+    private PackType type;
+    private int offset;
+
+    PackRecord(ContentPack pack) {
+        this.pack = pack;
+    }
+
+    PackRecord moveTo(PackType type, int offset) {
+        this.type = type;
+        this.offset = offset;
+        return this;
+    }
+
+    public PackType type() {
+        return type;
+    }
+
+    public boolean isNull(PackField field) {
+        return pack.isNull(offset, field.index());
+    }
+
+    public int getInt(PackField field) {
+        return isNull(field) ? 0 : pack.intAt(field.type(), offset + field.offset());
+    }
+
+    /** Also reads {@link PackKind#DATE} fields, as epoch millis. */
+    public long getLong(PackField field) {
+        return isNull(field) ? 0 : pack.longAt(field.type(), offset + field.offset());
+    }
+
+    public double getDouble(PackField field) {
+        return isNull(field) ? 0 : pack.doubleAt(field.type(), offset + field.offset());
+    }
+
+    public boolean getBoolean(PackField field) {
+        return !isNull(field) && pack.booleanAt(field.type(), offset + field.offset());
+    }
+
+    public String getString(PackField field) {
+        return isNull(field) ? null : pack.stringAt(field.type(), offset + field.offset());
+    }
+
+    /** The enum value's ordinal, or -1 when null. */
+    public int getOrdinal(PackField field) {
+        return isNull(field) ? -1 : pack.ordinalAt(field.type(), offset + field.offset());
+    }
+
+    /** The enum value's constant name, or null. */
+    public String getEnum(PackField field) {
+        int ordinal = getOrdinal(field);
+        return ordinal < 0 ? null : field.type().constants().get(ordinal);
+    }
+
+    /** Moves {@code into} to the nested record and returns it, or returns null when the field is null. */
+    public PackRecord getObject(PackField field, PackRecord into) {
+        checkKind(field, PackKind.OBJECT);
+        return isNull(field) ? null : into.moveTo(field.type(), offset + field.offset());
+    }
+
+    /** Moves {@code into} to the array and returns it, or returns null when the field is null. */
+    public PackArray getArray(PackField field, PackArray into) {
+        checkKind(field, PackKind.ARRAY);
+        return isNull(field) ? null : into.moveTo(field.type(), pack.buffer().getInt(offset + field.offset()));
+    }
+
+    public boolean isNull(String field) {
+        return isNull(field(field));
+    }
+
+    public int getInt(String field) {
+        return getInt(field(field));
+    }
+
+    public long getLong(String field) {
+        return getLong(field(field));
+    }
+
+    public double getDouble(String field) {
+        return getDouble(field(field));
+    }
+
+    public boolean getBoolean(String field) {
+        return getBoolean(field(field));
+    }
+
+    public String getString(String field) {
+        return getString(field(field));
+    }
+
+    public int getOrdinal(String field) {
+        return getOrdinal(field(field));
+    }
+
+    public String getEnum(String field) {
+        return getEnum(field(field));
+    }
+
+    /** A new flyweight over the nested record, or null. */
+    public PackRecord getObject(String field) {
+        return getObject(field(field), new PackRecord(pack));
+    }
+
+    /** A new flyweight over the array, or null. */
+    public PackArray getArray(String field) {
+        return getArray(field(field), new PackArray(pack));
+    }
+
+    /**
+     * Copies the record into maps and lists, leaving out null fields. Meant for tools and tests; it
+     * allocates everything the flyweights avoid.
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (PackField field : type.fields()) {
+            if (!isNull(field)) {
+                values.put(field.name(), pack.valueAt(field.type(), offset + field.offset()));
+            }
+        }
+        return values;
+    }
+
+    private PackField field(String name) {
+        PackField field = type.field(name);
+        if (field == null) {
+            throw new IllegalArgumentException("No field " + name + " in " + type);
+        }
+        return field;
+    }
+
+    private static void checkKind(PackField field, PackKind kind) {
+        if (field.type().kind() != kind) {
+            throw new IllegalStateException("Field " + field.name() + " is " + field.type() + ", not " + kind);
+        }
+    }
+}
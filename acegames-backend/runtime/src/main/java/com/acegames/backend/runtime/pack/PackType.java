@@ -0,0 +1,126 @@
+package com.acegames.backend.runtime.pack;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The stored type of a value, as described by a content pack's type table. Every value of a type
+ * takes {@link #width()} bytes inside its record or array, so a field or element is always read at a
+ * fixed offset. Instances are immutable.
+ */
+public final class PackType {
+
+    private static final int MAX_ONE_BYTE_ENUM = 256;
+
+    private final PackKind kind;
+    private final int width;
+    // OBJECT
+    private final String name;
+    private final List<PackField> fields;
+    private final Map<String, PackField> fieldsByName;
+    // ENUM
+    private final List<String> constants;
+    // ARRAY
+    private final PackType element;
+
+    private PackType(PackKind kind, int width, String name, List<PackField> fields, List<String> constants, PackType element) {
+        this.kind = kind;
+        this.width = width;
+        this.name = name;
+        this.fields = fields;
+        this.constants = constants;
+        this.element = element;
+        Map<String, PackField> byName = new HashMap<>();
+        for (PackField field : fields) {
+            byName.put(field.name(), field);
+        }
+        this.fieldsByName = byName;
+    }
+
+    static PackType scalar(PackKind kind) {
+        int width = switch (kind) {
+            case INT32, STRING -> 4;
+            case INT64, FLOAT64, DATE -> 8;
+            case BOOLEAN -> 1;
+            default -> throw new IllegalArgumentException(kind + " is not a scalar kind");
+        };
+        return new PackType(kind, width, null, List.of(), List.of(), null);
+    }
+
+    static PackType enumeration(String name, List<String> constants) {
+        int width = constants.size() <= MAX_ONE_BYTE_ENUM ? 1 : 2;
+        return new PackType(PackKind.ENUM, width, name, List.of(), List.copyOf(constants), null);
+    }
+
+    static PackType array(PackType element) {
+        return new PackType(PackKind.ARRAY, 4, null, List.of(), List.of(), element);
+    }
+
+    /**
+     * An object type with the fields laid out in the given order after the null bitmap.
+     */
+    static PackType object(String name, Map<String, PackType> fieldTypes) {
+        int offset = nullBitmapBytes(fieldTypes.size());
+        List<PackField> fields = new ArrayList<>(fieldTypes.size());
+        for (Map.Entry<String, PackType> entry : fieldTypes.entrySet()) {
+            fields.add(new PackField(entry.getKey(), fields.size(), offset, entry.getValue()));
+            offset += entry.getValue().width();
+        }
+        return new PackType(PackKind.OBJECT, offset, name, List.copyOf(fields), List.of(), null);
+    }
+
+    /**
+     * An object type as read from a type table, with the offsets and record width it recorded.
+     */
+    static PackType object(String name, List<PackField> fields, int width) {
+        return new PackType(PackKind.OBJECT, width, name, List.copyOf(fields), List.of(), null);
+    }
+
+    static int nullBitmapBytes(int count) {
+        return (count + 7) >>> 3;
+    }
+
+    public PackKind kind() {
+        return kind;
+    }
+
+    /** Bytes one value takes; for an object, the size of one record. */
+    public int width() {
+        return width;
+    }
+
+    /** The object type's name, e.g. {@code cascade.stepInfo.steps}, or the enum's name. */
+    public String name() {
+        return name;
+    }
+
+    public List<PackField> fields() {
+        return fields;
+    }
+
+    /** The named field of an object type, or null if it has none. */
+    public PackField field(String fieldName) {
+        return fieldsByName.get(fieldName);
+    }
+
+    /** The enum's constant names by ordinal. */
+    public List<String> constants() {
+        return constants;
+    }
+
+    /** The array's element type. */
+    public PackType element() {
+        return element;
+    }
+
+    @Override
+    public String toString() {
+        return switch (kind) {
+            case OBJECT, ENUM -> kind + " " + name;
+            case ARRAY -> "ARRAY of " + element;
+            default -> kind.name();
+        };
+    }
+}
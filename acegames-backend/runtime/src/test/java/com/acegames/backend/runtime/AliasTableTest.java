@@ -0,0 +1,106 @@
+package com.acegames.backend.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AliasTableTest {
+
+    private static final int[] TILES = {101, 102, 103, 104, 105, 106, 107, 108};
+    private static final int[] WEIGHTS = {10, 20, 1, 0, 250, 7, 7, 33};
+    private static final int DRAWS = 400_000;
+    // chi-square critical value for 7 degrees of freedom at p = 0.001; seeded, so the outcome is fixed
+    private static final double CRITICAL_7DF = 24.322;
+
+    @Test
+    void shouldEncodeWeightsExactly() {
+        AliasTable table = AliasTable.build(TILES, WEIGHTS);
+        long total = 0;
+        for (int weight : WEIGHTS) {
+            total += weight;
+        }
+        for (int i = 0; i < TILES.length; i++) {
+            assertEquals((double) WEIGHTS[i] / total, table.probability(i), 1e-12, "tile " + TILES[i]);
+        }
+    }
+
+    @Test
+    void shouldMatchWeightsAndLinearScanBaselineStatistically() {
+        AliasTable alias = AliasTable.build(TILES, WEIGHTS);
+        LinearScanSampler linear = new LinearScanSampler(TILES, WEIGHTS);
+        SplittableRandom random = new SplittableRandom(42);
+
+        Map<Integer, Integer> aliasCounts = new HashMap<>();
+        Map<Integer, Integer> linearCounts = new HashMap<>();
+        for (int i = 0; i < DRAWS; i++) {
+            aliasCounts.merge(alias.sample(random), 1, Integer::sum);
+            linearCounts.merge(linear.sample(random), 1, Integer::sum);
+        }
+
+        assertNull(aliasCounts.get(104), "zero weight must never be drawn");
+        assertTrue(goodnessOfFit(aliasCounts) < CRITICAL_7DF, "alias table vs weights");
+        assertTrue(goodnessOfFit(linearCounts) < CRITICAL_7DF, "linear scan vs weights");
+        assertTrue(homogeneity(aliasCounts, linearCounts) < CRITICAL_7DF, "alias table vs linear scan");
+    }
+
+    @Test
+    void shouldRoundTripThroughColumns() {
+        AliasTable table = AliasTable.build(TILES, WEIGHTS);
+        AliasTable copy = AliasTable.fromColumns(table.outcomes(), table.thresholds(), table.aliases(), table.total());
+
+        SplittableRandom first = new SplittableRandom(7);
+        SplittableRandom second = new SplittableRandom(7);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(table.sample(first), copy.sample(second));
+        }
+    }
+
+    @Test
+    void shouldHandleSingleOutcomeAndRejectInvalidWeights() {
+        AliasTable single = AliasTable.build(new int[]{9}, new int[]{3});
+        assertEquals(9, single.sample(new SplittableRandom()));
+
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.build(new int[0], new int[0]));
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.build(new int[]{1, 2}, new int[]{1}));
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.build(new int[]{1, 2}, new int[]{0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.build(new int[]{1, 2}, new int[]{5, -1}));
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.fromColumns(new int[]{1}, new long[]{2}, new int[]{0}, 1));
+    }
+
+    // Pearson's statistic against the configured weights, over the outcomes that can occur
+    private static double goodnessOfFit(Map<Integer, Integer> counts) {
+        long total = 0;
+        for (int weight : WEIGHTS) {
+            total += weight;
+        }
+        double chiSquare = 0;
+        for (int i = 0; i < TILES.length; i++) {
+            if (WEIGHTS[i] == 0) {
+                continue;
+            }
+            double expected = (double) DRAWS * WEIGHTS[i] / total;
+            double diff = counts.getOrDefault(TILES[i], 0) - expected;
+            chiSquare += diff * diff / expected;
+        }
+        return chiSquare;
+    }
+
+    // Two-sample chi-square: do both samplers draw from the same distribution?
+    private static double homogeneity(Map<Integer, Integer> first, Map<Integer, Integer> second) {
+        double chiSquare = 0;
+        for (int tile : TILES) {
+            int a = first.getOrDefault(tile, 0);
+            int b = second.getOrDefault(tile, 0);
+            if (a + b == 0) {
+                continue;
+            }
+            double expected = (a + b) / 2.0;
+            chiSquare += (a - expected) * (a - expected) / expected + (b - expected) * (b - expected) / expected;
+        }
+        return chiSquare;
+    }
+}
@@ -0,0 +1,139 @@
+package com.acegames.backend.runtime;
+
+import com.acegames.backend.runtime.pack.ContentPack;
+import com.acegames.backend.runtime.pack.ContentPackWriter;
+import com.acegames.backend.runtime.pack.ContentPackWriter.Shape;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.acegames.backend.runtime.CascadeStepTable.ABSENT;
+import static com.acegames.backend.runtime.CascadeStepTable.NONE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CascadeStepTableTest {
+
+    private static final int CURRENCY = 0;
+    private static final int ITEM = 1;
+    private static final int LOGIN = 0;
+
+    @Test
+    void shouldFindTheRewardsOfAStepInAGroup() {
+        CascadeStepTable table = CascadeStepTable.builder()
+                .group("A")
+                .step(1, ABSENT).reward(CURRENCY, LOGIN, 100, ABSENT)
+                .step(2, 1).reward(CURRENCY, LOGIN, 50, 3600).reward(ITEM, NONE, 7, ABSENT)
+                .group("B")
+                .step(1, ABSENT)
+                .step(2, 1).reward(ITEM, LOGIN, 3, ABSENT)
+                .build();
+
+        assertEquals(2, table.groupCount());
+        assertEquals(4, table.stepCount());
+        assertEquals(4, table.rewardCount());
+
+        int step = table.stepIndex("A", 2);
+        assertEquals(2, table.step(step));
+        assertEquals(1, table.requiredStep(step));
+        assertEquals(2, table.rewardEnd(step) - table.rewardStart(step));
+        int first = table.rewardStart(step);
+        assertEquals(50, table.value(first));
+        assertEquals(3600, table.remainingSeconds(first));
+        assertEquals(ITEM, table.tradeType(first + 1));
+        assertEquals(NONE, table.eventType(first + 1));
+        assertEquals(ABSENT, table.remainingSeconds(first + 1));
+        assertEquals(50, table.totalValue(step, CURRENCY));
+
+        int empty = table.stepIndex(1, 1);
+        assertEquals(ABSENT, table.requiredStep(empty));
+        assertEquals(table.rewardStart(empty), table.rewardEnd(empty));
+        assertEquals(3, table.value(table.rewardStart(table.stepIndex(1, 2))));
+        assertEquals(-1, table.stepIndex("A", 3));
+        assertEquals(-1, table.stepIndex("C", 1));
+    }
+
+    @Test
+    void shouldFindStepsNotNumberedFromOne() {
+        CascadeStepTable.Builder builder = CascadeStepTable.builder().group("A");
+        for (int step : new int[]{5, 3, 9}) {
+            builder.step(step, ABSENT).reward(CURRENCY, LOGIN, step * 10, ABSENT);
+        }
+        CascadeStepTable table = builder.build();
+
+        for (int step : new int[]{5, 3, 9}) {
+            assertEquals(step * 10, table.value(table.rewardStart(table.stepIndex(0, step))));
+        }
+        assertEquals(-1, table.stepIndex(0, 1));
+    }
+
+    @Test
+    void shouldGrowPastItsInitialCapacity() {
+        CascadeStepTable.Builder builder = CascadeStepTable.builder();
+        for (int g = 0; g < 20; g++) {
+            builder.group("group-" + g);
+            for (int s = 1; s <= 30; s++) {
+                builder.step(s, s - 1).reward(g % 4, s % 4, g * 1000 + s, ABSENT).reward(CURRENCY, LOGIN, 1, s);
+            }
+        }
+        CascadeStepTable table = builder.build();
+
+        assertEquals(600, table.stepCount());
+        assertEquals(1200, table.rewardCount());
+        int step = table.stepIndex("group-17", 23);
+        assertEquals(17_023, table.value(table.rewardStart(step)));
+        assertEquals(23, table.remainingSeconds(table.rewardStart(step) + 1));
+        assertEquals(510, table.groupStart(17));
+    }
+
+    @Test
+    void shouldRejectRewardsOutsideAStepAndOrdinalsOutsideAByte() {
+        assertThrows(IllegalStateException.class, () -> CascadeStepTable.builder().step(1, ABSENT));
+        assertThrows(IllegalStateException.class, () -> CascadeStepTable.builder().group("A").reward(CURRENCY, LOGIN, 1, ABSENT));
+        assertThrows(IllegalArgumentException.class,
+                () -> CascadeStepTable.builder().group("A").step(1, ABSENT).reward(128, LOGIN, 1, ABSENT));
+    }
+
+    @Test
+    void shouldCopyTheStepTreeOfAPackRecord() {
+        Map<String, Shape> reward = new LinkedHashMap<>();
+        reward.put("tradeType", Shape.enumeration("TradeType"));
+        reward.put("value", Shape.number());
+        reward.put("remainingSeconds", Shape.number());
+        Map<String, Shape> step = new LinkedHashMap<>();
+        step.put("step", Shape.number());
+        step.put("requiredStep", Shape.number());
+        step.put("rewards", Shape.array(Shape.object(reward)));
+        Map<String, Shape> group = new LinkedHashMap<>();
+        group.put("group", Shape.string());
+        group.put("steps", Shape.array(Shape.object(step)));
+        Map<String, Shape> cascade = new LinkedHashMap<>();
+        cascade.put("_id", Shape.string());
+        cascade.put("stepInfo", Shape.array(Shape.object(group)));
+
+        List<Map<String, Object>> steps = List.of(
+                Map.of("step", 1, "rewards", List.of()),
+                Map.of("step", 2, "requiredStep", 1, "rewards", List.of(
+                        Map.of("tradeType", "ITEM", "value", 7),
+                        Map.of("tradeType", "CURRENCY", "value", 20, "remainingSeconds", 60))));
+        Map<String, Map<String, Object>> documents = Map.of("c1", Map.of("_id", "c1",
+                "stepInfo", List.of(Map.of("group", "A", "steps", steps))));
+        ContentPack pack = ContentPack.wrap(new ContentPackWriter(1, 0L)
+                .enumeration("TradeType", List.of("CURRENCY", "ITEM"))
+                .collection("cascade", 1, Shape.object(cascade), documents)
+                .toByteArray());
+
+        CascadeStepTable table = CascadeStepTable.fromPack(pack, pack.collection("cascade").find("c1"));
+
+        assertEquals("A", table.groupName(0));
+        assertEquals(ABSENT, table.requiredStep(table.stepIndex(0, 1)));
+        int index = table.stepIndex("A", 2);
+        assertEquals(1, table.requiredStep(index));
+        int first = table.rewardStart(index);
+        assertEquals(List.of(ITEM, 7, ABSENT, NONE), List.of(table.tradeType(first), table.value(first),
+                table.remainingSeconds(first), table.eventType(first)));
+        assertEquals(List.of(CURRENCY, 20, 60), List.of(table.tradeType(first + 1), table.value(first + 1),
+                table.remainingSeconds(first + 1)));
+    }
+}
@@ -0,0 +1,161 @@
+package com.acegames.backend.runtime;
+
+import com.acegames.backend.runtime.EligibilityIndex.Condition;
+import com.acegames.backend.runtime.EligibilityIndex.Operator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EligibilityIndexTest {
+
+    private static final List<String> DIMENSIONS = List.of("minLevel", "daysSinceRegistration", "hasSubscription");
+
+    @Test
+    void shouldApplyEveryOperatorAtAroundAndBetweenThresholds() {
+        Map<String, List<Condition>> offers = new LinkedHashMap<>();
+        for (Operator operator : Operator.values()) {
+            offers.put(operator.name(), List.of(new Condition("minLevel", operator, 10)));
+        }
+        offers.put("unconditional", List.of());
+        EligibilityIndex index = EligibilityIndex.compile(DIMENSIONS, offers);
+
+        for (int level : new int[]{Integer.MIN_VALUE + 1, 9, 10, 11, Integer.MAX_VALUE}) {
+            Set<String> expected = new HashSet<>(Set.of("unconditional"));
+            for (Operator operator : Operator.values()) {
+                if (operator.test(level, 10)) {
+                    expected.add(operator.name());
+                }
+            }
+            assertEquals(expected, Set.copyOf(index.eligible(values(level, 0, 0))), "level " + level);
+        }
+    }
+
+    @Test
+    void shouldRequireEveryConditionAndFailConditionsOnAbsentValues() {
+        EligibilityIndex index = EligibilityIndex.compile(DIMENSIONS, Map.of(
+            "starter", List.of(new Condition("minLevel", Operator.GTE, 10), new Condition("daysSinceRegistration", Operator.LTE, 30)),
+            "band", List.of(new Condition("minLevel", Operator.GTE, 5), new Condition("minLevel", Operator.LT, 8)),
+            "subscribers", List.of(new Condition("hasSubscription", Operator.EQ, 1))));
+
+        assertEquals(List.of("starter"), index.eligible(values(12, 3, 0)));
+        assertEquals(List.of(), index.eligible(values(12, 31, 0)));
+        assertEquals(Set.of("band", "subscribers"), Set.copyOf(index.eligible(values(6, 100, 1))));
+        assertEquals(List.of(), index.eligible(values(12, EligibilityIndex.ABSENT, 0)));
+    }
+
+    @Test
+    void shouldMatchBruteForceOnRandomOffers() {
+        SplittableRandom random = new SplittableRandom(42);
+        Map<String, List<Condition>> offers = new LinkedHashMap<>();
+        for (int i = 0; i < 300; i++) {
+            offers.put("offer-" + i, randomConditions(random));
+        }
+        EligibilityIndex index = EligibilityIndex.compile(DIMENSIONS, offers);
+
+        for (int i = 0; i < 2000; i++) {
+            int[] player = randomPlayer(random);
+            assertEquals(bruteForce(offers, player), Set.copyOf(index.eligible(player)));
+        }
+    }
+
+    @Test
+    void shouldMatchFullCompileAfterIncrementalChanges() {
+        SplittableRandom random = new SplittableRandom(7);
+        Map<String, List<Condition>> offers = new LinkedHashMap<>();
+        EligibilityIndex incremental = EligibilityIndex.compile(DIMENSIONS, Map.of());
+
+        for (int step = 0; step < 400; step++) {
+            String id = "offer-" + random.nextInt(120);
+            if (random.nextInt(4) == 0) {
+                offers.remove(id);
+                incremental = incremental.withoutOffer(id);
+            } else {
+                List<Condition> conditions = randomConditions(random);
+                offers.put(id, conditions);
+                incremental = incremental.withOffer(id, conditions);
+            }
+        }
+
+        EligibilityIndex full = EligibilityIndex.compile(DIMENSIONS, offers);
+        assertEquals(offers.size(), incremental.size());
+        assertEquals(full.conditionCount(), incremental.conditionCount());
+        for (int i = 0; i < 1000; i++) {
+            int[] player = randomPlayer(random);
+            Set<String> expected = bruteForce(offers, player);
+            assertEquals(expected, Set.copyOf(incremental.eligible(player)));
+            assertEquals(expected, Set.copyOf(full.eligible(player)));
+        }
+    }
+
+    @Test
+    void shouldReuseFreedBitPositionsAndLeaveEarlierIndexesUntouched() {
+        EligibilityIndex first = EligibilityIndex.compile(DIMENSIONS, Map.of("a", List.of(new Condition("minLevel", Operator.GTE, 10))));
+        EligibilityIndex second = first.withoutOffer("a").withOffer("b", List.of());
+
+        assertEquals("b", second.offerId(0));
+        assertEquals(List.of("a"), first.eligible(values(10, 0, 0)));
+        assertEquals(List.of("b"), second.eligible(values(1, 0, 0)));
+        assertSame(second, second.withoutOffer("missing"));
+    }
+
+    @Test
+    void shouldParseOperatorsAndRejectUnknownInput() {
+        assertEquals(Operator.GTE, Operator.parse(" >= "));
+        assertEquals(Operator.EQ, Operator.parse("="));
+        assertEquals(Operator.NE, Operator.parse("!="));
+        assertThrows(IllegalArgumentException.class, () -> Operator.parse("=>"));
+        assertThrows(IllegalArgumentException.class, () -> Operator.parse(null));
+
+        EligibilityIndex index = EligibilityIndex.compile(DIMENSIONS, Map.of());
+        assertThrows(IllegalArgumentException.class,
+            () -> index.withOffer("a", List.of(new Condition("region", Operator.EQ, 1))));
+        assertThrows(IllegalArgumentException.class, () -> index.eligible(new int[]{1}));
+        assertThrows(IllegalArgumentException.class, () -> EligibilityIndex.compile(List.of("a", "a"), Map.of()));
+    }
+
+    private static List<Condition> randomConditions(SplittableRandom random) {
+        List<Condition> conditions = new ArrayList<>();
+        int count = random.nextInt(4);
+        for (int i = 0; i < count; i++) {
+            String dimension = DIMENSIONS.get(random.nextInt(DIMENSIONS.size()));
+            Operator operator = Operator.values()[random.nextInt(Operator.values().length)];
+            conditions.add(new Condition(dimension, operator, random.nextInt(40)));
+        }
+        return conditions;
+    }
+
+    private static int[] randomPlayer(SplittableRandom random) {
+        int[] player = new int[DIMENSIONS.size()];
+        for (int d = 0; d < player.length; d++) {
+            player[d] = random.nextInt(20) == 0 ? EligibilityIndex.ABSENT : random.nextInt(-2, 42);
+        }
+        return player;
+    }
+
+    private static Set<String> bruteForce(Map<String, List<Condition>> offers, int[] player) {
+        Set<String> eligible = new HashSet<>();
+        for (Map.Entry<String, List<Condition>> offer : offers.entrySet()) {
+            boolean passes = true;
+            for (Condition condition : offer.getValue()) {
+                int value = player[DIMENSIONS.indexOf(condition.dimension())];
+                passes &= value != EligibilityIndex.ABSENT && condition.operator().test(value, condition.value());
+            }
+            if (passes) {
+                eligible.add(offer.getKey());
+            }
+        }
+        return eligible;
+    }
+
+    private static int[] values(int minLevel, int daysSinceRegistration, int hasSubscription) {
+        return new int[]{minLevel, daysSinceRegistration, hasSubscription};
+    }
+}
@@ -0,0 +1,277 @@
+package com.acegames.backend.runtime.pack;
+
+import com.acegames.backend.runtime.pack.ContentPackWriter.Shape;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentPackTest {
+
+    private static final List<String> TRADE_TYPES = List.of("CURRENCY", "ITEM", "BADGE", "XP");
+
+    private static Shape cascadeShape() {
+        Map<String, Shape> reward = new LinkedHashMap<>();
+        reward.put("tradeType", Shape.enumeration("TradeType"));
+        reward.put("value", Shape.number());
+        reward.put("remainingSeconds", Shape.number());
+        Map<String, Shape> step = new LinkedHashMap<>();
+        step.put("step", Shape.number());
+        step.put("requiredStep", Shape.number());
+        step.put("rewards", Shape.array(Shape.object(reward)));
+        Map<String, Shape> cascade = new LinkedHashMap<>();
+        cascade.put("_id", Shape.string());
+        cascade.put("name", Shape.string());
+        cascade.put("startDate", Shape.date());
+        cascade.put("active", Shape.bool());
+        cascade.put("tags", Shape.array(Shape.string()));
+        cascade.put("steps", Shape.array(Shape.object(step)));
+        return Shape.object(cascade);
+    }
+
+    private static Map<String, Object> cascade(String id, String name, Object startDate, List<Map<String, Object>> steps) {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("_id", id);
+        document.put("name", name);
+        document.put("startDate", startDate);
+        document.put("active", true);
+        document.put("tags", Arrays.asList("summer", null, "summer"));
+        document.put("steps", steps);
+        document.put("_version", 3L);
+        return document;
+    }
+
+    @SafeVarargs
+    private static Map<String, Object> step(int step, Integer requiredStep, Map<String, Object>... rewards) {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("step", step);
+        document.put("requiredStep", requiredStep);
+        List<Map<String, Object>> rewardList = new ArrayList<>();
+        for (Map<String, Object> reward : rewards) {
+            rewardList.add(reward);
+        }
+        document.put("rewards", rewardList);
+        return document;
+    }
+
+    private static Map<String, Object> reward(String tradeType, int value, Integer remainingSeconds) {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("tradeType", tradeType);
+        document.put("value", value);
+        if (remainingSeconds != null) {
+            document.put("remainingSeconds", remainingSeconds);
+        }
+        return document;
+    }
+
+    private static ContentPackWriter writer() {
+        return new ContentPackWriter(42, 1_700_000_000_000L).enumeration("TradeType", TRADE_TYPES);
+    }
+
+    @Test
+    void shouldReadBackEveryDeclaredFieldAndDropUndeclaredOnes() {
+        Map<String, Map<String, Object>> documents = new LinkedHashMap<>();
+        documents.put("c1", cascade("c1", "Summer", 1_719_792_000_000L, List.of(
+                step(1, null, reward("CURRENCY", 100, null), reward("XP", 5, 3600)),
+                step(2, 1))));
+        documents.put("c2", cascade("c2", "Winter", "2024-12-01", List.of()));
+
+        ContentPack pack = ContentPack.wrap(writer().collection("cascade", 7, cascadeShape(), documents).toByteArray());
+
+        assertEquals(42, pack.snapshotVersion());
+        assertEquals(1_700_000_000_000L, pack.builtAt());
+        PackCollection cascades = pack.collection("cascade");
+        assertEquals(7, cascades.version());
+        assertEquals(2, cascades.size());
+        assertEquals(List.of("c1", "c2"), List.of(cascades.id(0), cascades.id(1)));
+
+        Map<String, Object> first = cascades.record(0).toMap();
+        assertFalse(first.containsKey("_version"));
+        assertEquals("Summer", first.get("name"));
+        assertEquals(1_719_792_000_000L, first.get("startDate"));
+        assertEquals(Arrays.asList("summer", null, "summer"), first.get("tags"));
+        assertEquals(List.of(
+                Map.of("step", 1, "rewards", List.of(
+                        Map.of("tradeType", "CURRENCY", "value", 100),
+                        Map.of("tradeType", "XP", "value", 5, "remainingSeconds", 3600))),
+                Map.of("step", 2, "requiredStep", 1, "rewards", List.of())), first.get("steps"));
+        assertEquals(1_733_011_200_000L, cascades.record(1).getLong("startDate"));
+    }
+
+    @Test
+    void shouldWalkNestedArraysWithReusedFlyweights() {
+        Map<String, Map<String, Object>> documents = new LinkedHashMap<>();
+        documents.put("c1", cascade("c1", "Summer", 0L, List.of(
+                step(1, null, reward("CURRENCY", 100, null), reward("BADGE", 5, 60)),
+                step(2, 1, reward("ITEM", 7, null)))));
+        ContentPack pack = ContentPack.wrap(writer().collection("cascade", 1, cascadeShape(), documents).toByteArray());
+        PackCollection cascades = pack.collection("cascade");
+
+        PackField steps = cascades.type().field("steps");
+        PackType stepType = steps.type().element();
+        PackField requiredStep = stepType.field("requiredStep");
+        PackField rewards = stepType.field("rewards");
+        PackType rewardType = rewards.type().element();
+        PackField tradeType = rewardType.field("tradeType");
+        PackField value = rewardType.field("value");
+
+        PackRecord cascade = cascades.record(0, pack.newRecord());
+        PackArray stepArray = cascade.getArray(steps, pack.newArray());
+        PackRecord step = pack.newRecord();
+        PackArray rewardArray = pack.newArray();
+        PackRecord reward = pack.newRecord();
+
+        List<String> seen = new ArrayList<>();
+        int total = 0;
+        for (int s = 0; s < stepArray.size(); s++) {
+            stepArray.getRecord(s, step);
+            seen.add("step" + step.getInt("step") + (step.isNull(requiredStep) ? "" : "<-" + step.getInt(requiredStep)));
+            step.getArray(rewards, rewardArray);
+            for (int r = 0; r < rewardArray.size(); r++) {
+                rewardArray.getRecord(r, reward);
+                seen.add(reward.getEnum(tradeType) + "#" + reward.getOrdinal(tradeType));
+                total += reward.getInt(value);
+            }
+        }
+
+        assertEquals(List.of("step1", "CURRENCY#0", "BADGE#2", "step2<-1", "ITEM#1"), seen);
+        assertEquals(112, total);
+        assertEquals(PackKind.INT32, value.type().kind());
+        assertEquals(1, tradeType.type().width());
+    }
+
+    @Test
+    void shouldPickTheNarrowestNumberWidthThatHoldsEveryValue() {
+        Map<String, Shape> fields = new LinkedHashMap<>();
+        fields.put("small", Shape.number());
+        fields.put("wholeDoubles", Shape.number());
+        fields.put("large", Shape.number());
+        fields.put("fractional", Shape.number());
+        fields.put("empty", Shape.number());
+        Map<String, Map<String, Object>> documents = new LinkedHashMap<>();
+        documents.put("a", new HashMap<>(Map.of("small", 1, "wholeDoubles", 5.0, "large", 7, "fractional", 2)));
+        documents.put("b", new HashMap<>(Map.of("small", (short) -3, "wholeDoubles", 6, "large", 1L << 40, "fractional", 0.25)));
+
+        PackCollection numbers = ContentPack.wrap(writer().collection("numbers", 1, Shape.object(fields), documents).toByteArray())
+                .collection("numbers");
+
+        PackType type = numbers.type();
+        assertEquals(PackKind.INT32, type.field("small").type().kind());
+        assertEquals(PackKind.INT32, type.field("wholeDoubles").type().kind());
+        assertEquals(PackKind.INT64, type.field("large").type().kind());
+        assertEquals(PackKind.FLOAT64, type.field("fractional").type().kind());
+        assertEquals(PackKind.INT32, type.field("empty").type().kind());
+        PackRecord b = numbers.record(1);
+        assertEquals(-3, b.getInt("small"));
+        assertEquals(6.0, b.getDouble("wholeDoubles"));
+        assertEquals(1L << 40, b.getLong("large"));
+        assertEquals(0.25, b.getDouble("fractional"));
+        assertTrue(b.isNull("empty"));
+        assertThrows(ArithmeticException.class, () -> b.getInt("large"));
+        assertThrows(IllegalStateException.class, () -> b.getString("small"));
+        assertThrows(IllegalArgumentException.class, () -> b.getInt("missing"));
+    }
+
+    @Test
+    void shouldLeaveOutAndReportDocumentsThatDoNotMatchTheShape() {
+        Map<String, Map<String, Object>> documents = new LinkedHashMap<>();
+        documents.put("good", cascade("good", "Fine", 0L, List.of(step(1, null, reward("XP", 1, null)))));
+        documents.put("badEnum", cascade("badEnum", "Nope", 0L, List.of(step(1, null, reward("GEMS", 1, null)))));
+        documents.put("badDate", cascade("badDate", "Nope", "next tuesday", List.of()));
+        documents.put("badName", cascade("badName", null, 0L, List.of()));
+        documents.get("badName").put("name", 12);
+
+        ContentPackWriter writer = writer().collection("cascade", 1, cascadeShape(), documents);
+        PackCollection cascades = ContentPack.wrap(writer.toByteArray()).collection("cascade");
+
+        assertEquals(1, cascades.size());
+        assertEquals("good", cascades.id(0));
+        Map<String, String> rejected = writer.rejected().get("cascade");
+        assertEquals(List.of("badEnum", "badDate", "badName"), List.copyOf(rejected.keySet()));
+        assertTrue(rejected.get("badEnum").startsWith("steps[0].rewards[0].tradeType: expected a constant of TradeType"));
+        assertTrue(rejected.get("badDate").startsWith("startDate: expected Date"));
+        assertTrue(rejected.get("badName").startsWith("name: expected String"));
+    }
+
+    @Test
+    void shouldFindRecordsByIdAcrossTheUtf8Order() {
+        List<String> ids = List.of("m", "b", "Z", "\u00e9", "a1", "a", "aa", "\u00df", "");
+        Map<String, Map<String, Object>> documents = new LinkedHashMap<>();
+        for (String id : ids) {
+            documents.put(id, new HashMap<>(Map.of("name", "n-" + id)));
+        }
+        PackCollection collection = ContentPack.wrap(writer()
+                .collection("skin", 1, Shape.object(Map.of("name", Shape.string())), documents)
+                .toByteArray()).collection("skin");
+
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i, collection.indexOf(ids.get(i)));
+            assertEquals("n-" + ids.get(i), collection.find(ids.get(i)).getString("name"));
+        }
+        assertEquals(-1, collection.indexOf("missing"));
+        assertNull(collection.find("\u00e92"));
+    }
+
+    @Test
+    void shouldMemoryMapAWrittenFile(@TempDir Path directory) throws Exception {
+        Map<String, Map<String, Object>> documents = new LinkedHashMap<>();
+        documents.put("c1", cascade("c1", "Summer", 0L, List.of(step(1, null, reward("XP", 9, null)))));
+        Path file = directory.resolve("content.pack");
+        Files.write(file, writer().collection("cascade", 1, cascadeShape(), documents).toByteArray());
+
+        ContentPack pack = ContentPack.open(file);
+
+        assertEquals(List.of("cascade"), List.copyOf(pack.collections().keySet()));
+        assertEquals(TRADE_TYPES, pack.enums().get("TradeType").constants());
+        assertEquals("Summer", pack.collection("cascade").find("c1").getString("name"));
+        assertNull(pack.collection("offer"));
+    }
+
+    @Test
+    void shouldUseTwoByteOrdinalsForLargeEnums() {
+        List<String> constants = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            constants.add("C" + i);
+        }
+        Map<String, Map<String, Object>> documents = new LinkedHashMap<>();
+        documents.put("x", new HashMap<>(Map.of("value", "C299")));
+        PackCollection collection = ContentPack.wrap(new ContentPackWriter(1, 0)
+                .enumeration("Large", constants)
+                .collection("large", 1, Shape.object(Map.of("value", Shape.enumeration("Large"))), documents)
+                .toByteArray()).collection("large");
+
+        assertEquals(2, collection.type().field("value").type().width());
+        assertEquals(299, collection.record(0).getOrdinal("value"));
+        assertEquals("C299", collection.record(0).getEnum("value"));
+    }
+
+    @Test
+    void shouldRejectBuffersThatAreNotPacksAndMisusedWriters() {
+        byte[] bytes = writer().toByteArray();
+        assertTrue(ContentPack.wrap(bytes).collections().isEmpty());
+
+        byte[] wrongMagic = bytes.clone();
+        wrongMagic[0] = 'X';
+        assertThrows(IllegalArgumentException.class, () -> ContentPack.wrap(wrongMagic));
+        byte[] newerFormat = bytes.clone();
+        newerFormat[ContentPack.FORMAT_VERSION_OFFSET] = 2;
+        assertThrows(IllegalArgumentException.class, () -> ContentPack.wrap(newerFormat));
+        assertThrows(IllegalArgumentException.class, () -> ContentPack.wrap(Arrays.copyOf(bytes, bytes.length - 1)));
+
+        assertThrows(IllegalArgumentException.class, () -> writer().collection("x", 1, Shape.string(), Map.of()));
+        assertThrows(IllegalArgumentException.class,
+                () -> writer().collection("x", 1, Shape.object(Map.of("e", Shape.enumeration("Missing"))), Map.of()));
+        ContentPackWriter finished = writer();
+        finished.toByteArray();
+        assertThrows(IllegalStateException.class, () -> finished.enumeration("Other", List.of()));
+    }
+}
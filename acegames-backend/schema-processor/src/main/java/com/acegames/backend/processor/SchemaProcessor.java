@@ -0,0 +1,335 @@
+package com.acegames.backend.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Emits the {@code Map<String, FieldDefinition>} schema of every Lombok {@code @Data} model in the
+ * model package as generated source, using the same type rules as {@code ReflectionSchemaParser}.
+ * Also writes {@value #INDEX_RESOURCE}, listing the models and enums found, so the application can
+ * discover domain types without scanning the classpath.
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions({SchemaProcessor.MODEL_PACKAGE_OPTION, SchemaProcessor.ENUM_PACKAGE_OPTION})
+public class SchemaProcessor extends AbstractProcessor {
+
+    static final String MODEL_PACKAGE_OPTION = "acegames.schema.modelPackage";
+    static final String ENUM_PACKAGE_OPTION = "acegames.schema.enumPackage";
+    static final String INDEX_RESOURCE = "META-INF/acegames/domain.idx";
+    private static final String DEFAULT_MODEL_PACKAGE = "com.acegames.backend.domain.model";
+    private static final String DEFAULT_ENUM_PACKAGE = "com.acegames.backend.domain.enums";
+    private static final String GENERATED_CLASS = "GeneratedModelSchemas";
+    private static final String PROVIDER_INTERFACE = "com.acegames.backend.application.helper.SchemaProvider";
+    private static final String FIELD_DEFINITION = "com.acegames.backend.application.dto.FieldDefinition";
+
+    private final Set<TypeElement> models = new LinkedHashSet<>();
+    private final Set<TypeElement> enums = new LinkedHashSet<>();
+    private boolean generated;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        String modelPackage = processingEnv.getOptions().getOrDefault(MODEL_PACKAGE_OPTION, DEFAULT_MODEL_PACKAGE);
+        String enumPackage = processingEnv.getOptions().getOrDefault(ENUM_PACKAGE_OPTION, DEFAULT_ENUM_PACKAGE);
+        Elements elements = processingEnv.getElementUtils();
+
+        for (Element element : roundEnv.getRootElements()) {
+            if (element.getKind() == ElementKind.CLASS && isDataModel(element)
+                    && elements.getPackageOf(element).getQualifiedName().contentEquals(modelPackage)) {
+                models.add((TypeElement) element);
+            } else if (element.getKind() == ElementKind.ENUM
+                    && elements.getPackageOf(element).getQualifiedName().contentEquals(enumPackage)) {
+                enums.add((TypeElement) element);
+            }
+        }
+
+        if (!generated && !models.isEmpty()) {
+            generated = true;
+            try {
+                generate(modelPackage);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Could not write generated schemas: " + e.getMessage());
+            }
+        }
+        return false;
+    }
+
+    // Lombok's processor claims the annotations it handles, so models are found by inspecting root elements.
+    private boolean isDataModel(Element element) {
+        return element.getAnnotationMirrors().stream()
+                .anyMatch(mirror -> mirror.getAnnotationType().toString().equals("lombok.Data"));
+    }
+
+    private void generate(String modelPackage) throws IOException {
+        SchemaWriter writer = new SchemaWriter(processingEnv.getElementUtils(), processingEnv.getTypeUtils());
+        for (TypeElement model : models) {
+            writer.visit(model);
+        }
+        if (writer.failed) {
+            return;
+        }
+
+        Filer filer = processingEnv.getFiler();
+        String qualifiedName = modelPackage + "." + GENERATED_CLASS;
+        JavaFileObject source = filer.createSourceFile(qualifiedName, models.toArray(new Element[0]));
+        try (Writer out = source.openWriter()) {
+            out.write(writer.render(modelPackage, models));
+        }
+
+        writeIndex(filer);
+    }
+
+    // One "<kind> <binary name>" line per type; "document" marks models that carry an _id and map to a collection.
+    private void writeIndex(Filer filer) throws IOException {
+        Elements elements = processingEnv.getElementUtils();
+        Set<TypeElement> originating = new LinkedHashSet<>(models);
+        originating.addAll(enums);
+
+        FileObject index = filer.createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE,
+                originating.toArray(new Element[0]));
+        try (Writer out = index.openWriter()) {
+            for (TypeElement model : models) {
+                boolean document = ElementFilter.fieldsIn(model.getEnclosedElements()).stream()
+                        .anyMatch(field -> field.getSimpleName().contentEquals("_id"));
+                out.write((document ? "document " : "model ") + elements.getBinaryName(model) + "\n");
+            }
+            for (TypeElement enumType : enums) {
+                out.write("enum " + elements.getBinaryName(enumType) + "\n");
+            }
+        }
+    }
+
+    private final class SchemaWriter {
+        private final Elements elements;
+        private final Types types;
+        private final TypeMirror listType;
+        private final TypeMirror numberType;
+        // Post-order: a type is only added after every type it nests, so constants can be initialized in order.
+        private final Map<String, String> constants = new LinkedHashMap<>();
+        private final Map<String, String> bodies = new LinkedHashMap<>();
+        private final Set<String> inProgress = new LinkedHashSet<>();
+        private boolean failed;
+
+        SchemaWriter(Elements elements, Types types) {
+            this.elements = elements;
+            this.types = types;
+            this.listType = types.erasure(elements.getTypeElement("java.util.List").asType());
+            this.numberType = elements.getTypeElement("java.lang.Number").asType();
+        }
+
+        String visit(TypeElement type) {
+            String name = type.getQualifiedName().toString();
+            if (constants.containsKey(name)) {
+                return constants.get(name);
+            }
+            if (!inProgress.add(name)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Recursive model type cannot be expressed as a schema: " + name, type);
+                failed = true;
+                return "null";
+            }
+
+            StringBuilder body = new StringBuilder();
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                String fieldName = field.getSimpleName().toString();
+                body.append("        fields.put(\"").append(fieldName).append("\", ")
+                        .append(fieldExpression(field.asType(), fieldName)).append(");\n");
+            }
+
+            inProgress.remove(name);
+            String constant = name.replace('.', '_').toUpperCase();
+            constants.put(name, constant);
+            bodies.put(name, body.toString());
+            return constant;
+        }
+
+        private String fieldExpression(TypeMirror type, String fieldName) {
+            String reference = referenceName(fieldName);
+            String lowerName = fieldName.toLowerCase();
+            boolean isLong = type.getKind() == TypeKind.LONG || isDeclared(type, "java.lang.Long");
+            if (isLong && (lowerName.contains("date") || lowerName.contains("time")
+                    || lowerName.contains("created") || lowerName.contains("updated")
+                    || lowerName.contains("expire"))) {
+                return def("Date", null, null, null, reference);
+            }
+            if (isEnum(type)) {
+                return def("Enum", simpleName(type), null, null, reference);
+            }
+            if (type.getKind() == TypeKind.DECLARED && types.isAssignable(types.erasure(type), listType)) {
+                String items = null;
+                List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+                if (!arguments.isEmpty() && arguments.get(0).getKind() == TypeKind.DECLARED) {
+                    items = itemExpression(arguments.get(0));
+                }
+                return def("Array", null, null, items, reference);
+            }
+            if (isPrimitive(type)) {
+                return def(primitiveType(type), null, null, null, reference);
+            }
+            return def("Object", null, nestedFields(type), null, reference);
+        }
+
+        private String itemExpression(TypeMirror type) {
+            if (isEnum(type)) {
+                return def("Enum", simpleName(type), null, null, null);
+            }
+            if (isPrimitive(type)) {
+                return def(primitiveType(type), null, null, null, null);
+            }
+            return def("Object", null, nestedFields(type), null, null);
+        }
+
+        private String nestedFields(TypeMirror type) {
+            if (type.getKind() == TypeKind.DECLARED) {
+                return visit((TypeElement) ((DeclaredType) type).asElement());
+            }
+            // Primitives such as long and Java arrays declare no fields when walked reflectively.
+            return "EMPTY";
+        }
+
+        private boolean isEnum(TypeMirror type) {
+            return type.getKind() == TypeKind.DECLARED
+                    && ((DeclaredType) type).asElement().getKind() == ElementKind.ENUM;
+        }
+
+        private boolean isPrimitive(TypeMirror type) {
+            TypeKind kind = type.getKind();
+            if (kind == TypeKind.INT || kind == TypeKind.DOUBLE || kind == TypeKind.BOOLEAN) {
+                return true;
+            }
+            if (kind != TypeKind.DECLARED) {
+                return false;
+            }
+            return isDeclared(type, "java.lang.String") || types.isAssignable(type, numberType)
+                    || isDeclared(type, "java.lang.Boolean") || isDeclared(type, "java.util.Date")
+                    || isDeclared(type, "java.time.LocalDate");
+        }
+
+        private String primitiveType(TypeMirror type) {
+            if (isDeclared(type, "java.lang.String")) return "String";
+            if (type.getKind() == TypeKind.BOOLEAN || isDeclared(type, "java.lang.Boolean")) return "Boolean";
+            if (isDeclared(type, "java.util.Date") || isDeclared(type, "java.time.LocalDate")) return "Date";
+            return "Number";
+        }
+
+        private boolean isDeclared(TypeMirror type, String qualifiedName) {
+            return type.getKind() == TypeKind.DECLARED
+                    && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals(qualifiedName);
+        }
+
+        private String simpleName(TypeMirror type) {
+            return ((DeclaredType) type).asElement().getSimpleName().toString();
+        }
+
+        private String referenceName(String fieldName) {
+            String base;
+            if (fieldName.endsWith("Ids")) {
+                base = fieldName.substring(0, fieldName.length() - 3);
+            } else if (fieldName.endsWith("Id")) {
+                base = fieldName.substring(0, fieldName.length() - 2);
+            } else {
+                return null;
+            }
+            return base.isEmpty() ? base : base.substring(0, 1).toLowerCase() + base.substring(1);
+        }
+
+        private String def(String type, String enumName, String fields, String items, String reference) {
+            return "def(" + literal(type) + ", " + literal(enumName) + ", " + (fields == null ? "null" : fields)
+                    + ", " + (items == null ? "null" : items) + ", " + literal(reference) + ")";
+        }
+
+        private String literal(String value) {
+            return value == null ? "null" : "\"" + value + "\"";
+        }
+
+        String render(String modelPackage, Set<TypeElement> roots) {
+            StringBuilder out = new StringBuilder();
+            out.append("package ").append(modelPackage).append(";\n\n");
+            out.append("import ").append(FIELD_DEFINITION).append(";\n\n");
+            out.append("import java.util.Collections;\n");
+            out.append("import java.util.LinkedHashMap;\n");
+            out.append("import java.util.Map;\n\n");
+            out.append("@javax.annotation.processing.Generated(\"").append(SchemaProcessor.class.getName()).append("\")\n");
+            out.append("public final class ").append(GENERATED_CLASS).append(" implements ").append(PROVIDER_INTERFACE).append(" {\n\n");
+            out.append("    private static final Map<String, FieldDefinition> EMPTY = Collections.emptyMap();\n");
+
+            List<String> names = new ArrayList<>(constants.keySet());
+            for (String name : names) {
+                out.append("    private static final Map<String, FieldDefinition> ").append(constants.get(name))
+                        .append(" = ").append(methodName(name)).append("();\n");
+            }
+
+            out.append("\n    private static final Map<String, Map<String, FieldDefinition>> SCHEMAS;\n\n");
+            out.append("    static {\n");
+            out.append("        Map<String, Map<String, FieldDefinition>> schemas = new LinkedHashMap<>();\n");
+            for (TypeElement root : roots) {
+                String name = root.getQualifiedName().toString();
+                out.append("        schemas.put(\"").append(elements.getBinaryName(root)).append("\", ")
+                        .append(constants.get(name)).append(");\n");
+            }
+            out.append("        SCHEMAS = Collections.unmodifiableMap(schemas);\n");
+            out.append("    }\n\n");
+
+            out.append("    @Override\n");
+            out.append("    public Map<String, Map<String, FieldDefinition>> schemas() {\n");
+            out.append("        return SCHEMAS;\n");
+            out.append("    }\n");
+
+            for (String name : names) {
+                out.append("\n    private static Map<String, FieldDefinition> ").append(methodName(name)).append("() {\n");
+                out.append("        Map<String, FieldDefinition> fields = new LinkedHashMap<>();\n");
+                out.append(bodies.get(name));
+                out.append("        return Collections.unmodifiableMap(fields);\n");
+                out.append("    }\n");
+            }
+
+            out.append("\n    private static FieldDefinition def(String type, String enumName, Map<String, FieldDefinition> fields,\n");
+            out.append("                                       FieldDefinition items, String reference) {\n");
+            out.append("        FieldDefinition def = new FieldDefinition();\n");
+            out.append("        def.setType(type);\n");
+            out.append("        def.setEnumName(enumName);\n");
+            out.append("        def.setFields(fields);\n");
+            out.append("        def.setItems(items);\n");
+            out.append("        def.setReference(reference);\n");
+            out.append("        return def;\n");
+            out.append("    }\n");
+            out.append("}\n");
+            return out.toString();
+        }
+
+        private String methodName(String qualifiedName) {
+            return "schemaOf" + qualifiedName.replace('.', '_');
+        }
+    }
+}
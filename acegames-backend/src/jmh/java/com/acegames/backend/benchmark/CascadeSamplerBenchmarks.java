@@ -0,0 +1,62 @@
+package com.acegames.backend.benchmark;
+
+import com.acegames.backend.runtime.AliasTable;
+import com.acegames.backend.runtime.LinearScanSampler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One weighted tile draw from a Cascade-sized stepRule: the alias table's two random numbers and a
+ * single column lookup against the cumulative-weight scan it replaces.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CascadeSamplerBenchmarks {
+
+    @Param({"8", "64", "512"})
+    public int tiles;
+
+    private AliasTable aliasTable;
+    private LinearScanSampler linearScan;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom weights = new SplittableRandom(42);
+        int[] tileIds = new int[tiles];
+        int[] tileWeights = new int[tiles];
+        for (int i = 0; i < tiles; i++) {
+            tileIds[i] = 1000 + i;
+            tileWeights[i] = 1 + weights.nextInt(100);
+        }
+        aliasTable = AliasTable.build(tileIds, tileWeights);
+        linearScan = new LinearScanSampler(tileIds, tileWeights);
+        random = new SplittableRandom(7);
+    }
+
+    @Benchmark
+    public int aliasTable() {
+        return aliasTable.sample(random);
+    }
+
+    @Benchmark
+    public int linearScan() {
+        return linearScan.sample(random);
+    }
+}
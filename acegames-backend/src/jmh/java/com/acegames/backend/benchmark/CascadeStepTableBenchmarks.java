@@ -0,0 +1,179 @@
+package com.acegames.backend.benchmark;
+
+import com.acegames.backend.application.helper.CascadeStepTables;
+import com.acegames.backend.domain.enums.TradeType;
+import com.acegames.backend.domain.model.Cascade;
+import com.acegames.backend.domain.model.Reward;
+import com.acegames.backend.domain.model.Step;
+import com.acegames.backend.domain.model.StepGroup;
+import com.acegames.backend.runtime.CascadeStepTable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Cascade step tree as objects against the same tree as {@link CascadeStepTable}s. The lookup
+ * benchmarks total the currency of 1024 random (cascade, group, step) triples, the scan benchmarks
+ * visit every reward once, and {@code buildTables} is the one-off cost of converting the objects.
+ * {@link #main} prints what each form retains ({@code ./gradlew cascadeStepTableFootprint}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CascadeStepTableBenchmarks {
+
+    private static final int LOOKUPS = 1024;
+    private static final int CURRENCY = TradeType.CURRENCY.ordinal();
+
+    // Each Cascade has 4 step groups of 10 steps with 3 rewards each
+    @Param({"100", "1000"})
+    public int cascades;
+
+    private Cascade[] objects;
+    private CascadeStepTable[] tables;
+    private int[] lookupCascades;
+    private String[] lookupGroups;
+    private int[] lookupSteps;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Map<String, Object>> documents = new ArrayList<>();
+        for (int c = 0; c < cascades; c++) {
+            documents.add(ContentPackBenchmarks.cascade(String.format("%024x", c), c, random));
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        objects = objectMapper.readValue(objectMapper.writeValueAsBytes(documents), Cascade[].class);
+        tables = buildTables();
+
+        lookupCascades = new int[LOOKUPS];
+        lookupGroups = new String[LOOKUPS];
+        lookupSteps = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookupCascades[i] = random.nextInt(cascades);
+            lookupGroups[i] = "group-" + random.nextInt(4);
+            lookupSteps[i] = random.nextInt(1, 11);
+        }
+    }
+
+    /**
+     * Retained bytes of the {@code stepInfo} lists against the tables built from them, walked with JOL
+     * over the same data the benchmarks use. Arguments are cascade counts.
+     */
+    public static void main(String[] args) throws IOException {
+        for (String count : args) {
+            CascadeStepTableBenchmarks state = new CascadeStepTableBenchmarks();
+            state.cascades = Integer.parseInt(count);
+            state.setUp();
+            Object[] stepInfos = new Object[state.cascades];
+            for (int c = 0; c < state.cascades; c++) {
+                stepInfos[c] = state.objects[c].getStepInfo();
+            }
+            long objectBytes = GraphLayout.parseInstance(stepInfos).totalSize();
+            long tableBytes = GraphLayout.parseInstance((Object[]) state.tables).totalSize();
+            System.out.printf("%d cascades: objects %d bytes (%d per cascade), tables %d bytes (%d per cascade)%n",
+                    state.cascades, objectBytes, objectBytes / state.cascades, tableBytes, tableBytes / state.cascades);
+        }
+    }
+
+    @Benchmark
+    public CascadeStepTable[] buildTables() {
+        CascadeStepTable[] built = new CascadeStepTable[objects.length];
+        for (int c = 0; c < objects.length; c++) {
+            built[c] = CascadeStepTables.of(objects[c]);
+        }
+        return built;
+    }
+
+    @Benchmark
+    public long stepCurrencyObjects() {
+        long total = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            for (StepGroup group : objects[lookupCascades[i]].getStepInfo()) {
+                if (!group.getGroup().equals(lookupGroups[i])) {
+                    continue;
+                }
+                for (Step step : group.getSteps()) {
+                    if (step.getStep() != lookupSteps[i]) {
+                        continue;
+                    }
+                    for (Reward reward : step.getRewards()) {
+                        if (reward.getTradeType() == TradeType.CURRENCY) {
+                            total += reward.getValue();
+                        }
+                    }
+                    break;
+                }
+                break;
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long stepCurrencyTable() {
+        long total = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            CascadeStepTable table = tables[lookupCascades[i]];
+            int step = table.stepIndex(lookupGroups[i], lookupSteps[i]);
+            if (step >= 0) {
+                total += table.totalValue(step, CURRENCY);
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long scanObjects() {
+        long total = 0;
+        for (Cascade cascade : objects) {
+            for (StepGroup group : cascade.getStepInfo()) {
+                for (Step step : group.getSteps()) {
+                    for (Reward reward : step.getRewards()) {
+                        total += reward.getValue();
+                        if (reward.getRemainingSeconds() != null) {
+                            total += reward.getRemainingSeconds();
+                        }
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long scanTable() {
+        long total = 0;
+        for (CascadeStepTable table : tables) {
+            for (int r = 0, rewards = table.rewardCount(); r < rewards; r++) {
+                total += table.value(r);
+                int remaining = table.remainingSeconds(r);
+                if (remaining != CascadeStepTable.ABSENT) {
+                    total += remaining;
+                }
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,199 @@
+package com.acegames.backend.benchmark;
+
+import com.acegames.backend.application.helper.ContentPackShapes;
+import com.acegames.backend.application.helper.EnumScanner;
+import com.acegames.backend.application.helper.ReflectionSchemaParser;
+import com.acegames.backend.domain.enums.EventType;
+import com.acegames.backend.domain.enums.TradeType;
+import com.acegames.backend.domain.model.Cascade;
+import com.acegames.backend.domain.model.Reward;
+import com.acegames.backend.domain.model.Step;
+import com.acegames.backend.domain.model.StepGroup;
+import com.acegames.backend.runtime.pack.ContentPack;
+import com.acegames.backend.runtime.pack.ContentPackWriter;
+import com.acegames.backend.runtime.pack.PackArray;
+import com.acegames.backend.runtime.pack.PackCollection;
+import com.acegames.backend.runtime.pack.PackField;
+import com.acegames.backend.runtime.pack.PackRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A game server's cold start on the Cascade collection: parsing the JSON it pulls today into Cascade
+ * objects, against memory-mapping the same content as a content pack. The sum benchmarks then visit
+ * every reward once, through the objects and through pack flyweights.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentPackBenchmarks {
+
+    // Each Cascade has 4 step groups of 10 steps with 3 rewards each
+    @Param({"100", "1000"})
+    public int cascades;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] json;
+    private Path packFile;
+    private Cascade[] parsed;
+    private ContentPack pack;
+    private PackField stepInfo;
+    private PackField steps;
+    private PackField rewards;
+    private PackField value;
+    private PackRecord cascade;
+    private PackArray groupArray;
+    private PackRecord group;
+    private PackArray stepArray;
+    private PackRecord step;
+    private PackArray rewardArray;
+    private PackRecord reward;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        Map<String, Map<String, Object>> documents = new LinkedHashMap<>();
+        for (int c = 0; c < cascades; c++) {
+            String id = String.format("%024x", c);
+            documents.put(id, cascade(id, c, random));
+        }
+        json = objectMapper.writeValueAsBytes(documents.values());
+
+        Map<String, String[]> enums = EnumScanner.scanEnums();
+        ContentPackWriter writer = new ContentPackWriter(1, System.currentTimeMillis());
+        enums.forEach((name, constants) -> writer.enumeration(name, List.of(constants)));
+        writer.collection("cascade", 1, ContentPackShapes.of(ReflectionSchemaParser.parseClass(Cascade.class),
+                enums.keySet(), "cascade", new ArrayList<>()), documents);
+        packFile = Files.createTempFile("content", ".pack");
+        Files.write(packFile, writer.toByteArray());
+
+        parsed = loadJson();
+        pack = loadPack();
+        PackCollection collection = pack.collection("cascade");
+        stepInfo = collection.type().field("stepInfo");
+        steps = stepInfo.type().element().field("steps");
+        rewards = steps.type().element().field("rewards");
+        value = rewards.type().element().field("value");
+        cascade = pack.newRecord();
+        groupArray = pack.newArray();
+        group = pack.newRecord();
+        stepArray = pack.newArray();
+        step = pack.newRecord();
+        rewardArray = pack.newArray();
+        reward = pack.newRecord();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(packFile);
+    }
+
+    static Map<String, Object> cascade(String id, int index, SplittableRandom random) {
+        List<Map<String, Object>> groups = new ArrayList<>();
+        for (int g = 0; g < 4; g++) {
+            List<Map<String, Object>> groupSteps = new ArrayList<>();
+            for (int s = 1; s <= 10; s++) {
+                List<Map<String, Object>> stepRewards = new ArrayList<>();
+                for (int r = 0; r < 3; r++) {
+                    Map<String, Object> reward = new LinkedHashMap<>();
+                    reward.put("tradeType", TradeType.values()[random.nextInt(TradeType.values().length)].name());
+                    reward.put("eventType", EventType.values()[random.nextInt(EventType.values().length)].name());
+                    reward.put("value", random.nextInt(1, 5000));
+                    reward.put("remainingSeconds", random.nextInt(4) == 0 ? null : random.nextInt(86_400));
+                    stepRewards.add(reward);
+                }
+                Map<String, Object> step = new LinkedHashMap<>();
+                step.put("step", s);
+                step.put("requiredStep", s == 1 ? null : s - 1);
+                step.put("rewards", stepRewards);
+                groupSteps.add(step);
+            }
+            Map<String, Object> group = new LinkedHashMap<>();
+            group.put("group", "group-" + g);
+            group.put("steps", groupSteps);
+            groups.add(group);
+        }
+        List<Map<String, Object>> stepRule = new ArrayList<>();
+        for (int t = 0; t < 16; t++) {
+            stepRule.add(Map.of("tileId", 100 + t, "weight", random.nextInt(1, 100)));
+        }
+        Map<String, Object> cascade = new LinkedHashMap<>();
+        cascade.put("_id", id);
+        cascade.put("name", "Cascade " + index);
+        cascade.put("skinId", random.nextInt(20));
+        cascade.put("startDate", 1_719_792_000_000L + index * 86_400_000L);
+        cascade.put("endDate", 1_719_792_000_000L + (index + 14) * 86_400_000L);
+        cascade.put("stepRule", stepRule);
+        cascade.put("stepInfo", groups);
+        return cascade;
+    }
+
+    @Benchmark
+    public Cascade[] loadJson() throws IOException {
+        return objectMapper.readValue(json, Cascade[].class);
+    }
+
+    @Benchmark
+    public ContentPack loadPack() throws IOException {
+        return ContentPack.open(packFile);
+    }
+
+    @Benchmark
+    public long sumRewardsObjects() {
+        long total = 0;
+        for (Cascade loaded : parsed) {
+            for (StepGroup stepGroup : loaded.getStepInfo()) {
+                for (Step loadedStep : stepGroup.getSteps()) {
+                    for (Reward loadedReward : loadedStep.getRewards()) {
+                        total += loadedReward.getValue();
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long sumRewardsPack() {
+        PackCollection collection = pack.collection("cascade");
+        long total = 0;
+        for (int c = 0; c < collection.size(); c++) {
+            collection.record(c, cascade).getArray(stepInfo, groupArray);
+            for (int g = 0; g < groupArray.size(); g++) {
+                groupArray.getRecord(g, group).getArray(steps, stepArray);
+                for (int s = 0; s < stepArray.size(); s++) {
+                    stepArray.getRecord(s, step).getArray(rewards, rewardArray);
+                    for (int r = 0; r < rewardArray.size(); r++) {
+                        total += rewardArray.getRecord(r, reward).getInt(value);
+                    }
+                }
+            }
+        }
+        return total;
+    }
+}
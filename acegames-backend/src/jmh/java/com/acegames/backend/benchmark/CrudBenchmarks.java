@@ -0,0 +1,109 @@
+package com.acegames.backend.benchmark;
+
+import com.acegames.backend.application.dto.ContentFilter;
+import com.acegames.backend.application.service.ContentValidationService;
+import com.acegames.backend.config.ObjectIdModule;
+import com.acegames.backend.infrastructure.changestream.ContentChangeStreamStatus;
+import com.acegames.backend.infrastructure.service.GenericCrudServiceImpl;
+import com.acegames.backend.web.exception.SchemaValidationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The content read path without a server: {@code findAll} over documents as the driver hands them
+ * out (ObjectId {@code _id}s), and the same list serialized to JSON as the controller returns it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CrudBenchmarks {
+
+    @Param({"500"})
+    public int documents;
+
+    private GenericCrudServiceImpl service;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        List<ObjectId> ids = new ArrayList<>(documents);
+        for (int i = 0; i < documents; i++) {
+            ids.add(new ObjectId());
+        }
+        service = new GenericCrudServiceImpl(new ReplayingMongoTemplate(ids), new ContentValidationService() {
+            @Override
+            public void validate(String collectionName, Map<String, Object> data) {
+            }
+
+            @Override
+            public void validateSchema(String collectionName, Map<String, Object> data) {
+            }
+
+            @Override
+            public Map<Integer, SchemaValidationException> validateReferences(String collectionName,
+                                                                              List<? extends Map<String, Object>> payloads) {
+                return Map.of();
+            }
+
+            @Override
+            public List<ContentFilter> parseFilters(String collectionName, List<String> expressions) {
+                return List.of();
+            }
+        }, event -> { }, new ContentChangeStreamStatus());
+        objectMapper = new ObjectMapper().registerModule(new ObjectIdModule());
+    }
+
+    @Benchmark
+    public List<Document> findAll() {
+        return service.findAll("skin");
+    }
+
+    @Benchmark
+    public byte[] findAllAsJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(service.findAll("skin"));
+    }
+
+    /**
+     * Returns freshly built documents on every call, like a driver cursor would.
+     */
+    private static final class ReplayingMongoTemplate extends OfflineMongoTemplate {
+        private final List<ObjectId> ids;
+
+        ReplayingMongoTemplate(List<ObjectId> ids) {
+            this.ids = ids;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> findAll(Class<T> entityClass, String collectionName) {
+            List<Document> docs = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                docs.add(new Document("_id", ids.get(i))
+                        .append("name", "Skin " + i)
+                        .append("_version", 1L));
+            }
+            return (List<T>) docs;
+        }
+    }
+}
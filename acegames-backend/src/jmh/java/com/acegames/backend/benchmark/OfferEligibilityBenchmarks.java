@@ -0,0 +1,107 @@
+package com.acegames.backend.benchmark;
+
+import com.acegames.backend.domain.enums.Requirement;
+import com.acegames.backend.runtime.EligibilityIndex;
+import com.acegames.backend.runtime.EligibilityIndex.Condition;
+import com.acegames.backend.runtime.EligibilityIndex.Operator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offer eligibility for one player: the compiled index against evaluating every Offer's requirement
+ * list in turn, as a game server would without it. Offers carry one to three requirements with
+ * thresholds drawn from realistic ranges.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OfferEligibilityBenchmarks {
+
+    private static final List<String> DIMENSIONS = Arrays.stream(Requirement.values()).map(Enum::name).toList();
+    private static final Operator[] OPERATORS = {Operator.GTE, Operator.GTE, Operator.LTE, Operator.EQ, Operator.LT};
+
+    @Param({"100", "1000", "10000"})
+    public int offers;
+
+    private EligibilityIndex index;
+    private String[] offerIds;
+    private Condition[][] conditions;
+    private int[][] dimensionIndexes;
+    private int[] player;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        Map<String, List<Condition>> byId = new LinkedHashMap<>();
+        for (int i = 0; i < offers; i++) {
+            List<Condition> offer = new ArrayList<>();
+            int count = 1 + random.nextInt(3);
+            for (int c = 0; c < count; c++) {
+                offer.add(new Condition(DIMENSIONS.get(random.nextInt(DIMENSIONS.size())),
+                        OPERATORS[random.nextInt(OPERATORS.length)], random.nextInt(100)));
+            }
+            byId.put("offer-" + i, offer);
+        }
+        index = EligibilityIndex.compile(DIMENSIONS, byId);
+        offerIds = byId.keySet().toArray(String[]::new);
+        conditions = byId.values().stream().map(list -> list.toArray(Condition[]::new)).toArray(Condition[][]::new);
+        // The scan gets its dimension lookups resolved up front too, so only the evaluation strategy differs
+        dimensionIndexes = Arrays.stream(conditions)
+                .map(offer -> Arrays.stream(offer).mapToInt(condition -> DIMENSIONS.indexOf(condition.dimension())).toArray())
+                .toArray(int[][]::new);
+        player = new int[DIMENSIONS.size()];
+        for (int d = 0; d < player.length; d++) {
+            player[d] = random.nextInt(100);
+        }
+    }
+
+    @Benchmark
+    public List<String> compiledIndex() {
+        return index.eligible(player);
+    }
+
+    // The index's own cost, before eligible bit positions are turned into an id list
+    @Benchmark
+    public long[] compiledIndexBitset() {
+        return index.eligibleSet(player);
+    }
+
+    @Benchmark
+    public List<String> scanEveryOffer() {
+        List<String> eligible = new ArrayList<>();
+        for (int i = 0; i < conditions.length; i++) {
+            boolean passes = true;
+            for (int c = 0; c < conditions[i].length; c++) {
+                Condition condition = conditions[i][c];
+                if (!condition.operator().test(player[dimensionIndexes[i][c]], condition.value())) {
+                    passes = false;
+                    break;
+                }
+            }
+            if (passes) {
+                eligible.add(offerIds[i]);
+            }
+        }
+        return eligible;
+    }
+}
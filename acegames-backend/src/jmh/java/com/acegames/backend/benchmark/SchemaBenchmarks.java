@@ -0,0 +1,90 @@
+package com.acegames.backend.benchmark;
+
+import com.acegames.backend.application.dto.FieldDefinition;
+import com.acegames.backend.application.dto.ModelSchemaDto;
+import com.acegames.backend.application.helper.EnumScanner;
+import com.acegames.backend.application.helper.ReflectionSchemaParser;
+import com.acegames.backend.application.helper.SchemaFingerprint;
+import com.acegames.backend.domain.model.Cascade;
+import com.acegames.backend.infrastructure.model.ModelSchemaDocument;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schema-side hot paths: parsing a deep model, mapping stored schemas to DTOs, enum discovery and
+ * serializing a FieldDefinition tree the way the schema endpoints do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaBenchmarks {
+
+    private ModelSchemaDocument cascadeSchema;
+    private ModelSchemaDocument legacyCascadeSchema;
+    private Map<String, FieldDefinition> cascadeFields;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        cascadeFields = ReflectionSchemaParser.parseClassUncached(Cascade.class);
+        cascadeSchema = ModelSchemaDocument.builder()
+                .collection("cascade")
+                .displayName("Cascade")
+                .fields(cascadeFields)
+                .fingerprint(SchemaFingerprint.of(cascadeFields))
+                .build();
+        // Stored before fingerprints existed, so fromEntity has to hash the tree
+        legacyCascadeSchema = ModelSchemaDocument.builder()
+                .collection("cascade")
+                .displayName("Cascade")
+                .fields(cascadeFields)
+                .build();
+        objectMapper = new ObjectMapper();
+    }
+
+    @Benchmark
+    public Map<String, FieldDefinition> parseCascadeCached() {
+        return ReflectionSchemaParser.parseClass(Cascade.class);
+    }
+
+    @Benchmark
+    public Map<String, FieldDefinition> parseCascadeUncached() {
+        return ReflectionSchemaParser.parseClassUncached(Cascade.class);
+    }
+
+    @Benchmark
+    public ModelSchemaDto fromEntity() {
+        return ModelSchemaDto.fromEntity(cascadeSchema);
+    }
+
+    @Benchmark
+    public ModelSchemaDto fromEntityWithoutFingerprint() {
+        return ModelSchemaDto.fromEntity(legacyCascadeSchema);
+    }
+
+    @Benchmark
+    public Map<String, String[]> scanEnums() {
+        return EnumScanner.scanEnums();
+    }
+
+    @Benchmark
+    public byte[] serializeCascadeFields() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cascadeFields);
+    }
+}
@@ -0,0 +1,18 @@
+package com.acegames.backend.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult {
+    // notFound: an update or delete whose id matched no document
+    public enum Status { ok, notFound, error, skipped }
+
+    private int index;
+    private Status status;
+    private String id;
+    private String error;
+}
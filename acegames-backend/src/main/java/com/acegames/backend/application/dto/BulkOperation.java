@@ -0,0 +1,17 @@
+package com.acegames.backend.application.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class BulkOperation {
+    public enum Type { insert, update, delete }
+
+    private Type type;
+    /**
+     * Target document for update and delete; ignored for insert.
+     */
+    private String id;
+    private Map<String, Object> data;
+}
@@ -0,0 +1,21 @@
+package com.acegames.backend.application.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkWriteReport {
+    private int inserted;
+    private int matched;
+    private int modified;
+    private int deleted;
+    // Updates and deletes whose id matched no document; not counted as failed
+    private int notFound;
+    private int failed;
+    /**
+     * One entry per submitted operation, in request order.
+     */
+    private List<BulkItemResult> items = new ArrayList<>();
+}
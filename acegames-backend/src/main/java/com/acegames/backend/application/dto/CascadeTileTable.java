@@ -0,0 +1,21 @@
+package com.acegames.backend.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A Cascade's compiled stepRule alias table, in the column form
+ * {@code com.acegames.backend.runtime.AliasTable.fromColumns} loads, so game servers can draw
+ * locally without rebuilding it.
+ */
+@Data
+@AllArgsConstructor
+public class CascadeTileTable {
+    private String cascadeId;
+    // _version of the Cascade the table was compiled from
+    private long version;
+    private int[] tileIds;
+    private long[] thresholds;
+    private int[] aliases;
+    private long total;
+}
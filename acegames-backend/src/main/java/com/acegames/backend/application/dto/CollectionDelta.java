@@ -0,0 +1,16 @@
+package com.acegames.backend.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.bson.Document;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CollectionDelta {
+    // Documents added or changed, in full
+    private List<Document> upserted;
+    // Ids of documents no longer present
+    private List<String> removed;
+}
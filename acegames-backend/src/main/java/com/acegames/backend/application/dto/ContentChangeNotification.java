@@ -0,0 +1,18 @@
+package com.acegames.backend.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ContentChangeNotification {
+    private String collection;
+    // Change stream operation: insert, update, replace, delete, drop, rename
+    private String operation;
+    // Null for whole-collection operations such as drop
+    private String documentId;
+    // Sent as the SSE event id rather than in the payload; clients hand it back in Last-Event-ID
+    @JsonIgnore
+    private String resumeToken;
+}
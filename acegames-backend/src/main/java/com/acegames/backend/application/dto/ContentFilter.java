@@ -0,0 +1,19 @@
+package com.acegames.backend.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * One parsed {@code filter=path:operator:value} condition, with the value already converted to the
+ * type the schema declares for the path.
+ */
+@Data
+@AllArgsConstructor
+public class ContentFilter {
+    public enum Operator { eq, ne, gt, gte, lt, lte, in, nin, exists }
+
+    private String path;
+    private Operator operator;
+    // A List for in/nin, a Boolean for exists, otherwise a single value
+    private Object value;
+}
@@ -0,0 +1,11 @@
+package com.acegames.backend.application.dto;
+
+/**
+ * A content snapshot encoded as a content pack.
+ *
+ * @param tag     snapshot version and schema fingerprint the pack was built from; equal tags mean
+ *                packs with the same content, on any instance
+ * @param content the pack, as read by {@code com.acegames.backend.runtime.pack.ContentPack}
+ */
+public record ContentPackExport(String tag, byte[] content, ContentPackReport report) {
+}
@@ -0,0 +1,20 @@
+package com.acegames.backend.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class ContentPackReport {
+    private long snapshotVersion;
+    private int bytes;
+    // Records written per collection
+    private Map<String, Integer> records;
+    // Documents left out because they do not match their schema: the reason by id, per collection
+    private Map<String, Map<String, String>> rejected;
+    // Schema fields without a fixed layout (no type, or an Array without items), left out of every record
+    private List<String> skippedFields;
+}
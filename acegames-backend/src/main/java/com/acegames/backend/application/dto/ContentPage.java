@@ -0,0 +1,15 @@
+package com.acegames.backend.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.bson.Document;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ContentPage {
+    private List<Document> items;
+    private String nextCursor;
+    private int limit;
+}
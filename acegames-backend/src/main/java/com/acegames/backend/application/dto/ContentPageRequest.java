@@ -0,0 +1,23 @@
+package com.acegames.backend.application.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ContentPageRequest {
+    /**
+     * Opaque cursor returned as {@code nextCursor} by the previous page; null for the first page.
+     */
+    private String after;
+    private Integer limit;
+    /**
+     * Field to sort by, prefixed with {@code -} for descending. Ties are broken by {@code _id}.
+     */
+    private String sort;
+    private List<String> fields;
+    /**
+     * {@code path:operator:value} conditions, all of which must match; see ContentFilterParser.
+     */
+    private List<String> filter;
+}
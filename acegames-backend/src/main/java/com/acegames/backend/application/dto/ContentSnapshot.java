@@ -0,0 +1,34 @@
+package com.acegames.backend.application.dto;
+
+import org.bson.Document;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every registered content collection as of one moment, indexed by document id. Snapshots are never
+ * modified once published. Their documents are {@link ReadOnlyDocument}s, shared with later snapshots
+ * while unchanged; copy one before changing it.
+ *
+ * @param version  increases with every snapshot an instance publishes and is only meaningful to that
+ *                 instance: it carries a random per-instance epoch in its high 32 bits
+ * @param builtAt  epoch millis
+ */
+public record ContentSnapshot(long version, long builtAt, Map<String, CollectionSnapshot> collections) {
+
+    public Document get(String collection, String id) {
+        CollectionSnapshot snapshot = collections.get(collection);
+        return snapshot == null ? null : snapshot.documents().get(id);
+    }
+
+    public List<Document> all(String collection) {
+        CollectionSnapshot snapshot = collections.get(collection);
+        return snapshot == null ? List.of() : List.copyOf(snapshot.documents().values());
+    }
+
+    /**
+     * @param version the collection's write counter, read before its documents
+     */
+    public record CollectionSnapshot(String collection, long version, Map<String, Document> documents) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.acegames.backend.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DanglingReference {
+    // _id of the referencing document; null when checking a payload that has not been saved yet
+    private Object documentId;
+    // Field path with array positions, e.g. stepRule[1].tileId
+    private String path;
+    // Collection the field references, e.g. purchaseproduct
+    private String targetCollection;
+    private Object value;
+}
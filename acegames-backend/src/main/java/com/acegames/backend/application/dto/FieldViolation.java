@@ -0,0 +1,12 @@
+package com.acegames.backend.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class FieldViolation {
+    private String path;
+    private String rule;
+    private String message;
+}
@@ -0,0 +1,16 @@
+package com.acegames.backend.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+
+@Data
+@AllArgsConstructor
+public class IndexDefinition {
+    private String name;
+    // Field path -> 1 (ascending), in index key order
+    private LinkedHashMap<String, Integer> keys;
+    // Why the schema asks for the index, e.g. "reference:skin" or "date-range"
+    private String reason;
+}
@@ -0,0 +1,24 @@
+package com.acegames.backend.application.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class IndexReport {
+    private String collection;
+    private List<IndexDefinition> declared = new ArrayList<>();
+    // Declared indexes not present on the collection (before reconciling)
+    private List<String> missing = new ArrayList<>();
+    private List<String> created = new ArrayList<>();
+    // Indexes this manager created earlier that the schema no longer declares
+    private List<String> stale = new ArrayList<>();
+    private List<String> dropped = new ArrayList<>();
+    // Index name -> time $indexStats started counting, for indexes with no recorded use since then
+    private Map<String, Date> unusedSince = new LinkedHashMap<>();
+    private Map<String, String> failed = new LinkedHashMap<>();
+}
@@ -1,6 +1,8 @@
 package com.acegames.backend.application.dto;
 
+import com.acegames.backend.application.helper.SchemaFingerprint;
 import com.acegames.backend.infrastructure.model.ModelSchemaDocument;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 
 import java.util.Map;
@@ -11,11 +13,18 @@ public class ModelSchemaDto {
     private String displayName;
     private Map<String, FieldDefinition> fields;
 
+    @JsonIgnore
+    private String fingerprint;
+
     public static ModelSchemaDto fromEntity(ModelSchemaDocument entity) {
         ModelSchemaDto dto = new ModelSchemaDto();
         dto.setCollection(entity.getCollection());
         dto.setDisplayName(entity.getDisplayName());
         dto.setFields(entity.getFields());
+        // Schemas saved before fingerprints existed get one computed on read
+        dto.setFingerprint(entity.getFingerprint() != null
+                ? entity.getFingerprint()
+                : SchemaFingerprint.of(entity.getFields()));
         return dto;
     }
 }
@@ -0,0 +1,15 @@
+package com.acegames.backend.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class OfferEligibilityReport {
+    private int offers;
+    private int conditions;
+    // Offers left out of the index, by id, with the reason; they are never eligible until fixed
+    private Map<String, String> rejected;
+}
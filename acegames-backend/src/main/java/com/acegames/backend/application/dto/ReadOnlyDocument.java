@@ -0,0 +1,99 @@
+package com.acegames.backend.application.dto;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A deep copy of a {@link Document} that cannot be modified: nested documents are read-only copies
+ * as well and nested lists are unmodifiable. Every mutator throws UnsupportedOperationException.
+ *
+ * <p>Equal to any map with the same entries, plain Documents included, which {@link Document#equals}
+ * is not: it only accepts its own class.
+ */
+public final class ReadOnlyDocument extends Document {
+
+    private ReadOnlyDocument(Map<String, Object> frozen) {
+        super(frozen);
+    }
+
+    public static ReadOnlyDocument copyOf(Map<String, ?> document) {
+        if (document instanceof ReadOnlyDocument readOnly) {
+            return readOnly;
+        }
+        Map<String, Object> frozen = new LinkedHashMap<>();
+        document.forEach((key, value) -> frozen.put(key, freeze(value)));
+        return new ReadOnlyDocument(frozen);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object freeze(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            return copyOf((Map<String, ?>) map);
+        }
+        if (value instanceof List<?> list) {
+            List<Object> frozen = new ArrayList<>(list.size());
+            for (Object item : list) {
+                frozen.add(freeze(item));
+            }
+            return Collections.unmodifiableList(frozen);
+        }
+        return value;
+    }
+
+    @Override
+    public Document append(String key, Object value) {
+        throw new UnsupportedOperationException("Document is read-only");
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        throw new UnsupportedOperationException("Document is read-only");
+    }
+
+    @Override
+    public Object remove(Object key) {
+        throw new UnsupportedOperationException("Document is read-only");
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> map) {
+        throw new UnsupportedOperationException("Document is read-only");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("Document is read-only");
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return Collections.unmodifiableSet(super.keySet());
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return Collections.unmodifiableCollection(super.values());
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return Collections.unmodifiableSet(super.entrySet());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || o instanceof Map<?, ?> map && entrySet().equals(map.entrySet());
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+}
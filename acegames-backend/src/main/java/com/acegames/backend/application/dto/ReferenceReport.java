@@ -0,0 +1,19 @@
+package com.acegames.backend.application.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ReferenceReport {
+    private String collection;
+    private long documentsChecked;
+    private long referencesChecked;
+    // $in queries issued against referenced collections
+    private int lookups;
+    private long danglingCount;
+    // The first dangling references found, capped so a badly broken collection cannot exhaust memory
+    private List<DanglingReference> dangling = new ArrayList<>();
+    private long elapsedMillis;
+}
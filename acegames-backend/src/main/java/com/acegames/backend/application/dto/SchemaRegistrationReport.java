@@ -0,0 +1,20 @@
+package com.acegames.backend.application.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class SchemaRegistrationReport {
+    private List<String> written = new ArrayList<>();
+    private List<String> unchanged = new ArrayList<>();
+    private Map<String, String> failed = new LinkedHashMap<>();
+    private Map<String, Long> durationsMicros = new LinkedHashMap<>();
+
+    public int getTotalCount() {
+        return written.size() + unchanged.size() + failed.size();
+    }
+}
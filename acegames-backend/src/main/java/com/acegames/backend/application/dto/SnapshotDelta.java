@@ -0,0 +1,17 @@
+package com.acegames.backend.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class SnapshotDelta {
+    private long fromVersion;
+    private long toVersion;
+    // True when fromVersion is no longer retained: every document is sent and the client should replace its copy
+    private boolean full;
+    // Only collections with changes are present
+    private Map<String, CollectionDelta> collections;
+}
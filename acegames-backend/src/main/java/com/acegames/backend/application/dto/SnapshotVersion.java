@@ -0,0 +1,16 @@
+package com.acegames.backend.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class SnapshotVersion {
+    private long version;
+    private long builtAt;
+    // Write counter per collection, as loaded into the snapshot
+    private Map<String, Long> collections;
+    private long documents;
+}
@@ -0,0 +1,12 @@
+package com.acegames.backend.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TileSample {
+    private String cascadeId;
+    private long version;
+    private int[] tileIds;
+}
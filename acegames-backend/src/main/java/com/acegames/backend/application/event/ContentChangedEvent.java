@@ -0,0 +1,11 @@
+package com.acegames.backend.application.event;
+
+/**
+ * Published by the content services after every successful write, once the collection's version
+ * counter has been bumped, or by the change stream listener instead while it is live. Listeners
+ * holding data derived from content use it to drop stale entries.
+ *
+ * @param documentId hex id of the changed document, or null when a write touched several (bulk writes)
+ */
+public record ContentChangedEvent(String collection, String documentId) {
+}
@@ -0,0 +1,104 @@
+package com.acegames.backend.application.helper;
+
+import com.acegames.backend.domain.enums.EventType;
+import com.acegames.backend.domain.enums.TradeType;
+import com.acegames.backend.domain.model.Cascade;
+import com.acegames.backend.domain.model.Reward;
+import com.acegames.backend.domain.model.Step;
+import com.acegames.backend.domain.model.StepGroup;
+import com.acegames.backend.runtime.CascadeStepTable;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.acegames.backend.runtime.CascadeStepTable.ABSENT;
+import static com.acegames.backend.runtime.CascadeStepTable.NONE;
+
+/**
+ * Builds the {@link CascadeStepTable} of a Cascade, from the object or from its stored document.
+ * Ordinals are {@link TradeType} and {@link EventType} ordinals, the same a content pack uses. Null
+ * groups, steps and rewards are skipped, and in a document an enum name the enum lacks reads as
+ * {@link CascadeStepTable#NONE}.
+ */
+public final class CascadeStepTables {
+
+    private CascadeStepTables() {
+    }
+
+    public static CascadeStepTable of(Cascade cascade) {
+        CascadeStepTable.Builder builder = CascadeStepTable.builder();
+        if (cascade.getStepInfo() == null) {
+            return builder.build();
+        }
+        for (StepGroup group : cascade.getStepInfo()) {
+            if (group == null) {
+                continue;
+            }
+            builder.group(group.getGroup());
+            if (group.getSteps() == null) {
+                continue;
+            }
+            for (Step step : group.getSteps()) {
+                if (step == null) {
+                    continue;
+                }
+                builder.step(step.getStep(), step.getRequiredStep() == null ? ABSENT : step.getRequiredStep());
+                if (step.getRewards() == null) {
+                    continue;
+                }
+                for (Reward reward : step.getRewards()) {
+                    if (reward != null) {
+                        builder.reward(
+                                reward.getTradeType() == null ? NONE : reward.getTradeType().ordinal(),
+                                reward.getEventType() == null ? NONE : reward.getEventType().ordinal(),
+                                reward.getValue(),
+                                reward.getRemainingSeconds() == null ? ABSENT : reward.getRemainingSeconds());
+                    }
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /** From a Cascade as stored, e.g. a snapshot {@code Document}. */
+    public static CascadeStepTable of(Map<String, ?> cascade) {
+        CascadeStepTable.Builder builder = CascadeStepTable.builder();
+        for (Map<?, ?> group : maps(cascade.get("stepInfo"))) {
+            builder.group(group.get("group") instanceof String name ? name : null);
+            for (Map<?, ?> step : maps(group.get("steps"))) {
+                builder.step(intOr(step.get("step"), 0), intOr(step.get("requiredStep"), ABSENT));
+                for (Map<?, ?> reward : maps(step.get("rewards"))) {
+                    builder.reward(
+                            ordinal(TradeType.class, reward.get("tradeType")),
+                            ordinal(EventType.class, reward.get("eventType")),
+                            intOr(reward.get("value"), 0),
+                            intOr(reward.get("remainingSeconds"), ABSENT));
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static List<Map<?, ?>> maps(Object value) {
+        if (!(value instanceof List<?> list)) {
+            return List.of();
+        }
+        return list.stream().filter(Map.class::isInstance).<Map<?, ?>>map(Map.class::cast).toList();
+    }
+
+    private static int intOr(Object value, int absent) {
+        return value instanceof Number number ? number.intValue() : absent;
+    }
+
+    private static <E extends Enum<E>> int ordinal(Class<E> type, Object value) {
+        if (!(value instanceof String name)) {
+            return NONE;
+        }
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equals(name)) {
+                return constant.ordinal();
+            }
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,30 @@
+package com.acegames.backend.application.helper;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Date fields are stored as epoch millis, the representation the domain models use. Writes and
+ * filters may also spell a date as ISO-8601: an instant ({@code 2025-01-01T12:00:00Z}) or a calendar
+ * date ({@code 2025-01-01}), which is taken as midnight UTC.
+ */
+public class ContentDates {
+
+    /**
+     * @return the epoch millis of an ISO-8601 instant or date, {@code null} if the text is neither
+     */
+    public static Long parseIso(String raw) {
+        try {
+            return Instant.parse(raw).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            // not an instant
+        }
+        try {
+            return LocalDate.parse(raw).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
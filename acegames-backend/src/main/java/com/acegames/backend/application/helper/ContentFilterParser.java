@@ -0,0 +1,206 @@
+package com.acegames.backend.application.helper;
+
+import com.acegames.backend.application.dto.ContentFilter;
+import com.acegames.backend.application.dto.FieldDefinition;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Parses {@code path:operator:value} filter expressions and checks them against a schema field tree.
+ * Paths use dot notation and pass through arrays the way MongoDB does ({@code stepInfo.steps.step}
+ * matches any step of any group); numeric segments select an array position. Values are converted to
+ * the declared type so the query compares like with like: Numbers are parsed, Dates become epoch
+ * millis (the domain models' storage) from either millis or ISO-8601, Enums must name a constant.
+ *
+ * <p>A date filter only matches dates stored as epoch millis. {@link SchemaValidator} rewrites ISO-8601
+ * text and {@code java.util.Date} values to millis on every validated write. Documents that reached a
+ * collection another way, e.g. written before it had a schema or directly to MongoDB, keep their
+ * original form, and a date filter never matches a string or BSON date field.
+ *
+ * <p>Everything after the second colon is the value, so ISO timestamps need no escaping; {@code in}
+ * and {@code nin} take a comma-separated list. Malformed or ill-typed expressions throw
+ * IllegalArgumentException.
+ */
+public class ContentFilterParser {
+
+    private static final FieldDefinition ID = scalar("ObjectId");
+    private static final FieldDefinition VERSION = scalar("Number");
+
+    public static List<ContentFilter> parse(List<String> expressions, Map<String, FieldDefinition> fields,
+                                            Map<String, Set<String>> enumValues) {
+        List<ContentFilter> filters = new ArrayList<>();
+        for (String expression : expressions) {
+            filters.add(parse(expression, fields, enumValues));
+        }
+        return filters;
+    }
+
+    private static ContentFilter parse(String expression, Map<String, FieldDefinition> fields, Map<String, Set<String>> enumValues) {
+        String[] parts = expression.split(":", 3);
+        if (parts.length < 3 || parts[0].isBlank()) {
+            throw invalid(expression, "expected path:operator:value");
+        }
+        String path = parts[0].trim();
+        ContentFilter.Operator operator;
+        try {
+            operator = ContentFilter.Operator.valueOf(parts[1].trim());
+        } catch (IllegalArgumentException e) {
+            throw invalid(expression, "unknown operator '" + parts[1] + "'");
+        }
+        String raw = parts[2];
+
+        FieldDefinition field = resolve(expression, path, fields);
+        if (operator == ContentFilter.Operator.exists) {
+            if (!raw.equals("true") && !raw.equals("false")) {
+                throw invalid(expression, "exists takes true or false");
+            }
+            return new ContentFilter(path, operator, Boolean.parseBoolean(raw));
+        }
+
+        // A scalar array matches when any element does, so its values are checked against the item type
+        if ("Array".equals(field.getType()) && field.getItems() != null) {
+            field = field.getItems();
+        }
+        String type = field.getType();
+        if (type == null || type.equals("Object") || type.equals("Array")) {
+            throw invalid(expression, path + " is " + (type == null ? "untyped" : "an " + type) + "; only exists applies");
+        }
+        boolean range = operator == ContentFilter.Operator.gt || operator == ContentFilter.Operator.gte
+                || operator == ContentFilter.Operator.lt || operator == ContentFilter.Operator.lte;
+        if (range && (type.equals("Boolean") || type.equals("Enum") || type.equals("ObjectId"))) {
+            throw invalid(expression, operator + " does not apply to " + type + " field " + path);
+        }
+
+        if (operator == ContentFilter.Operator.in || operator == ContentFilter.Operator.nin) {
+            List<Object> values = new ArrayList<>();
+            for (String item : raw.split(",")) {
+                values.add(convert(expression, item.trim(), field, enumValues));
+            }
+            return new ContentFilter(path, operator, values);
+        }
+        return new ContentFilter(path, operator, convert(expression, raw, field, enumValues));
+    }
+
+    private static FieldDefinition resolve(String expression, String path, Map<String, FieldDefinition> fields) {
+        if (path.equals("_id")) {
+            return ID;
+        }
+        if (path.equals("_version")) {
+            return VERSION;
+        }
+        Map<String, FieldDefinition> level = fields;
+        FieldDefinition current = null;
+        for (String segment : path.split("\\.", -1)) {
+            if (current != null && "Array".equals(current.getType())) {
+                if (current.getItems() == null) {
+                    throw invalid(expression, "cannot filter inside untyped array " + path);
+                }
+                current = current.getItems();
+                if (isIndex(segment)) {
+                    continue;
+                }
+            }
+            if (current != null) {
+                if (!"Object".equals(current.getType())) {
+                    throw invalid(expression, "cannot descend into " + current.getType() + " at '" + segment + "' in " + path);
+                }
+                level = current.getFields();
+            }
+            current = level == null || segment.startsWith("_") ? null : level.get(segment);
+            if (current == null) {
+                throw invalid(expression, "unknown field " + path);
+            }
+        }
+        return current;
+    }
+
+    private static Object convert(String expression, String raw, FieldDefinition field, Map<String, Set<String>> enumValues) {
+        switch (field.getType()) {
+            case "String":
+                return raw;
+            case "ObjectId":
+                return ObjectId.isValid(raw) ? new ObjectId(raw) : raw;
+            case "Number": {
+                Number number = parseNumber(raw);
+                if (number != null) {
+                    return number;
+                }
+                // Reference pickers may store the target's _id in a numeric field (see SchemaValidator)
+                if (field.getReference() != null && !raw.isEmpty()) {
+                    return raw;
+                }
+                throw invalid(expression, "expected Number but got \"" + raw + "\"");
+            }
+            case "Boolean":
+                if (raw.equals("true") || raw.equals("false")) {
+                    return Boolean.parseBoolean(raw);
+                }
+                throw invalid(expression, "expected Boolean but got \"" + raw + "\"");
+            case "Date":
+                return parseDate(expression, raw);
+            case "Enum": {
+                Set<String> values = enumValues.get(field.getEnumName());
+                if (values != null && !values.contains(raw)) {
+                    throw invalid(expression, "expected one of " + new TreeSet<>(values) + " but got \"" + raw + "\"");
+                }
+                return raw;
+            }
+            default:
+                throw invalid(expression, "cannot filter on " + field.getType() + " fields");
+        }
+    }
+
+    private static Number parseNumber(String raw) {
+        try {
+            return Long.parseLong(raw);
+        } catch (NumberFormatException e) {
+            // fall through to decimals
+        }
+        try {
+            double value = Double.parseDouble(raw);
+            return Double.isFinite(value) ? value : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Long parseDate(String expression, String raw) {
+        try {
+            return Long.parseLong(raw);
+        } catch (NumberFormatException e) {
+            // not epoch millis
+        }
+        Long millis = ContentDates.parseIso(raw);
+        if (millis == null) {
+            throw invalid(expression, "expected epoch millis or an ISO-8601 date but got \"" + raw + "\"");
+        }
+        return millis;
+    }
+
+    private static boolean isIndex(String segment) {
+        if (segment.isEmpty() || segment.length() > 9) {
+            return false;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static FieldDefinition scalar(String type) {
+        FieldDefinition def = new FieldDefinition();
+        def.setType(type);
+        return def;
+    }
+
+    private static IllegalArgumentException invalid(String expression, String reason) {
+        return new IllegalArgumentException("Invalid filter '" + expression + "': " + reason);
+    }
+}
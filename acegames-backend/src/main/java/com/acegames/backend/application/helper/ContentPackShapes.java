@@ -0,0 +1,65 @@
+package com.acegames.backend.application.helper;
+
+import com.acegames.backend.application.dto.FieldDefinition;
+import com.acegames.backend.runtime.pack.ContentPackWriter.Shape;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Translates a schema's field tree into the {@link Shape} a content pack stores documents in. Types
+ * map one to one, and an Enum whose enum is unknown is written as a String, as {@link SchemaValidator}
+ * treats it. A field without a usable type (none, an unknown one, or an Array without items) has no
+ * fixed layout, so it is left out of the pack and its path added to {@code skipped}.
+ */
+public final class ContentPackShapes {
+
+    private ContentPackShapes() {
+    }
+
+    /**
+     * @param enums   names of the enums declared on the writer
+     * @param path    prefix for the paths reported in {@code skipped}, usually the collection
+     * @param skipped receives the path of every field left out
+     */
+    public static Shape of(Map<String, FieldDefinition> fields, Set<String> enums, String path, List<String> skipped) {
+        return object(fields, enums, path, skipped);
+    }
+
+    private static Shape object(Map<String, FieldDefinition> fields, Set<String> enums, String path, List<String> skipped) {
+        Map<String, Shape> shapes = new LinkedHashMap<>();
+        if (fields != null) {
+            fields.forEach((name, definition) -> {
+                Shape shape = shape(definition, enums, path + "." + name, skipped);
+                if (shape != null) {
+                    shapes.put(name, shape);
+                } else {
+                    skipped.add(path + "." + name);
+                }
+            });
+        }
+        return Shape.object(shapes);
+    }
+
+    private static Shape shape(FieldDefinition definition, Set<String> enums, String path, List<String> skipped) {
+        String type = definition == null ? null : definition.getType();
+        if (type == null) {
+            return null;
+        }
+        return switch (type) {
+            case "String" -> Shape.string();
+            case "Number" -> Shape.number();
+            case "Boolean" -> Shape.bool();
+            case "Date" -> Shape.date();
+            case "Enum" -> enums.contains(definition.getEnumName()) ? Shape.enumeration(definition.getEnumName()) : Shape.string();
+            case "Object" -> object(definition.getFields(), enums, path, skipped);
+            case "Array" -> {
+                Shape items = definition.getItems() == null ? null : shape(definition.getItems(), enums, path, skipped);
+                yield items == null ? null : Shape.array(items);
+            }
+            default -> null;
+        };
+    }
+}
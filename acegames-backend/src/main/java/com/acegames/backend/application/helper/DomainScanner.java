@@ -0,0 +1,151 @@
+package com.acegames.backend.application.helper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Discovers domain models and enums. Reads the index written by the schema annotation processor
+ * and falls back to scanning the model and enum packages in jars or directories when it is missing.
+ */
+public class DomainScanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainScanner.class);
+
+    static final String INDEX_RESOURCE = "META-INF/acegames/domain.idx";
+    static final String MODEL_PACKAGE = "com.acegames.backend.domain.model";
+    static final String ENUM_PACKAGE = "com.acegames.backend.domain.enums";
+
+    private static volatile DomainIndex index;
+
+    /**
+     * Models that map to a content collection, i.e. those declaring an {@code _id} field.
+     */
+    public static List<Class<?>> scanDocumentModels() {
+        return index().documents;
+    }
+
+    public static List<Class<?>> scanEnums() {
+        return index().enums;
+    }
+
+    private static DomainIndex index() {
+        DomainIndex current = index;
+        if (current == null) {
+            synchronized (DomainScanner.class) {
+                current = index;
+                if (current == null) {
+                    current = load(DomainScanner.class.getClassLoader());
+                    index = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    static DomainIndex load(ClassLoader classLoader) {
+        try (InputStream in = classLoader.getResourceAsStream(INDEX_RESOURCE)) {
+            if (in != null) {
+                return readIndex(in, classLoader);
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            logger.warn("Could not read domain index {}, falling back to classpath scan", INDEX_RESOURCE, e);
+        }
+        logger.info("No domain index found, scanning {} and {}", MODEL_PACKAGE, ENUM_PACKAGE);
+        return scanPackages(classLoader);
+    }
+
+    private static DomainIndex readIndex(InputStream in, ClassLoader classLoader) throws IOException, ClassNotFoundException {
+        List<Class<?>> documents = new ArrayList<>();
+        List<Class<?>> enums = new ArrayList<>();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] parts = line.split(" ", 2);
+            if (parts.length != 2) {
+                continue;
+            }
+            switch (parts[0]) {
+                case "document" -> documents.add(Class.forName(parts[1], false, classLoader));
+                case "enum" -> enums.add(Class.forName(parts[1], false, classLoader));
+                default -> {
+                    // nested models are reached through their parents
+                }
+            }
+        }
+        return new DomainIndex(sorted(documents), sorted(enums));
+    }
+
+    private static DomainIndex scanPackages(ClassLoader classLoader) {
+        List<Class<?>> documents = new ArrayList<>();
+        List<Class<?>> enums = new ArrayList<>();
+
+        for (Class<?> type : scanPackage(MODEL_PACKAGE, classLoader)) {
+            if (!type.isEnum() && declaresId(type)) {
+                documents.add(type);
+            }
+        }
+        for (Class<?> type : scanPackage(ENUM_PACKAGE, classLoader)) {
+            if (type.isEnum()) {
+                enums.add(type);
+            }
+        }
+        return new DomainIndex(sorted(documents), sorted(enums));
+    }
+
+    private static List<Class<?>> scanPackage(String packageName, ClassLoader classLoader) {
+        List<Class<?>> types = new ArrayList<>();
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+        String pattern = "classpath*:" + packageName.replace('.', '/') + "/*.class";
+        try {
+            for (Resource resource : resolver.getResources(pattern)) {
+                String fileName = resource.getFilename();
+                if (fileName == null || fileName.contains("$")) {
+                    continue;
+                }
+                String className = packageName + "." + fileName.substring(0, fileName.length() - ".class".length());
+                try {
+                    types.add(Class.forName(className, false, classLoader));
+                } catch (ClassNotFoundException | LinkageError e) {
+                    logger.warn("Skipping unloadable domain class {}", className, e);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Could not scan package {}", packageName, e);
+        }
+        return types;
+    }
+
+    private static boolean declaresId(Class<?> type) {
+        for (Field field : type.getDeclaredFields()) {
+            if (field.getName().equals("_id")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Class<?>> sorted(List<Class<?>> types) {
+        types.sort(Comparator.comparing(Class::getName));
+        return List.copyOf(types);
+    }
+
+    record DomainIndex(List<Class<?>> documents, List<Class<?>> enums) {
+    }
+}
@@ -5,18 +5,10 @@ import java.util.Map;
 
 public class EnumScanner {
 
-    private static final String ENUM_PACKAGE = "com.acegames.backend.domain.enum";
-
     public static Map<String, String[]> scanEnums() {
         Map<String, String[]> result = new HashMap<>();
 
-        Class<?>[] enumClasses = new Class[]{
-                com.acegames.backend.domain.enums.Requirement.class,
-                com.acegames.backend.domain.enums.TradeType.class,
-                com.acegames.backend.domain.enums.EventType.class
-        };
-
-        for (Class<?> enumClass : enumClasses) {
+        for (Class<?> enumClass : DomainScanner.scanEnums()) {
             if (enumClass.isEnum()) {
                 Object[] constants = enumClass.getEnumConstants();
                 String[] names = new String[constants.length];
@@ -0,0 +1,36 @@
+package com.acegames.backend.application.helper;
+
+import com.acegames.backend.application.dto.FieldDefinition;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+public class ModelSchemaResolver {
+
+    private static final String GENERATED_PROVIDER = "com.acegames.backend.domain.model.GeneratedModelSchemas";
+
+    private static final Map<String, Map<String, FieldDefinition>> GENERATED = loadGenerated();
+
+    /**
+     * Returns the build-time generated schema for the class, falling back to reflection
+     * for classes the annotation processor did not see.
+     */
+    public static Map<String, FieldDefinition> resolve(Class<?> clazz) {
+        return findGenerated(clazz).orElseGet(() -> ReflectionSchemaParser.parseClass(clazz));
+    }
+
+    public static Optional<Map<String, FieldDefinition>> findGenerated(Class<?> clazz) {
+        return Optional.ofNullable(GENERATED.get(clazz.getName()));
+    }
+
+    // Loaded by name rather than through ServiceLoader, which would scan every jar on the classpath at startup.
+    private static Map<String, Map<String, FieldDefinition>> loadGenerated() {
+        try {
+            Class<?> providerClass = Class.forName(GENERATED_PROVIDER, true, ModelSchemaResolver.class.getClassLoader());
+            return ((SchemaProvider) providerClass.getDeclaredConstructor().newInstance()).schemas();
+        } catch (ReflectiveOperationException e) {
+            return Collections.emptyMap();
+        }
+    }
+}
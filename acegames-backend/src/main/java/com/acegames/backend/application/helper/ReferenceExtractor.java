@@ -0,0 +1,136 @@
+package com.acegames.backend.application.helper;
+
+import com.acegames.backend.application.dto.FieldDefinition;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Walks a document along its schema and collects every value held in a reference field, including
+ * fields inside objects and arrays of objects and arrays of ids ({@code tileIds}). Paths use the same
+ * {@code stepRule[1].tileId} form as {@link SchemaValidator} violations.
+ *
+ * <p>Reference values are written in several shapes: ObjectIds, their hex strings, or numbers for
+ * targets imported with numeric ids. {@link #idKey} gives one comparable key per id, and
+ * {@link #idCandidates} the stored shapes a lookup has to try.
+ */
+public class ReferenceExtractor {
+
+    public record Reference(String path, String targetCollection, Object value) {
+    }
+
+    public static List<Reference> extract(Map<String, FieldDefinition> fields, Map<String, ?> document) {
+        List<Reference> references = new ArrayList<>();
+        collectObject(fields, document, "", references);
+        return references;
+    }
+
+    /**
+     * Top-level fields that hold a reference somewhere below them, for projecting a sweep down to
+     * the data it actually reads.
+     */
+    public static Set<String> referenceRoots(Map<String, FieldDefinition> fields) {
+        Set<String> roots = new TreeSet<>();
+        if (fields != null) {
+            fields.forEach((name, def) -> {
+                if (!name.startsWith("_") && holdsReference(def)) {
+                    roots.add(name);
+                }
+            });
+        }
+        return roots;
+    }
+
+    /**
+     * Collections are named after the lowercased model class, while references keep the field's
+     * camel case ({@code purchaseProductId} references {@code purchaseProduct}).
+     */
+    public static String targetCollection(String reference) {
+        return reference.toLowerCase();
+    }
+
+    public static String idKey(Object value) {
+        if (value instanceof ObjectId objectId) {
+            return objectId.toHexString();
+        }
+        if (value instanceof Number number && number.doubleValue() == number.longValue()) {
+            return Long.toString(number.longValue());
+        }
+        return value.toString();
+    }
+
+    public static List<Object> idCandidates(Object value) {
+        List<Object> candidates = new ArrayList<>(2);
+        candidates.add(value);
+        if (value instanceof String text) {
+            if (ObjectId.isValid(text)) {
+                candidates.add(new ObjectId(text));
+            } else if (isInteger(text)) {
+                candidates.add(Long.parseLong(text));
+            }
+        } else if (value instanceof ObjectId objectId) {
+            candidates.add(objectId.toHexString());
+        } else if (value instanceof Number) {
+            candidates.add(idKey(value));
+        }
+        return candidates;
+    }
+
+    private static void collectObject(Map<String, FieldDefinition> fields, Map<?, ?> object, String path, List<Reference> references) {
+        if (fields == null) {
+            return;
+        }
+        for (Map.Entry<?, ?> entry : object.entrySet()) {
+            if (!(entry.getKey() instanceof String key) || key.startsWith("_") || entry.getValue() == null) {
+                continue;
+            }
+            FieldDefinition def = fields.get(key);
+            if (def != null) {
+                collect(def, entry.getValue(), path.isEmpty() ? key : path + "." + key, def.getReference(), references);
+            }
+        }
+    }
+
+    private static void collect(FieldDefinition def, Object value, String path, String reference, List<Reference> references) {
+        if (value instanceof List<?> list) {
+            FieldDefinition items = def.getItems();
+            for (int i = 0; i < list.size(); i++) {
+                Object item = list.get(i);
+                if (item != null) {
+                    // An array of ids carries the reference on the array field itself
+                    collect(items != null ? items : def, item, path + "[" + i + "]", reference, references);
+                }
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            collectObject(def.getFields(), map, path, references);
+        } else if (reference != null) {
+            references.add(new Reference(path, targetCollection(reference), value));
+        }
+    }
+
+    private static boolean holdsReference(FieldDefinition def) {
+        if (def == null) {
+            return false;
+        }
+        if (def.getReference() != null || holdsReference(def.getItems())) {
+            return true;
+        }
+        return def.getFields() != null && def.getFields().values().stream().anyMatch(ReferenceExtractor::holdsReference);
+    }
+
+    private static boolean isInteger(String text) {
+        if (text.isEmpty() || text.length() > 18) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -5,13 +5,45 @@ import com.acegames.backend.application.dto.FieldDefinition;
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 public class ReflectionSchemaParser {
 
+    // Parsed schemas are memoized per class; nested types (StepGroup -> Step -> Reward) resolve
+    // through the same cache, so parent schemas share their sub-trees. Cached trees are read-only.
+    private static final ClassValue<Map<String, FieldDefinition>> SCHEMA_CACHE = new ClassValue<>() {
+        @Override
+        protected Map<String, FieldDefinition> computeValue(Class<?> type) {
+            CACHE_MISSES.increment();
+            return Collections.unmodifiableMap(parse(type, true));
+        }
+    };
+
+    private static final LongAdder CACHE_LOOKUPS = new LongAdder();
+    private static final LongAdder CACHE_MISSES = new LongAdder();
+
     public static Map<String, FieldDefinition> parseClass(Class<?> clazz) {
+        CACHE_LOOKUPS.increment();
+        return SCHEMA_CACHE.get(clazz);
+    }
+
+    public static Map<String, FieldDefinition> parseClassUncached(Class<?> clazz) {
+        return parse(clazz, false);
+    }
+
+    public static long getCacheHits() {
+        return CACHE_LOOKUPS.sum() - CACHE_MISSES.sum();
+    }
+
+    public static long getCacheMisses() {
+        return CACHE_MISSES.sum();
+    }
+
+    private static Map<String, FieldDefinition> parse(Class<?> clazz, boolean cached) {
         Map<String, FieldDefinition> fields = new LinkedHashMap<>();
 
         for (Field field : clazz.getDeclaredFields()) {
@@ -35,7 +67,7 @@ public class ReflectionSchemaParser {
                 if (genericType instanceof ParameterizedType pt) {
                     Type actualType = pt.getActualTypeArguments()[0];
                     if (actualType instanceof Class<?> actualClass) {
-                        def.setItems(parseFieldType(actualClass));
+                        def.setItems(parseFieldType(actualClass, cached));
                     }
                 }
 
@@ -43,7 +75,7 @@ public class ReflectionSchemaParser {
                 def.setType(getPrimitiveType(fieldType));
             } else {
                 def.setType("Object");
-                def.setFields(parseClass(fieldType));
+                def.setFields(nested(fieldType, cached));
             }
 
             String reference = extractReferenceName(field.getName());
@@ -57,6 +89,10 @@ public class ReflectionSchemaParser {
         return fields;
     }
 
+    private static Map<String, FieldDefinition> nested(Class<?> clazz, boolean cached) {
+        return cached ? parseClass(clazz) : parse(clazz, false);
+    }
+
     private static boolean isPrimitive(Class<?> type) {
         return type == String.class ||
                 Number.class.isAssignableFrom(type) ||
@@ -72,7 +108,7 @@ public class ReflectionSchemaParser {
         return "Number";
     }
 
-    private static FieldDefinition parseFieldType(Class<?> clazz) {
+    private static FieldDefinition parseFieldType(Class<?> clazz, boolean cached) {
         FieldDefinition def = new FieldDefinition();
         if (clazz.isEnum()) {
             def.setType("Enum");
@@ -81,7 +117,7 @@ public class ReflectionSchemaParser {
             def.setType(getPrimitiveType(clazz));
         } else {
             def.setType("Object");
-            def.setFields(parseClass(clazz));
+            def.setFields(nested(clazz, cached));
         }
         return def;
     }
@@ -0,0 +1,84 @@
+package com.acegames.backend.application.helper;
+
+import com.acegames.backend.application.dto.FieldDefinition;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+public class SchemaFingerprint {
+
+    /**
+     * Stable SHA-256 of a field tree. Field order is part of the fingerprint because it drives
+     * the order in which the frontend renders form fields.
+     */
+    public static String of(Map<String, FieldDefinition> fields) {
+        StringBuilder canonical = new StringBuilder();
+        appendFields(canonical, fields);
+        return sha256(canonical.toString());
+    }
+
+    /**
+     * Stable SHA-256 of an ordered list of values, e.g. to derive an ETag from several fingerprints.
+     */
+    public static String combine(List<String> values) {
+        StringBuilder canonical = new StringBuilder();
+        for (String value : values) {
+            appendValue(canonical, value);
+        }
+        return sha256(canonical.toString());
+    }
+
+    private static String sha256(String canonical) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void appendFields(StringBuilder out, Map<String, FieldDefinition> fields) {
+        out.append('{');
+        if (fields != null) {
+            for (Map.Entry<String, FieldDefinition> entry : fields.entrySet()) {
+                appendValue(out, entry.getKey());
+                out.append(':');
+                appendDefinition(out, entry.getValue());
+                out.append(',');
+            }
+        }
+        out.append('}');
+    }
+
+    private static void appendDefinition(StringBuilder out, FieldDefinition def) {
+        if (def == null) {
+            out.append('~');
+            return;
+        }
+        out.append('(');
+        appendValue(out, def.getType());
+        appendValue(out, def.getEnumName());
+        appendValue(out, def.getReference());
+        if (def.getFields() != null) {
+            appendFields(out, def.getFields());
+        } else {
+            out.append('~');
+        }
+        appendDefinition(out, def.getItems());
+        out.append(')');
+    }
+
+    // Length-prefixed so that no combination of names can collide with another.
+    private static void appendValue(StringBuilder out, String value) {
+        if (value == null) {
+            out.append('~');
+        } else {
+            out.append(value.length()).append('"').append(value);
+        }
+    }
+}
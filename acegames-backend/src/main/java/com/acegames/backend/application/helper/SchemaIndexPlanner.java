@@ -0,0 +1,78 @@
+package com.acegames.backend.application.helper;
+
+import com.acegames.backend.application.dto.FieldDefinition;
+import com.acegames.backend.application.dto.IndexDefinition;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Derives the indexes a collection needs from its schema. Reference fields are looked up by id and
+ * Date fields are filtered by range, so each gets an ascending index; fields inside objects and
+ * arrays of objects get dotted (multikey) paths. A {@code startDate}/{@code endDate} pair becomes
+ * one compound index for active-window queries, plus {@code endDate} on its own.
+ */
+public class SchemaIndexPlanner {
+
+    /**
+     * Every index created from a schema carries this prefix, so indexes added by hand are never
+     * reported as stale or dropped.
+     */
+    public static final String INDEX_PREFIX = "schema_";
+
+    private static final String RANGE_START = "startDate";
+    private static final String RANGE_END = "endDate";
+
+    public static List<IndexDefinition> plan(Map<String, FieldDefinition> fields) {
+        List<IndexDefinition> indexes = new ArrayList<>();
+        collect(fields, "", indexes);
+        return indexes;
+    }
+
+    private static void collect(Map<String, FieldDefinition> fields, String prefix, List<IndexDefinition> indexes) {
+        if (fields == null) {
+            return;
+        }
+
+        boolean window = isDate(fields.get(RANGE_START)) && isDate(fields.get(RANGE_END));
+        if (window) {
+            indexes.add(index("date-range", prefix + RANGE_START, prefix + RANGE_END));
+        }
+
+        for (Map.Entry<String, FieldDefinition> entry : fields.entrySet()) {
+            String name = entry.getKey();
+            FieldDefinition def = entry.getValue();
+            if (def == null || name.startsWith("_")) {
+                continue;
+            }
+            String path = prefix + name;
+
+            if (def.getReference() != null) {
+                indexes.add(index("reference:" + def.getReference(), path));
+            } else if (isDate(def) && !(window && name.equals(RANGE_START))) {
+                // startDate is already the leading key of the date-range index
+                indexes.add(index("date", path));
+            }
+
+            if ("Object".equals(def.getType())) {
+                collect(def.getFields(), path + ".", indexes);
+            } else if ("Array".equals(def.getType()) && def.getItems() != null && "Object".equals(def.getItems().getType())) {
+                collect(def.getItems().getFields(), path + ".", indexes);
+            }
+        }
+    }
+
+    private static boolean isDate(FieldDefinition def) {
+        return def != null && "Date".equals(def.getType());
+    }
+
+    private static IndexDefinition index(String reason, String... paths) {
+        LinkedHashMap<String, Integer> keys = new LinkedHashMap<>();
+        for (String path : paths) {
+            keys.put(path, 1);
+        }
+        return new IndexDefinition(INDEX_PREFIX + String.join("_", paths), keys, reason);
+    }
+}
@@ -0,0 +1,13 @@
+package com.acegames.backend.application.helper;
+
+import com.acegames.backend.application.dto.FieldDefinition;
+
+import java.util.Map;
+
+/**
+ * Source of precomputed schemas, keyed by model class name. The implementation is generated at
+ * build time by the schema annotation processor.
+ */
+public interface SchemaProvider {
+    Map<String, Map<String, FieldDefinition>> schemas();
+}
@@ -0,0 +1,354 @@
+package com.acegames.backend.application.helper;
+
+import com.acegames.backend.application.dto.FieldDefinition;
+import com.acegames.backend.application.dto.FieldViolation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A schema field tree compiled into a tree of checks. Field lookups are hash lookups, enum
+ * membership is a set lookup, and nothing is allocated unless a value is rejected, so a
+ * validator is cheap enough to run on every write. Instances are immutable and thread-safe.
+ *
+ * <p>Only values that are present are checked: {@code null}, unknown keys and keys starting
+ * with {@code _} are accepted, which makes the same validator usable for partial updates.
+ * Top-level keys in dot notation ({@code stepInfo.0.group}) are resolved against the tree.
+ *
+ * <p>Date values given as ISO-8601 text or {@code java.util.Date} are rewritten in place to epoch
+ * millis (see {@link ContentDates}), so whatever is written is stored the way date filters query it.
+ * The maps and lists holding such values must therefore be mutable.
+ */
+public final class SchemaValidator {
+
+    private final ObjectNode root;
+
+    private SchemaValidator(ObjectNode root) {
+        this.root = root;
+    }
+
+    /**
+     * @param enumValues constant names per enum simple name, see {@link #enumValueSets()}
+     */
+    public static SchemaValidator compile(Map<String, FieldDefinition> fields, Map<String, Set<String>> enumValues) {
+        return new SchemaValidator(compileObject("", fields, enumValues));
+    }
+
+    public static Map<String, Set<String>> enumValueSets() {
+        Map<String, Set<String>> sets = new HashMap<>();
+        EnumScanner.scanEnums().forEach((name, values) -> sets.put(name, Set.of(values)));
+        return sets;
+    }
+
+    public List<FieldViolation> validate(Map<String, ?> data) {
+        Context context = new Context();
+        for (Map.Entry<String, ?> entry : data.entrySet()) {
+            String key = entry.getKey();
+            if (key.indexOf('.') >= 0) {
+                validateDottedKey(key, entry.getValue(), context);
+            } else {
+                root.checkField(key, entry.getValue(), context);
+            }
+            if (context.replacement != null) {
+                replace(entry, context.takeReplacement());
+            }
+        }
+        return context.violations == null ? List.of() : context.violations;
+    }
+
+    private void validateDottedKey(String key, Object value, Context context) {
+        Node node = root;
+        int pushed = 0;
+        for (String segment : key.split("\\.")) {
+            if (node instanceof ObjectNode object) {
+                node = object.fields.get(segment);
+            } else if (node instanceof ArrayNode array && isIndex(segment)) {
+                context.push(Integer.parseInt(segment));
+                pushed++;
+                node = array.items;
+            } else {
+                node = null;
+            }
+            if (node == null) {
+                break;
+            }
+        }
+        if (node != null && value != null) {
+            node.check(value, context);
+        }
+        context.depth -= pushed;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void replace(Map.Entry<?, ?> entry, Object value) {
+        ((Map.Entry<Object, Object>) entry).setValue(value);
+    }
+
+    private static boolean isIndex(String segment) {
+        if (segment.isEmpty() || segment.length() > 9) {
+            return false;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ObjectNode compileObject(String path, Map<String, FieldDefinition> fields, Map<String, Set<String>> enumValues) {
+        Map<String, Node> children = new HashMap<>();
+        if (fields != null) {
+            fields.forEach((name, definition) ->
+                    children.put(name, compileNode(path.isEmpty() ? name : path + "." + name, definition, enumValues)));
+        }
+        return new ObjectNode(path, children);
+    }
+
+    private static Node compileNode(String path, FieldDefinition definition, Map<String, Set<String>> enumValues) {
+        if (definition == null || definition.getType() == null) {
+            return new AnyNode(path);
+        }
+        boolean reference = definition.getReference() != null;
+        return switch (definition.getType()) {
+            case "String" -> new ScalarNode(path, ScalarType.STRING, false);
+            case "Number" -> new ScalarNode(path, ScalarType.NUMBER, reference);
+            case "Boolean" -> new ScalarNode(path, ScalarType.BOOLEAN, false);
+            case "Date" -> new ScalarNode(path, ScalarType.DATE, false);
+            case "Enum" -> {
+                Set<String> values = enumValues.get(definition.getEnumName());
+                yield values == null ? new ScalarNode(path, ScalarType.STRING, false) : new EnumNode(path, values);
+            }
+            case "Array" -> new ArrayNode(path, definition.getItems() == null
+                    ? new AnyNode(path + "[]")
+                    : compileNode(path + "[]", definition.getItems(), enumValues));
+            case "Object" -> compileObject(path, definition.getFields(), enumValues);
+            default -> new AnyNode(path);
+        };
+    }
+
+    private static final class Context {
+        private int[] indices = new int[8];
+        private int depth;
+        private List<FieldViolation> violations;
+        // Normalized form of the value just checked, stored back by its container
+        private Object replacement;
+
+        void push(int index) {
+            if (depth == indices.length) {
+                indices = Arrays.copyOf(indices, depth * 2);
+            }
+            indices[depth++] = index;
+        }
+
+        void replace(Object value) {
+            replacement = value;
+        }
+
+        Object takeReplacement() {
+            Object value = replacement;
+            replacement = null;
+            return value;
+        }
+
+        void reject(Node node, String rule, String message) {
+            if (violations == null) {
+                violations = new ArrayList<>();
+            }
+            violations.add(new FieldViolation(resolvePath(node.path), rule, message));
+        }
+
+        // Node paths are compiled with "[]" for array items; fill them with the indices being visited
+        private String resolvePath(String template) {
+            if (depth == 0 || template.indexOf("[]") < 0) {
+                return template;
+            }
+            StringBuilder path = new StringBuilder(template.length() + depth * 3);
+            int level = 0;
+            int from = 0;
+            int at;
+            while ((at = template.indexOf("[]", from)) >= 0 && level < depth) {
+                path.append(template, from, at).append('[').append(indices[level++]).append(']');
+                from = at + 2;
+            }
+            return path.append(template, from, template.length()).toString();
+        }
+    }
+
+    private abstract static class Node {
+        final String path;
+
+        Node(String path) {
+            this.path = path;
+        }
+
+        /**
+         * @param value never {@code null}
+         */
+        abstract void check(Object value, Context context);
+    }
+
+    private static final class AnyNode extends Node {
+        AnyNode(String path) {
+            super(path);
+        }
+
+        @Override
+        void check(Object value, Context context) {
+        }
+    }
+
+    private enum ScalarType {
+        STRING("String"), NUMBER("Number"), BOOLEAN("Boolean"), DATE("Date");
+
+        private final String schemaName;
+
+        ScalarType(String schemaName) {
+            this.schemaName = schemaName;
+        }
+    }
+
+    private static final class ScalarNode extends Node {
+        private final ScalarType type;
+        private final boolean acceptsIdString;
+
+        ScalarNode(String path, ScalarType type, boolean acceptsIdString) {
+            super(path);
+            this.type = type;
+            this.acceptsIdString = acceptsIdString;
+        }
+
+        @Override
+        void check(Object value, Context context) {
+            if (type == ScalarType.DATE) {
+                checkDate(value, context);
+                return;
+            }
+            boolean valid = switch (type) {
+                case STRING -> value instanceof String;
+                // Reference pickers in the admin tool send the target's _id even for numeric fields
+                case NUMBER -> value instanceof Number || (acceptsIdString && value instanceof String);
+                case BOOLEAN -> value instanceof Boolean;
+                case DATE -> value instanceof Number;
+            };
+            if (!valid) {
+                context.reject(this, "type", "expected " + type.schemaName + " but got " + describe(value));
+            }
+        }
+
+        private void checkDate(Object value, Context context) {
+            if (value instanceof Number) {
+                return;
+            }
+            if (value instanceof java.util.Date date) {
+                context.replace(date.getTime());
+                return;
+            }
+            Long millis = value instanceof String text ? ContentDates.parseIso(text) : null;
+            if (millis == null) {
+                context.reject(this, "type", "expected epoch millis or an ISO-8601 date but got " + describe(value));
+            } else {
+                context.replace(millis);
+            }
+        }
+    }
+
+    private static final class EnumNode extends Node {
+        private final Set<String> values;
+
+        EnumNode(String path, Set<String> values) {
+            super(path);
+            this.values = values;
+        }
+
+        @Override
+        void check(Object value, Context context) {
+            if (!(value instanceof String name) || !values.contains(name)) {
+                context.reject(this, "enum", "expected one of " + new TreeSet<>(values) + " but got " + describe(value));
+            }
+        }
+    }
+
+    private static final class ArrayNode extends Node {
+        private final Node items;
+
+        ArrayNode(String path, Node items) {
+            super(path);
+            this.items = items;
+        }
+
+        @Override
+        void check(Object value, Context context) {
+            if (!(value instanceof List<?> list)) {
+                context.reject(this, "type", "expected Array but got " + describe(value));
+                return;
+            }
+            if (items instanceof AnyNode) {
+                return;
+            }
+            for (int i = 0; i < list.size(); i++) {
+                Object item = list.get(i);
+                if (item != null) {
+                    context.push(i);
+                    items.check(item, context);
+                    context.depth--;
+                    if (context.replacement != null) {
+                        set(list, i, context.takeReplacement());
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class ObjectNode extends Node {
+        private final Map<String, Node> fields;
+
+        ObjectNode(String path, Map<String, Node> fields) {
+            super(path);
+            this.fields = fields;
+        }
+
+        @Override
+        void check(Object value, Context context) {
+            if (!(value instanceof Map<?, ?> map)) {
+                context.reject(this, "type", "expected Object but got " + describe(value));
+                return;
+            }
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (entry.getKey() instanceof String key) {
+                    checkField(key, entry.getValue(), context);
+                    if (context.replacement != null) {
+                        replace(entry, context.takeReplacement());
+                    }
+                }
+            }
+        }
+
+        void checkField(String key, Object value, Context context) {
+            if (value == null || key.startsWith("_")) {
+                return;
+            }
+            Node field = fields.get(key);
+            if (field != null) {
+                field.check(value, context);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void set(List<?> list, int index, Object value) {
+        ((List<Object>) list).set(index, value);
+    }
+
+    private static String describe(Object value) {
+        if (value instanceof Map) return "Object";
+        if (value instanceof List) return "Array";
+        if (value instanceof String) return "String \"" + value + "\"";
+        return value.getClass().getSimpleName() + " " + value;
+    }
+}
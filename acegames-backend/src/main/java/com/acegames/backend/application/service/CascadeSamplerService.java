@@ -0,0 +1,14 @@
+package com.acegames.backend.application.service;
+
+import com.acegames.backend.application.dto.CascadeTileTable;
+import com.acegames.backend.application.dto.TileSample;
+
+public interface CascadeSamplerService {
+    /**
+     * Draws {@code count} tiles from the Cascade's stepRule weights. The compiled table is cached per
+     * Cascade and dropped when the Cascade is written through the content services.
+     */
+    TileSample sample(String cascadeId, int count);
+
+    CascadeTileTable table(String cascadeId);
+}
@@ -0,0 +1,11 @@
+package com.acegames.backend.application.service;
+
+import com.acegames.backend.application.dto.ContentPackExport;
+
+public interface ContentExportService {
+    /**
+     * The current content snapshot as a content pack, laid out by the registered schemas. The pack
+     * is built once per snapshot version and schema set and then reused.
+     */
+    ContentPackExport currentPack();
+}
@@ -0,0 +1,28 @@
+package com.acegames.backend.application.service;
+
+import com.acegames.backend.application.dto.ContentSnapshot;
+import com.acegames.backend.application.dto.SnapshotDelta;
+import com.acegames.backend.application.dto.SnapshotVersion;
+
+public interface ContentSnapshotService {
+    /**
+     * The latest published snapshot. Only the very first call, before any snapshot exists, loads
+     * from MongoDB; every later read returns the current snapshot without locking.
+     */
+    ContentSnapshot current();
+
+    SnapshotVersion version();
+
+    /**
+     * What changed since the snapshot with version {@code since}. When that snapshot is no longer
+     * retained, or {@code since} came from another instance, the delta is {@code full} and carries
+     * every document.
+     */
+    SnapshotDelta delta(long since);
+
+    /**
+     * Compares the collections' write counters against the current snapshot and rebuilds the ones
+     * that moved, e.g. after writes made through another instance.
+     */
+    void refreshIfStale();
+}
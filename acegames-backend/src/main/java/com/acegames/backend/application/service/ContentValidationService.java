@@ -0,0 +1,41 @@
+package com.acegames.backend.application.service;
+
+import com.acegames.backend.application.dto.ContentFilter;
+import com.acegames.backend.web.exception.SchemaValidationException;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ContentValidationService {
+    /**
+     * Checks a create or update payload against the registered schema of the collection.
+     * Collections without a schema are not validated.
+     *
+     * @throws com.acegames.backend.web.exception.SchemaValidationException listing every rejected field path
+     */
+    void validate(String collectionName, Map<String, Object> data);
+
+    /**
+     * The schema half of {@link #validate}: checks one payload without looking up its references, for
+     * callers that check the references of many payloads at once with {@link #validateReferences}.
+     *
+     * @throws com.acegames.backend.web.exception.SchemaValidationException listing every rejected field path
+     */
+    void validateSchema(String collectionName, Map<String, Object> data);
+
+    /**
+     * The reference half of {@link #validate} for payloads that passed {@link #validateSchema}, resolved
+     * together with one {@code $in} query per target collection. Returns the rejection of every payload with
+     * dangling references, keyed by its index; empty while reference validation is off.
+     */
+    Map<Integer, SchemaValidationException> validateReferences(String collectionName, List<? extends Map<String, Object>> payloads);
+
+    /**
+     * Parses {@code path:operator:value} filter expressions and type-checks them against the registered
+     * schema of the collection. Unlike writes, filters on a collection without a schema are rejected,
+     * since their values could not be converted to the stored types.
+     *
+     * @throws IllegalArgumentException for an unknown path, operator or a value of the wrong type
+     */
+    List<ContentFilter> parseFilters(String collectionName, List<String> expressions);
+}
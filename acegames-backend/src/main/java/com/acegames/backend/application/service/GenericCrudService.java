@@ -1,18 +1,73 @@
 package com.acegames.backend.application.service;
 
+import com.acegames.backend.application.dto.BulkOperation;
+import com.acegames.backend.application.dto.BulkWriteReport;
+import com.acegames.backend.application.dto.ContentPage;
+import com.acegames.backend.application.dto.ContentPageRequest;
 import org.bson.Document;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public interface GenericCrudService {
+    /**
+     * Per-document revision, starting at 1 on insert and incremented on every update.
+     */
+    String VERSION_FIELD = "_version";
+
+    /**
+     * Untyped reads return documents as the driver decoded them, with ObjectId values intact;
+     * they are rendered as hex strings when the response is written.
+     */
     List<Document> findAll(String collectionName);
 
+    /**
+     * Reads the documents matching every {@code path:operator:value} filter. Filters are type-checked
+     * against the collection's schema and run as a MongoDB query, so they can use its indexes.
+     */
+    List<Document> findMatching(String collectionName, List<String> filters);
+
+    /**
+     * Keyset-paginated read: cost is proportional to the page, not the collection.
+     */
+    ContentPage findPage(String collectionName, ContentPageRequest request);
+
+    /**
+     * Iterates the whole collection on a server cursor, handing each document to the consumer
+     * as it arrives instead of materializing the collection.
+     */
+    void streamAll(String collectionName, Consumer<Document> consumer);
+
     Document findById(String collectionName, String id);
 
     Document insert(String collectionName, Map<String, Object> data);
 
+    /**
+     * Typed reads and inserts for domain models (Cascade, Offer, ...). Documents are decoded straight
+     * into the model through its BSON codec, without an intermediate Document.
+     */
+    <T> List<T> findAll(String collectionName, Class<T> type);
+
+    <T> T findById(String collectionName, String id, Class<T> type);
+
+    <T> T insert(String collectionName, T entity);
+
     Document update(String collectionName, String id, Map<String, Object> data);
 
+    /**
+     * Atomically applies the update and returns the post-image. When {@code expectedVersion} is set the
+     * write only succeeds if the stored {@code _version} still matches; 0 means "not yet versioned".
+     */
+    Document update(String collectionName, String id, Map<String, Object> data, Long expectedVersion);
+
     void delete(String collectionName, String id);
+
+    /**
+     * Applies the operations with MongoDB bulkWrite, {@code batchSize} operations per round trip.
+     * Ordered runs stop at the first failure; unordered runs apply everything they can.
+     */
+    BulkWriteReport bulkWrite(String collectionName, List<BulkOperation> operations, boolean ordered, int batchSize);
+
+    long getCollectionVersion(String collectionName);
 }
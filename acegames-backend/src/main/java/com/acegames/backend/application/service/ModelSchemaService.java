@@ -1,14 +1,18 @@
 package com.acegames.backend.application.service;
 
 import com.acegames.backend.application.dto.ModelSchemaDto;
+import com.acegames.backend.application.dto.SchemaRegistrationReport;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 public interface ModelSchemaService {
     Optional<ModelSchemaDto> getSchema(String collection);
     List<ModelSchemaDto> getAllSchemas();
     void generateFromClassName(String className);
+    SchemaRegistrationReport registerSchemas(List<String> classNames);
+    SchemaRegistrationReport registerSchemas(List<String> classNames, Executor executor);
     void deleteByCollectionName(String collection);
     
     // Yeni method: Referans kontrolü
@@ -0,0 +1,19 @@
+package com.acegames.backend.application.service;
+
+import com.acegames.backend.application.dto.OfferEligibilityReport;
+
+import java.util.List;
+import java.util.Map;
+
+public interface OfferEligibilityService {
+    /**
+     * Ids of the offers whose every requirement the player meets. A requirement the player has no
+     * value for fails every condition on it.
+     *
+     * @param playerValues values keyed by {@code Requirement} name
+     * @throws IllegalArgumentException for a key that is not a {@code Requirement}
+     */
+    List<String> eligibleOffers(Map<String, Integer> playerValues);
+
+    OfferEligibilityReport report();
+}
@@ -0,0 +1,48 @@
+package com.acegames.backend.application.service;
+
+import com.acegames.backend.application.dto.BulkOperation;
+import com.acegames.backend.application.dto.BulkWriteReport;
+import com.acegames.backend.application.dto.ContentPage;
+import com.acegames.backend.application.dto.ContentPageRequest;
+import org.bson.Document;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of {@link GenericCrudService} on the Reactive Streams driver. Reads,
+ * ids, revisions and collection versions follow the same rules as the blocking service.
+ */
+public interface ReactiveGenericCrudService {
+
+    /**
+     * Emits documents as the server cursor delivers them; batches are fetched on demand, so a slow
+     * subscriber holds back the cursor instead of buffering the collection.
+     */
+    Flux<Document> findAll(String collectionName);
+
+    /**
+     * Same filters as {@link GenericCrudService#findMatching(String, List)}, emitted as the cursor delivers them.
+     */
+    Flux<Document> findMatching(String collectionName, List<String> filters);
+
+    Mono<ContentPage> findPage(String collectionName, ContentPageRequest request);
+
+    Mono<Document> findById(String collectionName, String id);
+
+    Mono<Document> insert(String collectionName, Map<String, Object> data);
+
+    /**
+     * Same contract as {@link GenericCrudService#update(String, String, Map, Long)}: errors with
+     * VersionConflictException on a stale {@code expectedVersion} and ResourceNotFoundException when the id is unknown.
+     */
+    Mono<Document> update(String collectionName, String id, Map<String, Object> data, Long expectedVersion);
+
+    Mono<Void> delete(String collectionName, String id);
+
+    Mono<BulkWriteReport> bulkWrite(String collectionName, List<BulkOperation> operations, boolean ordered, int batchSize);
+
+    Mono<Long> getCollectionVersion(String collectionName);
+}
@@ -0,0 +1,33 @@
+package com.acegames.backend.application.service;
+
+import com.acegames.backend.application.dto.DanglingReference;
+import com.acegames.backend.application.dto.ReferenceReport;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ReferenceValidationService {
+    /**
+     * Checks that every id in the document's reference fields exists in its target collection, with one
+     * {@code $in} query per target collection. Collections without a schema have no references.
+     */
+    List<DanglingReference> findDangling(String collectionName, Map<String, ?> document);
+
+    /**
+     * {@link #findDangling(String, Map)} for several documents of one collection, resolving the references
+     * of all of them together with one {@code $in} query per target collection. Returns the dangling
+     * references of each document, in the order of {@code documents}.
+     */
+    List<List<DanglingReference>> findDangling(String collectionName, List<? extends Map<String, ?>> documents);
+
+    /**
+     * Checks every document of the collection, resolving referenced ids in batches; ids already seen
+     * during the sweep are not looked up again.
+     */
+    ReferenceReport sweep(String collectionName);
+
+    /**
+     * Sweeps every collection with a registered schema, sharing resolved ids between collections.
+     */
+    List<ReferenceReport> sweepAll();
+}
@@ -0,0 +1,19 @@
+package com.acegames.backend.application.service;
+
+import com.acegames.backend.application.dto.IndexReport;
+
+import java.util.List;
+
+public interface SchemaIndexService {
+    /**
+     * Compares the indexes every registered schema declares with those on its collection, and lists
+     * indexes $indexStats has not seen used, without changing anything.
+     */
+    List<IndexReport> inspect();
+
+    /**
+     * Creates the declared indexes that are missing. Stale schema indexes are dropped only when
+     * {@code app.schema.indexes.drop-stale} is set; otherwise they are just reported.
+     */
+    List<IndexReport> reconcile();
+}
@@ -0,0 +1,60 @@
+package com.acegames.backend.config;
+
+import com.acegames.backend.application.service.ContentSnapshotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Loads the content snapshot in the background once the application is ready (after schema
+ * registration, so every registered collection is included), and polls the collections' write
+ * counters to pick up writes made through other instances.
+ */
+@Configuration
+@Profile("!test")
+public class ContentSnapshotConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentSnapshotConfig.class);
+
+    private final ContentSnapshotService snapshotService;
+    private final TaskExecutor taskExecutor;
+    private final boolean preload;
+
+    public ContentSnapshotConfig(ContentSnapshotService snapshotService,
+                                 @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                 @Value("${app.content.snapshot.preload:true}") boolean preload) {
+        this.snapshotService = snapshotService;
+        this.taskExecutor = taskExecutor;
+        this.preload = preload;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preloadSnapshot() {
+        if (!preload) {
+            return;
+        }
+        taskExecutor.execute(() -> {
+            try {
+                snapshotService.current();
+            } catch (RuntimeException e) {
+                logger.error("Content snapshot preload failed; the first snapshot read will retry", e);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.content.snapshot.version-check-interval-ms:1000}")
+    public void checkVersions() {
+        try {
+            snapshotService.refreshIfStale();
+        } catch (RuntimeException e) {
+            logger.warn("Content snapshot version check failed: {}", e.getMessage());
+        }
+    }
+}
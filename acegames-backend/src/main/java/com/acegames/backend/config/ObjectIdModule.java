@@ -0,0 +1,20 @@
+package com.acegames.backend.config;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes every ObjectId as its 24-character hex string, at any depth of a response, so services can
+ * return documents exactly as the driver decoded them. Spring Boot registers it with the
+ * application's ObjectMapper.
+ */
+@Component
+public class ObjectIdModule extends SimpleModule {
+
+    public ObjectIdModule() {
+        super("ObjectIdModule");
+        addSerializer(ObjectId.class, ToStringSerializer.instance);
+    }
+}
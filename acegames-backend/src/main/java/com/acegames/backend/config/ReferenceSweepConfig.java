@@ -0,0 +1,45 @@
+package com.acegames.backend.config;
+
+import com.acegames.backend.application.dto.ReferenceReport;
+import com.acegames.backend.application.service.ReferenceValidationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Runs the reference sweep on {@code app.content.references.sweep-cron} (nightly by default; "-" turns
+ * it off) and logs the collections holding dangling references.
+ */
+@Configuration
+@Profile("!test")
+public class ReferenceSweepConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceSweepConfig.class);
+
+    private final ReferenceValidationService referenceValidationService;
+
+    public ReferenceSweepConfig(ReferenceValidationService referenceValidationService) {
+        this.referenceValidationService = referenceValidationService;
+    }
+
+    @Scheduled(cron = "${app.content.references.sweep-cron:-}")
+    public void sweepReferences() {
+        try {
+            long documents = 0;
+            long dangling = 0;
+            for (ReferenceReport report : referenceValidationService.sweepAll()) {
+                documents += report.getDocumentsChecked();
+                dangling += report.getDanglingCount();
+                if (report.getDanglingCount() > 0) {
+                    logger.warn("{} dangling references in {}, e.g. {}", report.getDanglingCount(), report.getCollection(),
+                            report.getDangling().subList(0, Math.min(5, report.getDangling().size())));
+                }
+            }
+            logger.info("Reference sweep checked {} documents, {} dangling references", documents, dangling);
+        } catch (RuntimeException e) {
+            logger.error("Reference sweep failed", e);
+        }
+    }
+}
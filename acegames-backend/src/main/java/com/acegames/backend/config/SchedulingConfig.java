@@ -0,0 +1,16 @@
+package com.acegames.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on {@code @Scheduled} methods for the whole application, e.g. the snapshot version check in
+ * {@link ContentSnapshotConfig} and the reference sweep in {@link ReferenceSweepConfig}. Tests run
+ * without scheduling.
+ */
+@Configuration
+@EnableScheduling
+@Profile("!test")
+public class SchedulingConfig {
+}
@@ -1,69 +1,130 @@
 package com.acegames.backend.config;
 
+import com.acegames.backend.application.dto.IndexReport;
+import com.acegames.backend.application.dto.SchemaRegistrationReport;
+import com.acegames.backend.application.helper.DomainScanner;
 import com.acegames.backend.application.service.ModelSchemaService;
+import com.acegames.backend.application.service.SchemaIndexService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Configuration
 public class SchemaRegistrationConfig {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(SchemaRegistrationConfig.class);
-    
+
     @Value("${app.schema.registration.enabled:false}")
     private boolean schemaRegistrationEnabled;
-    
+
     @Value("${app.schema.registration.classes:}")
     private String classesToRegister;
-    
+
+    @Value("${app.schema.registration.parallelism:0}")
+    private int parallelism;
+
+    @Value("${app.schema.indexes.enabled:false}")
+    private boolean schemaIndexesEnabled;
+
     @Bean
     @Profile("!test")
-    public CommandLineRunner schemaRegistrationRunner(ModelSchemaService modelSchemaService) {
+    public CommandLineRunner schemaRegistrationRunner(ModelSchemaService modelSchemaService,
+                                                      SchemaIndexService schemaIndexService,
+                                                      @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                                      Environment environment) {
         return args -> {
             logger.info("Schema registration runner initialized");
             logger.info("Schema registration enabled: {}", schemaRegistrationEnabled);
             logger.info("Classes to register: '{}'", classesToRegister);
-            
+
             if (!schemaRegistrationEnabled) {
                 logger.info("Schema registration is disabled. Set app.schema.registration.enabled=true to enable automatic schema registration.");
                 return;
             }
-            
+
             logger.info("Starting automatic schema registration...");
-            
+
             List<String> classesToRegisterList;
             if (classesToRegister == null || classesToRegister.trim().isEmpty()) {
-                // Register schemas for all available classes if none specified
-                classesToRegisterList = Arrays.asList("Skin", "PurchaseProduct", "Offer", "Cascade", "Tile");
-                logger.info("No specific classes specified, will register schemas for all available classes: {}", classesToRegisterList);
+                // Register schemas for every model discovered in the domain index
+                classesToRegisterList = DomainScanner.scanDocumentModels().stream()
+                        .map(Class::getSimpleName)
+                        .toList();
+                logger.info("No specific classes specified, will register schemas for all discovered classes: {}", classesToRegisterList);
             } else {
                 // Parse the comma-separated list of classes
-                classesToRegisterList = Arrays.asList(classesToRegister.split(","));
+                classesToRegisterList = Arrays.stream(classesToRegister.split(","))
+                        .map(String::trim)
+                        .filter(className -> !className.isEmpty())
+                        .toList();
                 logger.info("Will register schemas for the following classes: {}", classesToRegisterList);
             }
-            
-            int successCount = 0;
-            int totalCount = classesToRegisterList.size();
-            
-            for (String className : classesToRegisterList) {
-                try {
-                    logger.info("Attempting to register schema for class: {}", className);
-                    modelSchemaService.generateFromClassName(className);
-                    logger.info("Successfully registered schema for class: {}", className);
-                    successCount++;
-                } catch (Exception e) {
-                    logger.error("Error registering schema for class: {}", className, e);
+
+            // With spring.threads.virtual.enabled on Java 21+ every class gets its own virtual thread;
+            // otherwise a pool of app.schema.registration.parallelism platform threads is used
+            boolean virtualThreads = Threading.VIRTUAL.isActive(environment);
+            int threads = Math.max(1, Math.min(classesToRegisterList.size(),
+                    parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors()));
+            ExecutorService pool = virtualThreads ? null : Executors.newFixedThreadPool(threads);
+            Executor executor = virtualThreads ? new VirtualThreadTaskExecutor("schema-registration-") : pool;
+            SchemaRegistrationReport report;
+            try {
+                report = modelSchemaService.registerSchemas(classesToRegisterList, executor);
+            } finally {
+                if (pool != null) {
+                    pool.shutdown();
                 }
             }
-            
-            logger.info("Schema registration completed: {}/{} classes successfully registered", successCount, totalCount);
+
+            report.getDurationsMicros().forEach((className, micros) ->
+                    logger.info("Schema for class {} parsed in {} us", className, micros));
+            report.getFailed().forEach((className, error) ->
+                    logger.error("Error registering schema for class: {}: {}", className, error));
+
+            logger.info("Schema registration completed: {}/{} classes successfully registered ({} written, {} unchanged) using {}",
+                    report.getWritten().size() + report.getUnchanged().size(), report.getTotalCount(),
+                    report.getWritten().size(), report.getUnchanged().size(),
+                    virtualThreads ? "virtual threads" : threads + " threads");
+
+            if (schemaIndexesEnabled) {
+                // Index builds can take a while on large collections; startup does not wait for them
+                taskExecutor.execute(() -> reconcileIndexes(schemaIndexService));
+            }
         };
     }
-} 
\ No newline at end of file
+
+    private void reconcileIndexes(SchemaIndexService schemaIndexService) {
+        try {
+            for (IndexReport report : schemaIndexService.reconcile()) {
+                if (!report.getCreated().isEmpty() || !report.getDropped().isEmpty()) {
+                    logger.info("Indexes for {}: created {}, dropped {}", report.getCollection(), report.getCreated(), report.getDropped());
+                }
+                if (!report.getStale().isEmpty() && report.getDropped().isEmpty()) {
+                    logger.warn("Indexes for {} no longer declared by its schema: {}", report.getCollection(), report.getStale());
+                }
+                if (!report.getUnusedSince().isEmpty()) {
+                    logger.info("Indexes for {} unused since their stats were reset: {}", report.getCollection(), report.getUnusedSince().keySet());
+                }
+                report.getFailed().forEach((name, error) ->
+                        logger.error("Could not reconcile index {} on {}: {}", name, report.getCollection(), error));
+            }
+        } catch (RuntimeException e) {
+            logger.error("Schema index reconciliation failed", e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.acegames.backend.infrastructure.cache;
+
+import com.acegames.backend.application.dto.ModelSchemaDto;
+import com.acegames.backend.infrastructure.repository.ModelSchemaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through, size-bounded cache of schema DTOs.
+ *
+ * <p>Local writes clear the cache and bump a version counter in MongoDB. Other instances
+ * compare that counter at most once per check interval and drop their entries when it has
+ * moved, so a schema change becomes visible fleet-wide within one interval.
+ */
+@Component
+public class SchemaCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaCache.class);
+
+    private final ModelSchemaRepository repository;
+    private final long versionCheckIntervalNanos;
+    private final Map<String, Optional<ModelSchemaDto>> entries;
+
+    private volatile List<ModelSchemaDto> allSchemas;
+    private volatile long knownVersion = -1;
+    private final AtomicLong lastVersionCheck = new AtomicLong();
+    // Bumped on every clear, so a load that raced with an invalidation never repopulates stale data.
+    private final AtomicLong generation = new AtomicLong();
+
+    public SchemaCache(ModelSchemaRepository repository,
+                       @Value("${app.schema.cache.max-entries:256}") int maxEntries,
+                       @Value("${app.schema.cache.version-check-interval-ms:1000}") long versionCheckIntervalMillis) {
+        this.repository = repository;
+        this.versionCheckIntervalNanos = versionCheckIntervalMillis * 1_000_000;
+        this.lastVersionCheck.set(System.nanoTime() - versionCheckIntervalNanos);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Optional<ModelSchemaDto>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public Optional<ModelSchemaDto> get(String collection, Function<String, Optional<ModelSchemaDto>> loader) {
+        refreshIfStale();
+
+        Optional<ModelSchemaDto> cached;
+        synchronized (entries) {
+            cached = entries.get(collection);
+        }
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadGeneration = generation.get();
+        Optional<ModelSchemaDto> loaded = loader.apply(collection);
+        synchronized (entries) {
+            if (generation.get() == loadGeneration) {
+                entries.put(collection, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    public List<ModelSchemaDto> getAll(Supplier<List<ModelSchemaDto>> loader) {
+        refreshIfStale();
+
+        List<ModelSchemaDto> cached = allSchemas;
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadGeneration = generation.get();
+        List<ModelSchemaDto> loaded = List.copyOf(loader.get());
+        synchronized (entries) {
+            if (generation.get() == loadGeneration) {
+                allSchemas = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops every cached schema here and signals other instances to do the same.
+     */
+    public void invalidate() {
+        clear();
+        knownVersion = repository.incrementSchemaVersion();
+    }
+
+    private void refreshIfStale() {
+        long now = System.nanoTime();
+        long lastCheck = lastVersionCheck.get();
+        if (now - lastCheck < versionCheckIntervalNanos || !lastVersionCheck.compareAndSet(lastCheck, now)) {
+            return;
+        }
+
+        long version = repository.currentSchemaVersion();
+        if (version != knownVersion) {
+            if (knownVersion >= 0) {
+                logger.info("Schema version moved from {} to {}, clearing schema cache", knownVersion, version);
+            }
+            clear();
+            knownVersion = version;
+        }
+    }
+
+    /**
+     * Drops every cached schema on this instance only, e.g. when a change stream reports a write to
+     * the schemas collection that another instance made.
+     */
+    public void clear() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+            allSchemas = null;
+        }
+    }
+}
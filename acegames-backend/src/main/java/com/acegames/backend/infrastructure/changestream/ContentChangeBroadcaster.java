@@ -0,0 +1,269 @@
+package com.acegames.backend.infrastructure.changestream;
+
+import com.acegames.backend.application.dto.ContentChangeNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Fans content change notifications out to SSE subscribers. Each event is named after its collection
+ * and carries the change stream resume token as its id. The last {@code replay-size} notifications
+ * are kept, so a client reconnecting with {@code Last-Event-ID} gets what it missed. When the id is
+ * no longer kept, the client gets a {@value #RESET} event and should re-fetch instead.
+ *
+ * <p>Every subscription starts with a {@value #READY} event saying whether changes are being pushed
+ * at all, and a {@value #STATUS} event follows whenever that changes, e.g. while the change stream
+ * reconnects. Clients poll for as long as {@code live} is false.
+ *
+ * <p>Publishing never writes to a client: each subscriber has a queue of at most
+ * {@code subscriber-queue-size} events, drained on the application task executor. A subscriber that
+ * falls that far behind is completed and dropped; its client reconnects and resumes from
+ * {@code Last-Event-ID}.
+ */
+@Component
+public class ContentChangeBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentChangeBroadcaster.class);
+
+    public static final String RESET = "reset";
+    public static final String READY = "ready";
+    public static final String STATUS = "status";
+
+    private final int replaySize;
+    private final int queueSize;
+    private final TaskExecutor taskExecutor;
+    // Guards recent and published, so a subscriber's replay and its live events neither overlap nor leave a gap
+    private final Object lock = new Object();
+    private final ArrayDeque<ContentChangeNotification> recent = new ArrayDeque<>();
+    // Sequence number of the last notification appended to recent
+    private long published;
+    // Whether the change stream is open; reported in every ready event
+    private boolean live;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    public ContentChangeBroadcaster(@Value("${app.content.change-stream.replay-size:1000}") int replaySize,
+                                    @Value("${app.content.change-stream.subscriber-queue-size:256}") int queueSize,
+                                    @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.replaySize = Math.max(0, replaySize);
+        this.queueSize = Math.max(1, queueSize);
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * @param collections collections to receive changes for; empty for all
+     * @param lastEventId the id of the last event the client received, or null for a fresh subscription
+     */
+    public void subscribe(SseEmitter emitter, Set<String> collections, String lastEventId) {
+        List<SseEmitter.SseEventBuilder> replay = new ArrayList<>();
+        Subscriber subscriber;
+        synchronized (lock) {
+            replay.add(SseEmitter.event().name(READY).data(Map.of("live", live)));
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                List<ContentChangeNotification> missed = since(lastEventId);
+                if (missed == null) {
+                    replay.add(SseEmitter.event().name(RESET).data(Map.of("reason", "Last-Event-ID is no longer retained")));
+                } else {
+                    for (ContentChangeNotification notification : missed) {
+                        if (wants(collections, notification)) {
+                            replay.add(event(notification));
+                        }
+                    }
+                }
+            }
+            // Added under the lock: every notification is either in the replay or offered live, never both
+            subscriber = new Subscriber(emitter, Set.copyOf(collections), published, replay);
+            subscribers.add(subscriber);
+        }
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscriber.drainLater();
+    }
+
+    public void publish(ContentChangeNotification notification) {
+        long sequence;
+        synchronized (lock) {
+            recent.addLast(notification);
+            while (recent.size() > replaySize) {
+                recent.removeFirst();
+            }
+            sequence = ++published;
+        }
+        SseEmitter.SseEventBuilder event = event(notification);
+        for (Subscriber subscriber : subscribers) {
+            // Subscribers that joined after this notification already have it in their replay
+            if (subscriber.from < sequence && subscriber.wants(notification)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    /**
+     * Records whether changes are being pushed and tells every subscriber when that changes, so
+     * clients stop or resume polling.
+     */
+    public void status(boolean live) {
+        synchronized (lock) {
+            if (this.live == live) {
+                return;
+            }
+            this.live = live;
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event().name(STATUS).data(Map.of("live", live)));
+        }
+    }
+
+    /**
+     * Tells every subscriber to re-fetch, e.g. after the change stream lost its place in the oplog and
+     * some changes will never be delivered.
+     */
+    public void reset(String reason) {
+        synchronized (lock) {
+            recent.clear();
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event().name(RESET).data(Map.of("reason", reason)));
+        }
+    }
+
+    public List<ContentChangeNotification> recent() {
+        synchronized (lock) {
+            return List.copyOf(recent);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // Notifications after the one with this resume token, or null when it is no longer kept
+    private List<ContentChangeNotification> since(String resumeToken) {
+        List<ContentChangeNotification> after = null;
+        for (ContentChangeNotification notification : recent) {
+            if (after != null) {
+                after.add(notification);
+            } else if (resumeToken.equals(notification.getResumeToken())) {
+                after = new ArrayList<>();
+            }
+        }
+        return after;
+    }
+
+    private static boolean wants(Set<String> collections, ContentChangeNotification notification) {
+        return collections.isEmpty() || collections.contains(notification.getCollection());
+    }
+
+    private static SseEmitter.SseEventBuilder event(ContentChangeNotification notification) {
+        return SseEmitter.event()
+                .id(notification.getResumeToken())
+                .name(notification.getCollection())
+                .data(notification);
+    }
+
+    /**
+     * One client's pending events. At most one drain task runs per subscriber, so its events are sent
+     * in order.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<String> collections;
+        // Sequence number of the last notification covered by the replay
+        private final long from;
+        // Room for the replay plus subscriber-queue-size live events
+        private final int capacity;
+        private final ArrayDeque<SseEmitter.SseEventBuilder> pending;
+        private boolean draining;
+        private boolean closed;
+
+        Subscriber(SseEmitter emitter, Set<String> collections, long from, List<SseEmitter.SseEventBuilder> replay) {
+            this.emitter = emitter;
+            this.collections = collections;
+            this.from = from;
+            this.capacity = replay.size() + queueSize;
+            this.pending = new ArrayDeque<>(replay);
+        }
+
+        boolean wants(ContentChangeNotification notification) {
+            return ContentChangeBroadcaster.wants(collections, notification);
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            boolean overflowed;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                overflowed = pending.size() >= capacity;
+                if (overflowed) {
+                    closed = true;
+                    pending.clear();
+                } else {
+                    pending.addLast(event);
+                }
+            }
+            if (overflowed) {
+                logger.info("Dropping a content change subscriber more than {} events behind", capacity);
+                subscribers.remove(this);
+                // The client reconnects with Last-Event-ID and picks up from the replay
+                emitter.complete();
+                return;
+            }
+            drainLater();
+        }
+
+        void drainLater() {
+            synchronized (this) {
+                if (draining || pending.isEmpty()) {
+                    return;
+                }
+                draining = true;
+            }
+            taskExecutor.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder next;
+                synchronized (this) {
+                    next = closed ? null : pending.pollFirst();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                if (!send(next)) {
+                    synchronized (this) {
+                        closed = true;
+                        pending.clear();
+                        draining = false;
+                    }
+                    subscribers.remove(this);
+                    return;
+                }
+            }
+        }
+
+        private boolean send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the container completes the emitter
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.acegames.backend.infrastructure.changestream;
+
+import com.acegames.backend.application.dto.ContentChangeNotification;
+import com.acegames.backend.application.event.ContentChangedEvent;
+import com.acegames.backend.infrastructure.cache.SchemaCache;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tails one change stream over the whole database: the content collections and {@code schemas}. A
+ * change stream needs a replica set (see docker-compose.replset.yml). Each change is handled in three
+ * ways. A write to {@code schemas} clears the local schema cache. The change is republished as a
+ * {@link ContentChangedEvent}, so every instance's caches drop what any instance wrote. And it is
+ * passed to the {@link ContentChangeBroadcaster} for SSE clients. After a dropped connection the
+ * stream resumes from the last token it handled.
+ *
+ * <p>While the stream is open the content services publish no events of their own (see
+ * {@link ContentChangeStreamStatus}), so each write raises one event. Changes the driver has already
+ * fetched are handled together, and several documents changed in one collection, e.g. by a bulk
+ * write, raise a single collection-wide event. A stream opened without a resume token cannot tell
+ * which writes it missed, so it starts by invalidating every collection.
+ *
+ * <p>Writes made outside the content services, e.g. in the mongo shell, never bump the collection's
+ * write counter in {@code content_versions}, which the ETags and snapshots are keyed on. The listener
+ * raises each changed collection's counter to the change's cluster time with {@code $max} before
+ * publishing its event. Every instance applies the same value, so the counter moves once however many
+ * instances listen, and counters bumped by the services always stay below the next write's cluster time.
+ * Writes made while no stream is open are not covered.
+ */
+@Component
+@ConditionalOnProperty(name = "app.content.change-stream.enabled", havingValue = "true")
+public class ContentChangeStreamListener implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentChangeStreamListener.class);
+
+    static final String SCHEMAS = "schemas";
+    static final String CONTENT_VERSIONS = "content_versions";
+    // Counters bumped alongside every content or schema write; their changes carry nothing new
+    static final List<String> IGNORED_COLLECTIONS = List.of(CONTENT_VERSIONS, "schema_versions");
+    // The resume token has aged out of the oplog
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    // Changes handled before their events are published
+    static final int MAX_COALESCED = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SchemaCache schemaCache;
+    private final ContentChangeBroadcaster broadcaster;
+    private final ContentChangeStreamStatus status;
+    private final long retryMillis;
+
+    private volatile boolean running;
+    private volatile Thread worker;
+    private volatile BsonDocument resumeToken;
+
+    public ContentChangeStreamListener(MongoTemplate mongoTemplate,
+                                       ApplicationEventPublisher eventPublisher,
+                                       SchemaCache schemaCache,
+                                       ContentChangeBroadcaster broadcaster,
+                                       ContentChangeStreamStatus status,
+                                       @Value("${app.content.change-stream.retry-ms:5000}") long retryMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.schemaCache = schemaCache;
+        this.broadcaster = broadcaster;
+        this.status = status;
+        this.retryMillis = retryMillis;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::watch, "content-change-stream");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void watch() {
+        while (running) {
+            boolean resumed = resumeToken != null;
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = open()) {
+                logger.info(resumed ? "Resumed watching content changes" : "Watching content changes");
+                setLive(true);
+                if (!resumed) {
+                    // Writes made before the stream opened may not have raised an event anywhere
+                    invalidateAll();
+                }
+                while (running) {
+                    // Returns null after the stream's await time so a stop is noticed
+                    ChangeStreamDocument<Document> change = cursor.tryNext();
+                    if (change == null) {
+                        continue;
+                    }
+                    Map<String, Set<String>> changed = new LinkedHashMap<>();
+                    BsonTimestamp clusterTime = null;
+                    boolean invalidated = false;
+                    for (int handled = 1; change != null; handled++) {
+                        if (change.getClusterTime() != null) {
+                            clusterTime = change.getClusterTime();
+                        }
+                        try {
+                            handle(change, changed);
+                        } catch (RuntimeException e) {
+                            // Resuming before a change that keeps failing would loop on it; it is skipped
+                            logger.error("Could not handle content change in {}", change.getNamespace(), e);
+                        }
+                        if ("invalidate".equals(change.getOperationTypeString())) {
+                            // An invalidated stream cannot be resumed; start a new one from now
+                            resumeToken = null;
+                            invalidated = true;
+                            break;
+                        }
+                        resumeToken = change.getResumeToken();
+                        // Only changes already fetched, e.g. the rest of a bulk write; never waits on the server
+                        change = handled < MAX_COALESCED && cursor.available() > 0 ? cursor.tryNext() : null;
+                    }
+                    publish(changed, clusterTime);
+                    if (invalidated) {
+                        break;
+                    }
+                }
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                if (e instanceof MongoException mongoException && mongoException.getCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    logger.warn("Content change stream fell off the oplog; changes were missed, telling clients to re-fetch");
+                    resumeToken = null;
+                    schemaCache.clear();
+                    broadcaster.reset("Changes were missed");
+                    continue;
+                }
+                logger.warn("Content change stream failed, retrying in {} ms: {}", retryMillis, e.getMessage());
+                try {
+                    Thread.sleep(retryMillis);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            } finally {
+                // The content services publish their own events, and clients poll, until the stream is back
+                setLive(false);
+            }
+        }
+    }
+
+    private void setLive(boolean live) {
+        status.setLive(live);
+        broadcaster.status(live);
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> open() {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getDb()
+                .watch(List.of(Aggregates.match(Filters.nin("ns.coll", IGNORED_COLLECTIONS))))
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        BsonDocument token = resumeToken;
+        return (token == null ? stream : stream.resumeAfter(token)).cursor();
+    }
+
+    void handle(ChangeStreamDocument<Document> change) {
+        Map<String, Set<String>> changed = new LinkedHashMap<>();
+        handle(change, changed);
+        publish(changed, change.getClusterTime());
+    }
+
+    /**
+     * Clears caches and notifies SSE clients right away; the {@link ContentChangedEvent} is only
+     * collected into {@code changed}, as the changed document ids per collection, a null id meaning
+     * the whole collection.
+     */
+    private void handle(ChangeStreamDocument<Document> change, Map<String, Set<String>> changed) {
+        // dropDatabase and invalidate carry no collection
+        String collection = change.getNamespace() == null ? null : change.getNamespace().getCollectionName();
+        if (collection == null || IGNORED_COLLECTIONS.contains(collection)) {
+            return;
+        }
+        String documentId = documentId(change.getDocumentKey());
+        if (SCHEMAS.equals(collection)) {
+            schemaCache.clear();
+        }
+        changed.computeIfAbsent(collection, name -> new HashSet<>()).add(documentId);
+        broadcaster.publish(new ContentChangeNotification(collection, change.getOperationTypeString(), documentId,
+                change.getResumeToken().getString("_data").getValue()));
+    }
+
+    /**
+     * @param clusterTime of the last change handled, {@code null} if the server sent none
+     */
+    private void publish(Map<String, Set<String>> changed, BsonTimestamp clusterTime) {
+        if (clusterTime != null) {
+            bumpVersions(changed.keySet(), clusterTime);
+        }
+        changed.forEach((collection, documentIds) -> {
+            // One document keeps its precise event; more than one, or a drop, reloads the collection
+            String documentId = documentIds.size() == 1 ? documentIds.iterator().next() : null;
+            eventPublisher.publishEvent(new ContentChangedEvent(collection, documentId));
+        });
+    }
+
+    private void bumpVersions(Set<String> collections, BsonTimestamp clusterTime) {
+        for (String collection : collections) {
+            if (SCHEMAS.equals(collection)) {
+                continue;
+            }
+            try {
+                mongoTemplate.getCollection(CONTENT_VERSIONS).updateOne(Filters.eq("_id", collection),
+                        Updates.max("version", clusterTime.getValue()), new UpdateOptions().upsert(true));
+            } catch (RuntimeException e) {
+                // The event still goes out; only ETags of writes made around the services stay stale
+                logger.warn("Could not bump the write counter of {}: {}", collection, e.getMessage());
+            }
+        }
+    }
+
+    private void invalidateAll() {
+        for (String collection : mongoTemplate.getCollectionNames()) {
+            if (!IGNORED_COLLECTIONS.contains(collection)) {
+                eventPublisher.publishEvent(new ContentChangedEvent(collection, null));
+            }
+        }
+    }
+
+    private static String documentId(BsonDocument documentKey) {
+        BsonValue id = documentKey == null ? null : documentKey.get("_id");
+        if (id == null) {
+            return null;
+        }
+        return switch (id.getBsonType()) {
+            case OBJECT_ID -> id.asObjectId().getValue().toHexString();
+            case STRING -> id.asString().getValue();
+            case INT32 -> String.valueOf(id.asInt32().getValue());
+            case INT64 -> String.valueOf(id.asInt64().getValue());
+            default -> id.toString();
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package com.acegames.backend.infrastructure.changestream;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Whether a {@link ContentChangeStreamListener} is currently tailing the change stream. While it is,
+ * the stream republishes every content write as a {@link com.acegames.backend.application.event.ContentChangedEvent},
+ * so the content services leave that to it instead of publishing each write twice. Never live when the
+ * listener is disabled.
+ */
+@Component
+public class ContentChangeStreamStatus {
+
+    private volatile boolean live;
+
+    public boolean isLive() {
+        return live;
+    }
+
+    void setLive(boolean live) {
+        this.live = live;
+    }
+}
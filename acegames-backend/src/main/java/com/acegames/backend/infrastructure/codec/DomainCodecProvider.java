@@ -0,0 +1,41 @@
+package com.acegames.backend.infrastructure.codec;
+
+import com.mongodb.MongoClientSettings;
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Supplies a {@link DomainModelCodec} for every class in the domain model package. Codecs are
+ * built once per type; nested model codecs are looked up through the registry on first use.
+ */
+public class DomainCodecProvider implements CodecProvider {
+
+    private static final String MODEL_PACKAGE = "com.acegames.backend.domain.model";
+
+    /**
+     * Domain codecs in front of the driver defaults, for typed collections.
+     */
+    public static final CodecRegistry REGISTRY = CodecRegistries.fromRegistries(
+            CodecRegistries.fromProviders(new DomainCodecProvider()),
+            MongoClientSettings.getDefaultCodecRegistry());
+
+    private final Map<Class<?>, DomainModelCodec<?>> codecs = new ConcurrentHashMap<>();
+
+    public static boolean isDomainModel(Class<?> type) {
+        return !type.isEnum() && !type.isInterface() && MODEL_PACKAGE.equals(type.getPackageName());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Codec<T> get(Class<T> clazz, CodecRegistry registry) {
+        if (!isDomainModel(clazz)) {
+            return null;
+        }
+        return (Codec<T>) codecs.computeIfAbsent(clazz, type -> new DomainModelCodec<>(type, registry));
+    }
+}
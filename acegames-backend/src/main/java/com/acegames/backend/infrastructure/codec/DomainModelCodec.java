@@ -0,0 +1,757 @@
+package com.acegames.backend.infrastructure.codec;
+
+import org.bson.BsonObjectId;
+import org.bson.BsonReader;
+import org.bson.BsonString;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.CollectibleCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecConfigurationException;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandleInfo;
+import java.lang.invoke.MethodHandleProxies;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Encodes and decodes a Lombok domain model directly against the BSON stream through accessors
+ * bound once per field, so reads never build an intermediate {@code Document} and primitive fields
+ * ({@code int value}, {@code int weight}) are never boxed.
+ *
+ * <p>The String {@code _id} field maps to an ObjectId when it holds a valid hex id. Decoding is
+ * lenient the same way the untyped path is: numbers are narrowed or widened to the field type,
+ * unknown keys (such as {@code _version}) are skipped, and a stored value that cannot be
+ * represented by the field is left unset. Null fields are not written.
+ */
+public class DomainModelCodec<T> implements CollectibleCodec<T> {
+
+    private static final String ID_FIELD = "_id";
+
+    private final Class<T> type;
+    private final Supplier<Object> constructor;
+    private final List<FieldCodec> fields;
+    private final Map<String, FieldCodec> fieldsByName;
+    private final FieldCodec idField;
+
+    DomainModelCodec(Class<T> type, CodecRegistry registry) {
+        this.type = type;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            this.constructor = instantiator(lookup, type);
+
+            List<FieldCodec> compiled = new ArrayList<>();
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+                FieldCodec codec = FieldCodec.of(field, lookup, registry);
+                // _id first, as the server would reorder it anyway
+                if (codec.name.equals(ID_FIELD)) {
+                    compiled.add(0, codec);
+                } else {
+                    compiled.add(codec);
+                }
+            }
+            this.fields = List.copyOf(compiled);
+        } catch (ReflectiveOperationException e) {
+            throw new CodecConfigurationException("Cannot build codec for " + type.getName(), e);
+        }
+
+        Map<String, FieldCodec> byName = new HashMap<>();
+        for (FieldCodec field : fields) {
+            byName.put(field.name, field);
+        }
+        this.fieldsByName = byName;
+        FieldCodec id = byName.get(ID_FIELD);
+        this.idField = id != null && id.value instanceof IdValue ? id : null;
+    }
+
+    /**
+     * Whether instances map to a top-level collection document, i.e. the model declares a String {@code _id}.
+     */
+    public boolean isDocumentModel() {
+        return idField != null;
+    }
+
+    @Override
+    public Class<T> getEncoderClass() {
+        return type;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, T value, EncoderContext encoderContext) {
+        encode(writer, value, encoderContext, null);
+    }
+
+    /**
+     * Encodes {@code value} and lets {@code extraFields} append fields the model does not declare.
+     */
+    public void encode(BsonWriter writer, T value, EncoderContext encoderContext, Consumer<BsonWriter> extraFields) {
+        writer.writeStartDocument();
+        for (FieldCodec field : fields) {
+            field.encode(writer, value, encoderContext);
+        }
+        if (extraFields != null) {
+            extraFields.accept(writer);
+        }
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public T decode(BsonReader reader, DecoderContext decoderContext) {
+        T instance = newInstance();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            FieldCodec field = fieldsByName.get(reader.readName());
+            if (field == null || reader.getCurrentBsonType() == BsonType.NULL && field.primitive) {
+                reader.skipValue();
+            } else {
+                field.decode(reader, instance, decoderContext);
+            }
+        }
+        reader.readEndDocument();
+        return instance;
+    }
+
+    @Override
+    public T generateIdIfAbsentFromDocument(T document) {
+        if (idField != null && idField.get(document) == null) {
+            idField.set(document, new ObjectId().toHexString());
+        }
+        return document;
+    }
+
+    @Override
+    public boolean documentHasId(T document) {
+        return idField != null && idField.get(document) != null;
+    }
+
+    @Override
+    public BsonValue getDocumentId(T document) {
+        if (idField == null) {
+            throw new IllegalStateException(type.getSimpleName() + " does not declare an _id field");
+        }
+        String id = (String) idField.get(document);
+        if (id == null) {
+            throw new IllegalStateException("The document does not contain an _id");
+        }
+        return ObjectId.isValid(id) ? new BsonObjectId(new ObjectId(id)) : new BsonString(id);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T newInstance() {
+        return (T) constructor.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<Object> instantiator(MethodHandles.Lookup lookup, Class<?> type) throws ReflectiveOperationException {
+        MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class));
+        if (!Modifier.isPublic(type.getModifiers()) || !Modifier.isPublic(type.getDeclaredConstructor().getModifiers())) {
+            return MethodHandleProxies.asInterfaceInstance(Supplier.class, constructor.asType(MethodType.methodType(Object.class)));
+        }
+        try {
+            CallSite site = LambdaMetafactory.metafactory(MethodHandles.lookup(), "get",
+                    MethodType.methodType(Supplier.class), MethodType.methodType(Object.class),
+                    constructor, constructor.type());
+            return (Supplier<Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new CodecConfigurationException("Cannot bind constructor of " + type.getName(), e);
+        }
+    }
+
+    /**
+     * One model field. Accessors are bound to the Lombok getter and setter through LambdaMetafactory,
+     * falling back to the field's MethodHandles, and primitive fields use primitive functional
+     * interfaces so values travel between the BSON stream and the object without boxing.
+     */
+    private abstract static class FieldCodec {
+        final String name;
+        final boolean primitive;
+        final ValueCodec value;
+
+        FieldCodec(String name, boolean primitive, ValueCodec value) {
+            this.name = name;
+            this.primitive = primitive;
+            this.value = value;
+        }
+
+        abstract void encode(BsonWriter writer, Object owner, EncoderContext context);
+
+        abstract void decode(BsonReader reader, Object owner, DecoderContext context);
+
+        Object get(Object owner) {
+            throw new UnsupportedOperationException(name);
+        }
+
+        void set(Object owner, Object fieldValue) {
+            throw new UnsupportedOperationException(name);
+        }
+
+        static FieldCodec of(Field field, MethodHandles.Lookup lookup, CodecRegistry registry) throws ReflectiveOperationException {
+            Class<?> fieldType = field.getType();
+            MethodHandle getter = accessor(lookup, field, true);
+            MethodHandle setter = accessor(lookup, field, false);
+            String name = field.getName();
+
+            if (fieldType == int.class) {
+                return new IntField(name, bind(ToIntFunction.class, "applyAsInt", getter), bind(ObjIntConsumer.class, "accept", setter));
+            }
+            if (fieldType == long.class) {
+                return new LongField(name, bind(ToLongFunction.class, "applyAsLong", getter), bind(ObjLongConsumer.class, "accept", setter));
+            }
+            if (fieldType == double.class) {
+                return new DoubleField(name, bind(ToDoubleFunction.class, "applyAsDouble", getter), bind(ObjDoubleConsumer.class, "accept", setter));
+            }
+            if (fieldType == boolean.class) {
+                return new BooleanField(name, bind(Predicate.class, "test", getter), bind(ObjBooleanConsumer.class, "accept", setter));
+            }
+            if (fieldType.isPrimitive()) {
+                throw new CodecConfigurationException("Unsupported primitive field " + name + " of type " + fieldType);
+            }
+            ValueCodec value = name.equals(ID_FIELD) && fieldType == String.class
+                    ? IdValue.INSTANCE
+                    : ValueCodec.of(fieldType, field.getGenericType(), registry);
+            return new ObjectField(name, bind(Function.class, "apply", getter), bind(BiConsumer.class, "accept", setter), value);
+        }
+
+        /**
+         * The Lombok accessor when there is one, otherwise a direct field handle.
+         */
+        private static MethodHandle accessor(MethodHandles.Lookup lookup, Field field, boolean getter) throws IllegalAccessException {
+            String property = field.getName();
+            String capitalized = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+            Class<?> owner = field.getDeclaringClass();
+            try {
+                if (getter) {
+                    String prefix = field.getType() == boolean.class ? "is" : "get";
+                    return lookup.findVirtual(owner, prefix + capitalized, MethodType.methodType(field.getType()));
+                }
+                return lookup.findVirtual(owner, "set" + capitalized, MethodType.methodType(void.class, field.getType()));
+            } catch (NoSuchMethodException e) {
+                return getter ? lookup.unreflectGetter(field) : lookup.unreflectSetter(field);
+            }
+        }
+
+        private static <I> I bind(Class<I> functionalInterface, String methodName, MethodHandle target) throws ReflectiveOperationException {
+            Method method = null;
+            for (Method candidate : functionalInterface.getMethods()) {
+                if (candidate.getName().equals(methodName) && Modifier.isAbstract(candidate.getModifiers())) {
+                    method = candidate;
+                }
+            }
+            if (method == null) {
+                throw new NoSuchMethodException(functionalInterface.getName() + "." + methodName);
+            }
+            MethodType erased = MethodType.methodType(method.getReturnType(), method.getParameterTypes());
+            MethodHandleInfo info = directInfo(target);
+            if (info == null || info.getReferenceKind() != MethodHandleInfo.REF_invokeVirtual) {
+                return MethodHandleProxies.asInterfaceInstance(functionalInterface, target.asType(erased));
+            }
+            try {
+                CallSite site = LambdaMetafactory.metafactory(
+                        MethodHandles.lookup(), methodName, MethodType.methodType(functionalInterface),
+                        erased, target, target.type());
+                return functionalInterface.cast(site.getTarget().invoke());
+            } catch (Throwable e) {
+                throw new CodecConfigurationException("Cannot bind accessor " + info.getName(), e);
+            }
+        }
+
+        private static MethodHandleInfo directInfo(MethodHandle target) {
+            try {
+                return MethodHandles.lookup().revealDirect(target);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface ObjBooleanConsumer<T> {
+        void accept(T owner, boolean value);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final class IntField extends FieldCodec {
+        private final ToIntFunction getter;
+        private final ObjIntConsumer setter;
+
+        IntField(String name, ToIntFunction getter, ObjIntConsumer setter) {
+            super(name, true, null);
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        void encode(BsonWriter writer, Object owner, EncoderContext context) {
+            writer.writeInt32(name, getter.applyAsInt(owner));
+        }
+
+        @Override
+        void decode(BsonReader reader, Object owner, DecoderContext context) {
+            if (isNumber(reader.getCurrentBsonType())) {
+                setter.accept(owner, readInt(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final class LongField extends FieldCodec {
+        private final ToLongFunction getter;
+        private final ObjLongConsumer setter;
+
+        LongField(String name, ToLongFunction getter, ObjLongConsumer setter) {
+            super(name, true, null);
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        void encode(BsonWriter writer, Object owner, EncoderContext context) {
+            writer.writeInt64(name, getter.applyAsLong(owner));
+        }
+
+        @Override
+        void decode(BsonReader reader, Object owner, DecoderContext context) {
+            if (isNumber(reader.getCurrentBsonType())) {
+                setter.accept(owner, readLong(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final class DoubleField extends FieldCodec {
+        private final ToDoubleFunction getter;
+        private final ObjDoubleConsumer setter;
+
+        DoubleField(String name, ToDoubleFunction getter, ObjDoubleConsumer setter) {
+            super(name, true, null);
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        void encode(BsonWriter writer, Object owner, EncoderContext context) {
+            writer.writeDouble(name, getter.applyAsDouble(owner));
+        }
+
+        @Override
+        void decode(BsonReader reader, Object owner, DecoderContext context) {
+            if (isNumber(reader.getCurrentBsonType())) {
+                setter.accept(owner, readDouble(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final class BooleanField extends FieldCodec {
+        private final Predicate getter;
+        private final ObjBooleanConsumer setter;
+
+        BooleanField(String name, Predicate getter, ObjBooleanConsumer setter) {
+            super(name, true, null);
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        void encode(BsonWriter writer, Object owner, EncoderContext context) {
+            writer.writeBoolean(name, getter.test(owner));
+        }
+
+        @Override
+        void decode(BsonReader reader, Object owner, DecoderContext context) {
+            if (reader.getCurrentBsonType() == BsonType.BOOLEAN) {
+                setter.accept(owner, reader.readBoolean());
+            } else {
+                reader.skipValue();
+            }
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final class ObjectField extends FieldCodec {
+        private final Function getter;
+        private final BiConsumer setter;
+
+        ObjectField(String name, Function getter, BiConsumer setter, ValueCodec value) {
+            super(name, false, value);
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        void encode(BsonWriter writer, Object owner, EncoderContext context) {
+            Object fieldValue = getter.apply(owner);
+            if (fieldValue != null) {
+                writer.writeName(name);
+                value.encode(writer, fieldValue, context);
+            }
+        }
+
+        @Override
+        void decode(BsonReader reader, Object owner, DecoderContext context) {
+            Object decoded = value.decode(reader, context);
+            if (decoded != ValueCodec.UNSET) {
+                setter.accept(owner, decoded);
+            }
+        }
+
+        @Override
+        Object get(Object owner) {
+            return getter.apply(owner);
+        }
+
+        @Override
+        void set(Object owner, Object fieldValue) {
+            setter.accept(owner, fieldValue);
+        }
+    }
+
+    /**
+     * Encodes and decodes one non-primitive value: a field, or an item of a list field.
+     */
+    private abstract static class ValueCodec {
+        /**
+         * Returned by {@link #decode} when the stored value does not fit; the field keeps its default.
+         */
+        static final Object UNSET = new Object();
+
+        abstract void encode(BsonWriter writer, Object value, EncoderContext context);
+
+        abstract Object decode(BsonReader reader, DecoderContext context);
+
+        static ValueCodec of(Class<?> type, Type genericType, CodecRegistry registry) {
+            if (type == String.class) return StringValue.INSTANCE;
+            if (type == Integer.class) return NumberValue.INTEGER;
+            if (type == Long.class) return NumberValue.LONG;
+            if (type == Double.class) return NumberValue.DOUBLE;
+            if (type == Boolean.class) return BooleanValue.INSTANCE;
+            if (type.isEnum()) return new EnumValue(type);
+            if (List.class.isAssignableFrom(type)) {
+                if (genericType instanceof ParameterizedType parameterized
+                        && parameterized.getActualTypeArguments()[0] instanceof Class<?> itemType) {
+                    return new ListValue(of(itemType, itemType, registry));
+                }
+                throw new CodecConfigurationException("List fields need a concrete item type: " + genericType);
+            }
+            if (DomainCodecProvider.isDomainModel(type)) return new ModelValue(type, registry);
+            return new DelegateValue(type, registry);
+        }
+    }
+
+    private static final class IdValue extends ValueCodec {
+        static final IdValue INSTANCE = new IdValue();
+
+        @Override
+        void encode(BsonWriter writer, Object value, EncoderContext context) {
+            String id = (String) value;
+            if (ObjectId.isValid(id)) {
+                writer.writeObjectId(new ObjectId(id));
+            } else {
+                writer.writeString(id);
+            }
+        }
+
+        @Override
+        Object decode(BsonReader reader, DecoderContext context) {
+            return switch (reader.getCurrentBsonType()) {
+                case OBJECT_ID -> reader.readObjectId().toHexString();
+                case STRING -> reader.readString();
+                default -> skip(reader);
+            };
+        }
+    }
+
+    private static final class StringValue extends ValueCodec {
+        static final StringValue INSTANCE = new StringValue();
+
+        @Override
+        void encode(BsonWriter writer, Object value, EncoderContext context) {
+            writer.writeString((String) value);
+        }
+
+        @Override
+        Object decode(BsonReader reader, DecoderContext context) {
+            return switch (reader.getCurrentBsonType()) {
+                case STRING -> reader.readString();
+                // Reference ids are sometimes stored as ObjectIds
+                case OBJECT_ID -> reader.readObjectId().toHexString();
+                case NULL -> readNull(reader);
+                default -> skip(reader);
+            };
+        }
+    }
+
+    private static final class NumberValue extends ValueCodec {
+        static final NumberValue INTEGER = new NumberValue(Integer.class);
+        static final NumberValue LONG = new NumberValue(Long.class);
+        static final NumberValue DOUBLE = new NumberValue(Double.class);
+
+        private final Class<?> type;
+
+        private NumberValue(Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        void encode(BsonWriter writer, Object value, EncoderContext context) {
+            if (type == Integer.class) {
+                writer.writeInt32((Integer) value);
+            } else if (type == Long.class) {
+                writer.writeInt64((Long) value);
+            } else {
+                writer.writeDouble((Double) value);
+            }
+        }
+
+        @Override
+        Object decode(BsonReader reader, DecoderContext context) {
+            BsonType bsonType = reader.getCurrentBsonType();
+            if (bsonType == BsonType.NULL) {
+                return readNull(reader);
+            }
+            if (!isNumber(bsonType)) {
+                return skip(reader);
+            }
+            if (type == Integer.class) {
+                return readInt(reader);
+            }
+            if (type == Long.class) {
+                return readLong(reader);
+            }
+            return readDouble(reader);
+        }
+    }
+
+    private static final class BooleanValue extends ValueCodec {
+        static final BooleanValue INSTANCE = new BooleanValue();
+
+        @Override
+        void encode(BsonWriter writer, Object value, EncoderContext context) {
+            writer.writeBoolean((Boolean) value);
+        }
+
+        @Override
+        Object decode(BsonReader reader, DecoderContext context) {
+            return switch (reader.getCurrentBsonType()) {
+                case BOOLEAN -> reader.readBoolean();
+                case NULL -> readNull(reader);
+                default -> skip(reader);
+            };
+        }
+    }
+
+    private static final class EnumValue extends ValueCodec {
+        private final Map<String, Object> constants = new LinkedHashMap<>();
+
+        EnumValue(Class<?> type) {
+            for (Object constant : type.getEnumConstants()) {
+                constants.put(((Enum<?>) constant).name(), constant);
+            }
+        }
+
+        @Override
+        void encode(BsonWriter writer, Object value, EncoderContext context) {
+            writer.writeString(((Enum<?>) value).name());
+        }
+
+        @Override
+        Object decode(BsonReader reader, DecoderContext context) {
+            BsonType bsonType = reader.getCurrentBsonType();
+            if (bsonType == BsonType.NULL) {
+                return readNull(reader);
+            }
+            if (bsonType != BsonType.STRING) {
+                return skip(reader);
+            }
+            Object constant = constants.get(reader.readString());
+            return constant != null ? constant : UNSET;
+        }
+    }
+
+    private static final class ListValue extends ValueCodec {
+        private final ValueCodec items;
+
+        ListValue(ValueCodec items) {
+            this.items = items;
+        }
+
+        @Override
+        void encode(BsonWriter writer, Object value, EncoderContext context) {
+            writer.writeStartArray();
+            for (Object item : (List<?>) value) {
+                if (item == null) {
+                    writer.writeNull();
+                } else {
+                    items.encode(writer, item, context);
+                }
+            }
+            writer.writeEndArray();
+        }
+
+        @Override
+        Object decode(BsonReader reader, DecoderContext context) {
+            BsonType bsonType = reader.getCurrentBsonType();
+            if (bsonType == BsonType.NULL) {
+                return readNull(reader);
+            }
+            if (bsonType != BsonType.ARRAY) {
+                return skip(reader);
+            }
+            List<Object> list = new ArrayList<>();
+            reader.readStartArray();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                Object item = items.decode(reader, context);
+                list.add(item == UNSET ? null : item);
+            }
+            reader.readEndArray();
+            return list;
+        }
+    }
+
+    private static final class ModelValue extends ValueCodec {
+        private final Class<?> type;
+        private final CodecRegistry registry;
+        // Resolved on first use, so building a codec never recurses through its nested models
+        private Codec<Object> codec;
+
+        ModelValue(Class<?> type, CodecRegistry registry) {
+            this.type = type;
+            this.registry = registry;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Codec<Object> codec() {
+            Codec<Object> resolved = codec;
+            if (resolved == null) {
+                resolved = (Codec<Object>) registry.get(type);
+                codec = resolved;
+            }
+            return resolved;
+        }
+
+        @Override
+        void encode(BsonWriter writer, Object value, EncoderContext context) {
+            context.encodeWithChildContext(codec(), writer, value);
+        }
+
+        @Override
+        Object decode(BsonReader reader, DecoderContext context) {
+            BsonType bsonType = reader.getCurrentBsonType();
+            if (bsonType == BsonType.NULL) {
+                return readNull(reader);
+            }
+            if (bsonType != BsonType.DOCUMENT) {
+                return skip(reader);
+            }
+            return context.decodeWithChildContext(codec(), reader);
+        }
+    }
+
+    private static final class DelegateValue extends ValueCodec {
+        private final Codec<Object> codec;
+
+        @SuppressWarnings("unchecked")
+        DelegateValue(Class<?> type, CodecRegistry registry) {
+            this.codec = (Codec<Object>) registry.get(type);
+        }
+
+        @Override
+        void encode(BsonWriter writer, Object value, EncoderContext context) {
+            context.encodeWithChildContext(codec, writer, value);
+        }
+
+        @Override
+        Object decode(BsonReader reader, DecoderContext context) {
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                return readNull(reader);
+            }
+            return context.decodeWithChildContext(codec, reader);
+        }
+    }
+
+    private static Object skip(BsonReader reader) {
+        reader.skipValue();
+        return ValueCodec.UNSET;
+    }
+
+    private static Object readNull(BsonReader reader) {
+        reader.readNull();
+        return null;
+    }
+
+    private static boolean isNumber(BsonType bsonType) {
+        return bsonType == BsonType.INT32 || bsonType == BsonType.INT64
+                || bsonType == BsonType.DOUBLE || bsonType == BsonType.DECIMAL128;
+    }
+
+    private static int readInt(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case INT64 -> (int) reader.readInt64();
+            case DOUBLE -> (int) reader.readDouble();
+            default -> readDecimal(reader).intValue();
+        };
+    }
+
+    private static long readLong(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case INT64 -> reader.readInt64();
+            case DOUBLE -> (long) reader.readDouble();
+            default -> readDecimal(reader).longValue();
+        };
+    }
+
+    private static double readDouble(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case INT64 -> reader.readInt64();
+            case DOUBLE -> reader.readDouble();
+            default -> readDecimal(reader).doubleValue();
+        };
+    }
+
+    private static java.math.BigDecimal readDecimal(BsonReader reader) {
+        Decimal128 decimal = reader.readDecimal128();
+        return decimal.bigDecimalValue();
+    }
+}
@@ -0,0 +1,52 @@
+package com.acegames.backend.infrastructure.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonValue;
+import org.bson.BsonWriter;
+import org.bson.codecs.CollectibleCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+/**
+ * Inserts a typed model with its initial document revision, which the model classes do not declare.
+ */
+public class VersionStampingCodec<T> implements CollectibleCodec<T> {
+
+    private final DomainModelCodec<T> delegate;
+    private final String versionField;
+
+    public VersionStampingCodec(DomainModelCodec<T> delegate, String versionField) {
+        this.delegate = delegate;
+        this.versionField = versionField;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, T value, EncoderContext encoderContext) {
+        delegate.encode(writer, value, encoderContext, fields -> fields.writeInt64(versionField, 1L));
+    }
+
+    @Override
+    public T decode(BsonReader reader, DecoderContext decoderContext) {
+        return delegate.decode(reader, decoderContext);
+    }
+
+    @Override
+    public Class<T> getEncoderClass() {
+        return delegate.getEncoderClass();
+    }
+
+    @Override
+    public T generateIdIfAbsentFromDocument(T document) {
+        return delegate.generateIdIfAbsentFromDocument(document);
+    }
+
+    @Override
+    public boolean documentHasId(T document) {
+        return delegate.documentHasId(document);
+    }
+
+    @Override
+    public BsonValue getDocumentId(T document) {
+        return delegate.getDocumentId(document);
+    }
+}
@@ -4,6 +4,7 @@ import com.acegames.backend.application.dto.FieldDefinition;
 import lombok.Builder;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Map;
@@ -16,7 +17,10 @@ public class ModelSchemaDocument {
     @Id
     private String id;
 
+    // Created by ModelSchemaRepository.ensureIndexes at startup; auto-index-creation stays off
+    @Indexed(unique = true)
     private String collection;
     private String displayName;
     private Map<String, FieldDefinition> fields;
+    private String fingerprint;
 }
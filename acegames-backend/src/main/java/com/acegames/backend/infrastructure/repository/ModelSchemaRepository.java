@@ -5,7 +5,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.Optional;
 
-public interface ModelSchemaRepository extends MongoRepository<ModelSchemaDocument, String> {
+public interface ModelSchemaRepository extends MongoRepository<ModelSchemaDocument, String>, ModelSchemaRepositoryCustom {
     Optional<ModelSchemaDocument> findByCollection(String collection);
     void deleteByCollection(String collection);
 
@@ -0,0 +1,19 @@
+package com.acegames.backend.infrastructure.repository;
+
+import com.acegames.backend.infrastructure.model.ModelSchemaDocument;
+
+import java.util.List;
+
+public interface ModelSchemaRepositoryCustom {
+    void bulkUpsertByCollection(List<ModelSchemaDocument> documents);
+
+    /**
+     * Creates the indexes declared on {@link ModelSchemaDocument}, so that concurrent upserts by
+     * collection name can never leave two schemas for one collection.
+     */
+    void ensureIndexes();
+
+    long incrementSchemaVersion();
+
+    long currentSchemaVersion();
+}
@@ -0,0 +1,73 @@
+package com.acegames.backend.infrastructure.repository;
+
+import com.acegames.backend.infrastructure.model.ModelSchemaDocument;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+public class ModelSchemaRepositoryImpl implements ModelSchemaRepositoryCustom {
+
+    // Kept out of "schemas" so that findAll() there only ever returns schema documents.
+    private static final String VERSION_COLLECTION = "schema_versions";
+    private static final String VERSION_ID = "schemas";
+
+    private final MongoTemplate mongoTemplate;
+
+    public ModelSchemaRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void bulkUpsertByCollection(List<ModelSchemaDocument> documents) {
+        if (documents.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ModelSchemaDocument.class);
+        for (ModelSchemaDocument document : documents) {
+            Query query = new Query(Criteria.where("collection").is(document.getCollection()));
+            bulk.replaceOne(query, document, FindAndReplaceOptions.options().upsert());
+        }
+        bulk.execute();
+    }
+
+    @Override
+    public void ensureIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(ModelSchemaDocument.class);
+        IndexResolver.create(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(ModelSchemaDocument.class)
+                .forEach(indexOps::createIndex);
+    }
+
+    @Override
+    public long incrementSchemaVersion() {
+        Document counter = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(VERSION_ID)),
+                new Update().inc("version", 1L),
+                FindAndModifyOptions.options().returnNew(true).upsert(true),
+                Document.class,
+                VERSION_COLLECTION);
+        return versionOf(counter);
+    }
+
+    @Override
+    public long currentSchemaVersion() {
+        return versionOf(mongoTemplate.findById(VERSION_ID, Document.class, VERSION_COLLECTION));
+    }
+
+    private long versionOf(Document counter) {
+        if (counter == null || !(counter.get("version") instanceof Number version)) {
+            return 0L;
+        }
+        return version.longValue();
+    }
+}
@@ -0,0 +1,109 @@
+package com.acegames.backend.infrastructure.service;
+
+import com.acegames.backend.application.dto.CascadeTileTable;
+import com.acegames.backend.application.dto.TileSample;
+import com.acegames.backend.application.event.ContentChangedEvent;
+import com.acegames.backend.application.service.CascadeSamplerService;
+import com.acegames.backend.application.service.GenericCrudService;
+import com.acegames.backend.runtime.AliasTable;
+import com.acegames.backend.web.exception.ResourceNotFoundException;
+import org.bson.Document;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class CascadeSamplerServiceImpl implements CascadeSamplerService {
+
+    static final String COLLECTION = "cascade";
+    static final int MAX_SAMPLE_COUNT = 10_000;
+
+    private final GenericCrudService crudService;
+    private final Map<String, CompiledCascade> tables = new ConcurrentHashMap<>();
+    // Bumped on every Cascade write; a table compiled across a bump may be stale and is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CascadeSamplerServiceImpl(GenericCrudService crudService) {
+        this.crudService = crudService;
+    }
+
+    @Override
+    public TileSample sample(String cascadeId, int count) {
+        if (count < 1 || count > MAX_SAMPLE_COUNT) {
+            throw new IllegalArgumentException("count must be between 1 and " + MAX_SAMPLE_COUNT);
+        }
+        CompiledCascade compiled = compiled(cascadeId);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int[] tiles = new int[count];
+        for (int i = 0; i < count; i++) {
+            tiles[i] = compiled.table().sample(random);
+        }
+        return new TileSample(cascadeId, compiled.version(), tiles);
+    }
+
+    @Override
+    public CascadeTileTable table(String cascadeId) {
+        CompiledCascade compiled = compiled(cascadeId);
+        AliasTable table = compiled.table();
+        return new CascadeTileTable(cascadeId, compiled.version(), table.outcomes(), table.thresholds(), table.aliases(), table.total());
+    }
+
+    @EventListener
+    public void onContentChanged(ContentChangedEvent event) {
+        if (!COLLECTION.equals(event.collection())) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        if (event.documentId() == null) {
+            tables.clear();
+        } else {
+            tables.remove(event.documentId());
+        }
+    }
+
+    private CompiledCascade compiled(String cascadeId) {
+        CompiledCascade cached = tables.get(cascadeId);
+        if (cached != null) {
+            return cached;
+        }
+        long seen = invalidations.get();
+        CompiledCascade compiled = compile(cascadeId);
+        if (invalidations.get() == seen) {
+            tables.put(cascadeId, compiled);
+        }
+        return compiled;
+    }
+
+    private CompiledCascade compile(String cascadeId) {
+        // Read as a Document rather than a Cascade: the typed model does not carry _version
+        Document cascade = crudService.findById(COLLECTION, cascadeId);
+        if (cascade == null) {
+            throw new ResourceNotFoundException("Cascade not found: " + cascadeId);
+        }
+        List<?> stepRule = cascade.get("stepRule", List.class);
+        if (stepRule == null || stepRule.isEmpty()) {
+            throw new IllegalArgumentException("Cascade " + cascadeId + " has no stepRule");
+        }
+        int[] tileIds = new int[stepRule.size()];
+        int[] weights = new int[stepRule.size()];
+        for (int i = 0; i < stepRule.size(); i++) {
+            if (!(stepRule.get(i) instanceof Map<?, ?> rule)
+                    || !(rule.get("tileId") instanceof Number tileId)
+                    || !(rule.get("weight") instanceof Number weight)) {
+                throw new IllegalArgumentException("Cascade " + cascadeId + " has an incomplete stepRule[" + i + "]");
+            }
+            tileIds[i] = tileId.intValue();
+            weights[i] = weight.intValue();
+        }
+        long version = cascade.get(GenericCrudService.VERSION_FIELD) instanceof Number number ? number.longValue() : 0L;
+        return new CompiledCascade(version, AliasTable.build(tileIds, weights));
+    }
+
+    private record CompiledCascade(long version, AliasTable table) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.acegames.backend.infrastructure.service;
+
+import com.acegames.backend.application.dto.ContentPackExport;
+import com.acegames.backend.application.dto.ContentPackReport;
+import com.acegames.backend.application.dto.ContentSnapshot;
+import com.acegames.backend.application.dto.ContentSnapshot.CollectionSnapshot;
+import com.acegames.backend.application.dto.ModelSchemaDto;
+import com.acegames.backend.application.helper.ContentPackShapes;
+import com.acegames.backend.application.helper.EnumScanner;
+import com.acegames.backend.application.helper.SchemaFingerprint;
+import com.acegames.backend.application.service.ContentExportService;
+import com.acegames.backend.application.service.ContentSnapshotService;
+import com.acegames.backend.application.service.ModelSchemaService;
+import com.acegames.backend.runtime.pack.ContentPackWriter;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Encodes the current {@link ContentSnapshot} as a content pack with a {@link ContentPackWriter}.
+ * Each registered schema lays out its collection, and enums are stored as their ordinal in
+ * {@link EnumScanner} order, i.e. declaration order. The last pack is kept and handed out again
+ * until the snapshot version or a schema changes.
+ */
+@Service
+public class ContentExportServiceImpl implements ContentExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentExportServiceImpl.class);
+
+    private final ContentSnapshotService snapshotService;
+    private final ModelSchemaService modelSchemaService;
+    private final Map<String, String[]> enums;
+    private final Object exportLock = new Object();
+    private volatile ContentPackExport latest;
+
+    public ContentExportServiceImpl(ContentSnapshotService snapshotService, ModelSchemaService modelSchemaService) {
+        this.snapshotService = snapshotService;
+        this.modelSchemaService = modelSchemaService;
+        this.enums = new TreeMap<>(EnumScanner.scanEnums());
+    }
+
+    @Override
+    public ContentPackExport currentPack() {
+        ContentSnapshot snapshot = snapshotService.current();
+        List<ModelSchemaDto> schemas = new ArrayList<>(modelSchemaService.getAllSchemas());
+        schemas.sort(Comparator.comparing(ModelSchemaDto::getCollection));
+        String tag = snapshot.version() + "-" + SchemaFingerprint.combine(schemas.stream()
+                .map(schema -> schema.getCollection() + ":" + schema.getFingerprint())
+                .toList());
+
+        ContentPackExport export = latest;
+        if (export != null && export.tag().equals(tag)) {
+            return export;
+        }
+        synchronized (exportLock) {
+            export = latest;
+            if (export == null || !export.tag().equals(tag)) {
+                export = export(snapshot, schemas, tag);
+                latest = export;
+            }
+            return export;
+        }
+    }
+
+    private ContentPackExport export(ContentSnapshot snapshot, List<ModelSchemaDto> schemas, String tag) {
+        ContentPackWriter writer = new ContentPackWriter(snapshot.version(), snapshot.builtAt());
+        enums.forEach((name, constants) -> writer.enumeration(name, List.of(constants)));
+
+        List<String> skipped = new ArrayList<>();
+        Map<String, Integer> documents = new TreeMap<>();
+        for (ModelSchemaDto schema : schemas) {
+            CollectionSnapshot collection = snapshot.collections().get(schema.getCollection());
+            if (collection == null) {
+                continue;
+            }
+            writer.collection(collection.collection(), collection.version(),
+                    ContentPackShapes.of(schema.getFields(), enums.keySet(), collection.collection(), skipped),
+                    withStringIds(collection.documents()));
+            documents.put(collection.collection(), collection.documents().size());
+        }
+        byte[] content = writer.toByteArray();
+
+        Map<String, Map<String, String>> rejected = writer.rejected();
+        Map<String, Integer> records = new TreeMap<>();
+        documents.forEach((collection, count) ->
+                records.put(collection, count - rejected.getOrDefault(collection, Map.of()).size()));
+        if (!rejected.isEmpty()) {
+            logger.warn("Content pack {} leaves out {} documents that do not match their schema; see /api/export/pack/report",
+                    tag, rejected.values().stream().mapToInt(Map::size).sum());
+        }
+        logger.info("Exported content pack {} ({} bytes, {} collections)", tag, content.length, records.size());
+        return new ContentPackExport(tag, content,
+                new ContentPackReport(snapshot.version(), content.length, records, rejected, List.copyOf(skipped)));
+    }
+
+    // Schemas declare _id as a String; ObjectIds are written as the hex id the snapshot indexes them by
+    private static Map<String, Map<String, Object>> withStringIds(Map<String, Document> documents) {
+        Map<String, Map<String, Object>> converted = new LinkedHashMap<>();
+        documents.forEach((id, document) -> {
+            if (document.get("_id") == null || document.get("_id") instanceof String) {
+                converted.put(id, document);
+            } else {
+                // Snapshot documents are shared and read-only, so the id is replaced on a copy
+                Map<String, Object> copy = new LinkedHashMap<>(document);
+                copy.put("_id", id);
+                converted.put(id, copy);
+            }
+        });
+        return converted;
+    }
+}
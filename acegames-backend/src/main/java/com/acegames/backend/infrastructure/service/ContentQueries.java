@@ -0,0 +1,243 @@
+package com.acegames.backend.infrastructure.service;
+
+import com.acegames.backend.application.dto.ContentFilter;
+import com.acegames.backend.application.dto.ContentPage;
+import com.acegames.backend.application.dto.ContentPageRequest;
+import com.acegames.backend.application.event.ContentChangedEvent;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static com.acegames.backend.application.service.GenericCrudService.VERSION_FIELD;
+
+/**
+ * Queries and updates shared by the blocking and reactive content services, so both parse ids,
+ * paginate and stamp revisions the same way.
+ */
+final class ContentQueries {
+
+    // Per-collection write counters used for conditional GETs; only writes made through the content services bump them.
+    static final String COLLECTION_VERSIONS = "content_versions";
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    static final int STREAM_BATCH_SIZE = 500;
+    private static final JsonWriterSettings CURSOR_JSON = JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).build();
+
+    private ContentQueries() {
+    }
+
+    static ObjectId parseId(String id) {
+        if (id == null || !ObjectId.isValid(id)) {
+            throw new IllegalArgumentException("Invalid ObjectId: " + id);
+        }
+        return new ObjectId(id);
+    }
+
+    /**
+     * One criteria per parsed filter. Callers join them under a single {@code $and}, which also keeps
+     * them from clashing with keyset criteria on the same field.
+     */
+    static List<Criteria> filterCriteria(List<ContentFilter> filters) {
+        List<Criteria> conditions = new ArrayList<>(filters.size());
+        for (ContentFilter filter : filters) {
+            Criteria field = Criteria.where(filter.getPath());
+            Object value = filter.getValue();
+            conditions.add(switch (filter.getOperator()) {
+                case eq -> field.is(value);
+                case ne -> field.ne(value);
+                case gt -> field.gt(value);
+                case gte -> field.gte(value);
+                case lt -> field.lt(value);
+                case lte -> field.lte(value);
+                case in -> field.in((List<?>) value);
+                case nin -> field.nin((List<?>) value);
+                case exists -> field.exists((Boolean) value);
+            });
+        }
+        return conditions;
+    }
+
+    static Query filterQuery(List<ContentFilter> filters) {
+        Query query = new Query().cursorBatchSize(STREAM_BATCH_SIZE);
+        if (!filters.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(filterCriteria(filters)));
+        }
+        return query;
+    }
+
+    /**
+     * Builds the keyset query for one page. It asks for one document more than the limit so
+     * {@link PageQuery#toPage} can tell whether another page follows.
+     */
+    static PageQuery pageQuery(ContentPageRequest request, List<ContentFilter> filters) {
+        int limit = request.getLimit() == null ? DEFAULT_PAGE_SIZE : request.getLimit();
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        limit = Math.min(limit, MAX_PAGE_SIZE);
+
+        String sortField = "_id";
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (request.getSort() != null && !request.getSort().isBlank()) {
+            String sort = request.getSort().trim();
+            if (sort.startsWith("-")) {
+                direction = Sort.Direction.DESC;
+                sort = sort.substring(1);
+            }
+            if (sort.isEmpty() || sort.startsWith("$")) {
+                throw new IllegalArgumentException("Invalid sort field: " + request.getSort());
+            }
+            sortField = sort;
+        }
+
+        Query query = new Query();
+        List<Criteria> conditions = filterCriteria(filters);
+        if (request.getAfter() != null && !request.getAfter().isBlank()) {
+            Document cursor = decodeCursor(request.getAfter());
+            Criteria keyset = keysetCriteria(sortField, direction, cursor.get("v"), cursor.get("i"));
+            if (conditions.isEmpty()) {
+                query.addCriteria(keyset);
+            } else {
+                conditions.add(keyset);
+            }
+        }
+        if (!conditions.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(conditions));
+        }
+
+        Sort sort = Sort.by(direction, sortField);
+        if (!"_id".equals(sortField)) {
+            sort = sort.and(Sort.by(direction, "_id"));
+        }
+        query.with(sort).limit(limit + 1);
+
+        if (request.getFields() != null && !request.getFields().isEmpty()) {
+            query.fields().include("_id").include(sortField);
+            for (String field : request.getFields()) {
+                if (!field.isBlank()) {
+                    query.fields().include(field.trim());
+                }
+            }
+        }
+        return new PageQuery(query, sortField, limit);
+    }
+
+    record PageQuery(Query query, String sortField, int limit) {
+
+        ContentPage toPage(List<Document> docs) {
+            String nextCursor = null;
+            if (docs.size() > limit) {
+                docs = new ArrayList<>(docs.subList(0, limit));
+                Document last = docs.get(limit - 1);
+                nextCursor = encodeCursor(valueAtPath(last, sortField), last.get("_id"));
+            }
+            return new ContentPage(docs, nextCursor, limit);
+        }
+    }
+
+    // Continues strictly after (value, id) in (sortField, _id) order. Missing/null values sort
+    // before everything ascending and after everything descending, matching MongoDB.
+    private static Criteria keysetCriteria(String sortField, Sort.Direction direction, Object value, Object id) {
+        boolean ascending = direction == Sort.Direction.ASC;
+        if ("_id".equals(sortField)) {
+            return ascending ? Criteria.where("_id").gt(id) : Criteria.where("_id").lt(id);
+        }
+
+        Criteria sameValueLaterId = ascending
+                ? Criteria.where(sortField).is(value).and("_id").gt(id)
+                : Criteria.where(sortField).is(value).and("_id").lt(id);
+
+        if (value == null) {
+            return ascending
+                    ? new Criteria().orOperator(sameValueLaterId, Criteria.where(sortField).ne(null))
+                    : sameValueLaterId;
+        }
+        return ascending
+                ? new Criteria().orOperator(Criteria.where(sortField).gt(value), sameValueLaterId)
+                : new Criteria().orOperator(Criteria.where(sortField).lt(value), sameValueLaterId,
+                        Criteria.where(sortField).is(null));
+    }
+
+    private static String encodeCursor(Object value, Object id) {
+        String json = new Document("v", value).append("i", id).toJson(CURSOR_JSON);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Document decodeCursor(String cursor) {
+        try {
+            String json = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            Document decoded = Document.parse(json);
+            if (!decoded.containsKey("i")) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return decoded;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    private static Object valueAtPath(Document doc, String path) {
+        Object current = doc;
+        for (String part : path.split("\\.")) {
+            if (!(current instanceof Document nested)) {
+                return null;
+            }
+            current = nested.get(part);
+        }
+        return current;
+    }
+
+    static Document updateFilter(ObjectId id, Long expectedVersion) {
+        Document filter = new Document("_id", id);
+        if (expectedVersion != null) {
+            // Documents written before revisions existed carry no _version yet
+            filter.append(VERSION_FIELD, expectedVersion == 0L ? new Document("$exists", false) : expectedVersion);
+        }
+        return filter;
+    }
+
+    /**
+     * Sets the given fields and bumps the document revision; callers strip {@code _id} and
+     * {@code _version} from the fields first.
+     */
+    static Document revisionUpdate(Map<String, Object> fields) {
+        Document update = new Document("$inc", new Document(VERSION_FIELD, 1L));
+        if (!fields.isEmpty()) {
+            update.append("$set", new Document(fields));
+        }
+        return update;
+    }
+
+    static Query collectionVersionQuery(String collectionName) {
+        return new Query(Criteria.where("_id").is(collectionName));
+    }
+
+    static Update collectionVersionBump() {
+        return new Update().inc("version", 1L);
+    }
+
+    static ContentChangedEvent changedEvent(String collectionName, Object documentId) {
+        String id = documentId instanceof ObjectId objectId ? objectId.toHexString()
+                : documentId == null ? null : documentId.toString();
+        return new ContentChangedEvent(collectionName, id);
+    }
+
+    static long collectionVersion(Document counter) {
+        if (counter == null || !(counter.get("version") instanceof Number version)) {
+            return 0L;
+        }
+        return version.longValue();
+    }
+}
@@ -0,0 +1,281 @@
+package com.acegames.backend.infrastructure.service;
+
+import com.acegames.backend.application.dto.CollectionDelta;
+import com.acegames.backend.application.dto.ContentSnapshot;
+import com.acegames.backend.application.dto.ContentSnapshot.CollectionSnapshot;
+import com.acegames.backend.application.dto.ModelSchemaDto;
+import com.acegames.backend.application.dto.ReadOnlyDocument;
+import com.acegames.backend.application.dto.SnapshotDelta;
+import com.acegames.backend.application.dto.SnapshotVersion;
+import com.acegames.backend.application.event.ContentChangedEvent;
+import com.acegames.backend.application.service.ContentSnapshotService;
+import com.acegames.backend.application.service.GenericCrudService;
+import com.acegames.backend.application.service.ModelSchemaService;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link ContentSnapshot} in an atomic reference. A content write marks its
+ * collection stale, and the collection is reloaded on the application task executor. Readers keep
+ * the snapshot they already hold until the new one is swapped in. Only stale collections are
+ * reloaded; the other collections, and documents that compare equal to their previous copy, are
+ * carried over by reference. That keeps retained snapshots cheap and lets deltas compare by identity.
+ */
+@Service
+public class ContentSnapshotServiceImpl implements ContentSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentSnapshotServiceImpl.class);
+
+    private final GenericCrudService crudService;
+    private final ModelSchemaService modelSchemaService;
+    private final TaskExecutor taskExecutor;
+    private final int historySize;
+
+    private final AtomicReference<ContentSnapshot> current = new AtomicReference<>();
+    // Recently published snapshots, oldest first, kept for deltas; replaced wholesale under rebuildLock
+    private volatile List<ContentSnapshot> history = List.of();
+    private final Set<String> stale = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final Object rebuildLock = new Object();
+    // High 32 bits of every version this instance publishes, so a version from another instance or an
+    // earlier run never matches a retained snapshot and gets a full delta
+    private final long epoch = (long) ThreadLocalRandom.current().nextInt(1, Integer.MAX_VALUE) << 32;
+
+    public ContentSnapshotServiceImpl(GenericCrudService crudService,
+                                      ModelSchemaService modelSchemaService,
+                                      @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                      @Value("${app.content.snapshot.history:32}") int historySize) {
+        this.crudService = crudService;
+        this.modelSchemaService = modelSchemaService;
+        this.taskExecutor = taskExecutor;
+        this.historySize = Math.max(1, historySize);
+    }
+
+    @Override
+    public ContentSnapshot current() {
+        ContentSnapshot snapshot = current.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (rebuildLock) {
+            if (current.get() == null) {
+                publish(null, build(null, Set.of()));
+            }
+            return current.get();
+        }
+    }
+
+    @Override
+    public SnapshotVersion version() {
+        ContentSnapshot snapshot = current();
+        Map<String, Long> versions = new TreeMap<>();
+        long documents = 0;
+        for (CollectionSnapshot collection : snapshot.collections().values()) {
+            versions.put(collection.collection(), collection.version());
+            documents += collection.documents().size();
+        }
+        return new SnapshotVersion(snapshot.version(), snapshot.builtAt(), versions, documents);
+    }
+
+    @Override
+    public SnapshotDelta delta(long since) {
+        ContentSnapshot to = current();
+        if (since == to.version()) {
+            return new SnapshotDelta(since, to.version(), false, Map.of());
+        }
+        ContentSnapshot from = null;
+        for (ContentSnapshot retained : history) {
+            if (retained.version() == since) {
+                from = retained;
+            }
+        }
+
+        Map<String, CollectionDelta> changes = new TreeMap<>();
+        for (CollectionSnapshot target : to.collections().values()) {
+            CollectionSnapshot source = from == null ? null : from.collections().get(target.collection());
+            if (source == target) {
+                continue;
+            }
+            List<Document> upserted = new ArrayList<>();
+            target.documents().forEach((id, document) -> {
+                if (source == null || source.documents().get(id) != document) {
+                    upserted.add(document);
+                }
+            });
+            List<String> removed = source == null ? List.of() : source.documents().keySet().stream()
+                    .filter(id -> !target.documents().containsKey(id))
+                    .toList();
+            if (!upserted.isEmpty() || !removed.isEmpty()) {
+                changes.put(target.collection(), new CollectionDelta(upserted, removed));
+            }
+        }
+        if (from != null) {
+            // Collections whose schema was removed since
+            for (CollectionSnapshot source : from.collections().values()) {
+                if (!to.collections().containsKey(source.collection()) && !source.documents().isEmpty()) {
+                    changes.put(source.collection(), new CollectionDelta(List.of(), List.copyOf(source.documents().keySet())));
+                }
+            }
+        }
+        return new SnapshotDelta(since, to.version(), from == null, changes);
+    }
+
+    @Override
+    public void refreshIfStale() {
+        ContentSnapshot snapshot = current.get();
+        if (snapshot == null) {
+            return;
+        }
+        Set<String> moved = new HashSet<>();
+        Set<String> registered = registeredCollections();
+        for (String collection : registered) {
+            CollectionSnapshot loaded = snapshot.collections().get(collection);
+            if (loaded == null || loaded.version() != crudService.getCollectionVersion(collection)) {
+                moved.add(collection);
+            }
+        }
+        for (String collection : snapshot.collections().keySet()) {
+            if (!registered.contains(collection)) {
+                moved.add(collection);
+            }
+        }
+        if (!moved.isEmpty()) {
+            stale.addAll(moved);
+            scheduleRebuild();
+        }
+    }
+
+    @EventListener
+    public void onContentChanged(ContentChangedEvent event) {
+        if (current.get() == null) {
+            // Nothing published yet; the first read loads every collection
+            return;
+        }
+        stale.add(event.collection());
+        scheduleRebuild();
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            taskExecutor.execute(this::rebuildStale);
+        }
+    }
+
+    private void rebuildStale() {
+        try {
+            Set<String> collections = new HashSet<>(stale);
+            stale.removeAll(collections);
+            synchronized (rebuildLock) {
+                ContentSnapshot base = current.get();
+                ContentSnapshot next = build(base, collections);
+                if (next != null) {
+                    publish(base, next);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Content snapshot rebuild failed; the previous snapshot stays current", e);
+        } finally {
+            rebuildScheduled.set(false);
+            // Writes that arrived while rebuilding
+            if (!stale.isEmpty()) {
+                scheduleRebuild();
+            }
+        }
+    }
+
+    /**
+     * Builds the next snapshot from {@code base}, reloading the stale collections plus any collection
+     * registered since. Returns null when nothing changed.
+     */
+    private ContentSnapshot build(ContentSnapshot base, Set<String> staleCollections) {
+        Map<String, CollectionSnapshot> collections = new TreeMap<>();
+        boolean changed = base == null;
+        for (String collection : registeredCollections()) {
+            CollectionSnapshot previous = base == null ? null : base.collections().get(collection);
+            CollectionSnapshot next = previous != null && !staleCollections.contains(collection)
+                    ? previous
+                    : load(collection, previous);
+            collections.put(collection, next);
+            changed |= next != previous;
+        }
+        if (!changed && base.collections().size() == collections.size()) {
+            return null;
+        }
+
+        // Versions count this instance's snapshots; summing the write counters let two instances that
+        // read different content under the same counters publish the same version
+        long version = base == null ? epoch + 1 : base.version() + 1;
+        return new ContentSnapshot(version, System.currentTimeMillis(), Collections.unmodifiableMap(collections));
+    }
+
+    private CollectionSnapshot load(String collection, CollectionSnapshot previous) {
+        // The counter is read first, so the documents are at least as new as the version claims
+        long version = crudService.getCollectionVersion(collection);
+        Map<String, Document> documents = new LinkedHashMap<>();
+        crudService.streamAll(collection, document -> {
+            String id = id(document.get("_id"));
+            Document known = previous == null ? null : previous.documents().get(id);
+            documents.put(id, known != null && known.equals(document) ? known : ReadOnlyDocument.copyOf(document));
+        });
+        if (previous != null && previous.version() == version && sameDocuments(previous.documents(), documents)) {
+            return previous;
+        }
+        return new CollectionSnapshot(collection, version, Collections.unmodifiableMap(documents));
+    }
+
+    private void publish(ContentSnapshot base, ContentSnapshot next) {
+        List<ContentSnapshot> retained = new ArrayList<>(history);
+        retained.add(next);
+        if (retained.size() > historySize) {
+            retained = retained.subList(retained.size() - historySize, retained.size());
+        }
+        history = List.copyOf(retained);
+        current.set(next);
+        logger.info("Published content snapshot {} ({} collections){}", next.version(), next.collections().size(),
+                base == null ? "" : ", replacing " + base.version());
+    }
+
+    private Set<String> registeredCollections() {
+        Set<String> collections = new HashSet<>();
+        for (ModelSchemaDto schema : modelSchemaService.getAllSchemas()) {
+            collections.add(schema.getCollection());
+        }
+        return collections;
+    }
+
+    private static boolean sameDocuments(Map<String, Document> previous, Map<String, Document> loaded) {
+        if (previous.size() != loaded.size()) {
+            return false;
+        }
+        for (Map.Entry<String, Document> entry : loaded.entrySet()) {
+            if (previous.get(entry.getKey()) != entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String id(Object id) {
+        return id instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(id);
+    }
+}
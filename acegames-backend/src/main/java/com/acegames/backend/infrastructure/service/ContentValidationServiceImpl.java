@@ -0,0 +1,122 @@
+package com.acegames.backend.infrastructure.service;
+
+import com.acegames.backend.application.dto.ContentFilter;
+import com.acegames.backend.application.dto.DanglingReference;
+import com.acegames.backend.application.dto.FieldViolation;
+import com.acegames.backend.application.dto.ModelSchemaDto;
+import com.acegames.backend.application.helper.ContentFilterParser;
+import com.acegames.backend.application.helper.SchemaValidator;
+import com.acegames.backend.application.service.ContentValidationService;
+import com.acegames.backend.application.service.ModelSchemaService;
+import com.acegames.backend.application.service.ReferenceValidationService;
+import com.acegames.backend.web.exception.SchemaValidationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class ContentValidationServiceImpl implements ContentValidationService {
+
+    private final ModelSchemaService modelSchemaService;
+    private final ReferenceValidationService referenceValidationService;
+    private final boolean validateReferences;
+    // Keyed by collection; an entry is recompiled as soon as the cached schema reports a new fingerprint
+    private final Map<String, CompiledSchema> validators = new ConcurrentHashMap<>();
+    private volatile Map<String, Set<String>> enumValues;
+
+    public ContentValidationServiceImpl(ModelSchemaService modelSchemaService,
+                                        ReferenceValidationService referenceValidationService,
+                                        @Value("${app.content.references.validate-on-write:false}") boolean validateReferences) {
+        this.modelSchemaService = modelSchemaService;
+        this.referenceValidationService = referenceValidationService;
+        this.validateReferences = validateReferences;
+    }
+
+    @Override
+    public void validate(String collectionName, Map<String, Object> data) {
+        validateSchema(collectionName, data);
+        // Only payloads that passed the schema are worth the lookups
+        if (validateReferences) {
+            List<DanglingReference> dangling = referenceValidationService.findDangling(collectionName, data);
+            if (!dangling.isEmpty()) {
+                throw referenceRejection(collectionName, dangling);
+            }
+        }
+    }
+
+    @Override
+    public void validateSchema(String collectionName, Map<String, Object> data) {
+        Optional<ModelSchemaDto> schema = modelSchemaService.getSchema(collectionName);
+        if (schema.isEmpty()) {
+            return;
+        }
+        List<FieldViolation> violations = validatorFor(schema.get()).validate(data);
+        if (!violations.isEmpty()) {
+            throw new SchemaValidationException(collectionName, violations);
+        }
+    }
+
+    @Override
+    public Map<Integer, SchemaValidationException> validateReferences(String collectionName,
+                                                                      List<? extends Map<String, Object>> payloads) {
+        if (!validateReferences || payloads.isEmpty()) {
+            return Map.of();
+        }
+        List<List<DanglingReference>> dangling = referenceValidationService.findDangling(collectionName, payloads);
+        Map<Integer, SchemaValidationException> rejected = new TreeMap<>();
+        for (int i = 0; i < dangling.size(); i++) {
+            if (!dangling.get(i).isEmpty()) {
+                rejected.put(i, referenceRejection(collectionName, dangling.get(i)));
+            }
+        }
+        return rejected;
+    }
+
+    private static SchemaValidationException referenceRejection(String collectionName, List<DanglingReference> dangling) {
+        List<FieldViolation> violations = new ArrayList<>(dangling.size());
+        for (DanglingReference reference : dangling) {
+            violations.add(new FieldViolation(reference.getPath(), "reference",
+                    "no " + reference.getTargetCollection() + " with _id " + reference.getValue()));
+        }
+        return new SchemaValidationException(collectionName, violations);
+    }
+
+    @Override
+    public List<ContentFilter> parseFilters(String collectionName, List<String> expressions) {
+        if (expressions == null || expressions.isEmpty()) {
+            return List.of();
+        }
+        ModelSchemaDto schema = modelSchemaService.getSchema(collectionName)
+                .orElseThrow(() -> new IllegalArgumentException("Collection " + collectionName + " has no registered schema to filter against"));
+        return ContentFilterParser.parse(expressions, schema.getFields(), enumValues());
+    }
+
+    private SchemaValidator validatorFor(ModelSchemaDto schema) {
+        CompiledSchema compiled = validators.get(schema.getCollection());
+        if (compiled == null || !Objects.equals(compiled.fingerprint(), schema.getFingerprint())) {
+            compiled = new CompiledSchema(schema.getFingerprint(), SchemaValidator.compile(schema.getFields(), enumValues()));
+            validators.put(schema.getCollection(), compiled);
+        }
+        return compiled.validator();
+    }
+
+    private Map<String, Set<String>> enumValues() {
+        Map<String, Set<String>> values = enumValues;
+        if (values == null) {
+            values = SchemaValidator.enumValueSets();
+            enumValues = values;
+        }
+        return values;
+    }
+
+    private record CompiledSchema(String fingerprint, SchemaValidator validator) {
+    }
+}
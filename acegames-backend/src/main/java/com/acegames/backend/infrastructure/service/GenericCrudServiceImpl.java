@@ -1,93 +1,430 @@
 package com.acegames.backend.infrastructure.service;
 
+import com.acegames.backend.application.dto.BulkItemResult;
+import com.acegames.backend.application.dto.BulkOperation;
+import com.acegames.backend.application.dto.BulkWriteReport;
+import com.acegames.backend.application.dto.ContentPage;
+import com.acegames.backend.application.dto.ContentPageRequest;
+import com.acegames.backend.application.service.ContentValidationService;
 import com.acegames.backend.application.service.GenericCrudService;
+import com.acegames.backend.infrastructure.changestream.ContentChangeStreamStatus;
+import com.acegames.backend.infrastructure.codec.DomainCodecProvider;
+import com.acegames.backend.infrastructure.codec.DomainModelCodec;
+import com.acegames.backend.infrastructure.codec.VersionStampingCodec;
+import com.acegames.backend.web.exception.ResourceNotFoundException;
+import com.acegames.backend.web.exception.SchemaValidationException;
+import com.acegames.backend.web.exception.VersionConflictException;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonValue;
 import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class GenericCrudServiceImpl implements GenericCrudService {
 
+    static final int MAX_BULK_BATCH_SIZE = 1000;
+
     private final MongoTemplate mongoTemplate;
+    private final ContentValidationService validationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContentChangeStreamStatus changeStream;
 
-    public GenericCrudServiceImpl(MongoTemplate mongoTemplate) {
+    public GenericCrudServiceImpl(MongoTemplate mongoTemplate, ContentValidationService validationService,
+                                  ApplicationEventPublisher eventPublisher, ContentChangeStreamStatus changeStream) {
         this.mongoTemplate = mongoTemplate;
+        this.validationService = validationService;
+        this.eventPublisher = eventPublisher;
+        this.changeStream = changeStream;
     }
 
     @Override
     public List<Document> findAll(String collectionName) {
-        List<Document> docs = mongoTemplate.findAll(Document.class, collectionName);
+        return mongoTemplate.findAll(Document.class, collectionName);
+    }
 
-        for (Document doc : docs) {
-            Object idObj = doc.get("_id");
-            if (idObj instanceof ObjectId) {
-                doc.put("_id", ((ObjectId) idObj).toHexString());
-            }
-        }
+    @Override
+    public List<Document> findMatching(String collectionName, List<String> filters) {
+        Query query = ContentQueries.filterQuery(validationService.parseFilters(collectionName, filters));
+        return mongoTemplate.find(query, Document.class, collectionName);
+    }
 
-        return docs;
+    @Override
+    public ContentPage findPage(String collectionName, ContentPageRequest request) {
+        ContentQueries.PageQuery page = ContentQueries.pageQuery(request,
+                validationService.parseFilters(collectionName, request.getFilter()));
+        return page.toPage(mongoTemplate.find(page.query(), Document.class, collectionName));
     }
 
     @Override
-    public Document findById(String collectionName, String id) {
-        if (!ObjectId.isValid(id)) {
-            throw new IllegalArgumentException("Invalid ObjectId: " + id);
-        }
-        Document doc = mongoTemplate.findById(new ObjectId(id), Document.class, collectionName);
-        if (doc != null && doc.get("_id") instanceof ObjectId) {
-            doc.put("_id", ((ObjectId) doc.get("_id")).toHexString());
+    public void streamAll(String collectionName, Consumer<Document> consumer) {
+        Query query = new Query().cursorBatchSize(ContentQueries.STREAM_BATCH_SIZE);
+        try (Stream<Document> docs = mongoTemplate.stream(query, Document.class, collectionName)) {
+            docs.forEach(consumer);
         }
-        return doc;
+    }
+
+    @Override
+    public Document findById(String collectionName, String id) {
+        return mongoTemplate.findById(ContentQueries.parseId(id), Document.class, collectionName);
     }
 
     @Override
     public Document insert(String collectionName, Map<String, Object> data) {
+        validationService.validate(collectionName, data);
         Document doc = new Document(data);
+        doc.put(VERSION_FIELD, 1L);
         Document result = mongoTemplate.insert(doc, collectionName);
-        Object idObj = result.get("_id");
-        if (idObj instanceof ObjectId) {
-            result.put("_id", ((ObjectId) idObj).toHexString());
-        }
+        contentChanged(collectionName, result.get("_id"));
         return result;
     }
 
     @Override
-    public Document update(String collectionName, String id, Map<String, Object> data) {
-        if (!ObjectId.isValid(id)) {
-            throw new IllegalArgumentException("Invalid ObjectId: " + id);
+    public <T> List<T> findAll(String collectionName, Class<T> type) {
+        return typedCollection(collectionName, type).find().into(new ArrayList<>());
+    }
+
+    @Override
+    public <T> T findById(String collectionName, String id, Class<T> type) {
+        return typedCollection(collectionName, type).find(new Document("_id", ContentQueries.parseId(id))).first();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T insert(String collectionName, T entity) {
+        Class<T> type = (Class<T>) entity.getClass();
+        DomainModelCodec<T> codec = domainCodec(type);
+        if (!codec.isDocumentModel()) {
+            throw new IllegalArgumentException(type.getSimpleName() + " is not a collection document");
         }
+        // Validated in its stored form, so typed writes follow the same schema rules as map writes
+        validationService.validate(collectionName, encode(codec, entity));
+        CodecRegistry registry = CodecRegistries.fromRegistries(
+                CodecRegistries.fromCodecs(new VersionStampingCodec<>(codec, VERSION_FIELD)),
+                DomainCodecProvider.REGISTRY);
+        mongoTemplate.getCollection(collectionName).withCodecRegistry(registry).withDocumentClass(type).insertOne(entity);
+        BsonValue id = codec.getDocumentId(entity);
+        contentChanged(collectionName, id.isObjectId() ? id.asObjectId().getValue() : id.asString().getValue());
+        return entity;
+    }
 
-        ObjectId objectId = new ObjectId(id);
+    private static <T> Document encode(DomainModelCodec<T> codec, T entity) {
+        BsonDocument encoded = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(encoded), entity, EncoderContext.builder().build());
+        return new DocumentCodec().decode(new BsonDocumentReader(encoded), DecoderContext.builder().build());
+    }
 
-        data.remove("_id");
+    private <T> MongoCollection<T> typedCollection(String collectionName, Class<T> type) {
+        domainCodec(type);
+        return mongoTemplate.getCollection(collectionName)
+                .withCodecRegistry(DomainCodecProvider.REGISTRY)
+                .withDocumentClass(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> DomainModelCodec<T> domainCodec(Class<T> type) {
+        if (!DomainCodecProvider.isDomainModel(type)) {
+            throw new IllegalArgumentException(type.getName() + " is not a domain model");
+        }
+        return (DomainModelCodec<T>) DomainCodecProvider.REGISTRY.get(type);
+    }
+
+    @Override
+    public Document update(String collectionName, String id, Map<String, Object> data) {
+        return update(collectionName, id, data, null);
+    }
+
+    @Override
+    public Document update(String collectionName, String id, Map<String, Object> data, Long expectedVersion) {
+        ObjectId objectId = ContentQueries.parseId(id);
 
-        Query query = new Query(Criteria.where("_id").is(objectId));
-        Document updateDoc = new Document();
-        updateDoc.putAll(data);
+        data.remove("_id");
+        data.remove(VERSION_FIELD);
+        validationService.validate(collectionName, data);
 
-        Document setDoc = new Document("$set", updateDoc);
-        mongoTemplate.getCollection(collectionName).updateOne(query.getQueryObject(), setDoc);
+        Document filter = ContentQueries.updateFilter(objectId, expectedVersion);
+        Document setDoc = ContentQueries.revisionUpdate(data);
 
-        Document updated = mongoTemplate.findById(objectId, Document.class, collectionName);
-        if (updated != null && updated.get("_id") instanceof ObjectId) {
-            updated.put("_id", ((ObjectId) updated.get("_id")).toHexString());
+        MongoCollection<Document> collection = mongoTemplate.getCollection(collectionName);
+        Document updated = collection.findOneAndUpdate(filter, setDoc,
+                new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER));
+        if (updated == null) {
+            // Only a failed conditional write needs the extra lookup to tell a stale version from a missing document
+            if (expectedVersion != null && collection.countDocuments(new Document("_id", objectId), new CountOptions().limit(1)) > 0) {
+                throw new VersionConflictException(id, expectedVersion);
+            }
+            throw new ResourceNotFoundException("Document not found: " + id);
         }
+        contentChanged(collectionName, objectId);
         return updated;
     }
 
     @Override
     public void delete(String collectionName, String id) {
-        if (!ObjectId.isValid(id)) {
-            throw new IllegalArgumentException("Invalid ObjectId: " + id);
+        ObjectId objectId = ContentQueries.parseId(id);
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(objectId)), collectionName);
+        contentChanged(collectionName, objectId);
+    }
+
+    @Override
+    public BulkWriteReport bulkWrite(String collectionName, List<BulkOperation> operations, boolean ordered, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
         }
+        batchSize = Math.min(batchSize, MAX_BULK_BATCH_SIZE);
+
+        BulkWriteReport report = new BulkWriteReport();
+        BulkItemResult[] items = new BulkItemResult[operations.size()];
+        MongoCollection<Document> collection = mongoTemplate.getCollection(collectionName);
 
-        Query query = new Query(Criteria.where("_id").is(new ObjectId(id)));
-        mongoTemplate.remove(query, collectionName);
+        // Each payload is checked against the schema first, then the references of the whole request are
+        // resolved together: one $in query per target collection instead of one per operation
+        Prepared[] prepared = new Prepared[operations.size()];
+        ObjectId[] targets = new ObjectId[operations.size()];
+        RuntimeException[] rejected = new RuntimeException[operations.size()];
+        List<Map<String, Object>> payloads = new ArrayList<>();
+        List<Integer> payloadIndexes = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            try {
+                prepared[i] = toWriteModel(collectionName, operations.get(i), i);
+                targets[i] = prepared[i].target();
+                if (prepared[i].payload() != null) {
+                    payloads.add(prepared[i].payload());
+                    payloadIndexes.add(i);
+                }
+            } catch (IllegalArgumentException | SchemaValidationException e) {
+                rejected[i] = e;
+                if (ordered) {
+                    // Nothing after the first rejection runs, so its references need no lookup
+                    break;
+                }
+            }
+        }
+        validationService.validateReferences(collectionName, payloads)
+                .forEach((payload, e) -> rejected[payloadIndexes.get(payload)] = e);
+
+        List<WriteModel<Document>> batch = new ArrayList<>(batchSize);
+        List<Integer> batchIndexes = new ArrayList<>(batchSize);
+        boolean stopped = false;
+        boolean wrote = false;
+
+        for (int i = 0; i < operations.size() && !stopped; i++) {
+            if (rejected[i] != null) {
+                BulkOperation operation = operations.get(i);
+                items[i] = new BulkItemResult(i, BulkItemResult.Status.error, operation == null ? null : operation.getId(), rejected[i].getMessage());
+                report.setFailed(report.getFailed() + 1);
+                if (ordered) {
+                    // Ordered semantics: everything before the failure is applied, nothing after it
+                    if (!batch.isEmpty()) {
+                        wrote = true;
+                        executeBatch(collection, batch, batchIndexes, targets, true, items, report);
+                        batch.clear();
+                    }
+                    stopped = true;
+                }
+                continue;
+            }
+            batch.add(prepared[i].model());
+            batchIndexes.add(i);
+            items[i] = prepared[i].item();
+
+            if (batch.size() == batchSize) {
+                wrote = true;
+                stopped = executeBatch(collection, batch, batchIndexes, targets, ordered, items, report);
+                batch.clear();
+                batchIndexes.clear();
+            }
+        }
+        if (!stopped && !batch.isEmpty()) {
+            wrote = true;
+            executeBatch(collection, batch, batchIndexes, targets, ordered, items, report);
+        }
+
+        for (int i = 0; i < items.length; i++) {
+            if (items[i] == null) {
+                items[i] = new BulkItemResult(i, BulkItemResult.Status.skipped, null, null);
+            }
+        }
+        report.setItems(Arrays.asList(items));
+
+        if (wrote) {
+            contentChanged(collectionName, null);
+        }
+        return report;
+    }
+
+    /**
+     * A bulk operation ready to run. {@code payload} is the schema-checked data whose references are still
+     * to be resolved, or null for a delete; {@code target} the id an update or delete must match, or null
+     * for an insert.
+     */
+    private record Prepared(WriteModel<Document> model, BulkItemResult item, Map<String, Object> payload, ObjectId target) {
+    }
+
+    private Prepared toWriteModel(String collectionName, BulkOperation operation, int index) {
+        if (operation == null || operation.getType() == null) {
+            throw new IllegalArgumentException("Operation type is required");
+        }
+        switch (operation.getType()) {
+            case insert -> {
+                if (operation.getData() == null) {
+                    throw new IllegalArgumentException("data is required for insert");
+                }
+                validationService.validateSchema(collectionName, operation.getData());
+                Document doc = new Document(operation.getData());
+                ObjectId id = new ObjectId();
+                doc.put("_id", id);
+                doc.put(VERSION_FIELD, 1L);
+                return new Prepared(new InsertOneModel<>(doc),
+                        new BulkItemResult(index, BulkItemResult.Status.ok, id.toHexString(), null), operation.getData(), null);
+            }
+            case update -> {
+                ObjectId id = ContentQueries.parseId(operation.getId());
+                if (operation.getData() == null) {
+                    throw new IllegalArgumentException("data is required for update");
+                }
+                Document updateDoc = new Document(operation.getData());
+                updateDoc.remove("_id");
+                updateDoc.remove(VERSION_FIELD);
+                validationService.validateSchema(collectionName, updateDoc);
+                Document update = ContentQueries.revisionUpdate(updateDoc);
+                return new Prepared(new UpdateOneModel<>(new Document("_id", id), update),
+                        new BulkItemResult(index, BulkItemResult.Status.ok, operation.getId(), null), updateDoc, id);
+            }
+            case delete -> {
+                ObjectId id = ContentQueries.parseId(operation.getId());
+                return new Prepared(new DeleteOneModel<>(new Document("_id", id)),
+                        new BulkItemResult(index, BulkItemResult.Status.ok, operation.getId(), null), null, id);
+            }
+            default -> throw new IllegalArgumentException("Unsupported operation type: " + operation.getType());
+        }
+    }
+
+    /**
+     * Runs one bulkWrite round trip and folds its outcome into the per-item results.
+     * Returns true when an ordered batch failed, meaning later operations must not run.
+     */
+    private boolean executeBatch(MongoCollection<Document> collection, List<WriteModel<Document>> batch,
+                                 List<Integer> batchIndexes, ObjectId[] targets, boolean ordered,
+                                 BulkItemResult[] items, BulkWriteReport report) {
+        // Looked up before the write, since a delete leaves nothing to look up afterwards
+        Set<ObjectId> existing = existingTargets(collection, batchIndexes, targets);
+        try {
+            addCounts(report, collection.bulkWrite(batch, new BulkWriteOptions().ordered(ordered)));
+            markNotFound(batchIndexes, targets, existing, items, report);
+            return false;
+        } catch (MongoBulkWriteException e) {
+            addCounts(report, e.getWriteResult());
+            int firstError = Integer.MAX_VALUE;
+            for (BulkWriteError error : e.getWriteErrors()) {
+                int index = batchIndexes.get(error.getIndex());
+                BulkItemResult item = items[index];
+                items[index] = new BulkItemResult(index, BulkItemResult.Status.error, item.getId(), error.getMessage());
+                report.setFailed(report.getFailed() + 1);
+                firstError = Math.min(firstError, error.getIndex());
+            }
+            if (ordered) {
+                for (int i = firstError + 1; i < batchIndexes.size(); i++) {
+                    items[batchIndexes.get(i)] = null;
+                }
+            }
+            markNotFound(batchIndexes, targets, existing, items, report);
+            return ordered;
+        }
+    }
+
+    // Ids of the batch's updates and deletes that exist, with one $in query; null when the batch has none
+    private static Set<ObjectId> existingTargets(MongoCollection<Document> collection, List<Integer> batchIndexes,
+                                                 ObjectId[] targets) {
+        Set<ObjectId> ids = new HashSet<>();
+        for (int index : batchIndexes) {
+            if (targets[index] != null) {
+                ids.add(targets[index]);
+            }
+        }
+        if (ids.isEmpty()) {
+            return null;
+        }
+        Set<ObjectId> existing = new HashSet<>();
+        for (Document document : collection.find(new Document("_id", new Document("$in", List.copyOf(ids))))
+                .projection(new Document("_id", 1)).into(new ArrayList<>())) {
+            if (document.get("_id") instanceof ObjectId id) {
+                existing.add(id);
+            }
+        }
+        return existing;
+    }
+
+    // Updates and deletes that ran without error but matched no document
+    private static void markNotFound(List<Integer> batchIndexes, ObjectId[] targets, Set<ObjectId> existing,
+                                     BulkItemResult[] items, BulkWriteReport report) {
+        if (existing == null) {
+            return;
+        }
+        for (int index : batchIndexes) {
+            BulkItemResult item = items[index];
+            if (targets[index] != null && !existing.contains(targets[index])
+                    && item != null && item.getStatus() == BulkItemResult.Status.ok) {
+                items[index] = new BulkItemResult(index, BulkItemResult.Status.notFound, item.getId(), null);
+                report.setNotFound(report.getNotFound() + 1);
+            }
+        }
+    }
+
+    private void addCounts(BulkWriteReport report, BulkWriteResult result) {
+        if (result == null || !result.wasAcknowledged()) {
+            return;
+        }
+        report.setInserted(report.getInserted() + result.getInsertedCount());
+        report.setMatched(report.getMatched() + result.getMatchedCount());
+        report.setModified(report.getModified() + result.getModifiedCount());
+        report.setDeleted(report.getDeleted() + result.getDeletedCount());
+    }
+
+    @Override
+    public long getCollectionVersion(String collectionName) {
+        return ContentQueries.collectionVersion(
+                mongoTemplate.findById(collectionName, Document.class, ContentQueries.COLLECTION_VERSIONS));
+    }
+
+    private void contentChanged(String collectionName, Object documentId) {
+        mongoTemplate.upsert(ContentQueries.collectionVersionQuery(collectionName),
+                ContentQueries.collectionVersionBump(), ContentQueries.COLLECTION_VERSIONS);
+        // A live change stream republishes this write itself
+        if (!changeStream.isLive()) {
+            eventPublisher.publishEvent(ContentQueries.changedEvent(collectionName, documentId));
+        }
     }
 }
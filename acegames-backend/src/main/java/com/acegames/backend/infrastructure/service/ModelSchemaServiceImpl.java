@@ -1,9 +1,13 @@
 package com.acegames.backend.infrastructure.service;
 
 import com.acegames.backend.application.dto.FieldDefinition;
-import com.acegames.backend.application.helper.ReflectionSchemaParser;
+import com.acegames.backend.application.dto.SchemaRegistrationReport;
+import com.acegames.backend.application.helper.ModelSchemaResolver;
+import com.acegames.backend.application.helper.ReferenceExtractor;
+import com.acegames.backend.application.helper.SchemaFingerprint;
 import com.acegames.backend.application.service.ModelSchemaService;
 import com.acegames.backend.application.dto.ModelSchemaDto;
+import com.acegames.backend.infrastructure.cache.SchemaCache;
 import com.acegames.backend.infrastructure.model.ModelSchemaDocument;
 import com.acegames.backend.infrastructure.repository.ModelSchemaRepository;
 import com.acegames.backend.web.exception.DuplicateSchemaException;
@@ -17,58 +21,55 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.LinkedHashMap;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Service
 public class ModelSchemaServiceImpl implements ModelSchemaService {
 
     private static final Logger logger = LoggerFactory.getLogger(ModelSchemaServiceImpl.class);
     private final ModelSchemaRepository repository;
+    private final SchemaCache schemaCache;
 
-    public ModelSchemaServiceImpl(ModelSchemaRepository repository) {
+    public ModelSchemaServiceImpl(ModelSchemaRepository repository, SchemaCache schemaCache) {
         this.repository = repository;
+        this.schemaCache = schemaCache;
     }
 
     @Override
     public Optional<ModelSchemaDto> getSchema(String collection) {
-        return repository.findByCollection(collection)
-                .map(ModelSchemaDto::fromEntity); // fromEntity metodunu zaten yazmıştık
+        return schemaCache.get(collection, name -> repository.findByCollection(name)
+                .map(ModelSchemaDto::fromEntity)); // fromEntity metodunu zaten yazmıştık
     }
 
     @Override
     public List<ModelSchemaDto> getAllSchemas() {
-        return repository.findAll().stream()
+        return schemaCache.getAll(() -> repository.findAll().stream()
                 .map(ModelSchemaDto::fromEntity)
-                .toList();
+                .toList());
     }
 
     @Override
     public void generateFromClassName(String className) {
         try {
             logger.info("Starting schema generation for class: {}", className);
-            
-            Class<?> clazz = Class.forName("com.acegames.backend.domain.model." + className);
-            logger.info("Successfully loaded class: {}", clazz.getName());
 
-            String collection = className.toLowerCase(); // örnek: "cascade"
-            String displayName = className;
-            
-            logger.info("Collection name: {}, Display name: {}", collection, displayName);
-
-            Map<String, FieldDefinition> fieldDefinitions = ReflectionSchemaParser.parseClass(clazz);
-            logger.info("Parsed {} fields for class {}", fieldDefinitions.size(), className);
+            ModelSchemaDocument document = buildDocument(className);
+            logger.info("Parsed {} fields for class {}", document.getFields().size(), className);
 
-            Optional<ModelSchemaDocument> existingOpt = repository.findByCollection(collection);
+            Optional<ModelSchemaDocument> existingOpt = repository.findByCollection(document.getCollection());
             logger.info("Existing schema found: {}", existingOpt.isPresent());
 
-            ModelSchemaDocument document = ModelSchemaDocument.builder()
-                    .collection(collection)
-                    .displayName(displayName)
-                    .fields(fieldDefinitions)
-                    .build();
+            if (existingOpt.isPresent() && isUnchanged(existingOpt.get(), document)) {
+                logger.info("Schema for class {} is unchanged, skipping save", className);
+                return;
+            }
 
             existingOpt.ifPresent(existing -> document.setId(existing.getId()));
 
             ModelSchemaDocument savedDocument = repository.save(document);
+            schemaCache.invalidate();
             logger.info("Successfully saved schema document with ID: {}", savedDocument.getId());
 
         } catch (ClassNotFoundException e) {
@@ -80,9 +81,114 @@ public class ModelSchemaServiceImpl implements ModelSchemaService {
         }
     }
 
+    @Override
+    public SchemaRegistrationReport registerSchemas(List<String> classNames) {
+        return registerSchemas(classNames, Runnable::run);
+    }
+
+    @Override
+    public SchemaRegistrationReport registerSchemas(List<String> classNames, Executor executor) {
+        SchemaRegistrationReport report = new SchemaRegistrationReport();
+
+        List<CompletableFuture<ParsedSchema>> parsing = classNames.stream()
+                .map(className -> CompletableFuture.supplyAsync(() -> parse(className), executor))
+                .toList();
+
+        try {
+            repository.ensureIndexes();
+        } catch (RuntimeException e) {
+            // Duplicate schemas stored before the unique index existed fail its creation; upserts still work
+            logger.error("Error creating the schemas indexes", e);
+        }
+
+        // An unreachable database fails every class but must not fail startup, as the per-class saves never did
+        Map<String, ModelSchemaDocument> existingByCollection = new HashMap<>();
+        String repositoryError = null;
+        try {
+            for (ModelSchemaDocument existing : repository.findAll()) {
+                existingByCollection.put(existing.getCollection(), existing);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Error reading stored schemas", e);
+            repositoryError = "Error reading stored schemas: " + e.getMessage();
+        }
+
+        List<ModelSchemaDocument> changed = new ArrayList<>();
+        for (CompletableFuture<ParsedSchema> future : parsing) {
+            ParsedSchema parsed = future.join();
+            report.getDurationsMicros().put(parsed.className(), parsed.elapsedNanos() / 1_000);
+
+            if (parsed.error() != null || repositoryError != null) {
+                report.getFailed().put(parsed.className(), parsed.error() != null ? parsed.error() : repositoryError);
+                continue;
+            }
+
+            ModelSchemaDocument document = parsed.document();
+            ModelSchemaDocument existing = existingByCollection.get(document.getCollection());
+            if (existing != null && isUnchanged(existing, document)) {
+                report.getUnchanged().add(parsed.className());
+                continue;
+            }
+            if (existing != null) {
+                document.setId(existing.getId());
+            }
+            changed.add(document);
+            report.getWritten().add(parsed.className());
+        }
+
+        try {
+            repository.bulkUpsertByCollection(changed);
+            if (!changed.isEmpty()) {
+                schemaCache.invalidate();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Error saving changed schemas", e);
+            report.getWritten().forEach(className ->
+                    report.getFailed().put(className, "Error saving schema: " + e.getMessage()));
+            report.getWritten().clear();
+        }
+        logger.info("Schema registration wrote {} changed schemas, {} unchanged, {} failed",
+                report.getWritten().size(), report.getUnchanged().size(), report.getFailed().size());
+        return report;
+    }
+
+    private ParsedSchema parse(String className) {
+        long start = System.nanoTime();
+        try {
+            ModelSchemaDocument document = buildDocument(className);
+            return new ParsedSchema(className, document, null, System.nanoTime() - start);
+        } catch (ClassNotFoundException e) {
+            logger.error("Class not found: {}", className, e);
+            return new ParsedSchema(className, null, "Class not found: " + className, System.nanoTime() - start);
+        } catch (Exception e) {
+            logger.error("Error generating schema for class: {}", className, e);
+            return new ParsedSchema(className, null, String.valueOf(e.getMessage()), System.nanoTime() - start);
+        }
+    }
+
+    private ModelSchemaDocument buildDocument(String className) throws ClassNotFoundException {
+        Class<?> clazz = Class.forName("com.acegames.backend.domain.model." + className);
+
+        String collection = className.toLowerCase(); // örnek: "cascade"
+        Map<String, FieldDefinition> fieldDefinitions = ModelSchemaResolver.resolve(clazz);
+
+        return ModelSchemaDocument.builder()
+                .collection(collection)
+                .displayName(className)
+                .fields(fieldDefinitions)
+                .fingerprint(SchemaFingerprint.of(fieldDefinitions))
+                .build();
+    }
+
+    private boolean isUnchanged(ModelSchemaDocument existing, ModelSchemaDocument candidate) {
+        return candidate.getFingerprint().equals(existing.getFingerprint())
+                && candidate.getDisplayName().equals(existing.getDisplayName());
+    }
+
     @Override
     public void deleteByCollectionName(String collection) {
         repository.deleteByCollection(collection);
+        schemaCache.invalidate();
     }
 
     @Override
@@ -91,7 +197,7 @@ public class ModelSchemaServiceImpl implements ModelSchemaService {
             Class<?> clazz = Class.forName("com.acegames.backend.domain.model." + className);
             Map<String, List<String>> validationResult = new LinkedHashMap<>();
             
-            Map<String, FieldDefinition> fields = ReflectionSchemaParser.parseClass(clazz);
+            Map<String, FieldDefinition> fields = ModelSchemaResolver.resolve(clazz);
             
             for (Map.Entry<String, FieldDefinition> entry : fields.entrySet()) {
                 FieldDefinition field = entry.getValue();
@@ -99,7 +205,7 @@ public class ModelSchemaServiceImpl implements ModelSchemaService {
                     String referencedCollection = field.getReference();
                     
                     // Referans edilen collection var mı kontrol et
-                    boolean exists = repository.findByCollection(referencedCollection).isPresent();
+                    boolean exists = repository.findByCollection(ReferenceExtractor.targetCollection(referencedCollection)).isPresent();
                     
                     List<String> issues = new ArrayList<>();
                     if (!exists) {
@@ -120,4 +226,6 @@ public class ModelSchemaServiceImpl implements ModelSchemaService {
         }
     }
 
+    private record ParsedSchema(String className, ModelSchemaDocument document, String error, long elapsedNanos) {
+    }
 }
@@ -0,0 +1,226 @@
+package com.acegames.backend.infrastructure.service;
+
+import com.acegames.backend.application.dto.OfferEligibilityReport;
+import com.acegames.backend.application.event.ContentChangedEvent;
+import com.acegames.backend.application.service.GenericCrudService;
+import com.acegames.backend.application.service.OfferEligibilityService;
+import com.acegames.backend.domain.enums.Requirement;
+import com.acegames.backend.runtime.EligibilityIndex;
+import com.acegames.backend.runtime.EligibilityIndex.Condition;
+import com.acegames.backend.runtime.EligibilityIndex.Operator;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Answers eligibility from an {@link EligibilityIndex} over every Offer, compiled on first use. A
+ * write to one Offer re-reads that Offer and swaps in an index with only its requirements
+ * recompiled; bulk writes recompile everything. Writes only mark Offers dirty, the recompiling runs
+ * on the application task executor so it never holds up the writing thread. Readers never wait on a
+ * rebuild: they use whichever index was current when they started.
+ */
+@Service
+public class OfferEligibilityServiceImpl implements OfferEligibilityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OfferEligibilityServiceImpl.class);
+
+    static final String COLLECTION = "offer";
+    // Player value vectors are laid out in Requirement declaration order
+    private static final List<String> DIMENSIONS = Arrays.stream(Requirement.values()).map(Enum::name).toList();
+
+    private final GenericCrudService crudService;
+    private final TaskExecutor taskExecutor;
+    private final Object rebuildLock = new Object();
+    private volatile CompiledOffers compiled;
+    // True while compiled() runs the first (or a recovering) full load
+    private volatile boolean loading;
+    // Offers written since the last rebuild; a bulk write sets reloadAll instead
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean reloadAll = new AtomicBoolean();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    public OfferEligibilityServiceImpl(GenericCrudService crudService,
+                                       @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.crudService = crudService;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Override
+    public List<String> eligibleOffers(Map<String, Integer> playerValues) {
+        int[] values = new int[DIMENSIONS.size()];
+        Arrays.fill(values, EligibilityIndex.ABSENT);
+        for (Map.Entry<String, Integer> entry : playerValues.entrySet()) {
+            if (entry.getValue() != null) {
+                values[requirement(entry.getKey()).ordinal()] = entry.getValue();
+            }
+        }
+        return compiled().index().eligible(values);
+    }
+
+    @Override
+    public OfferEligibilityReport report() {
+        CompiledOffers current = compiled();
+        return new OfferEligibilityReport(current.index().size(), current.index().conditionCount(), current.rejected());
+    }
+
+    @EventListener
+    public void onContentChanged(ContentChangedEvent event) {
+        if (!COLLECTION.equals(event.collection())) {
+            return;
+        }
+        // loading is read first: a load that finished before it had already set compiled. A write during
+        // a load is marked dirty and reapplied once the load releases rebuildLock, since findAll may
+        // already have passed the document
+        boolean loadRunning = loading;
+        if (!loadRunning && compiled == null) {
+            // Nothing compiled yet; the first read loads the current Offers
+            return;
+        }
+        if (event.documentId() == null) {
+            reloadAll.set(true);
+        } else {
+            dirty.add(event.documentId());
+        }
+        scheduleRebuild();
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            taskExecutor.execute(this::rebuildDirty);
+        }
+    }
+
+    private void rebuildDirty() {
+        try {
+            boolean all = reloadAll.getAndSet(false);
+            Set<String> offerIds = new HashSet<>(dirty);
+            dirty.removeAll(offerIds);
+            synchronized (rebuildLock) {
+                CompiledOffers current = compiled;
+                if (current == null) {
+                    return;
+                }
+                try {
+                    if (all) {
+                        compiled = load();
+                    } else {
+                        for (String offerId : offerIds) {
+                            current = reload(current, offerId);
+                        }
+                        compiled = current;
+                    }
+                } catch (RuntimeException e) {
+                    // The write itself succeeded; recompile everything on the next read instead
+                    logger.warn("Could not update the offer eligibility index for {}: {}", all ? "all offers" : offerIds, e.getMessage());
+                    compiled = null;
+                }
+            }
+        } finally {
+            rebuildScheduled.set(false);
+            // Writes that arrived while rebuilding
+            if (reloadAll.get() || !dirty.isEmpty()) {
+                scheduleRebuild();
+            }
+        }
+    }
+
+    private CompiledOffers compiled() {
+        CompiledOffers current = compiled;
+        if (current != null) {
+            return current;
+        }
+        synchronized (rebuildLock) {
+            if (compiled == null) {
+                loading = true;
+                try {
+                    compiled = load();
+                } finally {
+                    loading = false;
+                }
+            }
+            return compiled;
+        }
+    }
+
+    private CompiledOffers load() {
+        Map<String, List<Condition>> offers = new LinkedHashMap<>();
+        Map<String, String> rejected = new HashMap<>();
+        for (Document offer : crudService.findAll(COLLECTION)) {
+            Object rawId = offer.get("_id");
+            String id = rawId instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(rawId);
+            try {
+                offers.put(id, conditions(offer));
+            } catch (IllegalArgumentException e) {
+                rejected.put(id, e.getMessage());
+            }
+        }
+        if (!rejected.isEmpty()) {
+            logger.warn("{} offers left out of the eligibility index: {}", rejected.size(), rejected);
+        }
+        return new CompiledOffers(EligibilityIndex.compile(DIMENSIONS, offers), Map.copyOf(rejected));
+    }
+
+    private CompiledOffers reload(CompiledOffers current, String offerId) {
+        Document offer = crudService.findById(COLLECTION, offerId);
+        Map<String, String> rejected = new HashMap<>(current.rejected());
+        rejected.remove(offerId);
+        EligibilityIndex index;
+        if (offer == null) {
+            index = current.index().withoutOffer(offerId);
+        } else {
+            try {
+                index = current.index().withOffer(offerId, conditions(offer));
+            } catch (IllegalArgumentException e) {
+                rejected.put(offerId, e.getMessage());
+                index = current.index().withoutOffer(offerId);
+            }
+        }
+        return new CompiledOffers(index, Map.copyOf(rejected));
+    }
+
+    // Operators are parsed here, once per Offer write, never while answering a query
+    private static List<Condition> conditions(Document offer) {
+        List<?> requirements = offer.get("requirements", List.class);
+        List<Condition> conditions = new ArrayList<>();
+        if (requirements == null) {
+            return conditions;
+        }
+        for (int i = 0; i < requirements.size(); i++) {
+            if (!(requirements.get(i) instanceof Map<?, ?> requirement)
+                    || !(requirement.get("requirement") instanceof String name)
+                    || !(requirement.get("value") instanceof Number value)) {
+                throw new IllegalArgumentException("requirements[" + i + "] needs a requirement and a numeric value");
+            }
+            Operator operator = Operator.parse(requirement.get("operator") instanceof String symbol ? symbol : null);
+            conditions.add(new Condition(requirement(name).name(), operator, value.intValue()));
+        }
+        return conditions;
+    }
+
+    private static Requirement requirement(String name) {
+        try {
+            return Requirement.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown requirement: " + name);
+        }
+    }
+
+    private record CompiledOffers(EligibilityIndex index, Map<String, String> rejected) {
+    }
+}
@@ -0,0 +1,164 @@
+package com.acegames.backend.infrastructure.service;
+
+import com.acegames.backend.application.dto.BulkOperation;
+import com.acegames.backend.application.dto.BulkWriteReport;
+import com.acegames.backend.application.dto.ContentPage;
+import com.acegames.backend.application.dto.ContentPageRequest;
+import com.acegames.backend.application.service.ContentValidationService;
+import com.acegames.backend.application.service.GenericCrudService;
+import com.acegames.backend.application.service.ReactiveGenericCrudService;
+import com.acegames.backend.infrastructure.changestream.ContentChangeStreamStatus;
+import com.acegames.backend.web.exception.ResourceNotFoundException;
+import com.acegames.backend.web.exception.VersionConflictException;
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static com.acegames.backend.application.service.GenericCrudService.VERSION_FIELD;
+
+@Service
+public class ReactiveGenericCrudServiceImpl implements ReactiveGenericCrudService {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final ContentValidationService validationService;
+    private final GenericCrudService blockingCrudService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContentChangeStreamStatus changeStream;
+
+    public ReactiveGenericCrudServiceImpl(ReactiveMongoTemplate reactiveMongoTemplate,
+                                          ContentValidationService validationService,
+                                          GenericCrudService blockingCrudService,
+                                          ApplicationEventPublisher eventPublisher,
+                                          ContentChangeStreamStatus changeStream) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.validationService = validationService;
+        this.blockingCrudService = blockingCrudService;
+        this.eventPublisher = eventPublisher;
+        this.changeStream = changeStream;
+    }
+
+    @Override
+    public Flux<Document> findAll(String collectionName) {
+        Query query = new Query().cursorBatchSize(ContentQueries.STREAM_BATCH_SIZE);
+        return reactiveMongoTemplate.find(query, Document.class, collectionName);
+    }
+
+    @Override
+    public Flux<Document> findMatching(String collectionName, List<String> filters) {
+        return blocking(() -> ContentQueries.filterQuery(validationService.parseFilters(collectionName, filters)))
+                .flatMapMany(query -> reactiveMongoTemplate.find(query, Document.class, collectionName));
+    }
+
+    @Override
+    public Mono<ContentPage> findPage(String collectionName, ContentPageRequest request) {
+        return blocking(() -> ContentQueries.pageQuery(request,
+                        validationService.parseFilters(collectionName, request.getFilter())))
+                .flatMap(page -> reactiveMongoTemplate.find(page.query(), Document.class, collectionName)
+                        .collectList()
+                        .map(page::toPage));
+    }
+
+    @Override
+    public Mono<Document> findById(String collectionName, String id) {
+        return Mono.fromCallable(() -> ContentQueries.parseId(id))
+                .flatMap(objectId -> reactiveMongoTemplate.findById(objectId, Document.class, collectionName));
+    }
+
+    @Override
+    public Mono<Document> insert(String collectionName, Map<String, Object> data) {
+        return blocking(() -> {
+            validationService.validate(collectionName, data);
+            Document doc = new Document(data);
+            doc.put(VERSION_FIELD, 1L);
+            return doc;
+        }).flatMap(doc -> reactiveMongoTemplate.insert(doc, collectionName))
+                .flatMap(inserted -> contentChanged(collectionName, inserted.get("_id")).thenReturn(inserted));
+    }
+
+    @Override
+    public Mono<Document> update(String collectionName, String id, Map<String, Object> data, Long expectedVersion) {
+        return blocking(() -> {
+            ObjectId objectId = ContentQueries.parseId(id);
+
+            data.remove("_id");
+            data.remove(VERSION_FIELD);
+            validationService.validate(collectionName, data);
+            return objectId;
+        }).flatMap(objectId -> {
+            Document filter = ContentQueries.updateFilter(objectId, expectedVersion);
+            Document update = ContentQueries.revisionUpdate(data);
+
+            return reactiveMongoTemplate.getCollection(collectionName).flatMap(collection ->
+                    Mono.from(collection.findOneAndUpdate(filter, update,
+                                    new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER)))
+                            .switchIfEmpty(Mono.defer(() -> {
+                                if (expectedVersion == null) {
+                                    return Mono.error(new ResourceNotFoundException("Document not found: " + id));
+                                }
+                                // Only a failed conditional write needs the extra lookup to tell a stale version from a missing document
+                                return Mono.from(collection.countDocuments(new Document("_id", objectId), new CountOptions().limit(1)))
+                                        .flatMap(count -> Mono.error(count > 0
+                                                ? new VersionConflictException(id, expectedVersion)
+                                                : new ResourceNotFoundException("Document not found: " + id)));
+                            })));
+        }).flatMap(updated -> contentChanged(collectionName, updated.get("_id")).thenReturn(updated));
+    }
+
+    @Override
+    public Mono<Void> delete(String collectionName, String id) {
+        return Mono.fromCallable(() -> ContentQueries.parseId(id))
+                .flatMap(objectId -> reactiveMongoTemplate.remove(new Query(Criteria.where("_id").is(objectId)), collectionName)
+                        .then(contentChanged(collectionName, objectId)));
+    }
+
+    /**
+     * Bulk writes stay on the blocking service, which already batches them into bulkWrite round trips;
+     * the call runs on the bounded elastic scheduler so it never blocks a driver or request thread.
+     */
+    @Override
+    public Mono<BulkWriteReport> bulkWrite(String collectionName, List<BulkOperation> operations, boolean ordered, int batchSize) {
+        return Mono.fromCallable(() -> blockingCrudService.bulkWrite(collectionName, operations, ordered, batchSize))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Long> getCollectionVersion(String collectionName) {
+        return reactiveMongoTemplate.findById(collectionName, Document.class, ContentQueries.COLLECTION_VERSIONS)
+                .map(ContentQueries::collectionVersion)
+                .defaultIfEmpty(0L);
+    }
+
+    private Mono<Void> contentChanged(String collectionName, Object documentId) {
+        return reactiveMongoTemplate.upsert(ContentQueries.collectionVersionQuery(collectionName),
+                        ContentQueries.collectionVersionBump(), ContentQueries.COLLECTION_VERSIONS)
+                .doOnSuccess(result -> {
+                    // A live change stream republishes this write itself
+                    if (!changeStream.isLive()) {
+                        eventPublisher.publishEvent(ContentQueries.changedEvent(collectionName, documentId));
+                    }
+                })
+                .then();
+    }
+
+    /**
+     * Schema lookups on a cold cache and reference validation query MongoDB through the blocking
+     * driver, so validating and parsing filters run on the bounded elastic scheduler as well.
+     */
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
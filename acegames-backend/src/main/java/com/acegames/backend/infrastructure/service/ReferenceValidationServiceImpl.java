@@ -0,0 +1,210 @@
+package com.acegames.backend.infrastructure.service;
+
+import com.acegames.backend.application.dto.DanglingReference;
+import com.acegames.backend.application.dto.ModelSchemaDto;
+import com.acegames.backend.application.dto.ReferenceReport;
+import com.acegames.backend.application.helper.ReferenceExtractor;
+import com.acegames.backend.application.service.ModelSchemaService;
+import com.acegames.backend.application.service.ReferenceValidationService;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Service
+public class ReferenceValidationServiceImpl implements ReferenceValidationService {
+
+    // Referencing documents resolved together during a sweep
+    static final int SWEEP_BATCH_SIZE = 1000;
+    // Ids per $in query; keeps each lookup well under the 16MB command limit
+    static final int LOOKUP_CHUNK_SIZE = 1000;
+    static final int MAX_REPORTED = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ModelSchemaService modelSchemaService;
+
+    public ReferenceValidationServiceImpl(MongoTemplate mongoTemplate, ModelSchemaService modelSchemaService) {
+        this.mongoTemplate = mongoTemplate;
+        this.modelSchemaService = modelSchemaService;
+    }
+
+    @Override
+    public List<DanglingReference> findDangling(String collectionName, Map<String, ?> document) {
+        return findDangling(collectionName, List.of(document)).get(0);
+    }
+
+    @Override
+    public List<List<DanglingReference>> findDangling(String collectionName, List<? extends Map<String, ?>> documents) {
+        Optional<ModelSchemaDto> schema = modelSchemaService.getSchema(collectionName);
+        if (schema.isEmpty()) {
+            return documents.stream().<List<DanglingReference>>map(document -> List.of()).toList();
+        }
+        List<List<ReferenceExtractor.Reference>> byDocument = new ArrayList<>(documents.size());
+        List<ReferenceExtractor.Reference> all = new ArrayList<>();
+        for (Map<String, ?> document : documents) {
+            List<ReferenceExtractor.Reference> references = ReferenceExtractor.extract(schema.get().getFields(), document);
+            byDocument.add(references);
+            all.addAll(references);
+        }
+        IdResolver resolver = new IdResolver();
+        resolver.resolve(all);
+
+        List<List<DanglingReference>> dangling = new ArrayList<>(documents.size());
+        for (int i = 0; i < documents.size(); i++) {
+            Object documentId = documents.get(i).get("_id");
+            List<DanglingReference> missing = new ArrayList<>();
+            for (ReferenceExtractor.Reference reference : byDocument.get(i)) {
+                if (resolver.isMissing(reference)) {
+                    missing.add(new DanglingReference(documentId, reference.path(), reference.targetCollection(), reference.value()));
+                }
+            }
+            dangling.add(missing);
+        }
+        return dangling;
+    }
+
+    @Override
+    public ReferenceReport sweep(String collectionName) {
+        return modelSchemaService.getSchema(collectionName)
+                .map(schema -> sweep(schema, new IdResolver()))
+                .orElseGet(() -> emptyReport(collectionName));
+    }
+
+    @Override
+    public List<ReferenceReport> sweepAll() {
+        // Offers and Cascades point at the same few target collections, so ids resolved for one are reused by the next
+        IdResolver resolver = new IdResolver();
+        return modelSchemaService.getAllSchemas().stream()
+                .map(schema -> sweep(schema, resolver))
+                .toList();
+    }
+
+    private ReferenceReport sweep(ModelSchemaDto schema, IdResolver resolver) {
+        long start = System.nanoTime();
+        int lookupsBefore = resolver.lookups;
+        ReferenceReport report = emptyReport(schema.getCollection());
+
+        Set<String> roots = ReferenceExtractor.referenceRoots(schema.getFields());
+        if (!roots.isEmpty()) {
+            // Only the fields that can hold references are read
+            Query query = new Query().cursorBatchSize(ContentQueries.STREAM_BATCH_SIZE);
+            roots.forEach(root -> query.fields().include(root));
+
+            List<Document> batch = new ArrayList<>(SWEEP_BATCH_SIZE);
+            try (Stream<Document> docs = mongoTemplate.stream(query, Document.class, schema.getCollection())) {
+                docs.forEach(doc -> {
+                    batch.add(doc);
+                    if (batch.size() == SWEEP_BATCH_SIZE) {
+                        checkBatch(schema, batch, resolver, report);
+                        batch.clear();
+                    }
+                });
+            }
+            checkBatch(schema, batch, resolver, report);
+        }
+
+        report.setLookups(resolver.lookups - lookupsBefore);
+        report.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        return report;
+    }
+
+    private void checkBatch(ModelSchemaDto schema, List<Document> batch, IdResolver resolver, ReferenceReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<Object, List<ReferenceExtractor.Reference>> byDocument = new LinkedHashMap<>();
+        List<ReferenceExtractor.Reference> all = new ArrayList<>();
+        for (Document doc : batch) {
+            List<ReferenceExtractor.Reference> references = ReferenceExtractor.extract(schema.getFields(), doc);
+            byDocument.put(doc.get("_id"), references);
+            all.addAll(references);
+        }
+        resolver.resolve(all);
+
+        report.setDocumentsChecked(report.getDocumentsChecked() + batch.size());
+        report.setReferencesChecked(report.getReferencesChecked() + all.size());
+        byDocument.forEach((documentId, references) -> {
+            for (ReferenceExtractor.Reference reference : references) {
+                if (resolver.isMissing(reference)) {
+                    report.setDanglingCount(report.getDanglingCount() + 1);
+                    if (report.getDangling().size() < MAX_REPORTED) {
+                        report.getDangling().add(new DanglingReference(documentId, reference.path(), reference.targetCollection(), reference.value()));
+                    }
+                }
+            }
+        });
+    }
+
+    private static ReferenceReport emptyReport(String collectionName) {
+        ReferenceReport report = new ReferenceReport();
+        report.setCollection(collectionName);
+        return report;
+    }
+
+    /**
+     * Remembers which ids exist per target collection for the duration of one check or sweep. Nothing
+     * outlives the call, so a target deleted between checks is never reported as present.
+     */
+    private final class IdResolver {
+        private final Map<String, Set<String>> present = new HashMap<>();
+        private final Map<String, Set<String>> missing = new HashMap<>();
+        private int lookups;
+
+        void resolve(List<ReferenceExtractor.Reference> references) {
+            Map<String, Map<String, Object>> unknown = new HashMap<>();
+            for (ReferenceExtractor.Reference reference : references) {
+                String key = ReferenceExtractor.idKey(reference.value());
+                String target = reference.targetCollection();
+                if (!known(present, target, key) && !known(missing, target, key)) {
+                    unknown.computeIfAbsent(target, t -> new LinkedHashMap<>()).putIfAbsent(key, reference.value());
+                }
+            }
+            unknown.forEach((target, ids) -> {
+                List<Map.Entry<String, Object>> entries = new ArrayList<>(ids.entrySet());
+                for (int from = 0; from < entries.size(); from += LOOKUP_CHUNK_SIZE) {
+                    lookup(target, entries.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, entries.size())));
+                }
+            });
+        }
+
+        boolean isMissing(ReferenceExtractor.Reference reference) {
+            return known(missing, reference.targetCollection(), ReferenceExtractor.idKey(reference.value()));
+        }
+
+        private void lookup(String target, List<Map.Entry<String, Object>> ids) {
+            List<Object> candidates = new ArrayList<>(ids.size() * 2);
+            for (Map.Entry<String, Object> id : ids) {
+                candidates.addAll(ReferenceExtractor.idCandidates(id.getValue()));
+            }
+            Query query = new Query(Criteria.where("_id").in(candidates));
+            query.fields().include("_id");
+            Set<String> found = new HashSet<>();
+            for (Document doc : mongoTemplate.find(query, Document.class, target)) {
+                found.add(ReferenceExtractor.idKey(doc.get("_id")));
+            }
+            lookups++;
+
+            Set<String> targetPresent = present.computeIfAbsent(target, t -> new HashSet<>());
+            Set<String> targetMissing = missing.computeIfAbsent(target, t -> new HashSet<>());
+            for (Map.Entry<String, Object> id : ids) {
+                (found.contains(id.getKey()) ? targetPresent : targetMissing).add(id.getKey());
+            }
+        }
+
+        private static boolean known(Map<String, Set<String>> ids, String target, String key) {
+            Set<String> set = ids.get(target);
+            return set != null && set.contains(key);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.acegames.backend.infrastructure.service;
+
+import com.acegames.backend.application.dto.IndexDefinition;
+import com.acegames.backend.application.dto.IndexReport;
+import com.acegames.backend.application.dto.ModelSchemaDto;
+import com.acegames.backend.application.helper.SchemaIndexPlanner;
+import com.acegames.backend.application.service.ModelSchemaService;
+import com.acegames.backend.application.service.SchemaIndexService;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class SchemaIndexServiceImpl implements SchemaIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaIndexServiceImpl.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final ModelSchemaService modelSchemaService;
+    private final boolean dropStale;
+
+    public SchemaIndexServiceImpl(MongoTemplate mongoTemplate,
+                                  ModelSchemaService modelSchemaService,
+                                  @Value("${app.schema.indexes.drop-stale:false}") boolean dropStale) {
+        this.mongoTemplate = mongoTemplate;
+        this.modelSchemaService = modelSchemaService;
+        this.dropStale = dropStale;
+    }
+
+    @Override
+    public List<IndexReport> inspect() {
+        return modelSchemaService.getAllSchemas().stream()
+                .map(schema -> reconcile(schema, false))
+                .toList();
+    }
+
+    @Override
+    public List<IndexReport> reconcile() {
+        return modelSchemaService.getAllSchemas().stream()
+                .map(schema -> reconcile(schema, true))
+                .toList();
+    }
+
+    private IndexReport reconcile(ModelSchemaDto schema, boolean apply) {
+        IndexReport report = new IndexReport();
+        report.setCollection(schema.getCollection());
+        report.setDeclared(SchemaIndexPlanner.plan(schema.getFields()));
+
+        MongoCollection<Document> collection = mongoTemplate.getCollection(schema.getCollection());
+        List<Document> existing = collection.listIndexes().into(new ArrayList<>());
+
+        for (IndexDefinition index : report.getDeclared()) {
+            // An index with the same keys under another name (e.g. created by hand) already serves the queries
+            boolean present = existing.stream().anyMatch(info ->
+                    index.getName().equals(info.getString("name")) || sameKeys(info.get("key", Document.class), index.getKeys()));
+            if (!present) {
+                report.getMissing().add(index.getName());
+            }
+        }
+
+        Set<String> declaredNames = report.getDeclared().stream().map(IndexDefinition::getName).collect(Collectors.toSet());
+        for (Document info : existing) {
+            String name = info.getString("name");
+            if (name != null && name.startsWith(SchemaIndexPlanner.INDEX_PREFIX) && !declaredNames.contains(name)) {
+                report.getStale().add(name);
+            }
+        }
+
+        if (apply) {
+            for (IndexDefinition index : report.getDeclared()) {
+                if (!report.getMissing().contains(index.getName())) {
+                    continue;
+                }
+                try {
+                    // Builds no longer block the collection on 4.2+; background keeps older servers readable too
+                    collection.createIndex(new Document(index.getKeys()), new IndexOptions().name(index.getName()).background(true));
+                    report.getCreated().add(index.getName());
+                } catch (MongoException e) {
+                    report.getFailed().put(index.getName(), e.getMessage());
+                }
+            }
+            if (dropStale) {
+                for (String name : report.getStale()) {
+                    try {
+                        collection.dropIndex(name);
+                        report.getDropped().add(name);
+                    } catch (MongoException e) {
+                        report.getFailed().put(name, e.getMessage());
+                    }
+                }
+            }
+        }
+
+        collectUnused(collection, report);
+        return report;
+    }
+
+    // Usage counters reset when mongod restarts, so "unused" only covers the time since "since"
+    private void collectUnused(MongoCollection<Document> collection, IndexReport report) {
+        try {
+            List<Document> stats = collection.aggregate(List.of(new Document("$indexStats", new Document()))).into(new ArrayList<>());
+            for (Document stat : stats) {
+                String name = stat.getString("name");
+                Document accesses = stat.get("accesses", Document.class);
+                if (name == null || name.equals("_id_") || accesses == null || report.getCreated().contains(name)) {
+                    continue;
+                }
+                if (accesses.get("ops") instanceof Number ops && ops.longValue() == 0L) {
+                    report.getUnusedSince().put(name, accesses.get("since", Date.class));
+                }
+            }
+        } catch (MongoException e) {
+            // $indexStats needs the indexStats privilege and is not available on every deployment
+            logger.debug("Could not read index usage for {}: {}", report.getCollection(), e.getMessage());
+        }
+    }
+
+    private static boolean sameKeys(Document key, Map<String, Integer> keys) {
+        if (key == null || key.size() != keys.size()) {
+            return false;
+        }
+        Iterator<Map.Entry<String, Object>> actual = key.entrySet().iterator();
+        for (Map.Entry<String, Integer> expected : keys.entrySet()) {
+            Map.Entry<String, Object> next = actual.next();
+            if (!next.getKey().equals(expected.getKey())
+                    || !(next.getValue() instanceof Number direction && direction.intValue() == expected.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,51 @@
+package com.acegames.backend.web.controller;
+
+import com.acegames.backend.application.dto.CascadeTileTable;
+import com.acegames.backend.application.dto.TileSample;
+import com.acegames.backend.application.service.CascadeSamplerService;
+import com.acegames.backend.web.exception.ApiErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/cascades")
+@Tag(name = "Cascade Sampler API", description = "Draw tiles from a Cascade's stepRule weights")
+public class CascadeSamplerController {
+
+    private final CascadeSamplerService samplerService;
+
+    public CascadeSamplerController(CascadeSamplerService samplerService) {
+        this.samplerService = samplerService;
+    }
+
+    @Operation(summary = "Draw tiles from a Cascade's stepRule weights")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Tiles drawn, with the Cascade version they were drawn from"),
+            @ApiResponse(responseCode = "400", description = "Invalid count or stepRule", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Cascade not found", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping("/{id}/sample")
+    public ResponseEntity<TileSample> sample(
+            @PathVariable String id,
+            @Parameter(description = "Number of tiles to draw, at most 10000") @RequestParam(defaultValue = "1") int count
+    ) {
+        return ResponseEntity.ok(samplerService.sample(id, count));
+    }
+
+    @Operation(summary = "Get a Cascade's compiled alias table for sampling in the game server")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Alias table columns, loadable with AliasTable.fromColumns"),
+            @ApiResponse(responseCode = "404", description = "Cascade not found", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping("/{id}/alias-table")
+    public ResponseEntity<CascadeTileTable> table(@PathVariable String id) {
+        return ResponseEntity.ok(samplerService.table(id));
+    }
+}
@@ -0,0 +1,48 @@
+package com.acegames.backend.web.controller;
+
+import com.acegames.backend.infrastructure.changestream.ContentChangeBroadcaster;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/changes")
+@Tag(name = "Content Changes API", description = "Server-Sent Events for content and schema writes")
+public class ContentChangeController {
+
+    private final ContentChangeBroadcaster broadcaster;
+    private final long timeoutMs;
+
+    public ContentChangeController(ContentChangeBroadcaster broadcaster,
+                                   @Value("${app.content.change-stream.sse-timeout-ms:1800000}") long timeoutMs) {
+        this.broadcaster = broadcaster;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Operation(summary = "Subscribe to content changes",
+            description = "Starts with a 'ready' event whose live flag says whether changes are being pushed; "
+                    + "a 'status' event with the same flag follows whenever that changes, e.g. while the change stream reconnects. "
+                    + "Then one event per change, named after its collection, with {collection, operation, documentId} as data. "
+                    + "EventSource resends the last event id as Last-Event-ID on reconnect and receives the changes it missed; "
+                    + "a 'reset' event means they are no longer available and the client should re-fetch. "
+                    + "Needs app.content.change-stream.enabled=true")
+    @ApiResponse(responseCode = "200", description = "Event stream")
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @Parameter(description = "Collections to receive changes for, e.g. skin or schemas; all when omitted") @RequestParam(required = false) List<String> collection,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        // When the timeout ends the stream, EventSource reconnects with Last-Event-ID and misses nothing
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        broadcaster.subscribe(emitter, collection == null ? Set.of() : Set.copyOf(collection), lastEventId);
+        return emitter;
+    }
+}
@@ -0,0 +1,78 @@
+package com.acegames.backend.web.controller;
+
+import com.acegames.backend.application.helper.SchemaFingerprint;
+import com.acegames.backend.application.service.GenericCrudService;
+import org.bson.Document;
+
+import java.util.List;
+
+/**
+ * ETags handed out by the content controllers: {@code "<collection>-<version>"} for collections,
+ * {@code "<id>-v<revision>"} for documents and {@code "pack-<tag>"} for content packs.
+ */
+final class ContentEtags {
+
+    private ContentEtags() {
+    }
+
+    static String collectionEtag(String collection, long version) {
+        return "\"" + collection + "-" + version + "\"";
+    }
+
+    static String packEtag(String tag) {
+        return "\"pack-" + tag + "\"";
+    }
+
+    // Documents written before revisions existed have no _version; their ETag falls back to a content hash.
+    static String documentEtag(String id, Document doc) {
+        Object version = doc.get(GenericCrudService.VERSION_FIELD);
+        String revision = version instanceof Number number
+                ? "v" + number.longValue()
+                : "h" + SchemaFingerprint.combine(List.of(doc.toJson()));
+        return "\"" + id + "-" + revision + "\"";
+    }
+
+    // Accepts the ETags handed out by documentEtag; a content-hash ETag means the document has no _version yet.
+    static Long expectedVersion(String id, String ifMatch) {
+        String etag = ifMatch.trim();
+        if (etag.equals("*")) {
+            return null;
+        }
+        if (etag.startsWith("W/")) {
+            etag = etag.substring(2);
+        }
+        etag = etag.replace("\"", "");
+        String prefix = id + "-";
+        if (etag.startsWith(prefix + "v")) {
+            try {
+                return Long.parseLong(etag.substring(prefix.length() + 1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Unrecognized If-Match value: " + ifMatch);
+            }
+        }
+        if (etag.startsWith(prefix + "h")) {
+            return 0L;
+        }
+        throw new IllegalArgumentException("Unrecognized If-Match value: " + ifMatch);
+    }
+
+    /**
+     * Weak If-None-Match comparison, for handlers that answer after the request thread has returned
+     * and so cannot use {@code WebRequest.checkNotModified}.
+     */
+    static boolean notModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,54 @@
+package com.acegames.backend.web.controller;
+
+import com.acegames.backend.application.dto.ContentPackExport;
+import com.acegames.backend.application.dto.ContentPackReport;
+import com.acegames.backend.application.service.ContentExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/export")
+@Tag(name = "Content Export API", description = "Binary content packs for game servers")
+public class ContentExportController {
+
+    private final ContentExportService exportService;
+
+    public ContentExportController(ContentExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @Operation(summary = "Download the current content as a content pack",
+            description = "Every registered collection laid out by its schema, read with the runtime module's ContentPack. "
+                    + "Send the last ETag in If-None-Match to skip the download when nothing changed")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "The content pack"),
+            @ApiResponse(responseCode = "304", description = "Content and schemas unchanged since the ETag in If-None-Match")
+    })
+    @GetMapping(value = "/pack", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> pack(WebRequest request) {
+        ContentPackExport export = exportService.currentPack();
+        if (request.checkNotModified(ContentEtags.packEtag(export.tag()))) {
+            return null;
+        }
+        String filename = "content-" + export.report().getSnapshotVersion() + ".pack";
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(export.content());
+    }
+
+    @Operation(summary = "Describe the current content pack",
+            description = "Records per collection, plus the documents and schema fields the pack leaves out")
+    @ApiResponse(responseCode = "200", description = "Content pack report")
+    @GetMapping("/pack/report")
+    public ResponseEntity<ContentPackReport> report() {
+        return ResponseEntity.ok(exportService.currentPack().report());
+    }
+}
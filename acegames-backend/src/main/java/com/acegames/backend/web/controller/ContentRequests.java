@@ -0,0 +1,20 @@
+package com.acegames.backend.web.controller;
+
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+/**
+ * Query parameters shared by the blocking and reactive content controllers.
+ */
+final class ContentRequests {
+
+    private ContentRequests() {
+    }
+
+    // Read from the raw parameters: binding to List<String> would split an in-list's commas into separate filters
+    static List<String> filterParams(WebRequest request) {
+        String[] values = request.getParameterValues("filter");
+        return values == null ? List.of() : List.of(values);
+    }
+}
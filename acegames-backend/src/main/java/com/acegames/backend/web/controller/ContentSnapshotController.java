@@ -0,0 +1,40 @@
+package com.acegames.backend.web.controller;
+
+import com.acegames.backend.application.dto.SnapshotDelta;
+import com.acegames.backend.application.dto.SnapshotVersion;
+import com.acegames.backend.application.service.ContentSnapshotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/snapshot")
+@Tag(name = "Content Snapshot API", description = "Versioned in-memory copy of every registered content collection")
+public class ContentSnapshotController {
+
+    private final ContentSnapshotService snapshotService;
+
+    public ContentSnapshotController(ContentSnapshotService snapshotService) {
+        this.snapshotService = snapshotService;
+    }
+
+    @Operation(summary = "Get the current snapshot version and the write counter of each collection in it")
+    @ApiResponse(responseCode = "200", description = "Current snapshot version")
+    @GetMapping("/version")
+    public ResponseEntity<SnapshotVersion> version() {
+        return ResponseEntity.ok(snapshotService.version());
+    }
+
+    @Operation(summary = "Get the documents added, changed and removed since a snapshot version",
+            description = "Pass the toVersion of the previous response as since; since=0 returns every document")
+    @ApiResponse(responseCode = "200", description = "Changes per collection; full=true when since is no longer retained and the client should replace its copy")
+    @GetMapping("/delta")
+    public ResponseEntity<SnapshotDelta> delta(
+            @Parameter(description = "Snapshot version the client holds") @RequestParam(defaultValue = "0") long since
+    ) {
+        return ResponseEntity.ok(snapshotService.delta(since));
+    }
+}
@@ -1,48 +1,154 @@
 package com.acegames.backend.web.controller;
 
+import com.acegames.backend.application.dto.BulkOperation;
+import com.acegames.backend.application.dto.BulkWriteReport;
+import com.acegames.backend.application.dto.ContentPage;
+import com.acegames.backend.application.dto.ContentPageRequest;
 import com.acegames.backend.application.service.GenericCrudService;
 import com.acegames.backend.web.exception.ApiErrorResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/content")
+@ConditionalOnProperty(name = "app.content.reactive.enabled", havingValue = "false", matchIfMissing = true)
 @Tag(name = "Generic Content API", description = "Dynamic CRUD operations for any collection")
 public class GenericCrudController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int STREAM_FLUSH_INTERVAL = 100;
+
     private final GenericCrudService crudService;
+    private final ObjectMapper objectMapper;
+    private final long streamTimeoutMs;
 
-    public GenericCrudController(GenericCrudService crudService) {
+    public GenericCrudController(GenericCrudService crudService, ObjectMapper objectMapper,
+                                 @Value("${app.content.stream-timeout-ms:600000}") long streamTimeoutMs) {
         this.crudService = crudService;
+        this.objectMapper = objectMapper;
+        this.streamTimeoutMs = streamTimeoutMs;
     }
 
-    @Operation(summary = "Get all documents in a collection")
-    @ApiResponse(responseCode = "200", description = "List of documents retrieved successfully")
+    @Operation(summary = "Get all documents in a collection, optionally filtered")
+    @Parameter(name = "filter", in = ParameterIn.QUERY, description = "Repeatable path:operator:value condition, e.g. endDate:gte:2025-01-01 or purchaseProductId:in:a,b. Operators: eq, ne, gt, gte, lt, lte, in, nin, exists")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "List of documents retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Collection unchanged since the ETag in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Filter does not match the collection's schema", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
     @GetMapping("/{collection}")
-    public ResponseEntity<List<Document>> getAll(@PathVariable String collection) {
-        return ResponseEntity.ok(crudService.findAll(collection));
+    public ResponseEntity<List<Document>> getAll(@PathVariable String collection, WebRequest request) {
+        // The collection's write counter is checked before any document is queried; it changes
+        // whenever any filtered result could, so it serves as the ETag for filtered reads too
+        String etag = ContentEtags.collectionEtag(collection, crudService.getCollectionVersion(collection));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        List<String> filters = ContentRequests.filterParams(request);
+        return ResponseEntity.ok(filters.isEmpty()
+                ? crudService.findAll(collection)
+                : crudService.findMatching(collection, filters));
+    }
+
+    @Operation(summary = "Get one page of documents using keyset pagination")
+    @Parameter(name = "filter", in = ParameterIn.QUERY, description = "Repeatable path:operator:value condition, e.g. endDate:gte:2025-01-01 or purchaseProductId:in:a,b. Operators: eq, ne, gt, gte, lt, lte, in, nin, exists")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page retrieved; nextCursor is null on the last page"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, limit, sort or filter", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping("/{collection}/page")
+    public ResponseEntity<ContentPage> getPage(
+            @PathVariable String collection,
+            WebRequest webRequest,
+            @Parameter(description = "nextCursor from the previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Page size, capped at 500 (default 50)") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Sort field, prefix with '-' for descending") @RequestParam(required = false) String sort,
+            @Parameter(description = "Comma-separated fields to return; _id is always included") @RequestParam(required = false) List<String> fields
+    ) {
+        ContentPageRequest request = new ContentPageRequest();
+        request.setAfter(after);
+        request.setLimit(limit);
+        request.setSort(sort);
+        request.setFields(fields);
+        request.setFilter(ContentRequests.filterParams(webRequest));
+        return ResponseEntity.ok(crudService.findPage(collection, request));
+    }
+
+    @Operation(summary = "Stream every document in a collection as newline-delimited JSON")
+    @ApiResponse(responseCode = "200", description = "One JSON document per line")
+    @GetMapping(value = "/{collection}/stream", produces = "application/x-ndjson")
+    public WebAsyncTask<Void> stream(@PathVariable String collection, HttpServletResponse response) {
+        // Writes block while the client is slow, which in turn pauses the Mongo cursor,
+        // so memory stays at roughly one cursor batch regardless of collection size.
+        // Large exports outlive the default async timeout, so this endpoint sets its own.
+        return new WebAsyncTask<>(streamTimeoutMs, () -> {
+            response.setContentType(NDJSON.toString());
+            OutputStream out = response.getOutputStream();
+            int[] written = {0};
+            try (SequenceWriter writer = objectMapper.writer()
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .withRootValueSeparator("\n")
+                    .writeValues(out)) {
+                crudService.streamAll(collection, doc -> {
+                    try {
+                        writer.write(doc);
+                        if (++written[0] % STREAM_FLUSH_INTERVAL == 0) {
+                            writer.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            if (written[0] > 0) {
+                out.write('\n');
+            }
+            out.flush();
+            return null;
+        });
     }
 
     @Operation(summary = "Get a document by ID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Document found"),
+            @ApiResponse(responseCode = "304", description = "Document unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Document not found", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
     })
     @GetMapping("/{collection}/{id}")
-    public ResponseEntity<Document> getById(@PathVariable String collection, @PathVariable String id) {
+    public ResponseEntity<Document> getById(@PathVariable String collection, @PathVariable String id, WebRequest request) {
         Document doc = crudService.findById(collection, id);
-        return doc != null ? ResponseEntity.ok(doc) : ResponseEntity.notFound().build();
+        if (doc == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(ContentEtags.documentEtag(id, doc))) {
+            return null;
+        }
+        return ResponseEntity.ok(doc);
     }
 
     @Operation(summary = "Create a new document in the collection")
@@ -59,19 +165,41 @@ public class GenericCrudController {
         return ResponseEntity.status(201).body(doc);
     }
 
-    @Operation(summary = "Update an existing document by ID")
+    @Operation(summary = "Apply a batch of insert, update and delete operations")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-item status: ok, notFound (update or delete matched no document), error or skipped"),
+            @ApiResponse(responseCode = "400", description = "Invalid batch request", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @PostMapping("/{collection}/bulk")
+    public ResponseEntity<BulkWriteReport> bulk(
+            @PathVariable String collection,
+            @Parameter(description = "Stop at the first failing operation") @RequestParam(defaultValue = "true") boolean ordered,
+            @Parameter(description = "Operations per bulkWrite round trip, capped at 1000") @RequestParam(defaultValue = "500") int batchSize,
+            @org.springframework.web.bind.annotation.RequestBody List<BulkOperation> operations
+    ) {
+        return ResponseEntity.ok(crudService.bulkWrite(collection, operations, ordered, batchSize));
+    }
+
+    @Operation(summary = "Update an existing document by ID",
+            description = "Pass the document's ETag in If-Match (or its _version in the body) to reject the update when someone else changed it first")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Document updated successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid update request", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+            @ApiResponse(responseCode = "400", description = "Invalid update request", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Document not found", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "412", description = "Document was modified since the expected version", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
     })
     @PutMapping("/{collection}/{id}")
     public ResponseEntity<Document> update(
             @PathVariable String collection,
             @PathVariable String id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             @org.springframework.web.bind.annotation.RequestBody Map<String, Object> data
     ) {
-        Document updated = crudService.update(collection, id, data);
-        return ResponseEntity.ok(updated);
+        Long expectedVersion = ifMatch != null
+                ? ContentEtags.expectedVersion(id, ifMatch)
+                : data.get(GenericCrudService.VERSION_FIELD) instanceof Number number ? number.longValue() : null;
+        Document updated = crudService.update(collection, id, data, expectedVersion);
+        return ResponseEntity.ok().eTag(ContentEtags.documentEtag(id, updated)).body(updated);
     }
 
     @Operation(summary = "Delete a document by ID")
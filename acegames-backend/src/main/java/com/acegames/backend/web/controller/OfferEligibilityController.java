@@ -0,0 +1,46 @@
+package com.acegames.backend.web.controller;
+
+import com.acegames.backend.application.dto.OfferEligibilityReport;
+import com.acegames.backend.application.service.OfferEligibilityService;
+import com.acegames.backend.web.exception.ApiErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/offers")
+@Tag(name = "Offer Eligibility API", description = "Find the offers a player meets every requirement of")
+public class OfferEligibilityController {
+
+    private final OfferEligibilityService eligibilityService;
+
+    public OfferEligibilityController(OfferEligibilityService eligibilityService) {
+        this.eligibilityService = eligibilityService;
+    }
+
+    @Operation(summary = "Get the ids of the offers a player is eligible for",
+            description = "Body maps Requirement names to the player's values, e.g. {\"minLevel\": 12, \"daysSinceRegistration\": 3}; a missing requirement fails every condition on it")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Eligible offer ids"),
+            @ApiResponse(responseCode = "400", description = "Unknown requirement", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @PostMapping("/eligible")
+    public ResponseEntity<List<String>> eligible(@org.springframework.web.bind.annotation.RequestBody Map<String, Integer> playerValues) {
+        return ResponseEntity.ok(eligibilityService.eligibleOffers(playerValues));
+    }
+
+    @Operation(summary = "Get the size of the eligibility index and the offers left out of it")
+    @ApiResponse(responseCode = "200", description = "Indexed offers and conditions, and rejected offers with the reason")
+    @GetMapping("/eligibility")
+    public ResponseEntity<OfferEligibilityReport> report() {
+        return ResponseEntity.ok(eligibilityService.report());
+    }
+}
@@ -0,0 +1,193 @@
+package com.acegames.backend.web.controller;
+
+import com.acegames.backend.application.dto.BulkOperation;
+import com.acegames.backend.application.dto.BulkWriteReport;
+import com.acegames.backend.application.dto.ContentPage;
+import com.acegames.backend.application.dto.ContentPageRequest;
+import com.acegames.backend.application.service.GenericCrudService;
+import com.acegames.backend.application.service.ReactiveGenericCrudService;
+import com.acegames.backend.web.exception.ApiErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The content API on the reactive Mongo driver, enabled with {@code app.content.reactive.enabled=true}
+ * in place of {@link GenericCrudController}. Handlers return Flux/Mono, which Spring MVC subscribes to
+ * without holding the request thread while Mongo works. The NDJSON stream is written one document at a
+ * time with backpressure reaching back to the server cursor; the JSON array endpoints still collect
+ * their documents before writing.
+ */
+@RestController
+@RequestMapping("/api/content")
+@ConditionalOnProperty(name = "app.content.reactive.enabled", havingValue = "true")
+@Tag(name = "Generic Content API", description = "Dynamic CRUD operations for any collection (reactive driver)")
+public class ReactiveGenericCrudController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final ReactiveGenericCrudService crudService;
+
+    public ReactiveGenericCrudController(ReactiveGenericCrudService crudService) {
+        this.crudService = crudService;
+    }
+
+    @Operation(summary = "Get all documents in a collection, optionally filtered")
+    @Parameter(name = "filter", in = ParameterIn.QUERY, description = "Repeatable path:operator:value condition, e.g. endDate:gte:2025-01-01 or purchaseProductId:in:a,b. Operators: eq, ne, gt, gte, lt, lte, in, nin, exists")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "List of documents retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Collection unchanged since the ETag in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Filter does not match the collection's schema", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping("/{collection}")
+    public Mono<ResponseEntity<List<Document>>> getAll(
+            @PathVariable String collection,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+            WebRequest request
+    ) {
+        List<String> filters = ContentRequests.filterParams(request);
+        // The collection's write counter is checked before any document is queried
+        return crudService.getCollectionVersion(collection).flatMap(version -> {
+            String etag = ContentEtags.collectionEtag(collection, version);
+            if (ContentEtags.notModified(ifNoneMatch, etag)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<List<Document>>build());
+            }
+            // A JSON array is only written once complete; /stream is the unbuffered read
+            Flux<Document> matching = filters.isEmpty() ? crudService.findAll(collection) : crudService.findMatching(collection, filters);
+            return matching.collectList()
+                    .map(docs -> ResponseEntity.ok().eTag(etag).body(docs));
+        });
+    }
+
+    @Operation(summary = "Get one page of documents using keyset pagination")
+    @Parameter(name = "filter", in = ParameterIn.QUERY, description = "Repeatable path:operator:value condition, e.g. endDate:gte:2025-01-01 or purchaseProductId:in:a,b. Operators: eq, ne, gt, gte, lt, lte, in, nin, exists")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page retrieved; nextCursor is null on the last page"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, limit, sort or filter", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping("/{collection}/page")
+    public Mono<ContentPage> getPage(
+            @PathVariable String collection,
+            WebRequest webRequest,
+            @Parameter(description = "nextCursor from the previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Page size, capped at 500 (default 50)") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Sort field, prefix with '-' for descending") @RequestParam(required = false) String sort,
+            @Parameter(description = "Comma-separated fields to return; _id is always included") @RequestParam(required = false) List<String> fields
+    ) {
+        ContentPageRequest request = new ContentPageRequest();
+        request.setAfter(after);
+        request.setLimit(limit);
+        request.setSort(sort);
+        request.setFields(fields);
+        request.setFilter(ContentRequests.filterParams(webRequest));
+        return crudService.findPage(collection, request);
+    }
+
+    @Operation(summary = "Stream every document in a collection as newline-delimited JSON")
+    @ApiResponse(responseCode = "200", description = "One JSON document per line")
+    @GetMapping(value = "/{collection}/stream", produces = NDJSON)
+    public Flux<Document> stream(@PathVariable String collection) {
+        return crudService.findAll(collection);
+    }
+
+    @Operation(summary = "Get a document by ID")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Document found"),
+            @ApiResponse(responseCode = "304", description = "Document unchanged since the ETag in If-None-Match"),
+            @ApiResponse(responseCode = "404", description = "Document not found", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping("/{collection}/{id}")
+    public Mono<ResponseEntity<Document>> getById(
+            @PathVariable String collection,
+            @PathVariable String id,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
+    ) {
+        return crudService.findById(collection, id)
+                .map(doc -> {
+                    String etag = ContentEtags.documentEtag(id, doc);
+                    if (ContentEtags.notModified(ifNoneMatch, etag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<Document>build();
+                    }
+                    return ResponseEntity.ok().eTag(etag).body(doc);
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Create a new document in the collection")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Document created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid data format", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @PostMapping("/{collection}")
+    public Mono<ResponseEntity<Document>> create(
+            @PathVariable String collection,
+            @org.springframework.web.bind.annotation.RequestBody Map<String, Object> data
+    ) {
+        return crudService.insert(collection, data)
+                .map(doc -> ResponseEntity.status(HttpStatus.CREATED).body(doc));
+    }
+
+    @Operation(summary = "Apply a batch of insert, update and delete operations")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-item status"),
+            @ApiResponse(responseCode = "400", description = "Invalid batch request", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @PostMapping("/{collection}/bulk")
+    public Mono<BulkWriteReport> bulk(
+            @PathVariable String collection,
+            @Parameter(description = "Stop at the first failing operation") @RequestParam(defaultValue = "true") boolean ordered,
+            @Parameter(description = "Operations per bulkWrite round trip, capped at 1000") @RequestParam(defaultValue = "500") int batchSize,
+            @org.springframework.web.bind.annotation.RequestBody List<BulkOperation> operations
+    ) {
+        return crudService.bulkWrite(collection, operations, ordered, batchSize);
+    }
+
+    @Operation(summary = "Update an existing document by ID",
+            description = "Pass the document's ETag in If-Match (or its _version in the body) to reject the update when someone else changed it first")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Document updated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid update request", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Document not found", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "412", description = "Document was modified since the expected version", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @PutMapping("/{collection}/{id}")
+    public Mono<ResponseEntity<Document>> update(
+            @PathVariable String collection,
+            @PathVariable String id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            @org.springframework.web.bind.annotation.RequestBody Map<String, Object> data
+    ) {
+        Long expectedVersion = ifMatch != null
+                ? ContentEtags.expectedVersion(id, ifMatch)
+                : data.get(GenericCrudService.VERSION_FIELD) instanceof Number number ? number.longValue() : null;
+        return crudService.update(collection, id, data, expectedVersion)
+                .map(updated -> ResponseEntity.ok().eTag(ContentEtags.documentEtag(id, updated)).body(updated));
+    }
+
+    @Operation(summary = "Delete a document by ID")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Document deleted successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid delete request", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @DeleteMapping("/{collection}/{id}")
+    public Mono<ResponseEntity<Void>> delete(@PathVariable String collection, @PathVariable String id) {
+        return crudService.delete(collection, id)
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+}
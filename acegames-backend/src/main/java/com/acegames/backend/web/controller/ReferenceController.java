@@ -0,0 +1,49 @@
+package com.acegames.backend.web.controller;
+
+import com.acegames.backend.application.dto.DanglingReference;
+import com.acegames.backend.application.dto.ReferenceReport;
+import com.acegames.backend.application.service.ReferenceValidationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/references")
+@Tag(name = "Reference API", description = "Find references to documents that do not exist")
+public class ReferenceController {
+
+    private final ReferenceValidationService referenceValidationService;
+
+    public ReferenceController(ReferenceValidationService referenceValidationService) {
+        this.referenceValidationService = referenceValidationService;
+    }
+
+    @Operation(summary = "Check the references of every collection with a schema")
+    @ApiResponse(responseCode = "200", description = "One report per collection; dangling lists are capped at 1000 entries")
+    @GetMapping
+    public ResponseEntity<List<ReferenceReport>> sweepAll() {
+        return ResponseEntity.ok(referenceValidationService.sweepAll());
+    }
+
+    @Operation(summary = "Check the references of every document in a collection")
+    @ApiResponse(responseCode = "200", description = "Report for the collection; empty when it has no schema")
+    @GetMapping("/{collection}")
+    public ResponseEntity<ReferenceReport> sweep(@PathVariable String collection) {
+        return ResponseEntity.ok(referenceValidationService.sweep(collection));
+    }
+
+    @Operation(summary = "Check the references of a document before saving it")
+    @ApiResponse(responseCode = "200", description = "Dangling references; empty when all resolve")
+    @PostMapping("/{collection}/check")
+    public ResponseEntity<List<DanglingReference>> check(
+            @PathVariable String collection,
+            @org.springframework.web.bind.annotation.RequestBody Map<String, Object> document
+    ) {
+        return ResponseEntity.ok(referenceValidationService.findDangling(collection, document));
+    }
+}
@@ -2,9 +2,12 @@ package com.acegames.backend.web.controller;
 
 import com.acegames.backend.application.dto.ModelSchemaDto;
 import com.acegames.backend.application.dto.FieldDefinition;
+import com.acegames.backend.application.dto.IndexReport;
 import com.acegames.backend.application.helper.EnumScanner;
 import com.acegames.backend.application.helper.ReflectionSchemaParser;
+import com.acegames.backend.application.helper.SchemaFingerprint;
 import com.acegames.backend.application.service.ModelSchemaService;
+import com.acegames.backend.application.service.SchemaIndexService;
 import com.acegames.backend.web.exception.ApiErrorResponse;
 import io.opentelemetry.api.logs.Logger;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,11 +20,13 @@ import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
 import java.util.LinkedHashMap;
 import java.util.ArrayList;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/schema")
@@ -29,10 +34,12 @@ import java.util.ArrayList;
 public class SchemaController {
 
     private final ModelSchemaService schemaService;
+    private final SchemaIndexService schemaIndexService;
     private final Logger logger;
 
-    public SchemaController(ModelSchemaService schemaService, Logger logger) {
+    public SchemaController(ModelSchemaService schemaService, SchemaIndexService schemaIndexService, Logger logger) {
         this.schemaService = schemaService;
+        this.schemaIndexService = schemaIndexService;
         this.logger = logger;
     }
 
@@ -42,35 +49,58 @@ public class SchemaController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Schema found",
                     content = @Content(schema = @Schema(implementation = ModelSchemaDto.class))),
+            @ApiResponse(responseCode = "304", description = "Schema unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Schema not found",
                     content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
     })
     @GetMapping("/{collection}")
-    public ResponseEntity<ModelSchemaDto> getSchema(@PathVariable String collection) {
+    public ResponseEntity<ModelSchemaDto> getSchema(@PathVariable String collection, WebRequest request) {
         logger.logRecordBuilder()
                 .setBody("Fetching schema for collection: " + collection)
                 .emit();
 
-        return schemaService.getSchema(collection)
-                .map(ResponseEntity::ok)
-                .orElseGet(() -> {
-                    logger.logRecordBuilder()
-                            .setBody("Schema not found for collection: " + collection)
-                            .emit();
-                    return ResponseEntity.notFound().build();
-                });
+        Optional<ModelSchemaDto> schema = schemaService.getSchema(collection);
+        if (schema.isEmpty()) {
+            logger.logRecordBuilder()
+                    .setBody("Schema not found for collection: " + collection)
+                    .emit();
+            return ResponseEntity.notFound().build();
+        }
+
+        if (request.checkNotModified(schemaEtag(List.of(schema.get())))) {
+            return null;
+        }
+        return ResponseEntity.ok(schema.get());
     }
 
     @Operation(summary = "Get all registered schemas")
-    @ApiResponse(responseCode = "200", description = "List of all schemas",
-            content = @Content(schema = @Schema(implementation = ModelSchemaDto.class)))
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "List of all schemas",
+                    content = @Content(schema = @Schema(implementation = ModelSchemaDto.class))),
+            @ApiResponse(responseCode = "304", description = "Schemas unchanged since the ETag in If-None-Match")
+    })
     @GetMapping
-    public ResponseEntity<List<ModelSchemaDto>> getAllSchemas() {
+    public ResponseEntity<List<ModelSchemaDto>> getAllSchemas(WebRequest request) {
         logger.logRecordBuilder()
                 .setBody("Fetching all registered schemas")
                 .emit();
 
-        return ResponseEntity.ok(schemaService.getAllSchemas());
+        List<ModelSchemaDto> schemas = schemaService.getAllSchemas();
+        if (request.checkNotModified(schemaEtag(schemas))) {
+            return null;
+        }
+        return ResponseEntity.ok(schemas);
+    }
+
+    // Strong ETag over everything that appears in the response; checked before any serialization happens.
+    private String schemaEtag(List<ModelSchemaDto> schemas) {
+        List<String> parts = new ArrayList<>();
+        for (ModelSchemaDto schema : schemas) {
+            parts.add(schema.getCollection());
+            parts.add(schema.getDisplayName());
+            parts.add(schema.getFingerprint());
+        }
+        return "\"" + SchemaFingerprint.combine(parts) + "\"";
     }
 
     @PostMapping("/register")
@@ -99,6 +129,27 @@ public class SchemaController {
         return ResponseEntity.ok(enums);
     }
 
+    @GetMapping("/indexes")
+    @Operation(summary = "Compare schema-declared indexes with each collection and list unused indexes")
+    public ResponseEntity<List<IndexReport>> getIndexes() {
+        return ResponseEntity.ok(schemaIndexService.inspect());
+    }
+
+    @PostMapping("/indexes/reconcile")
+    @Operation(summary = "Create missing schema-declared indexes")
+    public ResponseEntity<List<IndexReport>> reconcileIndexes() {
+        return ResponseEntity.ok(schemaIndexService.reconcile());
+    }
+
+    @GetMapping("/parser-cache")
+    @Operation(summary = "Reflection parser cache hit/miss counters")
+    public ResponseEntity<Map<String, Long>> getParserCacheStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", ReflectionSchemaParser.getCacheHits());
+        stats.put("misses", ReflectionSchemaParser.getCacheMisses());
+        return ResponseEntity.ok(stats);
+    }
+
     @PostMapping("/test-reflection")
     @Operation(summary = "Test reflection parser with a specific class")
     public ResponseEntity<Map<String, Object>> testReflection(@RequestParam String className) {
@@ -7,6 +7,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -66,16 +67,39 @@ public class GlobalExceptionHandler {
         );
     }
 
+    // ✅ 412 - Optimistic concurrency
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<ApiErrorResponse> handleVersionConflict(
+            VersionConflictException ex,
+            HttpServletRequest request
+    ) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(
+                ApiErrorResponse.of(
+                        HttpStatus.PRECONDITION_FAILED.value(),
+                        "Precondition Failed",
+                        ex.getMessage(),
+                        request.getRequestURI()
+                )
+        );
+    }
+
     // ✅ 400 - Schema validation
     @ExceptionHandler(SchemaValidationException.class)
     public ResponseEntity<ApiErrorResponse> handleSchemaValidation(
             SchemaValidationException ex,
             HttpServletRequest request
     ) {
-        Map<String, Object> details = Map.of(
-            "fieldName", ex.getFieldName(),
-            "validationRule", ex.getValidationRule()
-        );
+        // Map.of rejects nulls, and the message-only constructor leaves both fields unset
+        Map<String, Object> details = new LinkedHashMap<>();
+        if (ex.getFieldName() != null) {
+            details.put("fieldName", ex.getFieldName());
+        }
+        if (ex.getValidationRule() != null) {
+            details.put("validationRule", ex.getValidationRule());
+        }
+        if (!ex.getViolations().isEmpty()) {
+            details.put("violations", ex.getViolations());
+        }
 
         return ResponseEntity.badRequest().body(
                 ApiErrorResponse.of(
@@ -1,19 +1,36 @@
 package com.acegames.backend.web.exception;
 
+import com.acegames.backend.application.dto.FieldViolation;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
 public class SchemaValidationException extends RuntimeException {
     private final String fieldName;
     private final String validationRule;
+    private final List<FieldViolation> violations;
 
     public SchemaValidationException(String message) {
         super(message);
         this.fieldName = null;
         this.validationRule = null;
+        this.violations = List.of();
     }
 
     public SchemaValidationException(String fieldName, String validationRule, String message) {
         super(message);
         this.fieldName = fieldName;
         this.validationRule = validationRule;
+        this.violations = List.of();
+    }
+
+    public SchemaValidationException(String collection, List<FieldViolation> violations) {
+        super("Invalid " + collection + " document: " + violations.stream()
+                .map(violation -> violation.getPath() + " " + violation.getMessage())
+                .collect(Collectors.joining("; ")));
+        this.fieldName = violations.get(0).getPath();
+        this.validationRule = violations.get(0).getRule();
+        this.violations = List.copyOf(violations);
     }
 
     public String getFieldName() {
@@ -23,4 +40,8 @@ public class SchemaValidationException extends RuntimeException {
     public String getValidationRule() {
         return validationRule;
     }
-} 
\ No newline at end of file
+
+    public List<FieldViolation> getViolations() {
+        return violations;
+    }
+}
@@ -0,0 +1,20 @@
+package com.acegames.backend.web.exception;
+
+public class VersionConflictException extends RuntimeException {
+    private final String id;
+    private final long expectedVersion;
+
+    public VersionConflictException(String id, long expectedVersion) {
+        super("Document " + id + " is no longer at version " + expectedVersion);
+        this.id = id;
+        this.expectedVersion = expectedVersion;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+}
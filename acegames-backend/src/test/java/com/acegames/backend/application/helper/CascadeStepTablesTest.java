@@ -0,0 +1,99 @@
+package com.acegames.backend.application.helper;
+
+import com.acegames.backend.domain.enums.EventType;
+import com.acegames.backend.domain.enums.TradeType;
+import com.acegames.backend.domain.model.Cascade;
+import com.acegames.backend.domain.model.Reward;
+import com.acegames.backend.domain.model.Step;
+import com.acegames.backend.domain.model.StepGroup;
+import com.acegames.backend.runtime.CascadeStepTable;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.acegames.backend.runtime.CascadeStepTable.ABSENT;
+import static com.acegames.backend.runtime.CascadeStepTable.NONE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CascadeStepTablesTest {
+
+    @Test
+    void shouldBuildTheSameTableFromTheObjectAndTheDocument() {
+        Cascade cascade = new Cascade();
+        cascade.setStepInfo(List.of(
+                group("A", step(1, null, reward(TradeType.XP, EventType.LOGIN, 10, null)),
+                        step(2, 1, reward(TradeType.CURRENCY, null, 50, 3600), reward(TradeType.ITEM, EventType.LEVEL_UP, 2, null))),
+                group("B", step(1, null))));
+        Document document = new Document("stepInfo", List.of(
+                new Document("group", "A").append("steps", List.of(
+                        new Document("step", 1).append("rewards", List.of(
+                                new Document("tradeType", "XP").append("eventType", "LOGIN").append("value", 10))),
+                        new Document("step", 2).append("requiredStep", 1).append("rewards", List.of(
+                                new Document("tradeType", "CURRENCY").append("value", 50).append("remainingSeconds", 3600),
+                                new Document("tradeType", "ITEM").append("eventType", "LEVEL_UP").append("value", 2))))),
+                new Document("group", "B").append("steps", List.of(new Document("step", 1)))));
+
+        CascadeStepTable fromObject = CascadeStepTables.of(cascade);
+        CascadeStepTable fromDocument = CascadeStepTables.of(document);
+
+        assertEquals(rows(fromObject), rows(fromDocument));
+        int step = fromObject.stepIndex("A", 2);
+        int first = fromObject.rewardStart(step);
+        assertEquals(List.of(TradeType.CURRENCY.ordinal(), NONE, 50, 3600),
+                List.of(fromObject.tradeType(first), fromObject.eventType(first), fromObject.value(first), fromObject.remainingSeconds(first)));
+        assertEquals(ABSENT, fromObject.remainingSeconds(first + 1));
+        assertEquals(ABSENT, fromObject.requiredStep(fromObject.stepIndex("B", 1)));
+    }
+
+    @Test
+    void shouldReadUnknownEnumNamesAndMissingTreesAsAbsent() {
+        Document document = new Document("stepInfo", List.of(new Document("group", "A").append("steps", List.of(
+                new Document("step", 1).append("rewards", List.of(new Document("tradeType", "GEMS").append("value", 3)))))));
+
+        CascadeStepTable table = CascadeStepTables.of(document);
+
+        assertEquals(NONE, table.tradeType(0));
+        assertEquals(0, CascadeStepTables.of(new Cascade()).groupCount());
+        assertEquals(0, CascadeStepTables.of(new Document("name", "Empty")).stepCount());
+    }
+
+    private static List<List<Object>> rows(CascadeStepTable table) {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int g = 0; g < table.groupCount(); g++) {
+            for (int s = table.groupStart(g); s < table.groupEnd(g); s++) {
+                for (int r = table.rewardStart(s); r < table.rewardEnd(s); r++) {
+                    rows.add(List.of(table.groupName(g), table.step(s), table.requiredStep(s), table.tradeType(r),
+                            table.eventType(r), table.value(r), table.remainingSeconds(r)));
+                }
+                rows.add(List.of(table.groupName(g), table.step(s), table.rewardEnd(s) - table.rewardStart(s)));
+            }
+        }
+        return rows;
+    }
+
+    private static StepGroup group(String name, Step... steps) {
+        StepGroup group = new StepGroup();
+        group.setGroup(name);
+        group.setSteps(List.of(steps));
+        return group;
+    }
+
+    private static Step step(int number, Integer requiredStep, Reward... rewards) {
+        Step step = new Step();
+        step.setStep(number);
+        step.setRequiredStep(requiredStep);
+        step.setRewards(List.of(rewards));
+        return step;
+    }
+
+    private static Reward reward(TradeType tradeType, EventType eventType, int value, Integer remainingSeconds) {
+        Reward reward = new Reward();
+        reward.setTradeType(tradeType);
+        reward.setEventType(eventType);
+        reward.setValue(value);
+        reward.setRemainingSeconds(remainingSeconds);
+        return reward;
+    }
+}
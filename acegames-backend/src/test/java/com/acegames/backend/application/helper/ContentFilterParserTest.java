@@ -0,0 +1,71 @@
+package com.acegames.backend.application.helper;
+
+import com.acegames.backend.application.dto.ContentFilter;
+import com.acegames.backend.application.dto.FieldDefinition;
+import com.acegames.backend.domain.model.Cascade;
+import com.acegames.backend.domain.model.Offer;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentFilterParserTest {
+
+    private static final Map<String, FieldDefinition> CASCADE = ReflectionSchemaParser.parseClass(Cascade.class);
+    private static final Map<String, Set<String>> ENUMS = SchemaValidator.enumValueSets();
+
+    @Test
+    void shouldConvertDateBoundsToEpochMillis() {
+        List<ContentFilter> filters = ContentFilterParser.parse(
+                List.of("startDate:lte:2025-03-01T12:00:00Z", "endDate:gt:2025-03-01", "endDate:lt:1767225600000"), CASCADE, ENUMS);
+
+        assertEquals(new ContentFilter("startDate", ContentFilter.Operator.lte, 1740830400000L), filters.get(0));
+        assertEquals(1740787200000L, filters.get(1).getValue());
+        assertEquals(1767225600000L, filters.get(2).getValue());
+    }
+
+    @Test
+    void shouldCompareDatesInTheFormValidatedWritesStoreThem() {
+        Map<String, Object> written = new HashMap<>();
+        written.put("endDate", "2025-03-01");
+        SchemaValidator.compile(CASCADE, ENUMS).validate(written);
+
+        assertEquals(written.get("endDate"), ContentFilterParser.parse(List.of("endDate:eq:2025-03-01"), CASCADE, ENUMS).get(0).getValue());
+    }
+
+    @Test
+    void shouldResolveNestedPathsThroughArrays() {
+        assertEquals(List.of(3L, 4L), ContentFilterParser.parse(List.of("stepInfo.steps.step:in:3,4"), CASCADE, ENUMS).get(0).getValue());
+        assertEquals(2L, ContentFilterParser.parse(List.of("stepInfo.0.steps.step:eq:2"), CASCADE, ENUMS).get(0).getValue());
+        assertEquals(Boolean.TRUE, ContentFilterParser.parse(List.of("stepRule:exists:true"), CASCADE, ENUMS).get(0).getValue());
+    }
+
+    @Test
+    void shouldKeepStringReferencesAndParseIds() {
+        Map<String, FieldDefinition> offer = ReflectionSchemaParser.parseClass(Offer.class);
+        ObjectId id = new ObjectId();
+
+        List<ContentFilter> filters = ContentFilterParser.parse(
+                List.of("purchaseProductId:in:a,b", "_id:eq:" + id.toHexString(), "_version:gte:2"), offer, ENUMS);
+
+        assertEquals(List.of("a", "b"), filters.get(0).getValue());
+        assertEquals(id, filters.get(1).getValue());
+        assertEquals(2L, filters.get(2).getValue());
+    }
+
+    @Test
+    void shouldRejectExpressionsThatDoNotFitTheSchema() {
+        for (String expression : List.of("name", "name:like:Red", "colour:eq:red", "startDate:eq:soon", "stepInfo.steps.step:eq:two",
+                "stepInfo:eq:1", "stepInfo.steps.rewards:gt:1", "stepInfo.steps.rewards.tradeType:eq:GOLD",
+                "stepInfo.steps.rewards.tradeType:gt:A", "name.first:eq:x", "stepRule:exists:maybe", "_secret:eq:1")) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> ContentFilterParser.parse(List.of(expression), CASCADE, ENUMS), expression);
+            assertTrue(e.getMessage().startsWith("Invalid filter '" + expression + "'"), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.acegames.backend.application.helper;
+
+import com.acegames.backend.domain.enums.EventType;
+import com.acegames.backend.domain.enums.Requirement;
+import com.acegames.backend.domain.enums.TradeType;
+import com.acegames.backend.domain.model.Cascade;
+import com.acegames.backend.domain.model.Offer;
+import com.acegames.backend.domain.model.PurchaseProduct;
+import com.acegames.backend.domain.model.Skin;
+import com.acegames.backend.domain.model.Tile;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainScannerTest {
+
+    private static final List<Class<?>> DOCUMENTS =
+            List.of(Cascade.class, Offer.class, PurchaseProduct.class, Skin.class, Tile.class);
+    private static final List<Class<?>> ENUMS = List.of(EventType.class, Requirement.class, TradeType.class);
+
+    @Test
+    void shouldDiscoverModelsAndEnumsFromBuildTimeIndex() {
+        assertNotNull(getClass().getClassLoader().getResource(DomainScanner.INDEX_RESOURCE));
+
+        DomainScanner.DomainIndex index = DomainScanner.load(getClass().getClassLoader());
+
+        assertEquals(DOCUMENTS, index.documents());
+        assertEquals(ENUMS, index.enums());
+    }
+
+    @Test
+    void shouldFallBackToClasspathScanWithoutIndex() {
+        ClassLoader withoutIndex = new ClassLoader(getClass().getClassLoader()) {
+            @Override
+            public InputStream getResourceAsStream(String name) {
+                return DomainScanner.INDEX_RESOURCE.equals(name) ? null : super.getResourceAsStream(name);
+            }
+        };
+
+        DomainScanner.DomainIndex index = DomainScanner.load(withoutIndex);
+
+        assertEquals(DOCUMENTS, index.documents());
+        assertEquals(ENUMS, index.enums());
+    }
+}
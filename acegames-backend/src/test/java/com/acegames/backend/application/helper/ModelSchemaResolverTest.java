@@ -0,0 +1,29 @@
+package com.acegames.backend.application.helper;
+
+import com.acegames.backend.domain.model.Cascade;
+import com.acegames.backend.domain.model.Offer;
+import com.acegames.backend.domain.model.PurchaseProduct;
+import com.acegames.backend.domain.model.Skin;
+import com.acegames.backend.domain.model.Tile;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelSchemaResolverTest {
+
+    @Test
+    void shouldGenerateSchemasIdenticalToReflection() {
+        for (Class<?> model : List.of(Skin.class, PurchaseProduct.class, Offer.class, Cascade.class, Tile.class)) {
+            assertTrue(ModelSchemaResolver.findGenerated(model).isPresent(), "No generated schema for " + model);
+            assertEquals(ReflectionSchemaParser.parseClassUncached(model), ModelSchemaResolver.resolve(model));
+        }
+    }
+
+    @Test
+    void shouldFallBackToReflectionForClassesWithoutGeneratedSchema() {
+        assertTrue(ModelSchemaResolver.findGenerated(String.class).isEmpty());
+        assertSame(ReflectionSchemaParser.parseClass(String.class), ModelSchemaResolver.resolve(String.class));
+    }
+}
@@ -0,0 +1,61 @@
+package com.acegames.backend.application.helper;
+
+import com.acegames.backend.application.dto.FieldDefinition;
+import com.acegames.backend.domain.model.Cascade;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceExtractorTest {
+
+    private static final Map<String, FieldDefinition> CASCADE = ReflectionSchemaParser.parseClass(Cascade.class);
+
+    @Test
+    void shouldCollectReferencesWithIndexedPathsAndLowercasedTargets() {
+        Map<String, Object> cascade = Map.of(
+                "_id", "c1",
+                "name", "Summer",
+                "skinId", 2,
+                "stepRule", List.of(Map.of("tileId", 101, "weight", 10), Map.of("weight", 5), Map.of("tileId", 102, "weight", 20)));
+
+        List<ReferenceExtractor.Reference> references = ReferenceExtractor.extract(CASCADE, cascade);
+
+        assertEquals(Set.of(
+                new ReferenceExtractor.Reference("skinId", "skin", 2),
+                new ReferenceExtractor.Reference("stepRule[0].tileId", "tile", 101),
+                new ReferenceExtractor.Reference("stepRule[2].tileId", "tile", 102)), Set.copyOf(references));
+        assertEquals(Set.of("skinId", "stepRule"), ReferenceExtractor.referenceRoots(CASCADE));
+        assertEquals("purchaseproduct", ReferenceExtractor.targetCollection("purchaseProduct"));
+    }
+
+    @Test
+    void shouldCollectEveryIdOfAnIdArray() {
+        FieldDefinition tileIds = new FieldDefinition();
+        tileIds.setType("Array");
+        tileIds.setReference("tile");
+        FieldDefinition item = new FieldDefinition();
+        item.setType("Number");
+        tileIds.setItems(item);
+
+        List<ReferenceExtractor.Reference> references = ReferenceExtractor.extract(Map.of("tileIds", tileIds), Map.of("tileIds", List.of(1, 2)));
+
+        assertEquals(List.of(new ReferenceExtractor.Reference("tileIds[0]", "tile", 1), new ReferenceExtractor.Reference("tileIds[1]", "tile", 2)),
+                references);
+    }
+
+    @Test
+    void shouldMatchIdsAcrossStoredShapes() {
+        ObjectId id = new ObjectId();
+
+        assertEquals(ReferenceExtractor.idKey(id), ReferenceExtractor.idKey(id.toHexString()));
+        assertEquals(ReferenceExtractor.idKey(2), ReferenceExtractor.idKey(2L));
+        assertEquals(List.of(id.toHexString(), id), ReferenceExtractor.idCandidates(id.toHexString()));
+        assertEquals(List.of(2, "2"), ReferenceExtractor.idCandidates(2));
+        assertEquals(List.of("101", 101L), ReferenceExtractor.idCandidates("101"));
+    }
+}
@@ -0,0 +1,49 @@
+package com.acegames.backend.application.helper;
+
+import com.acegames.backend.application.dto.FieldDefinition;
+import com.acegames.backend.domain.model.Cascade;
+import com.acegames.backend.domain.model.Step;
+import com.acegames.backend.domain.model.StepGroup;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReflectionSchemaParserTest {
+
+    @Test
+    void shouldReturnSameTreeForRepeatedCalls() {
+        Map<String, FieldDefinition> first = ReflectionSchemaParser.parseClass(Cascade.class);
+        long hitsBefore = ReflectionSchemaParser.getCacheHits();
+        long missesBefore = ReflectionSchemaParser.getCacheMisses();
+
+        Map<String, FieldDefinition> second = ReflectionSchemaParser.parseClass(Cascade.class);
+
+        assertSame(first, second);
+        assertEquals(missesBefore, ReflectionSchemaParser.getCacheMisses());
+        assertTrue(ReflectionSchemaParser.getCacheHits() > hitsBefore);
+    }
+
+    @Test
+    void shouldShareNestedSubTreesBetweenParents() {
+        Map<String, FieldDefinition> cascade = ReflectionSchemaParser.parseClass(Cascade.class);
+
+        Map<String, FieldDefinition> stepGroupFields = cascade.get("stepInfo").getItems().getFields();
+
+        assertSame(ReflectionSchemaParser.parseClass(StepGroup.class), stepGroupFields);
+        assertSame(ReflectionSchemaParser.parseClass(Step.class), stepGroupFields.get("steps").getItems().getFields());
+    }
+
+    @Test
+    void shouldMatchUncachedParse() {
+        assertEquals(ReflectionSchemaParser.parseClassUncached(Cascade.class),
+                ReflectionSchemaParser.parseClass(Cascade.class));
+    }
+
+    @Test
+    void shouldRejectMutationOfCachedTree() {
+        Map<String, FieldDefinition> fields = ReflectionSchemaParser.parseClass(Cascade.class);
+        assertThrows(UnsupportedOperationException.class, () -> fields.remove("name"));
+    }
+}
@@ -0,0 +1,55 @@
+package com.acegames.backend.application.helper;
+
+import com.acegames.backend.application.dto.FieldDefinition;
+import com.acegames.backend.application.dto.IndexDefinition;
+import com.acegames.backend.domain.model.Cascade;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaIndexPlannerTest {
+
+    @Test
+    void shouldIndexReferencesAndActiveWindowOfCascade() {
+        List<IndexDefinition> plan = SchemaIndexPlanner.plan(ReflectionSchemaParser.parseClass(Cascade.class));
+
+        assertEquals(List.of("schema_startDate_endDate", "schema_skinId", "schema_endDate", "schema_stepRule.tileId"),
+                plan.stream().map(IndexDefinition::getName).toList());
+        assertEquals(List.of("startDate", "endDate"), List.copyOf(plan.get(0).getKeys().keySet()));
+        assertEquals("reference:tile", plan.get(3).getReason());
+    }
+
+    @Test
+    void shouldUseDottedPathsInsideArraysOfObjectsAndSkipInternalFields() {
+        FieldDefinition items = field("Object");
+        items.setFields(Map.of("expiresAt", field("Date")));
+        FieldDefinition rewards = field("Array");
+        rewards.setItems(items);
+        Map<String, FieldDefinition> fields = new LinkedHashMap<>();
+        fields.put("_version", field("Date"));
+        fields.put("startDate", field("Date"));
+        fields.put("rewards", rewards);
+
+        List<IndexDefinition> plan = SchemaIndexPlanner.plan(fields);
+
+        // Without an endDate, startDate is indexed on its own
+        assertEquals(List.of("schema_startDate", "schema_rewards.expiresAt"),
+                plan.stream().map(IndexDefinition::getName).toList());
+    }
+
+    @Test
+    void shouldPlanNothingForFlatScalarSchema() {
+        assertTrue(SchemaIndexPlanner.plan(Map.of("name", field("String"))).isEmpty());
+        assertTrue(SchemaIndexPlanner.plan(null).isEmpty());
+    }
+
+    private static FieldDefinition field(String type) {
+        FieldDefinition def = new FieldDefinition();
+        def.setType(type);
+        return def;
+    }
+}
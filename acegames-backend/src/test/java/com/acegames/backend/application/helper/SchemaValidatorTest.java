@@ -0,0 +1,134 @@
+package com.acegames.backend.application.helper;
+
+import com.acegames.backend.application.dto.FieldViolation;
+import com.acegames.backend.domain.model.Cascade;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaValidatorTest {
+
+    private final SchemaValidator validator = SchemaValidator.compile(
+            ReflectionSchemaParser.parseClass(Cascade.class), SchemaValidator.enumValueSets());
+
+    @Test
+    void shouldAcceptValidCascade() {
+        assertEquals(List.of(), validator.validate(cascade()));
+    }
+
+    @Test
+    void shouldReportNestedViolationsWithIndexedPaths() {
+        Map<String, Object> cascade = cascade();
+        cascade.put("name", 12);
+        Map<String, Object> reward = reward(1);
+        reward.put("tradeType", "GOLD");
+        reward.put("value", "ten");
+        stepGroups(cascade).get(1).put("steps", List.of(step(1), Map.of("step", 2, "rewards", List.of(reward(1), reward))));
+
+        List<FieldViolation> violations = validator.validate(cascade);
+
+        assertEquals(List.of("name", "stepInfo[1].steps[1].rewards[1].tradeType", "stepInfo[1].steps[1].rewards[1].value"),
+                violations.stream().map(FieldViolation::getPath).sorted().toList());
+        assertEquals("enum", violations.stream()
+                .filter(violation -> violation.getPath().endsWith("tradeType")).findFirst().orElseThrow().getRule());
+    }
+
+    @Test
+    void shouldRejectWrongContainerTypes() {
+        Map<String, Object> cascade = new HashMap<>();
+        cascade.put("stepInfo", Map.of("group", "A"));
+        cascade.put("stepRule", List.of("heavy"));
+
+        assertEquals(List.of("stepInfo", "stepRule[0]"),
+                validator.validate(cascade).stream().map(FieldViolation::getPath).sorted().toList());
+    }
+
+    @Test
+    void shouldAcceptReferenceIdStringsNullsAndInternalFields() {
+        Map<String, Object> partial = new HashMap<>();
+        partial.put("skinId", "65f0c0ffee0000000000abcd");
+        partial.put("endDate", null);
+        partial.put("_version", "anything");
+
+        assertTrue(validator.validate(partial).isEmpty());
+    }
+
+    @Test
+    void shouldResolveDottedUpdateKeys() {
+        List<FieldViolation> violations = validator.validate(Map.of(
+                "stepInfo.0.steps.2.rewards.0.eventType", "NOPE",
+                "stepInfo.0.group", "B"));
+
+        assertEquals(1, violations.size());
+        assertEquals("stepInfo[0].steps[2].rewards[0].eventType", violations.get(0).getPath());
+    }
+
+    @Test
+    void shouldRejectMalformedDates() {
+        Map<String, Object> cascade = cascade();
+        cascade.put("startDate", "tomorrow");
+        cascade.put("endDate", "2025-13-01");
+
+        List<FieldViolation> violations = validator.validate(cascade);
+
+        assertEquals(List.of("endDate", "startDate"), violations.stream().map(FieldViolation::getPath).sorted().toList());
+        assertEquals("tomorrow", cascade.get("startDate"));
+    }
+
+    @Test
+    void shouldStoreIsoAndBsonDatesAsEpochMillis() {
+        Map<String, Object> cascade = cascade();
+        cascade.put("startDate", "2025-01-01");
+        cascade.put("endDate", new Date(1_735_776_000_000L));
+        Map<String, Object> update = new HashMap<>();
+        update.put("endDate", "2025-01-02T00:00:00Z");
+
+        assertTrue(validator.validate(cascade).isEmpty());
+        assertTrue(validator.validate(update).isEmpty());
+        assertEquals(1_735_689_600_000L, cascade.get("startDate"));
+        assertEquals(1_735_776_000_000L, cascade.get("endDate"));
+        assertEquals(1_735_776_000_000L, update.get("endDate"));
+    }
+
+    private static Map<String, Object> cascade() {
+        Map<String, Object> cascade = new HashMap<>();
+        cascade.put("_id", "65f0c0ffee0000000000abcd");
+        cascade.put("name", "Spring Cascade");
+        cascade.put("skinId", 3);
+        cascade.put("startDate", 1_700_000_000_000L);
+        cascade.put("endDate", 1_700_086_400_000L);
+        cascade.put("stepRule", List.of(Map.of("tileId", 1, "weight", 10), Map.of("tileId", 2, "weight", 5)));
+        List<Map<String, Object>> groups = new ArrayList<>();
+        for (String group : List.of("A", "B")) {
+            Map<String, Object> stepGroup = new HashMap<>();
+            stepGroup.put("group", group);
+            stepGroup.put("steps", List.of(step(1), step(2)));
+            groups.add(stepGroup);
+        }
+        cascade.put("stepInfo", groups);
+        return cascade;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> stepGroups(Map<String, Object> cascade) {
+        return (List<Map<String, Object>>) cascade.get("stepInfo");
+    }
+
+    private static Map<String, Object> step(int step) {
+        return Map.of("step", step, "requiredStep", step - 1, "rewards", List.of(reward(step)));
+    }
+
+    private static Map<String, Object> reward(int value) {
+        Map<String, Object> reward = new HashMap<>();
+        reward.put("tradeType", "CURRENCY");
+        reward.put("value", value);
+        reward.put("remainingSeconds", 60);
+        return reward;
+    }
+}
@@ -0,0 +1,205 @@
+package com.acegames.backend.benchmark;
+
+import com.acegames.backend.AcegamesBackendApplication;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput and tail latency of {@code GenericCrudController} reads under concurrent clients, with
+ * requests handled on Tomcat's platform thread pool or on virtual threads. Mongo is replaced by a
+ * stand-in that blocks for a fixed latency per query, so the run shows how request threads behave
+ * while waiting on I/O. Needs Java 21 for the virtual mode.
+ * Usage: {@code CrudLoadBenchmark platform|virtual [clients] [seconds] [latencyMs]}.
+ */
+public class CrudLoadBenchmark {
+
+    private static final String COLLECTION = "skin";
+    private static final int DOCUMENTS = 50;
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "platform";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        long latencyMillis = args.length > 3 ? Long.parseLong(args[3]) : 50;
+
+        boolean virtual = switch (mode) {
+            case "platform" -> false;
+            case "virtual" -> true;
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        };
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21, running on " + Runtime.version());
+        }
+
+        List<ObjectId> ids = new ArrayList<>(DOCUMENTS);
+        for (int i = 0; i < DOCUMENTS; i++) {
+            ids.add(new ObjectId());
+        }
+        LatencyMongoTemplate mongoTemplate = new LatencyMongoTemplate(ids, latencyMillis);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AcegamesBackendApplication.class)
+                .initializers(ctx -> ctx.getBeanFactory().registerSingleton("mongoTemplate", mongoTemplate))
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--app.schema.registration.enabled=false",
+                        "--spring.data.mongodb.uri=mongodb://localhost:1/loadtest?serverSelectionTimeoutMS=500",
+                        "--logging.level.root=WARN")) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port + "/api/content/" + COLLECTION;
+
+            // Warm up the JIT and the client's connection pool before measuring
+            run(base, ids, clients, Math.max(2, seconds / 3));
+            Result result = run(base, ids, clients, seconds);
+
+            System.out.printf("crud load [%s]: %d clients, %d ms Mongo latency, %d s on Java %d%n",
+                    mode, clients, latencyMillis, seconds, Runtime.version().feature());
+            System.out.printf("  %,d requests, %,d errors, %.0f req/s, p50 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                    result.latencies.length, result.errors, result.latencies.length / (double) seconds,
+                    percentile(result.latencies, 0.50), percentile(result.latencies, 0.99),
+                    percentile(result.latencies, 1.0));
+        }
+    }
+
+    /**
+     * Every client loops on its own connection; one request in five lists the collection (two
+     * queries), the rest fetch a single document (one query).
+     */
+    private static Result run(String base, List<ObjectId> ids, int clients, int seconds) throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        long[][] perClient = new long[clients][];
+        int[] counts = new int[clients];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(clients);
+
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            Thread thread = new Thread(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                try {
+                    for (int i = client; System.nanoTime() < deadline; i++) {
+                        String uri = i % 5 == 0 ? base : base + "/" + ids.get(i % ids.size()).toHexString();
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(uri)).GET().build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    perClient[client] = latencies;
+                    counts[client] = count;
+                    done.countDown();
+                }
+            }, "load-client-" + c);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(perClient[c], 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(all);
+        return new Result(all, errors.get());
+    }
+
+    private static double percentile(long[] sortedNanos, double fraction) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(fraction * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private record Result(long[] latencies, long errors) {
+    }
+
+    /**
+     * Answers the two queries behind the read endpoints after sleeping for the configured latency,
+     * the way a request thread blocks on the driver's socket while Mongo works.
+     */
+    private static final class LatencyMongoTemplate extends OfflineMongoTemplate {
+        private final List<ObjectId> ids;
+        private final long latencyMillis;
+
+        LatencyMongoTemplate(List<ObjectId> ids, long latencyMillis) {
+            this.ids = ids;
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> findAll(Class<T> entityClass, String collectionName) {
+            awaitServer();
+            List<Document> docs = new ArrayList<>(ids.size());
+            for (ObjectId id : ids) {
+                docs.add(document(id));
+            }
+            return (List<T>) docs;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T findById(Object id, Class<T> entityClass, String collectionName) {
+            awaitServer();
+            if (collectionName.equals("content_versions")) {
+                return (T) new Document("_id", id).append("version", 1L);
+            }
+            if (collectionName.equals(COLLECTION) && id instanceof ObjectId objectId) {
+                return (T) document(objectId);
+            }
+            return null;
+        }
+
+        private static Document document(ObjectId id) {
+            return new Document("_id", id)
+                    .append("name", "Skin " + id.getTimestamp())
+                    .append("tileIds", List.of(1, 2, 3))
+                    .append("_version", 1L);
+        }
+
+        private void awaitServer() {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.acegames.backend.benchmark;
+
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * A {@link MongoTemplate} with no database behind it, for benchmarks that override the queries
+ * they exercise. Anything not overridden that reaches the database fails with
+ * {@link UnsupportedOperationException}. Shared by the JMH benchmarks and the load benchmark.
+ */
+public abstract class OfflineMongoTemplate extends MongoTemplate {
+
+    protected OfflineMongoTemplate() {
+        super(offlineFactory());
+    }
+
+    private static MongoDatabaseFactory offlineFactory() {
+        MongoExceptionTranslator translator = new MongoExceptionTranslator();
+        return (MongoDatabaseFactory) Proxy.newProxyInstance(MongoDatabaseFactory.class.getClassLoader(),
+                new Class<?>[]{MongoDatabaseFactory.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("getExceptionTranslator")) {
+                        return translator;
+                    }
+                    throw new UnsupportedOperationException("No database in benchmarks: " + method.getName());
+                });
+    }
+}
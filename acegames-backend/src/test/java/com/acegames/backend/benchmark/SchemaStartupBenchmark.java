@@ -0,0 +1,36 @@
+package com.acegames.backend.benchmark;
+
+import com.acegames.backend.application.helper.ModelSchemaResolver;
+import com.acegames.backend.application.helper.ReflectionSchemaParser;
+
+import java.util.List;
+
+/**
+ * Cold-start cost of producing every model schema, run once per fresh JVM so class loading and
+ * first-call costs are included. Usage: {@code SchemaStartupBenchmark generated|reflection}.
+ */
+public class SchemaStartupBenchmark {
+
+    private static final List<String> MODELS = List.of("Skin", "PurchaseProduct", "Offer", "Cascade", "Tile");
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "generated";
+
+        long start = System.nanoTime();
+        int fieldCount = 0;
+        for (String model : MODELS) {
+            Class<?> clazz = Class.forName("com.acegames.backend.domain.model." + model);
+            fieldCount += switch (mode) {
+                case "generated" -> ModelSchemaResolver.findGenerated(clazz)
+                        .orElseThrow(() -> new IllegalStateException("No generated schema for " + model))
+                        .size();
+                case "reflection" -> ReflectionSchemaParser.parseClass(clazz).size();
+                default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+            };
+        }
+        long elapsedMicros = (System.nanoTime() - start) / 1_000;
+
+        System.out.printf("schema startup [%s]: %d models, %d top-level fields in %d us%n",
+                mode, MODELS.size(), fieldCount, elapsedMicros);
+    }
+}
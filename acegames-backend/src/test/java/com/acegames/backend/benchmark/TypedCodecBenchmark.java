@@ -0,0 +1,129 @@
+package com.acegames.backend.benchmark;
+
+import com.acegames.backend.domain.enums.EventType;
+import com.acegames.backend.domain.enums.TradeType;
+import com.acegames.backend.domain.model.Cascade;
+import com.acegames.backend.domain.model.Reward;
+import com.acegames.backend.domain.model.Step;
+import com.acegames.backend.domain.model.StepGroup;
+import com.acegames.backend.domain.model.TileWeight;
+import com.acegames.backend.infrastructure.codec.DomainCodecProvider;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.ObjectId;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decode and encode cost of one large Cascade through the untyped {@code Document} path versus the
+ * typed domain codec, measured against raw BSON bytes as they arrive from the driver.
+ * Reports mean latency and bytes allocated per operation. Usage: {@code TypedCodecBenchmark [iterations]}.
+ */
+public class TypedCodecBenchmark {
+
+    private static final DecoderContext DECODE = DecoderContext.builder().build();
+    private static final EncoderContext ENCODE = EncoderContext.builder().build();
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+
+        Codec<Document> documentCodec = DomainCodecProvider.REGISTRY.get(Document.class);
+        Codec<Cascade> cascadeCodec = DomainCodecProvider.REGISTRY.get(Cascade.class);
+
+        Cascade cascade = cascade(5, 10, 3);
+        byte[] bson = encode(cascadeCodec, cascade);
+        Document document = decode(documentCodec, bson);
+
+        System.out.printf("Cascade: %d bytes of BSON, %d iterations%n", bson.length, iterations);
+        report("decode Document", iterations, () -> decode(documentCodec, bson));
+        report("decode Cascade ", iterations, () -> decode(cascadeCodec, bson));
+        report("encode Document", iterations, () -> encode(documentCodec, document));
+        report("encode Cascade ", iterations, () -> encode(cascadeCodec, cascade));
+    }
+
+    private static void report(String label, int iterations, Runnable operation) {
+        // Warm up until the JIT has compiled the codec paths
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+
+        System.out.printf("%s: %8.2f us/op %10d B/op%n", label, elapsed / 1_000.0 / iterations, allocated / iterations);
+    }
+
+    private static <T> T decode(Codec<T> codec, byte[] bson) {
+        try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(bson))) {
+            return codec.decode(reader, DECODE);
+        }
+    }
+
+    private static <T> byte[] encode(Codec<T> codec, T value) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer(8192);
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            codec.encode(writer, value, ENCODE);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static Cascade cascade(int groups, int stepsPerGroup, int rewardsPerStep) {
+        List<StepGroup> stepInfo = new ArrayList<>();
+        for (int g = 0; g < groups; g++) {
+            List<Step> steps = new ArrayList<>();
+            for (int s = 0; s < stepsPerGroup; s++) {
+                List<Reward> rewards = new ArrayList<>();
+                for (int r = 0; r < rewardsPerStep; r++) {
+                    Reward reward = new Reward();
+                    reward.setTradeType(TradeType.values()[r % TradeType.values().length]);
+                    reward.setEventType(EventType.LOGIN);
+                    reward.setValue(100 * r + s);
+                    reward.setRemainingSeconds(3_600);
+                    rewards.add(reward);
+                }
+                Step step = new Step();
+                step.setStep(s);
+                step.setRequiredStep(s > 0 ? s - 1 : null);
+                step.setRewards(rewards);
+                steps.add(step);
+            }
+            StepGroup group = new StepGroup();
+            group.setGroup("group-" + g);
+            group.setSteps(steps);
+            stepInfo.add(group);
+        }
+
+        List<TileWeight> stepRule = new ArrayList<>();
+        for (int t = 0; t < 6; t++) {
+            TileWeight weight = new TileWeight();
+            weight.setTileId(t);
+            weight.setWeight(10 + t);
+            stepRule.add(weight);
+        }
+
+        Cascade cascade = new Cascade();
+        cascade.set_id(new ObjectId().toHexString());
+        cascade.setName("Benchmark Cascade");
+        cascade.setSkinId(12);
+        cascade.setStartDate(1_700_000_000_000L);
+        cascade.setEndDate(1_700_604_800_000L);
+        cascade.setStepRule(stepRule);
+        cascade.setStepInfo(stepInfo);
+        return cascade;
+    }
+}
@@ -0,0 +1,132 @@
+package com.acegames.backend.infrastructure.changestream;
+
+import com.acegames.backend.application.dto.ContentChangeNotification;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentChangeBroadcasterTest {
+
+    @Test
+    void shouldSendChangesOnlyForSubscribedCollections() {
+        ContentChangeBroadcaster broadcaster = new ContentChangeBroadcaster(10, 16, Runnable::run);
+        RecordingEmitter skins = new RecordingEmitter();
+        RecordingEmitter everything = new RecordingEmitter();
+        broadcaster.subscribe(skins, Set.of("skin"), null);
+        broadcaster.subscribe(everything, Set.of(), null);
+
+        broadcaster.publish(change("skin", "a", "t1"));
+        broadcaster.publish(change("offer", "b", "t2"));
+
+        assertEquals(2, skins.events.size());
+        assertTrue(skins.events.get(1).contains("id:t1\nevent:skin\n"));
+        assertEquals(3, everything.events.size());
+        assertTrue(everything.events.get(2).contains("event:offer"));
+    }
+
+    @Test
+    void shouldReplayChangesAfterLastEventIdAndResetWhenItIsGone() {
+        ContentChangeBroadcaster broadcaster = new ContentChangeBroadcaster(2, 16, Runnable::run);
+        broadcaster.publish(change("skin", "a", "t1"));
+        broadcaster.publish(change("skin", "b", "t2"));
+        broadcaster.publish(change("skin", "c", "t3"));
+
+        RecordingEmitter resumed = new RecordingEmitter();
+        broadcaster.subscribe(resumed, Set.of("skin"), "t2");
+        assertEquals(2, resumed.events.size());
+        assertTrue(resumed.events.get(1).contains("id:t3"));
+
+        RecordingEmitter tooLate = new RecordingEmitter();
+        broadcaster.subscribe(tooLate, Set.of("skin"), "t1");
+        assertEquals(2, tooLate.events.size());
+        assertTrue(tooLate.events.get(1).contains("event:reset"));
+    }
+
+    @Test
+    void shouldDropSubscribersThatCanNoLongerBeWritten() {
+        ContentChangeBroadcaster broadcaster = new ContentChangeBroadcaster(10, 16, Runnable::run);
+        RecordingEmitter gone = new RecordingEmitter();
+        gone.failing = true;
+        broadcaster.subscribe(gone, Set.of(), null);
+
+        broadcaster.publish(change("skin", "a", "t1"));
+
+        assertEquals(0, broadcaster.subscriberCount());
+        assertEquals(1, broadcaster.recent().size());
+    }
+
+    @Test
+    void shouldQueueSendsOffThePublishingThreadAndDropSubscribersThatFallBehind() {
+        List<Runnable> tasks = new ArrayList<>();
+        ContentChangeBroadcaster broadcaster = new ContentChangeBroadcaster(10, 2, tasks::add);
+        RecordingEmitter slow = new RecordingEmitter();
+        broadcaster.subscribe(slow, Set.of(), null);
+
+        broadcaster.publish(change("skin", "a", "t1"));
+        broadcaster.publish(change("skin", "b", "t2"));
+
+        // Nothing is written until the drain task runs, and one task drains the ready event and both changes
+        assertTrue(slow.events.isEmpty());
+        assertEquals(1, tasks.size());
+        tasks.remove(0).run();
+        assertEquals(3, slow.events.size());
+
+        broadcaster.publish(change("skin", "c", "t3"));
+        broadcaster.publish(change("skin", "d", "t4"));
+        broadcaster.publish(change("skin", "e", "t5"));
+        broadcaster.publish(change("skin", "f", "t6"));
+
+        assertEquals(0, broadcaster.subscriberCount());
+        assertTrue(slow.completed);
+        tasks.forEach(Runnable::run);
+        assertEquals(3, slow.events.size());
+        assertEquals(6, broadcaster.recent().size());
+    }
+
+    @Test
+    void shouldStartWithReadyAndReportLivenessChanges() {
+        ContentChangeBroadcaster broadcaster = new ContentChangeBroadcaster(10, 16, Runnable::run);
+        RecordingEmitter early = new RecordingEmitter();
+        broadcaster.subscribe(early, Set.of("skin"), null);
+        broadcaster.status(true);
+        broadcaster.status(true);
+        RecordingEmitter late = new RecordingEmitter();
+        broadcaster.subscribe(late, Set.of("skin"), null);
+        broadcaster.status(false);
+
+        assertEquals(List.of("event:ready\ndata:{live=false}\n\n", "event:status\ndata:{live=true}\n\n",
+                "event:status\ndata:{live=false}\n\n"), early.events);
+        assertEquals(List.of("event:ready\ndata:{live=true}\n\n", "event:status\ndata:{live=false}\n\n"), late.events);
+    }
+
+    private static ContentChangeNotification change(String collection, String id, String token) {
+        return new ContentChangeNotification(collection, "update", id, token);
+    }
+
+    // Records each event as the text written to the wire, with the payload rendered by toString
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new ArrayList<>();
+        private boolean failing;
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            events.add(builder.build().stream().map(data -> String.valueOf(data.getData())).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
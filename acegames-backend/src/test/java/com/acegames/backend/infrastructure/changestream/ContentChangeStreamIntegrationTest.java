@@ -0,0 +1,113 @@
+package com.acegames.backend.infrastructure.changestream;
+
+import com.acegames.backend.application.dto.ContentChangeNotification;
+import com.acegames.backend.infrastructure.cache.SchemaCache;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs against the single-node replica set from docker-compose.replset.yml; skipped unless
+ * ACEGAMES_REPLSET_URI points at it.
+ */
+@EnabledIfEnvironmentVariable(named = "ACEGAMES_REPLSET_URI", matches = ".+")
+class ContentChangeStreamIntegrationTest {
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private SchemaCache schemaCache;
+    private ContentChangeBroadcaster broadcaster;
+    private ContentChangeStreamListener listener;
+
+    @BeforeEach
+    void setUp() {
+        client = MongoClients.create(System.getenv("ACEGAMES_REPLSET_URI"));
+        mongoTemplate = new MongoTemplate(client, "acegames_change_stream_test");
+        mongoTemplate.getDb().drop();
+        schemaCache = mock(SchemaCache.class);
+        broadcaster = new ContentChangeBroadcaster(100, 16, Runnable::run);
+        listener = new ContentChangeStreamListener(mongoTemplate, mock(ApplicationEventPublisher.class), schemaCache, broadcaster, new ContentChangeStreamStatus(), 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.stop();
+        client.close();
+    }
+
+    @Test
+    void shouldDeliverContentAndSchemaWritesButNotCounters() throws InterruptedException {
+        listener.start();
+        ObjectId skin = new ObjectId();
+        awaitStreamOpen();
+
+        mongoTemplate.insert(new Document("_id", skin).append("name", "Red"), "skin");
+        mongoTemplate.insert(new Document("_id", "skin").append("version", 1L), "content_versions");
+        mongoTemplate.insert(new Document("collection", "skin"), "schemas");
+
+        List<ContentChangeNotification> changes = await(this::contentChanges, 2);
+        assertEquals("skin", changes.get(0).getCollection());
+        assertEquals("insert", changes.get(0).getOperation());
+        assertEquals(skin.toHexString(), changes.get(0).getDocumentId());
+        assertEquals("schemas", changes.get(1).getCollection());
+        verify(schemaCache, timeout(5000)).clear();
+    }
+
+    @Test
+    void shouldResumeAfterRestartWithoutMissingWrites() throws InterruptedException {
+        listener.start();
+        awaitStreamOpen();
+        mongoTemplate.insert(new Document("name", "first"), "tile");
+        await(this::contentChanges, 1);
+        listener.stop();
+
+        // Written while the listener was down; the resume token brings it back
+        mongoTemplate.insert(new Document("name", "second"), "tile");
+        listener.start();
+
+        List<ContentChangeNotification> changes = await(this::contentChanges, 2);
+        assertEquals(2, changes.size());
+    }
+
+    // The stream only sees writes made after it opened; a probe write confirms it is open
+    private void awaitStreamOpen() throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            mongoTemplate.insert(new Document("attempt", attempt), "probe");
+            Thread.sleep(100);
+            if (!broadcaster.recent().isEmpty()) {
+                broadcaster.reset("probe");
+                return;
+            }
+        }
+        fail("Change stream did not open; is ACEGAMES_REPLSET_URI a replica set?");
+    }
+
+    private List<ContentChangeNotification> contentChanges() {
+        return broadcaster.recent().stream().filter(change -> !change.getCollection().equals("probe")).toList();
+    }
+
+    private static List<ContentChangeNotification> await(Supplier<List<ContentChangeNotification>> changes, int count)
+            throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            if (changes.get().size() >= count) {
+                return changes.get();
+            }
+            Thread.sleep(100);
+        }
+        fail("Expected " + count + " changes, got " + changes.get());
+        return List.of();
+    }
+}
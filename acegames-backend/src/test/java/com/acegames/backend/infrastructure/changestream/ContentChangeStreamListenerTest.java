@@ -0,0 +1,180 @@
+package com.acegames.backend.infrastructure.changestream;
+
+import com.acegames.backend.application.dto.ContentChangeNotification;
+import com.acegames.backend.application.event.ContentChangedEvent;
+import com.acegames.backend.infrastructure.cache.SchemaCache;
+import com.mongodb.MongoNamespace;
+import com.mongodb.MongoSocketReadException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ContentChangeStreamListenerTest {
+
+    private MongoTemplate mongoTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    private SchemaCache schemaCache;
+    private ContentChangeBroadcaster broadcaster;
+    private ContentChangeStreamStatus status;
+    private ContentChangeStreamListener listener;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        schemaCache = mock(SchemaCache.class);
+        broadcaster = new ContentChangeBroadcaster(10, 16, Runnable::run);
+        status = new ContentChangeStreamStatus();
+        listener = new ContentChangeStreamListener(mongoTemplate, eventPublisher, schemaCache, broadcaster, status, 10);
+    }
+
+    @Test
+    void shouldRepublishContentChangesAndBroadcastThem() {
+        ObjectId id = new ObjectId();
+        listener.handle(change("cascade", "update", new BsonObjectId(id), "t1"));
+
+        verify(eventPublisher).publishEvent(new ContentChangedEvent("cascade", id.toHexString()));
+        verifyNoInteractions(schemaCache);
+        ContentChangeNotification notification = broadcaster.recent().get(0);
+        assertEquals("cascade", notification.getCollection());
+        assertEquals("update", notification.getOperation());
+        assertEquals(id.toHexString(), notification.getDocumentId());
+        assertEquals("t1", notification.getResumeToken());
+    }
+
+    @Test
+    void shouldClearSchemaCacheOnSchemaWritesAndTreatDropsAsBulkChanges() {
+        listener.handle(change("schemas", "replace", new BsonString("skin"), "t1"));
+        listener.handle(change("tile", "drop", null, "t2"));
+        listener.handle(change("tile", "insert", new BsonInt32(7), "t3"));
+
+        verify(schemaCache).clear();
+        verify(eventPublisher).publishEvent(new ContentChangedEvent("schemas", "skin"));
+        verify(eventPublisher).publishEvent(new ContentChangedEvent("tile", null));
+        verify(eventPublisher).publishEvent(new ContentChangedEvent("tile", "7"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRaiseWriteCountersToTheClusterTimeBeforePublishing() {
+        MongoCollection<Document> versions = mock(MongoCollection.class);
+        when(mongoTemplate.getCollection("content_versions")).thenReturn(versions);
+        BsonTimestamp clusterTime = new BsonTimestamp(1_760_000_000, 3);
+        ChangeStreamDocument<Document> skin = change("skin", "update", new BsonString("a"), "t1");
+        when(skin.getClusterTime()).thenReturn(clusterTime);
+        ChangeStreamDocument<Document> schema = change("schemas", "replace", new BsonString("skin"), "t2");
+        when(schema.getClusterTime()).thenReturn(clusterTime);
+
+        listener.handle(skin);
+        listener.handle(schema);
+
+        InOrder order = inOrder(versions, eventPublisher);
+        order.verify(versions).updateOne(eq(Filters.eq("_id", "skin")), eq(Updates.max("version", clusterTime.getValue())),
+                argThat((UpdateOptions options) -> options.isUpsert()));
+        order.verify(eventPublisher).publishEvent(new ContentChangedEvent("skin", "a"));
+        verifyNoMoreInteractions(versions);
+    }
+
+    @Test
+    void shouldIgnoreVersionCounters() {
+        listener.handle(change("content_versions", "update", new BsonString("skin"), "t1"));
+
+        verifyNoInteractions(eventPublisher);
+        assertTrue(broadcaster.recent().isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldResumeAfterLastHandledChangeWhenStreamFails() throws Exception {
+        MongoDatabase database = mock(MongoDatabase.class);
+        ChangeStreamIterable<Document> stream = mock(ChangeStreamIterable.class);
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> first = mock(MongoChangeStreamCursor.class);
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> resumed = mock(MongoChangeStreamCursor.class);
+        when(mongoTemplate.getDb()).thenReturn(database);
+        when(database.watch(anyList())).thenReturn(stream);
+        when(stream.maxAwaitTime(anyLong(), any(TimeUnit.class))).thenReturn(stream);
+        when(stream.resumeAfter(any(BsonDocument.class))).thenReturn(stream);
+        when(stream.cursor()).thenReturn(first, resumed);
+        ChangeStreamDocument<Document> handled = change("skin", "insert", new BsonString("a"), "t1");
+        when(first.tryNext()).thenReturn(handled).thenThrow(new MongoSocketReadException("reset", new ServerAddress()));
+
+        listener.start();
+        try {
+            verify(stream, timeout(2000)).resumeAfter(new BsonDocument("_data", new BsonString("t1")));
+            verify(resumed, timeout(2000).atLeastOnce()).tryNext();
+        } finally {
+            listener.stop();
+        }
+        assertEquals(List.of("a"), broadcaster.recent().stream().map(ContentChangeNotification::getDocumentId).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRaiseOneEventPerCollectionForChangesFetchedTogether() {
+        MongoDatabase database = mock(MongoDatabase.class);
+        ChangeStreamIterable<Document> stream = mock(ChangeStreamIterable.class);
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = mock(MongoChangeStreamCursor.class);
+        when(mongoTemplate.getDb()).thenReturn(database);
+        when(mongoTemplate.getCollectionNames()).thenReturn(Set.of("tile", "content_versions"));
+        when(database.watch(anyList())).thenReturn(stream);
+        when(stream.maxAwaitTime(anyLong(), any(TimeUnit.class))).thenReturn(stream);
+        when(stream.cursor()).thenReturn(cursor);
+        // A bulk write of two skins, then a lone Offer update fetched in a later batch
+        ChangeStreamDocument<Document> first = change("skin", "insert", new BsonString("a"), "t1");
+        ChangeStreamDocument<Document> second = change("skin", "update", new BsonString("b"), "t2");
+        ChangeStreamDocument<Document> later = change("offer", "update", new BsonString("o"), "t3");
+        when(cursor.tryNext()).thenReturn(first).thenReturn(second).thenReturn(later).thenReturn(null);
+        when(cursor.available()).thenReturn(1, 0, 0);
+
+        listener.start();
+        try {
+            verify(eventPublisher, timeout(2000)).publishEvent(new ContentChangedEvent("offer", "o"));
+            assertTrue(status.isLive());
+        } finally {
+            listener.stop();
+        }
+        assertFalse(status.isLive());
+        // The fresh stream cannot know what it missed, so it starts by invalidating every collection
+        verify(eventPublisher).publishEvent(new ContentChangedEvent("tile", null));
+        verify(eventPublisher).publishEvent(new ContentChangedEvent("skin", null));
+        verify(eventPublisher, never()).publishEvent(new ContentChangedEvent("skin", "a"));
+        verify(eventPublisher, never()).publishEvent(new ContentChangedEvent("content_versions", null));
+        assertEquals(3, broadcaster.recent().size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ChangeStreamDocument<Document> change(String collection, String operation, org.bson.BsonValue id, String token) {
+        ChangeStreamDocument<Document> change = mock(ChangeStreamDocument.class);
+        when(change.getNamespace()).thenReturn(new MongoNamespace("acegames", collection));
+        when(change.getOperationTypeString()).thenReturn(operation);
+        when(change.getDocumentKey()).thenReturn(id == null ? null : new BsonDocument("_id", id));
+        when(change.getResumeToken()).thenReturn(new BsonDocument("_data", new BsonString(token)));
+        return change;
+    }
+}
@@ -0,0 +1,134 @@
+package com.acegames.backend.infrastructure.codec;
+
+import com.acegames.backend.domain.enums.EventType;
+import com.acegames.backend.domain.enums.TradeType;
+import com.acegames.backend.domain.model.Cascade;
+import com.acegames.backend.domain.model.Reward;
+import com.acegames.backend.domain.model.Step;
+import com.acegames.backend.domain.model.StepGroup;
+import com.acegames.backend.domain.model.TileWeight;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonInt64;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainModelCodecTest {
+
+    private final Codec<Cascade> codec = DomainCodecProvider.REGISTRY.get(Cascade.class);
+
+    @Test
+    void shouldRoundTripCascade() {
+        Cascade cascade = cascade();
+
+        Cascade decoded = decode(encode(cascade));
+
+        assertEquals(cascade, decoded);
+    }
+
+    @Test
+    void shouldStoreHexIdsAsObjectIdsAndSkipNulls() {
+        Cascade cascade = cascade();
+        cascade.setEndDate(null);
+
+        BsonDocument bson = encode(cascade);
+
+        assertEquals(new BsonObjectId(new ObjectId(cascade.get_id())), bson.get("_id"));
+        assertEquals("_id", bson.getFirstKey());
+        assertFalse(bson.containsKey("endDate"));
+        assertEquals(7, bson.getArray("stepInfo").get(0).asDocument()
+                .getArray("steps").get(0).asDocument()
+                .getArray("rewards").get(0).asDocument().getInt32("value").getValue());
+    }
+
+    @Test
+    void shouldDecodeDocumentsWrittenByTheUntypedPath() {
+        ObjectId id = new ObjectId();
+        Document stored = new Document("_id", id)
+                .append("name", "Spring")
+                .append("skinId", "65f0c0ffee0000000000abcd")
+                .append("startDate", 1_700_000_000_000L)
+                .append("endDate", 1_700_000_000)
+                .append("_version", 4L)
+                .append("stepRule", List.of(new Document("tileId", 2L).append("weight", 5.0)))
+                .append("stepInfo", List.of(new Document("group", "A")
+                        .append("steps", List.of(new Document("step", 1)
+                                .append("rewards", List.of(new Document("tradeType", "XP").append("value", 3)))))));
+
+        Cascade decoded = decode(stored.toBsonDocument());
+
+        assertEquals(id.toHexString(), decoded.get_id());
+        assertNull(decoded.getSkinId());
+        assertEquals(1_700_000_000L, decoded.getEndDate());
+        assertEquals(2, decoded.getStepRule().get(0).getTileId());
+        assertEquals(5, decoded.getStepRule().get(0).getWeight());
+        assertEquals(TradeType.XP, decoded.getStepInfo().get(0).getSteps().get(0).getRewards().get(0).getTradeType());
+    }
+
+    @Test
+    void shouldGenerateIdForInsertAndAppendRevision() {
+        DomainModelCodec<Cascade> domainCodec = (DomainModelCodec<Cascade>) codec;
+        Cascade cascade = cascade();
+        cascade.set_id(null);
+
+        assertFalse(domainCodec.documentHasId(cascade));
+        domainCodec.generateIdIfAbsentFromDocument(cascade);
+        assertTrue(ObjectId.isValid(cascade.get_id()));
+
+        BsonDocument bson = new BsonDocument();
+        new VersionStampingCodec<>(domainCodec, "_version")
+                .encode(new BsonDocumentWriter(bson), cascade, EncoderContext.builder().build());
+        assertEquals(new BsonInt64(1L), bson.get("_version"));
+    }
+
+    private BsonDocument encode(Cascade cascade) {
+        BsonDocument bson = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(bson), cascade, EncoderContext.builder().build());
+        return bson;
+    }
+
+    private Cascade decode(BsonDocument bson) {
+        return codec.decode(new BsonDocumentReader(bson), DecoderContext.builder().build());
+    }
+
+    private static Cascade cascade() {
+        Reward reward = new Reward();
+        reward.setTradeType(TradeType.CURRENCY);
+        reward.setEventType(EventType.LOGIN);
+        reward.setValue(7);
+        reward.setRemainingSeconds(60);
+
+        Step step = new Step();
+        step.setStep(1);
+        step.setRequiredStep(0);
+        step.setRewards(List.of(reward));
+
+        StepGroup group = new StepGroup();
+        group.setGroup("A");
+        group.setSteps(List.of(step));
+
+        TileWeight weight = new TileWeight();
+        weight.setTileId(3);
+        weight.setWeight(10);
+
+        Cascade cascade = new Cascade();
+        cascade.set_id(new ObjectId().toHexString());
+        cascade.setName("Spring");
+        cascade.setSkinId(4);
+        cascade.setStartDate(1_700_000_000_000L);
+        cascade.setEndDate(1_700_086_400_000L);
+        cascade.setStepRule(List.of(weight));
+        cascade.setStepInfo(List.of(group));
+        return cascade;
+    }
+}
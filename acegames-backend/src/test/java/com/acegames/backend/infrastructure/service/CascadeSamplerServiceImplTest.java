@@ -0,0 +1,104 @@
+package com.acegames.backend.infrastructure.service;
+
+import com.acegames.backend.application.dto.CascadeTileTable;
+import com.acegames.backend.application.dto.TileSample;
+import com.acegames.backend.application.event.ContentChangedEvent;
+import com.acegames.backend.application.service.GenericCrudService;
+import com.acegames.backend.runtime.AliasTable;
+import com.acegames.backend.web.exception.ResourceNotFoundException;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CascadeSamplerServiceImplTest {
+
+    private static final String ID = "65f0c0ffee0000000000000a";
+
+    private GenericCrudService crudService;
+    private CascadeSamplerServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        crudService = mock(GenericCrudService.class);
+        service = new CascadeSamplerServiceImpl(crudService);
+    }
+
+    @Test
+    void shouldOnlyDrawTilesWithPositiveWeight() {
+        when(crudService.findById("cascade", ID)).thenReturn(cascade(3L, rule(1, 5), rule(2, 0), rule(3, 5)));
+
+        TileSample sample = service.sample(ID, 500);
+
+        assertEquals(3L, sample.getVersion());
+        assertEquals(500, sample.getTileIds().length);
+        for (int tile : sample.getTileIds()) {
+            assertTrue(tile == 1 || tile == 3, "unexpected tile " + tile);
+        }
+    }
+
+    @Test
+    void shouldExportTableThatLoadsWithSameProbabilities() {
+        when(crudService.findById("cascade", ID)).thenReturn(cascade(1L, rule(7, 1), rule(8, 3)));
+
+        CascadeTileTable exported = service.table(ID);
+        AliasTable table = AliasTable.fromColumns(exported.getTileIds(), exported.getThresholds(), exported.getAliases(), exported.getTotal());
+
+        assertEquals(0.25, table.probability(0), 1e-12);
+        assertEquals(0.75, table.probability(1), 1e-12);
+        int tile = table.sample(new SplittableRandom(1));
+        assertTrue(tile == 7 || tile == 8);
+    }
+
+    @Test
+    void shouldCompileOnceUntilCascadeChanges() {
+        when(crudService.findById("cascade", ID)).thenReturn(cascade(1L, rule(1, 1)), cascade(2L, rule(2, 1)));
+
+        assertEquals(1L, service.sample(ID, 1).getVersion());
+        assertEquals(1L, service.sample(ID, 1).getVersion());
+        verify(crudService, times(1)).findById("cascade", ID);
+
+        service.onContentChanged(new ContentChangedEvent("skin", ID));
+        assertEquals(1L, service.sample(ID, 1).getVersion());
+
+        service.onContentChanged(new ContentChangedEvent("cascade", ID));
+        TileSample recompiled = service.sample(ID, 1);
+        assertEquals(2L, recompiled.getVersion());
+        assertArrayEquals(new int[]{2}, recompiled.getTileIds());
+        verify(crudService, times(2)).findById("cascade", ID);
+    }
+
+    @Test
+    void shouldDropEveryTableOnBulkChange() {
+        when(crudService.findById("cascade", ID)).thenReturn(cascade(1L, rule(1, 1)));
+        service.sample(ID, 1);
+
+        service.onContentChanged(new ContentChangedEvent("cascade", null));
+        service.sample(ID, 1);
+
+        verify(crudService, times(2)).findById("cascade", ID);
+    }
+
+    @Test
+    void shouldRejectMissingCascadeAndUnusableRequests() {
+        assertThrows(ResourceNotFoundException.class, () -> service.sample(ID, 1));
+
+        when(crudService.findById("cascade", ID)).thenReturn(cascade(1L, rule(1, 0)));
+        assertThrows(IllegalArgumentException.class, () -> service.sample(ID, 1));
+        assertThrows(IllegalArgumentException.class, () -> service.sample(ID, 0));
+        assertThrows(IllegalArgumentException.class, () -> service.sample(ID, CascadeSamplerServiceImpl.MAX_SAMPLE_COUNT + 1));
+    }
+
+    private static Document cascade(long version, Document... rules) {
+        return new Document("_id", ID).append("_version", version).append("stepRule", List.of(rules));
+    }
+
+    private static Document rule(int tileId, int weight) {
+        return new Document("tileId", tileId).append("weight", weight);
+    }
+}
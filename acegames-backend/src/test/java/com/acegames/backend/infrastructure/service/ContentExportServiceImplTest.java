@@ -0,0 +1,149 @@
+package com.acegames.backend.infrastructure.service;
+
+import com.acegames.backend.application.dto.ContentPackExport;
+import com.acegames.backend.application.dto.ContentSnapshot;
+import com.acegames.backend.application.dto.ContentSnapshot.CollectionSnapshot;
+import com.acegames.backend.application.dto.FieldDefinition;
+import com.acegames.backend.application.dto.ModelSchemaDto;
+import com.acegames.backend.application.helper.ReflectionSchemaParser;
+import com.acegames.backend.application.helper.SchemaFingerprint;
+import com.acegames.backend.application.service.ContentSnapshotService;
+import com.acegames.backend.application.service.ModelSchemaService;
+import com.acegames.backend.domain.enums.EventType;
+import com.acegames.backend.domain.enums.TradeType;
+import com.acegames.backend.domain.model.Cascade;
+import com.acegames.backend.domain.model.Skin;
+import com.acegames.backend.runtime.pack.ContentPack;
+import com.acegames.backend.runtime.pack.PackArray;
+import com.acegames.backend.runtime.pack.PackCollection;
+import com.acegames.backend.runtime.pack.PackKind;
+import com.acegames.backend.runtime.pack.PackRecord;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ContentExportServiceImplTest {
+
+    private static final ObjectId SUMMER = new ObjectId("65f0c0ffee0000000000000a");
+
+    private ContentSnapshotService snapshotService;
+    private ModelSchemaService modelSchemaService;
+    private ContentExportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        snapshotService = mock(ContentSnapshotService.class);
+        modelSchemaService = mock(ModelSchemaService.class);
+        service = new ContentExportServiceImpl(snapshotService, modelSchemaService);
+        when(modelSchemaService.getAllSchemas()).thenReturn(List.of(
+                schema("cascade", ReflectionSchemaParser.parseClass(Cascade.class)),
+                schema("skin", ReflectionSchemaParser.parseClass(Skin.class))));
+    }
+
+    @Test
+    void shouldLayOutCollectionsByTheirSchemaWithEnumOrdinals() {
+        when(snapshotService.current()).thenReturn(snapshot(5, Map.of(SUMMER.toHexString(), summer())));
+
+        ContentPackExport export = service.currentPack();
+
+        ContentPack pack = ContentPack.wrap(export.content());
+        assertEquals(5, pack.snapshotVersion());
+        assertEquals(List.of(TradeType.values().length, EventType.values().length),
+                List.of(pack.enums().get("TradeType").constants().size(), pack.enums().get("EventType").constants().size()));
+        PackCollection cascades = pack.collection("cascade");
+        PackRecord cascade = cascades.find(SUMMER.toHexString());
+        assertEquals(SUMMER.toHexString(), cascade.getString("_id"));
+        assertEquals("Summer", cascade.getString("name"));
+        assertEquals(1_719_792_000_000L, cascade.getLong("startDate"));
+        assertTrue(cascade.isNull("endDate"));
+
+        PackRecord step = cascade.getArray("stepInfo").getRecord(0, pack.newRecord()).getArray("steps").getRecord(1, pack.newRecord());
+        assertEquals(2, step.getInt("step"));
+        assertEquals(1, step.getInt("requiredStep"));
+        PackArray rewards = step.getArray("rewards");
+        PackRecord reward = rewards.getRecord(0, pack.newRecord());
+        assertEquals(TradeType.XP.ordinal(), reward.getOrdinal("tradeType"));
+        assertEquals(EventType.values()[0].name(), reward.getEnum("eventType"));
+        assertEquals(50, reward.getInt("value"));
+        assertEquals(PackKind.INT32, reward.type().field("value").type().kind());
+        assertEquals(1, export.report().getRecords().get("cascade"));
+        assertEquals(0, export.report().getRecords().get("skin"));
+        assertTrue(export.report().getRejected().isEmpty());
+    }
+
+    @Test
+    void shouldReuseThePackUntilTheSnapshotOrASchemaChanges() {
+        when(snapshotService.current()).thenReturn(snapshot(5, Map.of(SUMMER.toHexString(), summer())));
+        ContentPackExport first = service.currentPack();
+
+        assertSame(first, service.currentPack());
+
+        when(snapshotService.current()).thenReturn(snapshot(6, Map.of(SUMMER.toHexString(), summer().append("name", "Later"))));
+        ContentPackExport second = service.currentPack();
+        assertNotEquals(first.tag(), second.tag());
+        assertEquals("Later", ContentPack.wrap(second.content()).collection("cascade").record(0).getString("name"));
+
+        Map<String, FieldDefinition> fields = new LinkedHashMap<>(ReflectionSchemaParser.parseClass(Cascade.class));
+        fields.remove("stepRule");
+        when(modelSchemaService.getAllSchemas()).thenReturn(List.of(schema("cascade", fields)));
+        ContentPackExport third = service.currentPack();
+        assertNotEquals(second.tag(), third.tag());
+        assertNull(ContentPack.wrap(third.content()).collection("cascade").type().field("stepRule"));
+        assertNull(ContentPack.wrap(third.content()).collection("skin"));
+    }
+
+    @Test
+    void shouldReportRejectedDocumentsAndFieldsWithoutALayout() {
+        Map<String, FieldDefinition> fields = new LinkedHashMap<>(ReflectionSchemaParser.parseClass(Cascade.class));
+        FieldDefinition untyped = new FieldDefinition();
+        untyped.setType("Array");
+        fields.put("labels", untyped);
+        when(modelSchemaService.getAllSchemas()).thenReturn(List.of(schema("cascade", fields)));
+        Map<String, Document> documents = new LinkedHashMap<>();
+        documents.put(SUMMER.toHexString(), summer().append("labels", List.of("a")));
+        documents.put("broken", new Document("_id", "broken").append("skinId", "not a number"));
+        when(snapshotService.current()).thenReturn(snapshot(5, documents));
+
+        ContentPackExport export = service.currentPack();
+
+        assertEquals(List.of("cascade.labels"), export.report().getSkippedFields());
+        assertEquals(1, export.report().getRecords().get("cascade"));
+        assertTrue(export.report().getRejected().get("cascade").get("broken").startsWith("skinId: expected Number"));
+        assertEquals(-1, ContentPack.wrap(export.content()).collection("cascade").indexOf("broken"));
+    }
+
+    private static Document summer() {
+        Document reward = new Document("tradeType", "XP").append("eventType", EventType.values()[0].name()).append("value", 50);
+        Document firstStep = new Document("step", 1).append("rewards", List.of());
+        Document secondStep = new Document("step", 2).append("requiredStep", 1).append("rewards", List.of(reward));
+        return new Document("_id", SUMMER)
+                .append("name", "Summer")
+                .append("skinId", 3)
+                .append("startDate", 1_719_792_000_000L)
+                .append("stepRule", List.of(new Document("tileId", 1).append("weight", 10)))
+                .append("stepInfo", List.of(new Document("group", "A").append("steps", List.of(firstStep, secondStep))))
+                .append("_version", 4L);
+    }
+
+    private static ContentSnapshot snapshot(long version, Map<String, Document> cascades) {
+        return new ContentSnapshot(version, 1_700_000_000_000L, Map.of(
+                "cascade", new CollectionSnapshot("cascade", version, cascades),
+                "skin", new CollectionSnapshot("skin", 0, Map.of())));
+    }
+
+    private static ModelSchemaDto schema(String collection, Map<String, FieldDefinition> fields) {
+        ModelSchemaDto schema = new ModelSchemaDto();
+        schema.setCollection(collection);
+        schema.setFields(fields);
+        schema.setFingerprint(SchemaFingerprint.of(fields));
+        return schema;
+    }
+}
@@ -0,0 +1,174 @@
+package com.acegames.backend.infrastructure.service;
+
+import com.acegames.backend.application.dto.CollectionDelta;
+import com.acegames.backend.application.dto.ContentSnapshot;
+import com.acegames.backend.application.dto.ModelSchemaDto;
+import com.acegames.backend.application.dto.SnapshotDelta;
+import com.acegames.backend.application.event.ContentChangedEvent;
+import com.acegames.backend.application.service.GenericCrudService;
+import com.acegames.backend.application.service.ModelSchemaService;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ContentSnapshotServiceImplTest {
+
+    private static final ObjectId RED = new ObjectId("65f0c0ffee0000000000000a");
+    private static final ObjectId BLUE = new ObjectId("65f0c0ffee0000000000000b");
+
+    private GenericCrudService crudService;
+    private ModelSchemaService modelSchemaService;
+    private ContentSnapshotServiceImpl service;
+    private final Map<String, List<Document>> stored = new HashMap<>();
+    private final Map<String, Long> counters = new HashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        crudService = mock(GenericCrudService.class);
+        modelSchemaService = mock(ModelSchemaService.class);
+        // Rebuilds run inline so each test sees the swapped snapshot straight away
+        service = new ContentSnapshotServiceImpl(crudService, modelSchemaService, Runnable::run, 2);
+
+        when(modelSchemaService.getAllSchemas()).thenReturn(List.of(schema("skin"), schema("tile")));
+        stored.put("skin", List.of(doc(RED, "Red"), doc(BLUE, "Blue")));
+        stored.put("tile", List.of(new Document("_id", 7).append("name", "Seven")));
+        counters.put("skin", 3L);
+        counters.put("tile", 4L);
+        doAnswer(inv -> {
+            stored.get(inv.<String>getArgument(0)).forEach(doc -> inv.<Consumer<Document>>getArgument(1).accept(new Document(doc)));
+            return null;
+        }).when(crudService).streamAll(anyString(), any(Consumer.class));
+        when(crudService.getCollectionVersion(anyString())).thenAnswer(inv -> counters.getOrDefault(inv.<String>getArgument(0), 0L));
+    }
+
+    @Test
+    void shouldIndexRegisteredCollectionsById() {
+        ContentSnapshot snapshot = service.current();
+
+        assertEquals("Red", snapshot.get("skin", RED.toHexString()).get("name"));
+        assertEquals("Seven", snapshot.get("tile", "7").get("name"));
+        assertEquals(2, snapshot.all("skin").size());
+        assertSame(snapshot, service.current());
+        verify(crudService, times(1)).streamAll(eq("skin"), any());
+    }
+
+    @Test
+    void shouldReloadOnlyTheChangedCollectionAndShareTheRest() {
+        ContentSnapshot before = service.current();
+        stored.put("skin", List.of(doc(RED, "Crimson")));
+        counters.put("skin", 5L);
+
+        service.onContentChanged(new ContentChangedEvent("skin", RED.toHexString()));
+
+        ContentSnapshot after = service.current();
+        assertEquals(before.version() + 1, after.version());
+        assertEquals("Crimson", after.get("skin", RED.toHexString()).get("name"));
+        assertNull(after.get("skin", BLUE.toHexString()));
+        assertSame(before.collections().get("tile"), after.collections().get("tile"));
+        assertEquals("Red", before.get("skin", RED.toHexString()).get("name"));
+        verify(crudService, times(1)).streamAll(eq("tile"), any());
+    }
+
+    @Test
+    void shouldHandOutReadOnlyCopiesAndKeepThemWhileUnchanged() {
+        Document nested = doc(RED, "Red").append("tags", new ArrayList<>(List.of("a"))).append("meta", new Document("rarity", 3));
+        stored.put("skin", List.of(nested));
+        Document red = service.current().get("skin", RED.toHexString());
+
+        assertThrows(UnsupportedOperationException.class, () -> red.put("name", "Crimson"));
+        assertThrows(UnsupportedOperationException.class, () -> red.getList("tags", String.class).add("b"));
+        assertThrows(UnsupportedOperationException.class, () -> red.get("meta", Document.class).remove("rarity"));
+        assertThrows(UnsupportedOperationException.class, () -> red.entrySet().clear());
+        assertEquals(3, red.getEmbedded(List.of("meta", "rarity"), Integer.class));
+
+        counters.put("skin", 5L);
+        service.onContentChanged(new ContentChangedEvent("skin", null));
+        assertSame(red, service.current().get("skin", RED.toHexString()));
+    }
+
+    @Test
+    void shouldSendOnlyChangedAndRemovedDocumentsInDelta() {
+        long version = service.current().version();
+        stored.put("skin", List.of(doc(RED, "Red"), doc(new ObjectId("65f0c0ffee0000000000000c"), "Green")));
+        counters.put("skin", 5L);
+        service.onContentChanged(new ContentChangedEvent("skin", null));
+
+        SnapshotDelta delta = service.delta(version);
+
+        assertFalse(delta.isFull());
+        assertEquals(version + 1, delta.getToVersion());
+        assertEquals(List.of("skin"), new ArrayList<>(delta.getCollections().keySet()));
+        CollectionDelta skins = delta.getCollections().get("skin");
+        assertEquals(List.of("Green"), skins.getUpserted().stream().map(doc -> doc.get("name")).toList());
+        assertEquals(List.of(BLUE.toHexString()), skins.getRemoved());
+        assertTrue(service.delta(version + 1).getCollections().isEmpty());
+    }
+
+    @Test
+    void shouldSendFullSnapshotWhenSinceIsNotRetained() {
+        long version = service.current().version();
+        for (long counter = 5; counter <= 7; counter++) {
+            counters.put("skin", counter);
+            service.onContentChanged(new ContentChangedEvent("skin", null));
+        }
+
+        SnapshotDelta delta = service.delta(version);
+
+        assertTrue(delta.isFull());
+        assertEquals(2, delta.getCollections().get("skin").getUpserted().size());
+        assertEquals(1, delta.getCollections().get("tile").getUpserted().size());
+    }
+
+    @Test
+    void shouldPickUpCounterMovedByAnotherInstance() {
+        long version = service.current().version();
+        service.refreshIfStale();
+        verify(crudService, times(1)).streamAll(eq("skin"), any());
+
+        stored.put("tile", List.of());
+        counters.put("tile", 6L);
+        service.refreshIfStale();
+
+        assertEquals(version + 1, service.current().version());
+        assertTrue(service.current().all("tile").isEmpty());
+        verify(crudService, times(1)).streamAll(eq("skin"), any());
+    }
+
+    @Test
+    void shouldSendFullSnapshotForAVersionFromAnotherInstance() {
+        ContentSnapshotServiceImpl other = new ContentSnapshotServiceImpl(crudService, modelSchemaService, Runnable::run, 2);
+        long foreign = other.current().version();
+        long local = service.current().version();
+
+        // Same counters, but each instance numbers its own snapshots
+        assertNotEquals(foreign, local);
+        SnapshotDelta delta = service.delta(foreign);
+        assertTrue(delta.isFull());
+        assertEquals(local, delta.getToVersion());
+        assertEquals(2, delta.getCollections().get("skin").getUpserted().size());
+    }
+
+    private static ModelSchemaDto schema(String collection) {
+        ModelSchemaDto schema = new ModelSchemaDto();
+        schema.setCollection(collection);
+        return schema;
+    }
+
+    private static Document doc(ObjectId id, String name) {
+        return new Document("_id", id).append("name", name);
+    }
+}
@@ -0,0 +1,110 @@
+package com.acegames.backend.infrastructure.service;
+
+import com.acegames.backend.application.dto.FieldDefinition;
+import com.acegames.backend.application.dto.ModelSchemaDto;
+import com.acegames.backend.application.dto.DanglingReference;
+import com.acegames.backend.application.service.ModelSchemaService;
+import com.acegames.backend.application.service.ReferenceValidationService;
+import com.acegames.backend.web.exception.SchemaValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ContentValidationServiceImplTest {
+
+    private ModelSchemaService modelSchemaService;
+    private ReferenceValidationService referenceValidationService;
+    private ContentValidationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        modelSchemaService = mock(ModelSchemaService.class);
+        referenceValidationService = mock(ReferenceValidationService.class);
+        service = new ContentValidationServiceImpl(modelSchemaService, referenceValidationService, false);
+    }
+
+    @Test
+    void shouldSkipCollectionsWithoutSchema() {
+        when(modelSchemaService.getSchema("scratch")).thenReturn(Optional.empty());
+
+        assertDoesNotThrow(() -> service.validate("scratch", Map.of("anything", 1)));
+    }
+
+    @Test
+    void shouldRejectPayloadWithFieldPaths() {
+        when(modelSchemaService.getSchema("skin")).thenReturn(Optional.of(schema("fp-1", "String")));
+
+        SchemaValidationException ex = assertThrows(SchemaValidationException.class,
+                () -> service.validate("skin", Map.of("name", 5)));
+
+        assertEquals("name", ex.getFieldName());
+        assertEquals("type", ex.getValidationRule());
+        assertEquals(1, ex.getViolations().size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRecompileWhenSchemaFingerprintChanges() {
+        when(modelSchemaService.getSchema("skin"))
+                .thenReturn(Optional.of(schema("fp-1", "String")), Optional.of(schema("fp-2", "Number")));
+
+        assertDoesNotThrow(() -> service.validate("skin", Map.of("name", "Red")));
+        assertThrows(SchemaValidationException.class, () -> service.validate("skin", Map.of("name", "Red")));
+    }
+
+    @Test
+    void shouldRejectDanglingReferencesOnlyWhenEnabled() {
+        when(modelSchemaService.getSchema("skin")).thenReturn(Optional.of(schema("fp-1", "String")));
+        when(referenceValidationService.findDangling("skin", Map.of("name", "Red")))
+                .thenReturn(List.of(new DanglingReference(null, "name", "tile", "Red")));
+
+        assertDoesNotThrow(() -> service.validate("skin", Map.of("name", "Red")));
+        verifyNoInteractions(referenceValidationService);
+
+        ContentValidationServiceImpl checking = new ContentValidationServiceImpl(modelSchemaService, referenceValidationService, true);
+        SchemaValidationException ex = assertThrows(SchemaValidationException.class,
+                () -> checking.validate("skin", Map.of("name", "Red")));
+        assertEquals("reference", ex.getValidationRule());
+        assertEquals("name", ex.getFieldName());
+
+        // Payloads the schema rejects never reach the reference lookups
+        assertThrows(SchemaValidationException.class, () -> checking.validate("skin", Map.of("name", 5)));
+        verify(referenceValidationService, times(1)).findDangling(anyString(), anyMap());
+    }
+
+    @Test
+    void shouldKeyTheReferenceRejectionsOfABatchByPayloadIndex() {
+        List<Map<String, Object>> payloads = List.of(Map.of("name", "Red"), Map.of("name", "Blue"), Map.of("name", "Green"));
+        when(referenceValidationService.findDangling("skin", payloads)).thenReturn(List.of(
+                List.of(), List.of(new DanglingReference(null, "name", "tile", "Blue")), List.of()));
+
+        assertTrue(service.validateReferences("skin", payloads).isEmpty());
+        verifyNoInteractions(referenceValidationService);
+
+        ContentValidationServiceImpl checking = new ContentValidationServiceImpl(modelSchemaService, referenceValidationService, true);
+        Map<Integer, SchemaValidationException> rejected = checking.validateReferences("skin", payloads);
+
+        assertEquals(Set.of(1), rejected.keySet());
+        assertEquals("reference", rejected.get(1).getValidationRule());
+        assertEquals("name", rejected.get(1).getFieldName());
+    }
+
+    private static ModelSchemaDto schema(String fingerprint, String nameType) {
+        FieldDefinition name = new FieldDefinition();
+        name.setType(nameType);
+        ModelSchemaDto dto = new ModelSchemaDto();
+        dto.setCollection("skin");
+        dto.setFields(Map.of("name", name));
+        dto.setFingerprint(fingerprint);
+        return dto;
+    }
+}
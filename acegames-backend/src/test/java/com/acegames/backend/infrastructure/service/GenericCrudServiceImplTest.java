@@ -1,17 +1,49 @@
 package com.acegames.backend.infrastructure.service;
 
+import com.acegames.backend.application.dto.BulkItemResult;
+import com.acegames.backend.application.dto.BulkOperation;
+import com.acegames.backend.application.dto.BulkWriteReport;
+import com.acegames.backend.application.dto.ContentFilter;
+import com.acegames.backend.application.dto.ContentPage;
+import com.acegames.backend.application.dto.ContentPageRequest;
+import com.acegames.backend.application.event.ContentChangedEvent;
+import com.acegames.backend.application.service.ContentValidationService;
+import com.acegames.backend.domain.model.Cascade;
+import com.acegames.backend.infrastructure.changestream.ContentChangeStreamStatus;
+import com.acegames.backend.infrastructure.codec.DomainCodecProvider;
+import com.acegames.backend.web.exception.ResourceNotFoundException;
+import com.acegames.backend.web.exception.SchemaValidationException;
+import com.acegames.backend.web.exception.VersionConflictException;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import org.bson.BsonDocument;
 import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -20,18 +52,25 @@ import static org.mockito.Mockito.*;
 class GenericCrudServiceImplTest {
 
     private MongoTemplate mongoTemplate;
+    private ContentValidationService validationService;
+    private ApplicationEventPublisher eventPublisher;
+    private ContentChangeStreamStatus changeStream;
     private GenericCrudServiceImpl service;
 
     @BeforeEach
     void setUp() {
         mongoTemplate = mock(MongoTemplate.class);
-        service = new GenericCrudServiceImpl(mongoTemplate);
+        validationService = mock(ContentValidationService.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        changeStream = mock(ContentChangeStreamStatus.class);
+        service = new GenericCrudServiceImpl(mongoTemplate, validationService, eventPublisher, changeStream);
     }
 
     @Test
-    void shouldConvertObjectIdToHexStringWhenFindAllIsCalled() {
+    void shouldReturnDocumentsUntouchedWhenFindAllIsCalled() {
         // Arrange
-        Document doc1 = new Document("_id", new ObjectId());
+        ObjectId id1 = new ObjectId();
+        Document doc1 = new Document("_id", id1);
         Document doc2 = new Document("_id", new ObjectId());
         List<Document> docs = Arrays.asList(doc1, doc2);
         when(mongoTemplate.findAll(Document.class, "testCollection")).thenReturn(docs);
@@ -39,15 +78,270 @@ class GenericCrudServiceImplTest {
         // Act
         List<Document> result = service.findAll("testCollection");
 
-        // Assert
-        assertEquals(2, result.size());
-        for (Document doc : result) {
-            assertTrue(doc.get("_id") instanceof String);
-            assertEquals(24, ((String) doc.get("_id")).length());
-        }
+        // Assert: ObjectIds are rendered as hex by the JSON writer, not rewritten here
+        assertSame(docs, result);
+        assertEquals(id1, result.get(0).get("_id"));
         verify(mongoTemplate, times(1)).findAll(Document.class, "testCollection");
     }
 
+    @Test
+    void shouldFetchOneExtraDocumentToDetectNextPage() {
+        ObjectId first = new ObjectId();
+        ObjectId second = new ObjectId();
+        ObjectId third = new ObjectId();
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("testCollection")))
+                .thenReturn(new ArrayList<>(List.of(new Document("_id", first), new Document("_id", second), new Document("_id", third))));
+
+        ContentPageRequest request = new ContentPageRequest();
+        request.setLimit(2);
+        ContentPage page = service.findPage("testCollection", request);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Document.class), eq("testCollection"));
+        assertEquals(3, query.getValue().getLimit());
+        assertEquals(new Document("_id", 1), query.getValue().getSortObject());
+        assertEquals(2, page.getItems().size());
+        assertEquals(second, page.getItems().get(1).get("_id"));
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void shouldContinueAfterCursorUsingSortFieldAndIdTieBreak() {
+        ObjectId lastId = new ObjectId();
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("testCollection")))
+                .thenReturn(new ArrayList<>(List.of(new Document("_id", lastId).append("startDate", 100L),
+                        new Document("_id", new ObjectId()).append("startDate", 200L))));
+        ContentPageRequest request = new ContentPageRequest();
+        request.setLimit(1);
+        request.setSort("-startDate");
+        request.setFields(List.of("name"));
+        String cursor = service.findPage("testCollection", request).getNextCursor();
+
+        request.setAfter(cursor);
+        service.findPage("testCollection", request);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(query.capture(), eq(Document.class), eq("testCollection"));
+        Query second = query.getAllValues().get(1);
+        assertEquals(new Document("startDate", -1).append("_id", -1), second.getSortObject());
+        assertEquals(new Document("_id", 1).append("startDate", 1).append("name", 1), second.getFieldsObject());
+        @SuppressWarnings("unchecked")
+        List<Document> or = (List<Document>) second.getQueryObject().get("$or");
+        assertEquals(new Document("startDate", new Document("$lt", 100L)), or.get(0));
+        assertEquals(new Document("startDate", 100L).append("_id", new Document("$lt", lastId)), or.get(1));
+    }
+
+    @Test
+    void shouldPushTypedFiltersDownAsOneAndQuery() {
+        when(validationService.parseFilters("cascade", List.of("endDate:gte:2025-01-01", "skinId:in:1,2"))).thenReturn(List.of(
+                new ContentFilter("endDate", ContentFilter.Operator.gte, 1735689600000L),
+                new ContentFilter("skinId", ContentFilter.Operator.in, List.of(1L, 2L))));
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("cascade"))).thenReturn(List.of());
+
+        service.findMatching("cascade", List.of("endDate:gte:2025-01-01", "skinId:in:1,2"));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Document.class), eq("cascade"));
+        assertEquals(new Document("$and", List.of(
+                new Document("endDate", new Document("$gte", 1735689600000L)),
+                new Document("skinId", new Document("$in", List.of(1L, 2L))))), query.getValue().getQueryObject());
+    }
+
+    @Test
+    void shouldCombineFiltersWithKeysetCriteriaOnSameField() {
+        ObjectId lastId = new ObjectId();
+        ContentPageRequest request = new ContentPageRequest();
+        request.setSort("endDate");
+        request.setFilter(List.of("endDate:gte:100"));
+        request.setAfter(Base64.getUrlEncoder().withoutPadding().encodeToString(
+                new Document("v", 150L).append("i", lastId).toJson().getBytes()));
+        when(validationService.parseFilters("cascade", request.getFilter()))
+                .thenReturn(List.of(new ContentFilter("endDate", ContentFilter.Operator.gte, 100L)));
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("cascade"))).thenReturn(new ArrayList<>());
+
+        service.findPage("cascade", request);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Document.class), eq("cascade"));
+        @SuppressWarnings("unchecked")
+        List<Document> and = (List<Document>) query.getValue().getQueryObject().get("$and");
+        assertEquals(new Document("endDate", new Document("$gte", 100L)), and.get(0));
+        assertTrue(and.get(1).containsKey("$or"));
+    }
+
+    @Test
+    void shouldCapPageSizeAndRejectInvalidCursor() {
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("testCollection"))).thenReturn(new ArrayList<>());
+        ContentPageRequest request = new ContentPageRequest();
+        request.setLimit(10_000);
+
+        assertEquals(ContentQueries.MAX_PAGE_SIZE, service.findPage("testCollection", request).getLimit());
+
+        request.setAfter("not-a-cursor");
+        assertThrows(IllegalArgumentException.class, () -> service.findPage("testCollection", request));
+    }
+
+    @Test
+    void shouldStreamDocumentsAndCloseCursor() {
+        ObjectId objectId = new ObjectId();
+        boolean[] closed = {false};
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("testCollection")))
+                .thenReturn(Stream.of(new Document("_id", objectId)).onClose(() -> closed[0] = true));
+
+        List<Object> ids = new ArrayList<>();
+        service.streamAll("testCollection", doc -> ids.add(doc.get("_id")));
+
+        assertEquals(List.of(objectId), ids);
+        assertTrue(closed[0]);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldApplyOperationsBeforeFirstFailureInOrderedBulk() {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        when(mongoTemplate.getCollection("testCollection")).thenReturn(collection);
+        List<Integer> batchSizes = new ArrayList<>();
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenAnswer(invocation -> {
+            batchSizes.add(invocation.<List<?>>getArgument(0).size());
+            return BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of());
+        });
+
+        List<BulkOperation> operations = List.of(
+                bulkOperation(BulkOperation.Type.insert, null, Map.of("name", "a")),
+                bulkOperation(BulkOperation.Type.update, "invalid_id", Map.of("name", "b")),
+                bulkOperation(BulkOperation.Type.delete, new ObjectId().toHexString(), null));
+
+        BulkWriteReport report = service.bulkWrite("testCollection", operations, true, 100);
+
+        assertEquals(List.of(1), batchSizes);
+        assertEquals(List.of(BulkItemResult.Status.ok, BulkItemResult.Status.error, BulkItemResult.Status.skipped),
+                report.getItems().stream().map(BulkItemResult::getStatus).toList());
+        assertEquals(1, report.getInserted());
+        assertEquals(1, report.getFailed());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSplitUnorderedBulkIntoBatchesAndMapWriteErrors() {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        when(mongoTemplate.getCollection("testCollection")).thenReturn(collection);
+        BulkWriteError duplicate = new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1);
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenThrow(new MongoBulkWriteException(BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()),
+                        List.of(duplicate), null, new ServerAddress(), Set.of()))
+                .thenReturn(BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()));
+
+        List<BulkOperation> operations = List.of(
+                bulkOperation(BulkOperation.Type.insert, null, Map.of("name", "a")),
+                bulkOperation(BulkOperation.Type.insert, null, Map.of("name", "b")),
+                bulkOperation(BulkOperation.Type.insert, null, Map.of("name", "c")));
+
+        BulkWriteReport report = service.bulkWrite("testCollection", operations, false, 2);
+
+        verify(collection, times(2)).bulkWrite(anyList(), any(BulkWriteOptions.class));
+        assertEquals(List.of(BulkItemResult.Status.ok, BulkItemResult.Status.error, BulkItemResult.Status.ok),
+                report.getItems().stream().map(BulkItemResult::getStatus).toList());
+        assertEquals("duplicate key", report.getItems().get(1).getError());
+        assertEquals(2, report.getInserted());
+        verify(mongoTemplate, times(1)).upsert(any(Query.class), any(Update.class), eq("content_versions"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCheckBulkReferencesInOneCallAndRejectDanglingOperations() {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        when(mongoTemplate.getCollection("testCollection")).thenReturn(collection);
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenReturn(BulkWriteResult.acknowledged(2, 0, 0, 0, List.of(), List.of()));
+        when(validationService.validateReferences(eq("testCollection"), anyList()))
+                .thenReturn(Map.of(1, new SchemaValidationException("tileId", "reference", "no tile with _id 7")));
+        ObjectId deleted = new ObjectId();
+        FindIterable<Document> found = mock(FindIterable.class);
+        when(collection.find(any(Bson.class))).thenReturn(found);
+        when(found.projection(any(Bson.class))).thenReturn(found);
+        when(found.into(any())).thenAnswer(inv -> {
+            inv.<List<Document>>getArgument(0).add(new Document("_id", deleted));
+            return inv.getArgument(0);
+        });
+
+        List<BulkOperation> operations = List.of(
+                bulkOperation(BulkOperation.Type.insert, null, Map.of("tileId", 1)),
+                bulkOperation(BulkOperation.Type.insert, null, Map.of("tileId", 7)),
+                bulkOperation(BulkOperation.Type.delete, deleted.toHexString(), null),
+                bulkOperation(BulkOperation.Type.insert, null, Map.of("tileId", 2)));
+
+        BulkWriteReport report = service.bulkWrite("testCollection", operations, false, 100);
+
+        ArgumentCaptor<List<Map<String, Object>>> payloads = ArgumentCaptor.forClass(List.class);
+        verify(validationService, times(1)).validateReferences(eq("testCollection"), payloads.capture());
+        assertEquals(List.of(Map.of("tileId", 1), Map.of("tileId", 7), Map.of("tileId", 2)), payloads.getValue());
+        verify(validationService, never()).validate(anyString(), anyMap());
+        assertEquals(List.of(BulkItemResult.Status.ok, BulkItemResult.Status.error, BulkItemResult.Status.ok, BulkItemResult.Status.ok),
+                report.getItems().stream().map(BulkItemResult::getStatus).toList());
+        verify(collection, times(1)).bulkWrite(argThat(batch -> batch.size() == 3), any(BulkWriteOptions.class));
+    }
+
+    @Test
+    void shouldLeaveTheChangedEventToALiveChangeStream() {
+        ObjectId objectId = new ObjectId();
+        when(changeStream.isLive()).thenReturn(true);
+
+        service.delete("cascade", objectId.toHexString());
+
+        verify(mongoTemplate).upsert(any(Query.class), any(Update.class), eq("content_versions"));
+        verifyNoInteractions(eventPublisher);
+
+        when(changeStream.isLive()).thenReturn(false);
+        service.delete("cascade", objectId.toHexString());
+        verify(eventPublisher).publishEvent(new ContentChangedEvent("cascade", objectId.toHexString()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReportUpdatesAndDeletesOfMissingIdsAsNotFound() {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        FindIterable<Document> found = mock(FindIterable.class);
+        when(mongoTemplate.getCollection("testCollection")).thenReturn(collection);
+        ObjectId present = new ObjectId();
+        ObjectId missing = new ObjectId();
+        ObjectId gone = new ObjectId();
+        when(collection.find(any(Bson.class))).thenReturn(found);
+        when(found.projection(any(Bson.class))).thenReturn(found);
+        when(found.into(any())).thenAnswer(inv -> {
+            inv.<List<Document>>getArgument(0).add(new Document("_id", present));
+            return inv.getArgument(0);
+        });
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenReturn(BulkWriteResult.acknowledged(1, 1, 0, 1, List.of(), List.of()));
+
+        List<BulkOperation> operations = List.of(
+                bulkOperation(BulkOperation.Type.insert, null, Map.of("name", "a")),
+                bulkOperation(BulkOperation.Type.update, present.toHexString(), Map.of("name", "b")),
+                bulkOperation(BulkOperation.Type.update, missing.toHexString(), Map.of("name", "c")),
+                bulkOperation(BulkOperation.Type.delete, gone.toHexString(), null));
+
+        BulkWriteReport report = service.bulkWrite("testCollection", operations, true, 100);
+
+        ArgumentCaptor<Bson> lookup = ArgumentCaptor.forClass(Bson.class);
+        verify(collection, times(1)).find(lookup.capture());
+        assertEquals(Set.of(present, missing, gone),
+                Set.copyOf(((Document) lookup.getValue()).get("_id", Document.class).getList("$in", ObjectId.class)));
+        assertEquals(List.of(BulkItemResult.Status.ok, BulkItemResult.Status.ok, BulkItemResult.Status.notFound,
+                        BulkItemResult.Status.notFound),
+                report.getItems().stream().map(BulkItemResult::getStatus).toList());
+        assertEquals(missing.toHexString(), report.getItems().get(2).getId());
+        assertEquals(2, report.getNotFound());
+        assertEquals(0, report.getFailed());
+    }
+
+    private BulkOperation bulkOperation(BulkOperation.Type type, String id, Map<String, Object> data) {
+        BulkOperation operation = new BulkOperation();
+        operation.setType(type);
+        operation.setId(id);
+        operation.setData(data);
+        return operation;
+    }
+
     @Test
     void shouldThrowExceptionWhenFindByIdWithInvalidId() {
         assertThrows(IllegalArgumentException.class, () ->
@@ -63,18 +357,17 @@ class GenericCrudServiceImplTest {
     }
 
     @Test
-    void shouldConvertObjectIdToHexStringWhenFindByIdIsCalled() {
+    void shouldLookUpDocumentByObjectIdWhenFindByIdIsCalled() {
         ObjectId objectId = new ObjectId();
         Document doc = new Document("_id", objectId);
         when(mongoTemplate.findById(eq(objectId), eq(Document.class), eq("testCollection"))).thenReturn(doc);
         Document result = service.findById("testCollection", objectId.toHexString());
         assertNotNull(result);
-        assertTrue(result.get("_id") instanceof String);
-        assertEquals(objectId.toHexString(), result.get("_id"));
+        assertEquals(objectId, result.get("_id"));
     }
 
     @Test
-    void shouldInsertDocumentAndReturnWithHexStringId() {
+    void shouldInsertDocumentAndReturnGeneratedId() {
         Map<String, Object> data = new HashMap<>();
         data.put("field", "value");
         ObjectId objectId = new ObjectId();
@@ -83,8 +376,88 @@ class GenericCrudServiceImplTest {
         when(mongoTemplate.insert(any(Document.class), eq("testCollection"))).thenReturn(inserted);
         Document result = service.insert("testCollection", data);
         assertNotNull(result);
-        assertTrue(result.get("_id") instanceof String);
-        assertEquals(objectId.toHexString(), result.get("_id"));
+        assertEquals(objectId, result.get("_id"));
+    }
+
+    @Test
+    void shouldStampRevisionAndBumpCollectionVersionOnInsert() {
+        when(mongoTemplate.insert(any(Document.class), eq("testCollection"))).thenAnswer(inv -> inv.getArgument(0));
+
+        Document result = service.insert("testCollection", new HashMap<>(Map.of("field", "value")));
+
+        assertEquals(1L, result.get("_version"));
+        verify(mongoTemplate, times(1)).upsert(any(Query.class), any(Update.class), eq("content_versions"));
+    }
+
+    @Test
+    void shouldReadCollectionVersionCounter() {
+        when(mongoTemplate.findById("testCollection", Document.class, "content_versions"))
+                .thenReturn(new Document("_id", "testCollection").append("version", 5L));
+
+        assertEquals(5L, service.getCollectionVersion("testCollection"));
+        assertEquals(0L, service.getCollectionVersion("otherCollection"));
+    }
+
+    @Test
+    void shouldNotInsertDocumentRejectedBySchema() {
+        Map<String, Object> data = Map.of("name", 5);
+        doThrow(new SchemaValidationException("name", "type", "expected String"))
+                .when(validationService).validate("testCollection", data);
+
+        assertThrows(SchemaValidationException.class, () -> service.insert("testCollection", data));
+        verify(mongoTemplate, never()).insert(any(Document.class), anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReadTypedModelsThroughDomainCodecs() {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        MongoCollection<Cascade> typed = mock(MongoCollection.class);
+        FindIterable<Cascade> found = mock(FindIterable.class);
+        Cascade cascade = new Cascade();
+        ObjectId objectId = new ObjectId();
+        when(mongoTemplate.getCollection("cascade")).thenReturn(collection);
+        when(collection.withCodecRegistry(DomainCodecProvider.REGISTRY)).thenReturn(collection);
+        when(collection.withDocumentClass(Cascade.class)).thenReturn(typed);
+        when(typed.find(new Document("_id", objectId))).thenReturn(found);
+        when(found.first()).thenReturn(cascade);
+
+        assertSame(cascade, service.findById("cascade", objectId.toHexString(), Cascade.class));
+        assertThrows(IllegalArgumentException.class, () -> service.findById("cascade", objectId.toHexString(), String.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldValidateTypedInsertsAndPublishTheGeneratedId() {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        MongoCollection<Cascade> typed = mock(MongoCollection.class);
+        when(mongoTemplate.getCollection("cascade")).thenReturn(collection);
+        when(collection.withCodecRegistry(any())).thenReturn(collection);
+        when(collection.withDocumentClass(Cascade.class)).thenReturn(typed);
+        ObjectId objectId = new ObjectId();
+        // The driver generates the id through the codec during insertOne
+        doAnswer(inv -> {
+            inv.<Cascade>getArgument(0).set_id(objectId.toHexString());
+            return null;
+        }).when(typed).insertOne(any(Cascade.class));
+        Cascade cascade = new Cascade();
+        cascade.setName("Summer");
+        cascade.setSkinId(3);
+
+        service.insert("cascade", cascade);
+
+        ArgumentCaptor<Map<String, Object>> validated = ArgumentCaptor.forClass(Map.class);
+        verify(validationService).validate(eq("cascade"), validated.capture());
+        assertEquals("Summer", validated.getValue().get("name"));
+        assertEquals(3, validated.getValue().get("skinId"));
+        verify(eventPublisher).publishEvent(new ContentChangedEvent("cascade", objectId.toHexString()));
+
+        Cascade invalid = new Cascade();
+        doThrow(new SchemaValidationException("name", "required", "name is required"))
+                .when(validationService).validate(eq("cascade"), argThat(data -> !data.containsKey("name")));
+
+        assertThrows(SchemaValidationException.class, () -> service.insert("cascade", invalid));
+        verify(typed, times(1)).insertOne(any(Cascade.class));
     }
 
     @Test
@@ -95,21 +468,54 @@ class GenericCrudServiceImplTest {
     }
 
     @Test
-    void shouldUpdateDocumentAndReturnWithHexStringId() {
+    void shouldUpdateDocumentAndReturnPostImage() {
         ObjectId objectId = new ObjectId();
         Map<String, Object> data = new HashMap<>();
         data.put("field", "newValue");
         data.put("_id", "shouldBeRemoved");
-        Document updated = new Document(data);
-        updated.put("_id", objectId);
-        when(mongoTemplate.findById(eq(objectId), eq(Document.class), eq("testCollection"))).thenReturn(updated);
+        Document updated = new Document("_id", objectId).append("field", "newValue").append("_version", 2L);
         @SuppressWarnings("unchecked")
         MongoCollection<org.bson.Document> mockCollection = mock(MongoCollection.class);
         when(mongoTemplate.getCollection(anyString())).thenReturn(mockCollection);
+        when(mockCollection.findOneAndUpdate(any(Bson.class), any(Bson.class), any(FindOneAndUpdateOptions.class))).thenReturn(updated);
+
         Document result = service.update("testCollection", objectId.toHexString(), new HashMap<>(data));
-        assertNotNull(result);
-        assertTrue(result.get("_id") instanceof String);
-        assertEquals(objectId.toHexString(), result.get("_id"));
+
+        assertSame(updated, result);
+        ArgumentCaptor<Bson> update = ArgumentCaptor.forClass(Bson.class);
+        ArgumentCaptor<FindOneAndUpdateOptions> options = ArgumentCaptor.forClass(FindOneAndUpdateOptions.class);
+        verify(mockCollection).findOneAndUpdate(eq(new Document("_id", objectId)), update.capture(), options.capture());
+        assertEquals(new Document("$inc", new Document("_version", 1L)).append("$set", new Document("field", "newValue")), update.getValue());
+        assertEquals(ReturnDocument.AFTER, options.getValue().getReturnDocument());
+        verify(mongoTemplate, never()).findById(any(), eq(Document.class), anyString());
+    }
+
+    @Test
+    void shouldThrowNotFoundWhenUpdatingMissingDocument() {
+        @SuppressWarnings("unchecked")
+        MongoCollection<org.bson.Document> mockCollection = mock(MongoCollection.class);
+        when(mongoTemplate.getCollection(anyString())).thenReturn(mockCollection);
+        String id = new ObjectId().toHexString();
+
+        assertThrows(ResourceNotFoundException.class, () ->
+            service.update("testCollection", id, new HashMap<>(Map.of("field", "x")))
+        );
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq("content_versions"));
+    }
+
+    @Test
+    void shouldRejectUpdateWhenExpectedVersionIsStale() {
+        @SuppressWarnings("unchecked")
+        MongoCollection<org.bson.Document> mockCollection = mock(MongoCollection.class);
+        when(mongoTemplate.getCollection(anyString())).thenReturn(mockCollection);
+        when(mockCollection.countDocuments(any(Bson.class), any(CountOptions.class))).thenReturn(1L);
+        ObjectId objectId = new ObjectId();
+
+        assertThrows(VersionConflictException.class, () ->
+            service.update("testCollection", objectId.toHexString(), new HashMap<>(Map.of("field", "x")), 3L)
+        );
+        verify(mockCollection).findOneAndUpdate(eq(new Document("_id", objectId).append("_version", 3L)),
+                any(Bson.class), any(FindOneAndUpdateOptions.class));
     }
 
     @Test
@@ -125,4 +531,19 @@ class GenericCrudServiceImplTest {
         service.delete("testCollection", objectId.toHexString());
         verify(mongoTemplate, times(1)).remove(any(Query.class), eq("testCollection"));
     }
+
+    @Test
+    void shouldPublishChangeEventsAfterWrites() {
+        ObjectId objectId = new ObjectId();
+        when(mongoTemplate.insert(any(Document.class), eq("cascade"))).thenAnswer(inv -> {
+            Document doc = inv.getArgument(0);
+            doc.put("_id", objectId);
+            return doc;
+        });
+
+        service.insert("cascade", new HashMap<>(Map.of("name", "Summer")));
+        service.delete("cascade", objectId.toHexString());
+
+        verify(eventPublisher, times(2)).publishEvent(new ContentChangedEvent("cascade", objectId.toHexString()));
+    }
 } 
\ No newline at end of file
@@ -1,5 +1,10 @@
 package com.acegames.backend.infrastructure.service;
 
+import com.acegames.backend.application.dto.SchemaRegistrationReport;
+import com.acegames.backend.application.helper.ModelSchemaResolver;
+import com.acegames.backend.application.helper.SchemaFingerprint;
+import com.acegames.backend.domain.model.Skin;
+import com.acegames.backend.infrastructure.cache.SchemaCache;
 import com.acegames.backend.infrastructure.model.ModelSchemaDocument;
 import com.acegames.backend.infrastructure.repository.ModelSchemaRepository;
 import com.acegames.backend.web.exception.DuplicateSchemaException;
@@ -7,10 +12,19 @@ import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 import org.springframework.data.mongodb.core.query.Query;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -23,7 +37,7 @@ class ModelSchemaServiceImplTest {
     @BeforeEach
     void setUp() {
         repository = mock(ModelSchemaRepository.class);
-        service = new ModelSchemaServiceImpl(repository);
+        service = new ModelSchemaServiceImpl(repository, new SchemaCache(repository, 16, 60_000));
     }
 
     @Test
@@ -32,4 +46,149 @@ class ModelSchemaServiceImplTest {
         assertTrue(service.getAllSchemas().isEmpty());
     }
 
+    @Test
+    void shouldServeRepeatedSchemaReadsFromCache() {
+        ModelSchemaDocument skin = ModelSchemaDocument.builder().collection("skin").displayName("Skin").build();
+        when(repository.findByCollection("skin")).thenReturn(Optional.of(skin));
+
+        assertTrue(service.getSchema("skin").isPresent());
+        assertTrue(service.getSchema("skin").isPresent());
+        assertTrue(service.getSchema("missing").isEmpty());
+        assertTrue(service.getSchema("missing").isEmpty());
+
+        verify(repository, times(1)).findByCollection("skin");
+        verify(repository, times(1)).findByCollection("missing");
+    }
+
+    @Test
+    void shouldInvalidateCachedSchemasOnDelete() {
+        ModelSchemaDocument skin = ModelSchemaDocument.builder().collection("skin").displayName("Skin").build();
+        when(repository.findByCollection("skin")).thenReturn(Optional.of(skin)).thenReturn(Optional.empty());
+        when(repository.findAll()).thenReturn(List.of(skin)).thenReturn(Collections.emptyList());
+
+        assertTrue(service.getSchema("skin").isPresent());
+        assertEquals(1, service.getAllSchemas().size());
+
+        service.deleteByCollectionName("skin");
+
+        assertTrue(service.getSchema("skin").isEmpty());
+        assertTrue(service.getAllSchemas().isEmpty());
+        verify(repository, times(1)).incrementSchemaVersion();
+    }
+
+    @Test
+    void shouldDropCachedSchemasWhenAnotherInstanceBumpsTheVersion() {
+        SchemaCache cache = new SchemaCache(repository, 16, 0);
+        service = new ModelSchemaServiceImpl(repository, cache);
+        ModelSchemaDocument skin = ModelSchemaDocument.builder().collection("skin").displayName("Skin").build();
+        when(repository.findByCollection("skin")).thenReturn(Optional.of(skin));
+        when(repository.currentSchemaVersion()).thenReturn(3L, 3L, 4L);
+
+        service.getSchema("skin");
+        service.getSchema("skin");
+        service.getSchema("skin");
+
+        verify(repository, times(2)).findByCollection("skin");
+    }
+
+    @Test
+    void shouldOnlyWriteChangedSchemasOnRegistration() {
+        ModelSchemaDocument current = ModelSchemaDocument.builder()
+                .id("skin-id")
+                .collection("skin")
+                .displayName("Skin")
+                .fingerprint(SchemaFingerprint.of(ModelSchemaResolver.resolve(Skin.class)))
+                .build();
+        ModelSchemaDocument stale = ModelSchemaDocument.builder()
+                .id("tile-id")
+                .collection("tile")
+                .displayName("Tile")
+                .fingerprint("outdated")
+                .build();
+        when(repository.findAll()).thenReturn(List.of(current, stale));
+
+        SchemaRegistrationReport report = service.registerSchemas(List.of("Skin", "Tile", "Offer", "Missing"));
+
+        assertEquals(List.of("Skin"), report.getUnchanged());
+        assertEquals(List.of("Tile", "Offer"), report.getWritten());
+        assertTrue(report.getFailed().containsKey("Missing"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ModelSchemaDocument>> written = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(1)).bulkUpsertByCollection(written.capture());
+        assertEquals(2, written.getValue().size());
+        assertEquals("tile-id", written.getValue().get(0).getId());
+        assertNull(written.getValue().get(1).getId());
+        verify(repository, never()).save(any());
+        verify(repository, never()).findByCollection(anyString());
+    }
+
+    @Test
+    void shouldParseSchemasOnProvidedExecutorAndReportDurations() {
+        when(repository.findAll()).thenReturn(Collections.emptyList());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            SchemaRegistrationReport report = service.registerSchemas(List.of("Skin", "Cascade", "Tile"), executor);
+
+            assertEquals(List.of("Skin", "Cascade", "Tile"), report.getWritten());
+            assertEquals(List.of("Skin", "Cascade", "Tile"), new ArrayList<>(report.getDurationsMicros().keySet()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldReportClassesAsFailedInsteadOfThrowingWhenTheRepositoryIsUnreachable() {
+        when(repository.findAll()).thenThrow(new DataAccessResourceFailureException("Timed out"));
+
+        SchemaRegistrationReport unreadable = service.registerSchemas(List.of("Skin", "Missing"));
+
+        assertEquals(Set.of("Skin", "Missing"), unreadable.getFailed().keySet());
+        assertTrue(unreadable.getFailed().get("Skin").contains("Timed out"));
+        assertTrue(unreadable.getFailed().get("Missing").startsWith("Class not found"));
+        assertTrue(unreadable.getWritten().isEmpty());
+
+        reset(repository);
+        when(repository.findAll()).thenReturn(Collections.emptyList());
+        doThrow(new DataAccessResourceFailureException("Timed out")).when(repository).bulkUpsertByCollection(any());
+
+        SchemaRegistrationReport unwritable = service.registerSchemas(List.of("Skin"));
+
+        assertTrue(unwritable.getWritten().isEmpty());
+        assertTrue(unwritable.getFailed().get("Skin").contains("Timed out"));
+    }
+
+    @Test
+    void shouldEnsureTheUniqueCollectionIndexBeforeRegistering() {
+        when(repository.findAll()).thenReturn(Collections.emptyList());
+        doThrow(new DuplicateKeyException("E11000 duplicate key")).when(repository).ensureIndexes();
+
+        SchemaRegistrationReport report = service.registerSchemas(List.of("Skin"));
+
+        assertEquals(List.of("Skin"), report.getWritten());
+        InOrder order = inOrder(repository);
+        order.verify(repository).ensureIndexes();
+        order.verify(repository).findAll();
+
+        IndexDefinition index = IndexResolver.create(new MongoMappingContext())
+                .resolveIndexFor(ModelSchemaDocument.class).iterator().next();
+        assertEquals(new Document("collection", 1), index.getIndexKeys());
+        assertEquals(Boolean.TRUE, index.getIndexOptions().get("unique"));
+    }
+
+    @Test
+    void shouldSkipSaveWhenGeneratedSchemaIsUnchanged() {
+        ModelSchemaDocument current = ModelSchemaDocument.builder()
+                .id("skin-id")
+                .collection("skin")
+                .displayName("Skin")
+                .fingerprint(SchemaFingerprint.of(ModelSchemaResolver.resolve(Skin.class)))
+                .build();
+        when(repository.findByCollection("skin")).thenReturn(Optional.of(current));
+
+        service.generateFromClassName("Skin");
+
+        verify(repository, never()).save(any());
+    }
+
 }
\ No newline at end of file
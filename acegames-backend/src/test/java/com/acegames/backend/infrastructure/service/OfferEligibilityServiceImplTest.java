@@ -0,0 +1,146 @@
+package com.acegames.backend.infrastructure.service;
+
+import com.acegames.backend.application.dto.OfferEligibilityReport;
+import com.acegames.backend.application.event.ContentChangedEvent;
+import com.acegames.backend.application.service.GenericCrudService;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class OfferEligibilityServiceImplTest {
+
+    private static final ObjectId STARTER = new ObjectId("665f5b1e8f1a2f001c7a0001");
+    private static final ObjectId VETERAN = new ObjectId("665f5b1e8f1a2f001c7a0002");
+
+    private GenericCrudService crudService;
+    private OfferEligibilityServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        crudService = mock(GenericCrudService.class);
+        service = new OfferEligibilityServiceImpl(crudService, Runnable::run);
+        when(crudService.findAll("offer")).thenReturn(List.of(
+            offer(STARTER, condition("minLevel", ">=", 10), condition("daysSinceRegistration", "<=", 30)),
+            offer(VETERAN, condition("minLevel", ">=", 50))));
+    }
+
+    @Test
+    void shouldReturnOffersWhoseEveryRequirementIsMet() {
+        assertEquals(List.of(STARTER.toHexString()), service.eligibleOffers(Map.of("minLevel", 12, "daysSinceRegistration", 3)));
+        assertEquals(Set.of(STARTER.toHexString(), VETERAN.toHexString()),
+            Set.copyOf(service.eligibleOffers(Map.of("minLevel", 60, "daysSinceRegistration", 30))));
+        assertEquals(List.of(VETERAN.toHexString()), service.eligibleOffers(Map.of("minLevel", 60)));
+        verify(crudService, times(1)).findAll("offer");
+    }
+
+    @Test
+    void shouldRecompileOnlyTheChangedOffer() {
+        service.eligibleOffers(Map.of());
+        when(crudService.findById("offer", VETERAN.toHexString())).thenReturn(offer(VETERAN, condition("minLevel", ">=", 5)));
+
+        service.onContentChanged(new ContentChangedEvent("offer", VETERAN.toHexString()));
+
+        assertEquals(List.of(VETERAN.toHexString()), service.eligibleOffers(Map.of("minLevel", 6)));
+        verify(crudService, times(1)).findAll("offer");
+
+        when(crudService.findById("offer", VETERAN.toHexString())).thenReturn(null);
+        service.onContentChanged(new ContentChangedEvent("offer", VETERAN.toHexString()));
+        assertEquals(List.of(), service.eligibleOffers(Map.of("minLevel", 6)));
+    }
+
+    @Test
+    void shouldReportOffersItCannotCompileAndNeverReturnThem() {
+        when(crudService.findAll("offer")).thenReturn(List.of(
+            offer(STARTER, condition("minLevel", "=>", 10)),
+            offer(VETERAN, condition("guildRank", ">=", 1))));
+
+        assertEquals(List.of(), service.eligibleOffers(Map.of("minLevel", 99)));
+        OfferEligibilityReport report = service.report();
+        assertEquals(0, report.getOffers());
+        assertEquals("Unknown operator: =>", report.getRejected().get(STARTER.toHexString()));
+        assertEquals("Unknown requirement: guildRank", report.getRejected().get(VETERAN.toHexString()));
+    }
+
+    @Test
+    void shouldIgnoreOtherCollectionsAndReloadOnBulkChanges() {
+        service.eligibleOffers(Map.of());
+        service.onContentChanged(new ContentChangedEvent("cascade", null));
+        verify(crudService, times(1)).findAll("offer");
+
+        service.onContentChanged(new ContentChangedEvent("offer", null));
+        verify(crudService, times(2)).findAll("offer");
+    }
+
+    @Test
+    void shouldRecompileOnTheExecutorAndCoalesceWritesMadeMeanwhile() {
+        List<Runnable> tasks = new ArrayList<>();
+        OfferEligibilityServiceImpl deferred = new OfferEligibilityServiceImpl(crudService, tasks::add);
+        deferred.eligibleOffers(Map.of());
+        when(crudService.findById("offer", VETERAN.toHexString())).thenReturn(offer(VETERAN, condition("minLevel", ">=", 5)));
+
+        deferred.onContentChanged(new ContentChangedEvent("offer", VETERAN.toHexString()));
+        deferred.onContentChanged(new ContentChangedEvent("offer", VETERAN.toHexString()));
+
+        // The writing thread only marks the Offer; the index is unchanged until the task runs
+        verify(crudService, never()).findById(anyString(), anyString());
+        assertEquals(List.of(), deferred.eligibleOffers(Map.of("minLevel", 6)));
+        assertEquals(1, tasks.size());
+
+        tasks.remove(0).run();
+        assertEquals(List.of(VETERAN.toHexString()), deferred.eligibleOffers(Map.of("minLevel", 6)));
+        verify(crudService, times(1)).findById("offer", VETERAN.toHexString());
+        assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    void shouldReapplyAWriteThatLandsDuringTheFirstLoad() {
+        List<Runnable> tasks = new ArrayList<>();
+        OfferEligibilityServiceImpl deferred = new OfferEligibilityServiceImpl(crudService, tasks::add);
+        // findAll has already read VETERAN when it is rewritten
+        when(crudService.findAll("offer")).thenAnswer(inv -> {
+            deferred.onContentChanged(new ContentChangedEvent("offer", VETERAN.toHexString()));
+            return List.of(offer(VETERAN, condition("minLevel", ">=", 50)));
+        });
+        when(crudService.findById("offer", VETERAN.toHexString())).thenReturn(offer(VETERAN, condition("minLevel", ">=", 5)));
+
+        assertEquals(List.of(), deferred.eligibleOffers(Map.of("minLevel", 6)));
+        assertEquals(1, tasks.size());
+        tasks.remove(0).run();
+
+        assertEquals(List.of(VETERAN.toHexString()), deferred.eligibleOffers(Map.of("minLevel", 6)));
+        verify(crudService, times(1)).findAll("offer");
+    }
+
+    @Test
+    void shouldIgnoreWritesBeforeAnythingIsCompiled() {
+        List<Runnable> tasks = new ArrayList<>();
+        OfferEligibilityServiceImpl deferred = new OfferEligibilityServiceImpl(crudService, tasks::add);
+
+        deferred.onContentChanged(new ContentChangedEvent("offer", VETERAN.toHexString()));
+
+        assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    void shouldRejectUnknownPlayerRequirement() {
+        assertThrows(IllegalArgumentException.class, () -> service.eligibleOffers(Map.of("guildRank", 3)));
+    }
+
+    private static Document offer(ObjectId id, Document... requirements) {
+        return new Document("_id", id).append("name", "Offer").append("requirements", List.of(requirements));
+    }
+
+    private static Document condition(String requirement, String operator, int value) {
+        return new Document("requirement", requirement).append("operator", operator).append("value", value);
+    }
+}
@@ -0,0 +1,187 @@
+package com.acegames.backend.infrastructure.service;
+
+import com.acegames.backend.application.dto.ContentPageRequest;
+import com.acegames.backend.application.dto.FieldViolation;
+import com.acegames.backend.application.service.ContentValidationService;
+import com.acegames.backend.application.service.GenericCrudService;
+import com.acegames.backend.infrastructure.changestream.ContentChangeStreamStatus;
+import com.acegames.backend.web.exception.ResourceNotFoundException;
+import com.acegames.backend.web.exception.SchemaValidationException;
+import com.acegames.backend.web.exception.VersionConflictException;
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.result.UpdateResult;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReactiveGenericCrudServiceImplTest {
+
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+    private ContentValidationService validationService;
+    private ReactiveGenericCrudServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        reactiveMongoTemplate = mock(ReactiveMongoTemplate.class);
+        validationService = mock(ContentValidationService.class);
+        service = new ReactiveGenericCrudServiceImpl(reactiveMongoTemplate, validationService, mock(GenericCrudService.class),
+            mock(ApplicationEventPublisher.class), new ContentChangeStreamStatus());
+        when(reactiveMongoTemplate.upsert(any(Query.class), any(Update.class), eq("content_versions")))
+            .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+    }
+
+    @Test
+    void shouldEmitDocumentsFromBatchedCursor() {
+        Document first = new Document("_id", new ObjectId());
+        Document second = new Document("_id", new ObjectId());
+        when(reactiveMongoTemplate.find(any(Query.class), eq(Document.class), eq("skin"))).thenReturn(Flux.just(first, second));
+
+        StepVerifier.create(service.findAll("skin"), 1)
+            .expectNext(first)
+            .thenRequest(1)
+            .expectNext(second)
+            .verifyComplete();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(reactiveMongoTemplate).find(query.capture(), eq(Document.class), eq("skin"));
+        assertEquals(ContentQueries.STREAM_BATCH_SIZE, query.getValue().getMeta().getCursorBatchSize());
+    }
+
+    @Test
+    void shouldBuildNextCursorFromExtraDocument() {
+        ContentPageRequest request = new ContentPageRequest();
+        request.setLimit(1);
+        when(reactiveMongoTemplate.find(any(Query.class), eq(Document.class), eq("skin")))
+            .thenReturn(Flux.just(new Document("_id", new ObjectId()), new Document("_id", new ObjectId())));
+
+        StepVerifier.create(service.findPage("skin", request))
+            .assertNext(page -> {
+                assertEquals(1, page.getItems().size());
+                assertNotNull(page.getNextCursor());
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    void shouldErrorWithoutQueryingWhenIdIsInvalid() {
+        StepVerifier.create(service.findById("skin", "not-an-id"))
+            .expectError(IllegalArgumentException.class)
+            .verify();
+
+        verifyNoInteractions(validationService);
+        verify(reactiveMongoTemplate, never()).findById(any(), any(), anyString());
+    }
+
+    @Test
+    void shouldStampRevisionAndBumpCollectionVersionOnInsert() {
+        when(reactiveMongoTemplate.insert(any(Document.class), eq("skin"))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+
+        StepVerifier.create(service.insert("skin", new HashMap<>(Map.of("name", "Red"))))
+            .assertNext(doc -> assertEquals(1L, doc.get("_version")))
+            .verifyComplete();
+
+        verify(validationService).validate(eq("skin"), anyMap());
+        verify(reactiveMongoTemplate).upsert(any(Query.class), any(Update.class), eq("content_versions"));
+    }
+
+    @Test
+    void shouldValidateAndParseFiltersOffTheSubscribingThread() {
+        List<String> threads = new ArrayList<>();
+        doAnswer(inv -> threads.add(Thread.currentThread().getName())).when(validationService).validate(eq("skin"), anyMap());
+        when(validationService.parseFilters(eq("skin"), anyList())).thenAnswer(inv -> {
+            threads.add(Thread.currentThread().getName());
+            return List.of();
+        });
+        when(reactiveMongoTemplate.insert(any(Document.class), eq("skin"))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(reactiveMongoTemplate.find(any(Query.class), eq(Document.class), eq("skin"))).thenReturn(Flux.empty());
+
+        StepVerifier.create(service.insert("skin", new HashMap<>(Map.of("name", "Red")))).expectNextCount(1).verifyComplete();
+        StepVerifier.create(service.findMatching("skin", List.of("name:eq:Red"))).verifyComplete();
+
+        assertEquals(2, threads.size());
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("boundedElastic")), threads.toString());
+    }
+
+    @Test
+    void shouldNotInsertDocumentRejectedBySchema() {
+        doThrow(new SchemaValidationException("skin", List.of(new FieldViolation("name", "type", "expected String")))).when(validationService).validate(eq("skin"), anyMap());
+
+        StepVerifier.create(service.insert("skin", new HashMap<>(Map.of("name", 5))))
+            .expectError(SchemaValidationException.class)
+            .verify();
+
+        verify(reactiveMongoTemplate, never()).insert(any(Document.class), anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldUpdateWithVersionFilterAndReturnPostImage() {
+        ObjectId id = new ObjectId();
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        when(reactiveMongoTemplate.getCollection("skin")).thenReturn(Mono.just(collection));
+        when(collection.findOneAndUpdate(any(Bson.class), any(Bson.class), any(FindOneAndUpdateOptions.class)))
+            .thenReturn(Mono.just(new Document("_id", id).append("_version", 4L)));
+
+        StepVerifier.create(service.update("skin", id.toHexString(), new HashMap<>(Map.of("name", "Red", "_version", 3)), 3L))
+            .assertNext(doc -> assertEquals(4L, doc.get("_version")))
+            .verifyComplete();
+
+        ArgumentCaptor<Bson> filter = ArgumentCaptor.forClass(Bson.class);
+        ArgumentCaptor<Bson> update = ArgumentCaptor.forClass(Bson.class);
+        verify(collection).findOneAndUpdate(filter.capture(), update.capture(), any(FindOneAndUpdateOptions.class));
+        assertEquals(new Document("_id", id).append("_version", 3L), filter.getValue());
+        assertEquals(new Document("name", "Red"), ((Document) update.getValue()).get("$set"));
+        verify(reactiveMongoTemplate).upsert(any(Query.class), any(Update.class), eq("content_versions"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldTellStaleVersionFromMissingDocument() {
+        ObjectId id = new ObjectId();
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        when(reactiveMongoTemplate.getCollection("skin")).thenReturn(Mono.just(collection));
+        when(collection.findOneAndUpdate(any(Bson.class), any(Bson.class), any(FindOneAndUpdateOptions.class)))
+            .thenReturn(Mono.empty());
+        when(collection.countDocuments(any(Bson.class), any(CountOptions.class))).thenReturn(Mono.just(1L), Mono.just(0L));
+
+        StepVerifier.create(service.update("skin", id.toHexString(), new HashMap<>(Map.of("name", "Red")), 2L))
+            .expectError(VersionConflictException.class)
+            .verify();
+        StepVerifier.create(service.update("skin", id.toHexString(), new HashMap<>(Map.of("name", "Red")), 2L))
+            .expectError(ResourceNotFoundException.class)
+            .verify();
+
+        verify(reactiveMongoTemplate, never()).upsert(any(Query.class), any(Update.class), anyString());
+    }
+
+    @Test
+    void shouldReadCollectionVersionCounterDefaultingToZero() {
+        when(reactiveMongoTemplate.findById("skin", Document.class, "content_versions"))
+            .thenReturn(Mono.just(new Document("_id", "skin").append("version", 9L)));
+        when(reactiveMongoTemplate.findById("offer", Document.class, "content_versions")).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.getCollectionVersion("skin")).expectNext(9L).verifyComplete();
+        StepVerifier.create(service.getCollectionVersion("offer")).expectNext(0L).verifyComplete();
+    }
+}
@@ -0,0 +1,158 @@
+package com.acegames.backend.infrastructure.service;
+
+import com.acegames.backend.application.dto.DanglingReference;
+import com.acegames.backend.application.dto.ModelSchemaDto;
+import com.acegames.backend.application.dto.ReferenceReport;
+import com.acegames.backend.application.helper.ReflectionSchemaParser;
+import com.acegames.backend.application.service.ModelSchemaService;
+import com.acegames.backend.domain.model.Cascade;
+import com.acegames.backend.domain.model.Offer;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReferenceValidationServiceImplTest {
+
+    private MongoTemplate mongoTemplate;
+    private ModelSchemaService modelSchemaService;
+    private ReferenceValidationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        modelSchemaService = mock(ModelSchemaService.class);
+        service = new ReferenceValidationServiceImpl(mongoTemplate, modelSchemaService);
+        when(modelSchemaService.getSchema("cascade")).thenReturn(Optional.of(schema("cascade", Cascade.class)));
+        when(modelSchemaService.getSchema("offer")).thenReturn(Optional.of(schema("offer", Offer.class)));
+    }
+
+    @Test
+    void shouldResolveEachTargetCollectionWithOneInQuery() {
+        existing("tile", 101);
+        existing("skin");
+        Map<String, Object> cascade = Map.of(
+                "skinId", 2,
+                "stepRule", List.of(Map.of("tileId", 101), Map.of("tileId", 102), Map.of("tileId", 101)));
+
+        List<DanglingReference> dangling = service.findDangling("cascade", cascade);
+
+        assertEquals(List.of(new DanglingReference(null, "skinId", "skin", 2),
+                new DanglingReference(null, "stepRule[1].tileId", "tile", 102)),
+                dangling.stream().sorted((a, b) -> a.getPath().compareTo(b.getPath())).toList());
+        ArgumentCaptor<Query> tileQuery = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(1)).find(tileQuery.capture(), eq(Document.class), eq("tile"));
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Document.class), eq("skin"));
+        // 101 is asked for once, in both the numeric and string shapes an imported _id may have
+        assertEquals(new Document("_id", new Document("$in", List.of(101, "101", 102, "102"))), tileQuery.getValue().getQueryObject());
+    }
+
+    @Test
+    void shouldMatchHexReferencesAgainstObjectIds() {
+        ObjectId productId = new ObjectId();
+        existing("purchaseproduct", productId);
+
+        assertTrue(service.findDangling("offer", Map.of("purchaseProductId", productId.toHexString())).isEmpty());
+        assertEquals(1, service.findDangling("offer", Map.of("purchaseProductId", new ObjectId().toHexString())).size());
+    }
+
+    @Test
+    void shouldResolveTheReferencesOfSeveralDocumentsTogether() {
+        existing("tile", 101);
+        existing("skin", 1);
+        List<Map<String, Object>> cascades = List.of(
+                Map.of("_id", "c1", "skinId", 1, "stepRule", List.of(Map.of("tileId", 101))),
+                Map.of("_id", "c2", "skinId", 2),
+                Map.of("_id", "c3", "stepRule", List.of(Map.of("tileId", 102))));
+
+        List<List<DanglingReference>> dangling = service.findDangling("cascade", cascades);
+
+        assertEquals(List.of(List.of(), List.of(new DanglingReference("c2", "skinId", "skin", 2)),
+                List.of(new DanglingReference("c3", "stepRule[0].tileId", "tile", 102))), dangling);
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Document.class), eq("tile"));
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Document.class), eq("skin"));
+    }
+
+    @Test
+    void shouldSkipLookupsForCollectionsWithoutSchemaOrReferences() {
+        when(modelSchemaService.getSchema("scratch")).thenReturn(Optional.empty());
+
+        assertTrue(service.findDangling("scratch", Map.of("skinId", 1)).isEmpty());
+        assertTrue(service.findDangling("cascade", Map.of("name", "Summer")).isEmpty());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void shouldSweepInBatchesWithoutLookingUpKnownIdsAgain() {
+        // Every Offer points at one of three products; one of them was deleted
+        List<Document> offers = IntStream.range(0, ReferenceValidationServiceImpl.SWEEP_BATCH_SIZE + 500)
+                .mapToObj(i -> new Document("_id", new ObjectId()).append("purchaseProductId", "p" + (i % 3)))
+                .toList();
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("offer"))).thenReturn(offers.stream());
+        existing("purchaseproduct", "p0", "p1");
+
+        ReferenceReport report = service.sweep("offer");
+
+        assertEquals(offers.size(), report.getDocumentsChecked());
+        assertEquals(offers.size(), report.getReferencesChecked());
+        assertEquals(500, report.getDanglingCount());
+        assertEquals(1, report.getLookups());
+        assertEquals("p2", report.getDangling().get(0).getValue());
+        assertEquals(offers.get(2).get("_id"), report.getDangling().get(0).getDocumentId());
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(query.capture(), eq(Document.class), eq("offer"));
+        assertEquals(new Document("purchaseProductId", 1), query.getValue().getFieldsObject());
+    }
+
+    @Test
+    void shouldShareResolvedIdsAcrossCollectionsInFullSweep() {
+        ModelSchemaDto second = schema("offer_archive", Offer.class);
+        when(modelSchemaService.getAllSchemas()).thenReturn(List.of(schema("offer", Offer.class), second));
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), anyString()))
+                .thenAnswer(inv -> Stream.of(new Document("_id", 1).append("purchaseProductId", "p0")));
+        existing("purchaseproduct", "p0");
+
+        List<ReferenceReport> reports = service.sweepAll();
+
+        assertEquals(List.of(1, 0), reports.stream().map(ReferenceReport::getLookups).toList());
+        assertTrue(reports.stream().allMatch(report -> report.getDanglingCount() == 0));
+    }
+
+    // Answers $in lookups on the target with the subset of its ids that exist
+    private void existing(String collection, Object... ids) {
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq(collection))).thenAnswer(inv -> {
+            Query query = inv.getArgument(0);
+            Collection<?> requested = (Collection<?>) query.getQueryObject().get("_id", Document.class).get("$in");
+            List<Document> found = new ArrayList<>();
+            for (Object id : ids) {
+                if (requested.contains(id)) {
+                    found.add(new Document("_id", id));
+                }
+            }
+            return found;
+        });
+    }
+
+    private static ModelSchemaDto schema(String collection, Class<?> model) {
+        ModelSchemaDto dto = new ModelSchemaDto();
+        dto.setCollection(collection);
+        dto.setFields(ReflectionSchemaParser.parseClass(model));
+        return dto;
+    }
+}
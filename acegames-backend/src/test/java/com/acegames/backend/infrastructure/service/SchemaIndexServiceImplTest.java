@@ -0,0 +1,158 @@
+package com.acegames.backend.infrastructure.service;
+
+import com.acegames.backend.application.dto.FieldDefinition;
+import com.acegames.backend.application.dto.IndexReport;
+import com.acegames.backend.application.dto.ModelSchemaDto;
+import com.acegames.backend.application.service.ModelSchemaService;
+import com.mongodb.MongoCommandException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.ListIndexesIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SchemaIndexServiceImplTest {
+
+    private MongoTemplate mongoTemplate;
+    private ModelSchemaService modelSchemaService;
+    private MongoCollection<Document> collection;
+    private AggregateIterable<Document> indexStats;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        modelSchemaService = mock(ModelSchemaService.class);
+        collection = mock(MongoCollection.class);
+        indexStats = mock(AggregateIterable.class);
+        when(mongoTemplate.getCollection("offer")).thenReturn(collection);
+        when(collection.aggregate(anyList())).thenReturn(indexStats);
+        when(indexStats.into(anyCollection())).thenAnswer(inv -> inv.getArgument(0));
+        when(modelSchemaService.getAllSchemas()).thenReturn(List.of(offerSchema()));
+    }
+
+    @Test
+    void shouldReportMissingAndStaleIndexesWithoutChangingAnything() {
+        existingIndexes(index("_id_", "_id"), index("schema_legacyId", "legacyId"));
+
+        IndexReport report = service(false).inspect().get(0);
+
+        assertEquals(List.of("schema_purchaseProductId"), report.getMissing());
+        assertEquals(List.of("schema_legacyId"), report.getStale());
+        verify(collection, never()).createIndex(any(), any(IndexOptions.class));
+        verify(collection, never()).dropIndex(anyString());
+    }
+
+    @Test
+    void shouldTreatHandMadeIndexOnSameKeysAsPresent() {
+        existingIndexes(index("_id_", "_id"), index("purchaseProductId_1", "purchaseProductId"));
+
+        IndexReport report = service(false).reconcile().get(0);
+
+        assertTrue(report.getMissing().isEmpty());
+        assertTrue(report.getStale().isEmpty());
+        verify(collection, never()).createIndex(any(), any(IndexOptions.class));
+    }
+
+    @Test
+    void shouldCreateMissingIndexesInBackgroundAndDropStaleOnlyWhenEnabled() {
+        existingIndexes(index("_id_", "_id"), index("schema_legacyId", "legacyId"));
+
+        IndexReport kept = service(false).reconcile().get(0);
+        assertEquals(List.of("schema_purchaseProductId"), kept.getCreated());
+        assertTrue(kept.getDropped().isEmpty());
+
+        IndexReport dropped = service(true).reconcile().get(0);
+        assertEquals(List.of("schema_legacyId"), dropped.getDropped());
+        verify(collection).dropIndex("schema_legacyId");
+
+        ArgumentCaptor<IndexOptions> options = ArgumentCaptor.forClass(IndexOptions.class);
+        verify(collection, times(2)).createIndex(eq(new Document("purchaseProductId", 1)), options.capture());
+        assertEquals("schema_purchaseProductId", options.getValue().getName());
+        assertTrue(options.getValue().isBackground());
+    }
+
+    @Test
+    void shouldRecordFailedBuildsAndKeepGoing() {
+        existingIndexes(index("_id_", "_id"));
+        when(collection.createIndex(any(), any(IndexOptions.class)))
+                .thenThrow(new MongoCommandException(new BsonDocument(), new ServerAddress()));
+
+        IndexReport report = service(false).reconcile().get(0);
+
+        assertTrue(report.getCreated().isEmpty());
+        assertTrue(report.getFailed().containsKey("schema_purchaseProductId"));
+    }
+
+    @Test
+    void shouldListIndexesWithNoRecordedUse() {
+        existingIndexes(index("_id_", "_id"), index("schema_purchaseProductId", "purchaseProductId"), index("name_1", "name"));
+        Date since = new Date();
+        when(indexStats.into(anyCollection())).thenAnswer(inv -> {
+            Collection<Document> target = inv.getArgument(0);
+            target.add(stat("_id_", 0, since));
+            target.add(stat("schema_purchaseProductId", 42, since));
+            target.add(stat("name_1", 0, since));
+            return target;
+        });
+
+        IndexReport report = service(false).inspect().get(0);
+
+        assertEquals(Map.of("name_1", since), report.getUnusedSince());
+    }
+
+    private SchemaIndexServiceImpl service(boolean dropStale) {
+        return new SchemaIndexServiceImpl(mongoTemplate, modelSchemaService, dropStale);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void existingIndexes(Document... indexes) {
+        ListIndexesIterable<Document> iterable = mock(ListIndexesIterable.class);
+        when(collection.listIndexes()).thenReturn(iterable);
+        when(iterable.into(anyCollection())).thenAnswer(inv -> {
+            Collection<Document> target = inv.getArgument(0);
+            target.addAll(List.of(indexes));
+            return target;
+        });
+    }
+
+    private static Document index(String name, String key) {
+        return new Document("name", name).append("key", new Document(key, 1));
+    }
+
+    private static Document stat(String name, long ops, Date since) {
+        return new Document("name", name).append("accesses", new Document("ops", ops).append("since", since));
+    }
+
+    private static ModelSchemaDto offerSchema() {
+        FieldDefinition reference = new FieldDefinition();
+        reference.setType("String");
+        reference.setReference("purchaseProduct");
+        FieldDefinition name = new FieldDefinition();
+        name.setType("String");
+        Map<String, FieldDefinition> fields = new LinkedHashMap<>();
+        fields.put("name", name);
+        fields.put("purchaseProductId", reference);
+
+        ModelSchemaDto schema = new ModelSchemaDto();
+        schema.setCollection("offer");
+        schema.setFields(fields);
+        return schema;
+    }
+}
@@ -0,0 +1,158 @@
+package com.acegames.backend.web.controller;
+
+import com.acegames.backend.application.service.GenericCrudService;
+import com.acegames.backend.web.exception.VersionConflictException;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(GenericCrudController.class)
+class GenericCrudControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private GenericCrudService crudService;
+
+    @Test
+    void shouldReturnCollectionWithVersionEtag() throws Exception {
+        when(crudService.getCollectionVersion("skin")).thenReturn(7L);
+        when(crudService.findAll("skin")).thenReturn(List.of(new Document("name", "Red")));
+
+        mockMvc.perform(get("/api/content/skin"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"skin-7\""))
+            .andExpect(jsonPath("$[0].name").value("Red"));
+    }
+
+    @Test
+    void shouldPassRepeatedFiltersThroughWithoutSplittingInLists() throws Exception {
+        when(crudService.getCollectionVersion("offer")).thenReturn(3L);
+        when(crudService.findMatching("offer", List.of("purchaseProductId:in:a,b", "name:ne:Old")))
+            .thenReturn(List.of(new Document("name", "Starter")));
+
+        mockMvc.perform(get("/api/content/offer")
+                .param("filter", "purchaseProductId:in:a,b")
+                .param("filter", "name:ne:Old"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"offer-3\""))
+            .andExpect(jsonPath("$[0].name").value("Starter"));
+
+        verify(crudService, never()).findAll(anyString());
+    }
+
+    @Test
+    void shouldReturn400ForFilterRejectedBySchema() throws Exception {
+        when(crudService.getCollectionVersion("offer")).thenReturn(3L);
+        when(crudService.findMatching(eq("offer"), any()))
+            .thenThrow(new IllegalArgumentException("Invalid filter 'colour:eq:red': unknown field colour"));
+
+        mockMvc.perform(get("/api/content/offer").param("filter", "colour:eq:red"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Invalid filter 'colour:eq:red': unknown field colour"));
+    }
+
+    @Test
+    void shouldReturn304WithoutQueryingDocumentsWhenCollectionUnchanged() throws Exception {
+        when(crudService.getCollectionVersion("skin")).thenReturn(7L);
+
+        mockMvc.perform(get("/api/content/skin").header("If-None-Match", "\"skin-7\""))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        verify(crudService, never()).findAll(anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStreamCollectionAsNdjson() throws Exception {
+        doAnswer(inv -> {
+            Consumer<Document> consumer = inv.getArgument(1);
+            consumer.accept(new Document("_id", new ObjectId("65f0c0ffee0000000000000a")).append("name", "Red"));
+            consumer.accept(new Document("_id", "b").append("name", "Blue"));
+            return null;
+        }).when(crudService).streamAll(eq("skin"), any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/api/content/skin/stream"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        assertEquals(600_000L, result.getRequest().getAsyncContext().getTimeout());
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andExpect(content().string("{\"_id\":\"65f0c0ffee0000000000000a\",\"name\":\"Red\"}\n{\"_id\":\"b\",\"name\":\"Blue\"}\n"));
+    }
+
+    @Test
+    void shouldReturn304WhenDocumentRevisionUnchanged() throws Exception {
+        String id = new ObjectId().toHexString();
+        when(crudService.findById("skin", id)).thenReturn(new Document("_id", id).append("_version", 3L));
+
+        mockMvc.perform(get("/api/content/skin/" + id).header("If-None-Match", "\"" + id + "-v3\""))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/content/skin/" + id).header("If-None-Match", "\"" + id + "-v2\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"" + id + "-v3\""));
+    }
+
+    @Test
+    void shouldPassIfMatchVersionToUpdateAndReturnNewEtag() throws Exception {
+        String id = new ObjectId().toHexString();
+        when(crudService.update(eq("skin"), eq(id), anyMap(), eq(3L)))
+            .thenReturn(new Document("_id", id).append("_version", 4L));
+
+        mockMvc.perform(put("/api/content/skin/" + id)
+                .header("If-Match", "\"" + id + "-v3\"")
+                .contentType("application/json")
+                .content("{\"name\":\"Red\"}"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"" + id + "-v4\""));
+    }
+
+    @Test
+    void shouldReturn412WhenVersionConflicts() throws Exception {
+        String id = new ObjectId().toHexString();
+        when(crudService.update(eq("skin"), eq(id), anyMap(), eq(2L)))
+            .thenThrow(new VersionConflictException(id, 2L));
+
+        mockMvc.perform(put("/api/content/skin/" + id)
+                .contentType("application/json")
+                .content("{\"name\":\"Red\",\"_version\":2}"))
+            .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void shouldRenderObjectIdsAsHexAtAnyDepth() throws Exception {
+        ObjectId id = new ObjectId();
+        ObjectId skinId = new ObjectId();
+        when(crudService.findById("cascade", id.toHexString())).thenReturn(new Document("_id", id)
+            .append("_version", 1L)
+            .append("stepInfo", List.of(new Document("skinRef", skinId))));
+
+        mockMvc.perform(get("/api/content/cascade/" + id.toHexString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$._id").value(id.toHexString()))
+            .andExpect(jsonPath("$.stepInfo[0].skinRef").value(skinId.toHexString()));
+    }
+}
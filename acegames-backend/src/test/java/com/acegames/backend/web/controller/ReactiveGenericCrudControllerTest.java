@@ -0,0 +1,128 @@
+package com.acegames.backend.web.controller;
+
+import com.acegames.backend.application.service.ReactiveGenericCrudService;
+import com.acegames.backend.web.exception.VersionConflictException;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(value = ReactiveGenericCrudController.class, properties = "app.content.reactive.enabled=true")
+class ReactiveGenericCrudControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ReactiveGenericCrudService crudService;
+
+    @Test
+    void shouldReturnCollectionWithVersionEtag() throws Exception {
+        when(crudService.getCollectionVersion("skin")).thenReturn(Mono.just(7L));
+        when(crudService.findAll("skin")).thenReturn(Flux.just(new Document("name", "Red"), new Document("name", "Blue")));
+
+        MvcResult result = mockMvc.perform(get("/api/content/skin"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"skin-7\""))
+            .andExpect(jsonPath("$[0].name").value("Red"))
+            .andExpect(jsonPath("$[1].name").value("Blue"));
+    }
+
+    @Test
+    void shouldReturn304WithoutQueryingDocumentsWhenCollectionUnchanged() throws Exception {
+        when(crudService.getCollectionVersion("skin")).thenReturn(Mono.just(7L));
+
+        MvcResult result = mockMvc.perform(get("/api/content/skin").header("If-None-Match", "\"skin-7\""))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        verify(crudService, never()).findAll(anyString());
+    }
+
+    @Test
+    void shouldStreamCollectionAsNdjson() throws Exception {
+        when(crudService.findAll("skin")).thenReturn(Flux.just(
+            new Document("_id", new ObjectId("65f0c0ffee0000000000000a")).append("name", "Red"),
+            new Document("_id", "b").append("name", "Blue")));
+
+        MvcResult result = mockMvc.perform(get("/api/content/skin/stream"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andExpect(content().string("{\"_id\":\"65f0c0ffee0000000000000a\",\"name\":\"Red\"}\n{\"_id\":\"b\",\"name\":\"Blue\"}\n"));
+    }
+
+    @Test
+    void shouldReturn304WhenDocumentRevisionUnchangedAnd404WhenMissing() throws Exception {
+        String id = new ObjectId().toHexString();
+        when(crudService.findById("skin", id)).thenReturn(Mono.just(new Document("_id", id).append("_version", 3L)));
+        when(crudService.findById("skin", "65f0c0ffee0000000000000a")).thenReturn(Mono.empty());
+
+        MvcResult unchanged = mockMvc.perform(get("/api/content/skin/" + id).header("If-None-Match", "\"" + id + "-v3\""))
+            .andReturn();
+        mockMvc.perform(asyncDispatch(unchanged))
+            .andExpect(status().isNotModified());
+
+        MvcResult missing = mockMvc.perform(get("/api/content/skin/65f0c0ffee0000000000000a")).andReturn();
+        mockMvc.perform(asyncDispatch(missing))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldPassIfMatchVersionToUpdateAndReturnNewEtag() throws Exception {
+        String id = new ObjectId().toHexString();
+        when(crudService.update(eq("skin"), eq(id), anyMap(), eq(3L)))
+            .thenReturn(Mono.just(new Document("_id", id).append("_version", 4L)));
+
+        MvcResult result = mockMvc.perform(put("/api/content/skin/" + id)
+                .header("If-Match", "\"" + id + "-v3\"")
+                .contentType("application/json")
+                .content("{\"name\":\"Red\"}"))
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"" + id + "-v4\""));
+    }
+
+    @Test
+    void shouldReturn412WhenVersionConflicts() throws Exception {
+        String id = new ObjectId().toHexString();
+        when(crudService.update(eq("skin"), eq(id), anyMap(), eq(2L)))
+            .thenReturn(Mono.error(new VersionConflictException(id, 2L)));
+
+        MvcResult result = mockMvc.perform(put("/api/content/skin/" + id)
+                .contentType("application/json")
+                .content("{\"name\":\"Red\",\"_version\":2}"))
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isPreconditionFailed());
+    }
+}
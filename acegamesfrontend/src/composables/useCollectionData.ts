@@ -1,12 +1,21 @@
-import { ref, watch } from 'vue'
+import { ref, watch, onScopeDispose } from 'vue'
 import type { Ref } from 'vue'
 import api from '../lib/api'
 
+interface ContentChange {
+  collection: string
+  operation: string
+  documentId: string | null
+}
+
 export function useCollectionData(collection: Ref<string | null>, refreshTrigger?: Ref<number | undefined>) {
   const schema = ref<any>(null)
   const items = ref<any[]>([])
   const loading = ref(false)
   const error = ref<string | null>(null)
+  // True once the backend confirms it pushes changes; the refresh trigger is then redundant
+  const live = ref(false)
+  let changes: EventSource | null = null
 
   const fetchData = async () => {
     if (!collection.value) return
@@ -29,16 +38,85 @@ export function useCollectionData(collection: Ref<string | null>, refreshTrigger
     }
   }
 
-  watch(collection, fetchData, { immediate: true })
-  
-  // Watch for refresh trigger changes
+  const fetchSchema = async () => {
+    if (!collection.value) return
+    try {
+      schema.value = (await api.get(`/schema/${collection.value}`)).data
+    } catch (e: any) {
+      console.error('API Hatası:', e)
+    }
+  }
+
+  // Applies one pushed change by fetching just that document instead of the whole collection
+  const applyChange = async (change: ContentChange) => {
+    if (change.collection !== collection.value) return
+    if (!change.documentId) {
+      // Whole-collection operations (drop, rename) carry no document id
+      await fetchData()
+      return
+    }
+    const index = items.value.findIndex(item => item._id === change.documentId)
+    if (change.operation === 'delete') {
+      if (index >= 0) items.value.splice(index, 1)
+      return
+    }
+    try {
+      const doc = (await api.get(`/content/${change.collection}/${change.documentId}`)).data
+      if (index >= 0) items.value.splice(index, 1, doc)
+      else items.value.push(doc)
+    } catch (e: any) {
+      if (e.response?.status === 404 && index >= 0) items.value.splice(index, 1)
+    }
+  }
+
+  const subscribe = () => {
+    changes?.close()
+    changes = null
+    live.value = false
+    if (!collection.value) return
+    const name = collection.value
+    const params = new URLSearchParams()
+    params.append('collection', name)
+    params.append('collection', 'schemas')
+    // EventSource reconnects by itself and sends Last-Event-ID, so missed changes are replayed
+    changes = new EventSource(`${api.defaults.baseURL}/changes?${params}`)
+    changes.addEventListener('ready', (event) => {
+      live.value = JSON.parse((event as MessageEvent).data).live === true
+    })
+    // The backend lost or regained its change stream; poll in between, starting from a fresh copy
+    changes.addEventListener('status', (event) => {
+      live.value = JSON.parse((event as MessageEvent).data).live === true
+      if (!live.value) fetchData()
+    })
+    changes.addEventListener(name, (event) => {
+      applyChange(JSON.parse((event as MessageEvent).data))
+    })
+    changes.addEventListener('schemas', () => {
+      fetchSchema()
+    })
+    changes.addEventListener('reset', () => {
+      fetchData()
+    })
+  }
+
+  watch(collection, () => {
+    fetchData()
+    subscribe()
+  }, { immediate: true })
+
+  onScopeDispose(() => {
+    changes?.close()
+    changes = null
+  })
+
+  // Watch for refresh trigger changes; only needed when the backend does not push changes
   if (refreshTrigger) {
     watch(refreshTrigger, (newValue) => {
-      if (newValue !== undefined) {
+      if (newValue !== undefined && !live.value) {
         fetchData()
       }
     })
   }
 
-  return { schema, items, loading, error }
+  return { schema, items, loading, error, live }
 }